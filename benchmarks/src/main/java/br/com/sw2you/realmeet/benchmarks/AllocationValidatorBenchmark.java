@@ -0,0 +1,104 @@
+package br.com.sw2you.realmeet.benchmarks;
+
+import br.com.sw2you.realmeet.api.model.CreateAllocationDTO;
+import br.com.sw2you.realmeet.domain.entity.Allocation;
+import br.com.sw2you.realmeet.domain.entity.Room;
+import br.com.sw2you.realmeet.domain.index.AllocationIndex;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.AllocationSeriesRepository;
+import br.com.sw2you.realmeet.exception.InvalidRequestException;
+import br.com.sw2you.realmeet.validator.AllocationValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.sw2you.realmeet.benchmarks.BenchmarkUtils.emptyRepository;
+import static br.com.sw2you.realmeet.benchmarks.BenchmarkUtils.expectInvalid;
+import static br.com.sw2you.realmeet.benchmarks.BenchmarkUtils.stubRepository;
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllocationValidatorBenchmark {
+    private static final long ROOM_ID = 1L;
+
+    private AllocationValidator allocationValidator;
+    private CreateAllocationDTO freeSlot;
+    private CreateAllocationDTO overlappingSlot;
+    private CreateAllocationDTO missingFields;
+
+    @Setup
+    public void setup() {
+        var startAt = now().plusDays(1);
+        var booked = Allocation
+                .newBuilder()
+                .id(1L)
+                .room(Room.newBuilder().id(ROOM_ID).build())
+                .startAt(startAt)
+                .endAt(startAt.plusMinutes(30))
+                .build();
+
+        allocationValidator = new AllocationValidator(
+                bookedRepository(booked),
+                emptyRepository(AllocationSeriesRepository.class),
+                new AllocationIndex(emptyRepository(AllocationRepository.class), 15)
+        );
+        freeSlot = newCreateAllocationDTO(startAt.plusMinutes(30), startAt.plusMinutes(60));
+        overlappingSlot = newCreateAllocationDTO(startAt.plusMinutes(10), startAt.plusMinutes(40));
+        missingFields = new CreateAllocationDTO().roomId(ROOM_ID);
+    }
+
+    @Benchmark
+    public void validateFreeSlot() {
+        allocationValidator.validate(freeSlot);
+    }
+
+    @Benchmark
+    public InvalidRequestException validateOverlappingSlot() {
+        return expectInvalid(() -> allocationValidator.validate(overlappingSlot));
+    }
+
+    @Benchmark
+    public InvalidRequestException validateMissingFields() {
+        return expectInvalid(() -> allocationValidator.validate(missingFields));
+    }
+
+    // Stands in for the locking overlap query: the window is the last two arguments of every overload
+    private static AllocationRepository bookedRepository(Allocation booked) {
+        return stubRepository(
+                AllocationRepository.class,
+                "findOverlappingForUpdate",
+                args -> {
+                    var startAt = (OffsetDateTime) args[args.length - 2];
+                    var endAt = (OffsetDateTime) args[args.length - 1];
+                    var overlaps = booked.getStartAt().isBefore(endAt) && booked.getEndAt().isAfter(startAt);
+                    return overlaps ? List.of(booked) : List.of();
+                }
+        );
+    }
+
+    private static CreateAllocationDTO newCreateAllocationDTO(OffsetDateTime startAt, OffsetDateTime endAt) {
+        return new CreateAllocationDTO()
+                .subject("Sprint planning")
+                .roomId(ROOM_ID)
+                .employeeName("Jane Doe")
+                .employeeEmail("jane.doe@realmeet.com")
+                .startAt(startAt)
+                .endAt(endAt);
+    }
+}
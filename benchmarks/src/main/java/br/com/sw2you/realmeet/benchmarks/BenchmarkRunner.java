@@ -0,0 +1,26 @@
+package br.com.sw2you.realmeet.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Same command line as org.openjdk.jmh.Main, with the GC profiler always on so every result
+ * reports allocations per operation (gc.alloc.rate.norm) next to the timings.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        var commandLineOptions = new CommandLineOptions(args);
+        var runner = new Runner(new OptionsBuilder().parent(commandLineOptions).addProfiler(GCProfiler.class).build());
+
+        if (commandLineOptions.shouldList()) {
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
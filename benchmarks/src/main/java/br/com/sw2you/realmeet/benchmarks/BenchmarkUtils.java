@@ -0,0 +1,63 @@
+package br.com.sw2you.realmeet.benchmarks;
+
+import br.com.sw2you.realmeet.exception.InvalidRequestException;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+final class BenchmarkUtils {
+
+    private BenchmarkUtils() {}
+
+    // A repository that finds nothing, so the benchmarks measure the request path without a database
+    static <T> T emptyRepository(Class<T> repositoryType) {
+        return stubRepository(repositoryType, null, null);
+    }
+
+    // Like emptyRepository, but every overload of methodName answers with the given function of its arguments
+    static <T> T stubRepository(Class<T> repositoryType, String methodName, Function<Object[], Object> answer) {
+        return repositoryType.cast(
+                Proxy.newProxyInstance(
+                        repositoryType.getClassLoader(),
+                        new Class<?>[] { repositoryType },
+                        (proxy, method, args) -> method.getName().equals(methodName)
+                                ? answer.apply(args)
+                                : emptyResult(method.getReturnType())
+                )
+        );
+    }
+
+    static InvalidRequestException expectInvalid(Runnable validation) {
+        try {
+            validation.run();
+        } catch (InvalidRequestException e) {
+            return e;
+        }
+        throw new IllegalStateException("Expected the validation to fail");
+    }
+
+    private static Object emptyResult(Class<?> type) {
+        if (Optional.class.equals(type)) {
+            return Optional.empty();
+        }
+        if (type.isAssignableFrom(List.class)) {
+            return List.of();
+        }
+        if (Stream.class.equals(type)) {
+            return Stream.empty();
+        }
+        if (boolean.class.equals(type)) {
+            return false;
+        }
+        if (int.class.equals(type)) {
+            return 0;
+        }
+        if (long.class.equals(type)) {
+            return 0L;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.sw2you.realmeet.benchmarks;
+
+import br.com.sw2you.realmeet.config.ExecutorsConfiguration;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of controller tasks blocking on a simulated JDBC call, run on the controllersExecutor with the
+ * application.yml defaults in each realmeet.taskExecutor.mode. The database is modelled as a semaphore the size of
+ * the Hikari pool; completed and rejected tasks per burst are reported next to the time the burst takes.
+ * The virtual mode needs the jar to run on Java 21 or later, it fails its setup on older runtimes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ControllersExecutorBenchmark {
+    private static final int HIKARI_POOL_SIZE = 10;
+
+    @Param({ ExecutorsConfiguration.POOL_MODE, ExecutorsConfiguration.VIRTUAL_MODE })
+    private String mode;
+
+    @Param({ "50", "1000" })
+    private int burst;
+
+    @Param({ "20" })
+    private long queryMillis;
+
+    private ExecutorService executor;
+    private Semaphore connections;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+        public long completed;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            completed = 0;
+            rejected = 0;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        executor = (ExecutorService) new ExecutorsConfiguration().controllersExecutor(mode, 10, 20, 50, 60);
+        connections = new Semaphore(HIKARI_POOL_SIZE, true);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    public void burst(Outcome outcome) {
+        var futures = new ArrayList<CompletableFuture<Void>>(burst);
+
+        for (int i = 0; i < burst; i++) {
+            try {
+                futures.add(CompletableFuture.runAsync(this::query, executor));
+            } catch (RejectedExecutionException e) {
+                outcome.rejected++;
+            }
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        outcome.completed += futures.size();
+    }
+
+    private void query() {
+        try {
+            connections.acquire();
+            try {
+                Thread.sleep(queryMillis);
+            } finally {
+                connections.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.sw2you.realmeet.benchmarks;
+
+import br.com.sw2you.realmeet.api.model.AllocationDTO;
+import br.com.sw2you.realmeet.api.model.RoomDTO;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    private ObjectWriter allocationWriter;
+    private ObjectReader allocationReader;
+    private ObjectWriter roomWriter;
+    private ObjectReader roomReader;
+    private AllocationDTO allocationDTO;
+    private RoomDTO roomDTO;
+    private byte[] allocationJson;
+    private byte[] roomJson;
+
+    @Setup
+    public void setup() throws IOException {
+        // Same settings Spring Boot applies to the MVC message converters
+        var objectMapper = Jackson2ObjectMapperBuilder
+                .json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        var startAt = now().plusDays(1);
+
+        allocationWriter = objectMapper.writerFor(AllocationDTO.class);
+        allocationReader = objectMapper.readerFor(AllocationDTO.class);
+        roomWriter = objectMapper.writerFor(RoomDTO.class);
+        roomReader = objectMapper.readerFor(RoomDTO.class);
+        allocationDTO = new AllocationDTO()
+                .id(1L)
+                .subject("Sprint planning")
+                .roomId(1L)
+                .employeeName("Jane Doe")
+                .employeeEmail("jane.doe@realmeet.com")
+                .startAt(startAt)
+                .endAt(startAt.plusMinutes(30));
+        roomDTO = new RoomDTO().id(1L).name("Room A").seats(6);
+        allocationJson = allocationWriter.writeValueAsBytes(allocationDTO);
+        roomJson = roomWriter.writeValueAsBytes(roomDTO);
+    }
+
+    @Benchmark
+    public byte[] writeAllocation() throws IOException {
+        return allocationWriter.writeValueAsBytes(allocationDTO);
+    }
+
+    @Benchmark
+    public AllocationDTO readAllocation() throws IOException {
+        return allocationReader.readValue(allocationJson);
+    }
+
+    @Benchmark
+    public AllocationDTO roundTripAllocation() throws IOException {
+        return allocationReader.readValue(allocationWriter.writeValueAsBytes(allocationDTO));
+    }
+
+    @Benchmark
+    public byte[] writeRoom() throws IOException {
+        return roomWriter.writeValueAsBytes(roomDTO);
+    }
+
+    @Benchmark
+    public RoomDTO readRoom() throws IOException {
+        return roomReader.readValue(roomJson);
+    }
+
+    @Benchmark
+    public RoomDTO roundTripRoom() throws IOException {
+        return roomReader.readValue(roomWriter.writeValueAsBytes(roomDTO));
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.sw2you.realmeet.benchmarks;
+
+import br.com.sw2you.realmeet.api.model.AllocationDTO;
+import br.com.sw2you.realmeet.api.model.CreateAllocationDTO;
+import br.com.sw2you.realmeet.api.model.CreateRoomDTO;
+import br.com.sw2you.realmeet.api.model.RoomDTO;
+import br.com.sw2you.realmeet.domain.entity.Allocation;
+import br.com.sw2you.realmeet.domain.entity.Room;
+import br.com.sw2you.realmeet.domain.model.AllocationView;
+import br.com.sw2you.realmeet.domain.model.Employee;
+import br.com.sw2you.realmeet.mapper.AllocationMapper;
+import br.com.sw2you.realmeet.mapper.RoomMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    // Size of a full GET /allocations page
+    private static final int PAGE_SIZE = 50;
+
+    private AllocationMapper allocationMapper;
+    private RoomMapper roomMapper;
+    private Room room;
+    private Allocation allocation;
+    private List<Allocation> allocations;
+    private List<AllocationView> allocationViews;
+    private CreateRoomDTO createRoomDTO;
+    private CreateAllocationDTO createAllocationDTO;
+
+    @Setup
+    public void setup() {
+        allocationMapper = Mappers.getMapper(AllocationMapper.class);
+        roomMapper = Mappers.getMapper(RoomMapper.class);
+        room = Room.newBuilder().id(1L).name("Room A").seats(6).active(true).build();
+        allocations = LongStream
+                .rangeClosed(1, PAGE_SIZE)
+                .mapToObj(this::newAllocation)
+                .collect(Collectors.toList());
+        allocation = allocations.get(0);
+        allocationViews = allocations.stream().map(this::toView).collect(Collectors.toList());
+        createRoomDTO = (CreateRoomDTO) new CreateRoomDTO().name("Room A").seats(6);
+        createAllocationDTO = new CreateAllocationDTO()
+                .subject("Sprint planning")
+                .roomId(room.getId())
+                .employeeName("Jane Doe")
+                .employeeEmail("jane.doe@realmeet.com")
+                .startAt(allocation.getStartAt())
+                .endAt(allocation.getEndAt());
+    }
+
+    @Benchmark
+    public RoomDTO roomToDTO() {
+        return roomMapper.fromEntityToDTO(room);
+    }
+
+    @Benchmark
+    public Room createRoomDTOToEntity() {
+        return roomMapper.fromCreateRoomDTOToEntity(createRoomDTO);
+    }
+
+    @Benchmark
+    public AllocationDTO allocationToDTO() {
+        return allocationMapper.fromEntityToAllocationDTO(allocation);
+    }
+
+    @Benchmark
+    public List<AllocationDTO> allocationPageToDTOs() {
+        return allocationMapper.fromEntitiesToAllocationDTOs(allocations);
+    }
+
+    // What GET /allocations maps since it reads projections instead of entities
+    @Benchmark
+    public List<AllocationDTO> allocationViewPageToDTOs() {
+        return allocationMapper.fromViewsToAllocationDTOs(allocationViews);
+    }
+
+    @Benchmark
+    public Allocation createAllocationDTOToEntity() {
+        return allocationMapper.fromCreateAllocationDTOToEntity(createAllocationDTO, room);
+    }
+
+    private Allocation newAllocation(long id) {
+        var startAt = now().plusDays(1).plusHours(id);
+        return Allocation.newBuilder()
+                .id(id)
+                .room(room)
+                .employee(Employee.newBuilder().name("Jane Doe").email("jane.doe@realmeet.com").build())
+                .subject("Sprint planning")
+                .startAt(startAt)
+                .endAt(startAt.plusMinutes(30))
+                .createdAt(now())
+                .build();
+    }
+
+    private AllocationView toView(Allocation allocation) {
+        return new AllocationView(
+                allocation.getId(),
+                allocation.getRoom().getId(),
+                allocation.getEmployee().getName(),
+                allocation.getEmployee().getEmail(),
+                allocation.getSubject(),
+                allocation.getStartAt(),
+                allocation.getEndAt()
+        );
+    }
+}
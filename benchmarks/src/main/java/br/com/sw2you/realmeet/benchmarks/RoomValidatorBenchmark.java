@@ -0,0 +1,56 @@
+package br.com.sw2you.realmeet.benchmarks;
+
+import br.com.sw2you.realmeet.api.model.CreateRoomDTO;
+import br.com.sw2you.realmeet.api.model.UpdateRoomDTO;
+import br.com.sw2you.realmeet.exception.InvalidRequestException;
+import br.com.sw2you.realmeet.validator.RoomValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static br.com.sw2you.realmeet.benchmarks.BenchmarkUtils.expectInvalid;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomValidatorBenchmark {
+    private RoomValidator roomValidator;
+    private CreateRoomDTO validRoom;
+    private CreateRoomDTO invalidRoom;
+    private UpdateRoomDTO validUpdate;
+
+    @Setup
+    public void setup() {
+        roomValidator = new RoomValidator();
+        validRoom = (CreateRoomDTO) new CreateRoomDTO().name("Room A").seats(6);
+        invalidRoom = (CreateRoomDTO) new CreateRoomDTO().name("A room name that is far too long").seats(0);
+        validUpdate = new UpdateRoomDTO().name("Room B").seats(8);
+    }
+
+    @Benchmark
+    public void validateCreate() {
+        roomValidator.validate(validRoom);
+    }
+
+    @Benchmark
+    public void validateUpdate() {
+        roomValidator.validate(1L, validUpdate);
+    }
+
+    @Benchmark
+    public InvalidRequestException validateInvalidCreate() {
+        return expectInvalid(() -> roomValidator.validate(invalidRoom));
+    }
+}
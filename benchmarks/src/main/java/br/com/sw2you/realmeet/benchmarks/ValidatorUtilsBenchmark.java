@@ -0,0 +1,62 @@
+package br.com.sw2you.realmeet.benchmarks;
+
+import br.com.sw2you.realmeet.exception.InvalidRequestException;
+import br.com.sw2you.realmeet.validator.ValidationErrors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static br.com.sw2you.realmeet.benchmarks.BenchmarkUtils.expectInvalid;
+import static br.com.sw2you.realmeet.validator.ValidatorUtils.throwOnError;
+import static br.com.sw2you.realmeet.validator.ValidatorUtils.validateMaxLength;
+import static br.com.sw2you.realmeet.validator.ValidatorUtils.validateMaxValue;
+import static br.com.sw2you.realmeet.validator.ValidatorUtils.validateMinValue;
+import static br.com.sw2you.realmeet.validator.ValidatorUtils.validateRequired;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorUtilsBenchmark {
+    private static final String FIELD = "name";
+
+    private String validName = "Room A";
+    private String invalidName = "A room name that is far too long";
+    private Integer validSeats = 6;
+    private Integer invalidSeats = 0;
+
+    @Benchmark
+    public ValidationErrors validateValidFields() {
+        return validateFields(validName, validSeats);
+    }
+
+    @Benchmark
+    public ValidationErrors validateInvalidFields() {
+        return validateFields(invalidName, invalidSeats);
+    }
+
+    @Benchmark
+    public InvalidRequestException throwOnInvalidFields() {
+        return expectInvalid(() -> throwOnError(validateFields(invalidName, invalidSeats)));
+    }
+
+    private static ValidationErrors validateFields(String name, Integer seats) {
+        var validationErrors = new ValidationErrors();
+        validateRequired(name, FIELD, validationErrors);
+        validateMaxLength(name, FIELD, 20, validationErrors);
+        validateRequired(seats, FIELD, validationErrors);
+        validateMinValue(seats, FIELD, 1, validationErrors);
+        validateMaxValue(seats, FIELD, 20, validationErrors);
+        return validationErrors;
+    }
+}
@@ -0,0 +1,205 @@
+package br.com.sw2you.realmeet.api.async;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the exchanges in flight on an HTTP/1.1 {@link HttpClient}, which caps the connections it opens: each exchange
+ * holds one connection, and a finished one goes back to the client's keep-alive pool. Requests over the cap wait in a
+ * FIFO queue, without blocking the caller, for at most {@code acquireTimeout}.
+ */
+class BoundedHttpClient extends HttpClient {
+    private final HttpClient delegate;
+    private final Semaphore permits;
+    private final Queue<Pending> waiting;
+    private final Duration acquireTimeout;
+
+    BoundedHttpClient(HttpClient delegate, int maxConnections, Duration acquireTimeout) {
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("Max connections must be positive: " + maxConnections);
+        }
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConnections);
+        this.waiting = new ConcurrentLinkedQueue<>();
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler)
+            throws IOException, InterruptedException {
+        if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw acquireTimedOut();
+        }
+        try {
+            return delegate.send(request, responseBodyHandler);
+        } finally {
+            release();
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+            HttpRequest request,
+            HttpResponse.BodyHandler<T> responseBodyHandler
+    ) {
+        return sendAsync(request, responseBodyHandler, null);
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+            HttpRequest request,
+            HttpResponse.BodyHandler<T> responseBodyHandler,
+            HttpResponse.PushPromiseHandler<T> pushPromiseHandler
+    ) {
+        var result = new CompletableFuture<HttpResponse<T>>();
+        var pending = new Pending(
+                () -> start(request, responseBodyHandler, pushPromiseHandler, result),
+                () -> result.completeExceptionally(acquireTimedOut())
+        );
+        waiting.add(pending);
+        drain();
+
+        // Only requests that actually have to wait get a timer
+        if (!pending.isClaimed()) {
+            CompletableFuture
+                    .delayedExecutor(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .execute(pending::expire);
+        }
+        return result;
+    }
+
+    private <T> void start(
+            HttpRequest request,
+            HttpResponse.BodyHandler<T> responseBodyHandler,
+            HttpResponse.PushPromiseHandler<T> pushPromiseHandler,
+            CompletableFuture<HttpResponse<T>> result
+    ) {
+        try {
+            delegate
+                    .sendAsync(request, responseBodyHandler, pushPromiseHandler)
+                    .whenComplete((response, error) -> {
+                        release();
+                        if (error == null) {
+                            result.complete(response);
+                        } else {
+                            result.completeExceptionally(error);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            release();
+            result.completeExceptionally(e);
+        }
+    }
+
+    // Every enqueue and every release ends here, so a free permit never sits idle while a request waits
+    private void drain() {
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            var pending = waiting.poll();
+
+            if (pending == null || !pending.start()) {
+                permits.release();
+            }
+        }
+    }
+
+    private void release() {
+        permits.release();
+        drain();
+    }
+
+    private HttpTimeoutException acquireTimedOut() {
+        return new HttpTimeoutException("No connection available within " + acquireTimeout);
+    }
+
+    @Override
+    public Optional<CookieHandler> cookieHandler() {
+        return delegate.cookieHandler();
+    }
+
+    @Override
+    public Optional<Duration> connectTimeout() {
+        return delegate.connectTimeout();
+    }
+
+    @Override
+    public Redirect followRedirects() {
+        return delegate.followRedirects();
+    }
+
+    @Override
+    public Optional<ProxySelector> proxy() {
+        return delegate.proxy();
+    }
+
+    @Override
+    public SSLContext sslContext() {
+        return delegate.sslContext();
+    }
+
+    @Override
+    public SSLParameters sslParameters() {
+        return delegate.sslParameters();
+    }
+
+    @Override
+    public Optional<Authenticator> authenticator() {
+        return delegate.authenticator();
+    }
+
+    @Override
+    public Version version() {
+        return delegate.version();
+    }
+
+    @Override
+    public Optional<Executor> executor() {
+        return delegate.executor();
+    }
+
+    // A queued request is either started by drain() or expired by its timeout, whichever claims it first
+    private static final class Pending {
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final Runnable onStart;
+        private final Runnable onExpire;
+
+        private Pending(Runnable onStart, Runnable onExpire) {
+            this.onStart = onStart;
+            this.onExpire = onExpire;
+        }
+
+        private boolean start() {
+            if (!claimed.compareAndSet(false, true)) {
+                return false;
+            }
+            onStart.run();
+            return true;
+        }
+
+        private boolean isClaimed() {
+            return claimed.get();
+        }
+
+        private void expire() {
+            if (claimed.compareAndSet(false, true)) {
+                onExpire.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.sw2you.realmeet.api.async;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+import static java.util.Objects.isNull;
+
+/**
+ * {@link ApiClient} whose API classes all share one keep-alive connection pool, so repeated calls reuse open
+ * connections instead of paying for a TCP/TLS handshake each time.
+ *
+ * <pre>
+ * var apiClient = PooledApiClient.newBuilder().baseUri("https://realmeet.example.com/v1").maxConnections(20).build();
+ * var roomApi = new RoomApi(apiClient);
+ * var allocationApi = new AllocationApi(apiClient);
+ * </pre>
+ *
+ * Idle connections are closed after {@code jdk.httpclient.keepalive.timeout} seconds, a JVM-wide system property.
+ */
+public class PooledApiClient extends ApiClient {
+    private final HttpClient httpClient;
+
+    private PooledApiClient(Builder builder) {
+        var uri = URI.create(builder.baseUri);
+        setScheme(uri.getScheme());
+        setHost(uri.getHost());
+        setPort(uri.getPort());
+        setBasePath(uri.getRawPath());
+        setReadTimeout(builder.requestTimeout);
+
+        // HTTP/1.1 only: the default HTTP/2 would try an h2c upgrade on every new plain-text connection
+        var httpClientBuilder = HttpClient
+                .newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(builder.connectTimeout);
+
+        if (!isNull(builder.executor)) {
+            httpClientBuilder.executor(builder.executor);
+        }
+        httpClient = new BoundedHttpClient(httpClientBuilder.build(), builder.maxConnections, builder.acquireTimeout);
+    }
+
+    // The generated ApiClient builds a new HttpClient, and so a new pool, for every API class
+    @Override
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private String baseUri = "http://localhost:8080/v1";
+        private int maxConnections = 50;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+        private Duration requestTimeout = Duration.ofSeconds(10);
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        public Builder baseUri(String baseUri) {
+            this.baseUri = baseUri;
+            return this;
+        }
+
+        // Requests in flight, and so open connections, at most
+        public Builder maxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        // How long a request waits for a free connection once maxConnections are in use
+        public Builder acquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+            return this;
+        }
+
+        // From sending the request until the response headers arrive
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        // Runs the response handling, the JDK's default is an unbounded cached thread pool
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public PooledApiClient build() {
+            return new PooledApiClient(this);
+        }
+    }
+}
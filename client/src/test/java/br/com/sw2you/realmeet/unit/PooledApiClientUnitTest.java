@@ -0,0 +1,149 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.api.async.PooledApiClient;
+import br.com.sw2you.realmeet.api.async.facade.RoomApi;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PooledApiClientUnitTest {
+    private static final long DEFAULT_ROOM_ID = 1L;
+    private static final String DEFAULT_ROOM_NAME = "Room A";
+    private static final int DEFAULT_ROOM_SEATS = 6;
+    private static final String ROOM_JSON = String.format(
+            "{\"id\":%d,\"name\":\"%s\",\"seats\":%d}",
+            DEFAULT_ROOM_ID,
+            DEFAULT_ROOM_NAME,
+            DEFAULT_ROOM_SEATS
+    );
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private Set<Integer> clientPorts;
+    private AtomicInteger inFlight;
+    private AtomicInteger maxInFlight;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setupEach() throws IOException {
+        clientPorts = ConcurrentHashMap.newKeySet();
+        inFlight = new AtomicInteger();
+        maxInFlight = new AtomicInteger();
+        release = new CountDownLatch(0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/v1/rooms", this::handle);
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDownEach() {
+        release.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testGetRoomReusesConnection() throws Exception {
+        var roomApi = new RoomApi(newApiClient(2, Duration.ofSeconds(5)));
+
+        for (var i = 0; i < 5; i++) {
+            var room = roomApi.getRoom(DEFAULT_ROOM_ID, null).get(5, TimeUnit.SECONDS);
+            assertEquals(DEFAULT_ROOM_NAME, room.getName());
+        }
+
+        assertEquals(1, clientPorts.size());
+    }
+
+    @Test
+    void testMaxConnectionsBoundsRequestsInFlight() throws Exception {
+        release = new CountDownLatch(1);
+        var roomApi = new RoomApi(newApiClient(2, Duration.ofSeconds(5)));
+
+        var rooms = new CompletableFuture<?>[6];
+        for (var i = 0; i < rooms.length; i++) {
+            rooms[i] = roomApi.getRoom(DEFAULT_ROOM_ID, null);
+        }
+        awaitInFlight(2);
+        release.countDown();
+        CompletableFuture.allOf(rooms).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, maxInFlight.get());
+        assertTrue(clientPorts.size() <= 2);
+    }
+
+    @Test
+    void testRequestFailsWhenNoConnectionFreesUpInTime() throws Exception {
+        release = new CountDownLatch(1);
+        var roomApi = new RoomApi(newApiClient(1, Duration.ofMillis(100)));
+
+        var first = roomApi.getRoom(DEFAULT_ROOM_ID, null);
+        awaitInFlight(1);
+        var second = roomApi.getRoom(DEFAULT_ROOM_ID, null);
+
+        var exception = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof HttpTimeoutException);
+        release.countDown();
+        assertEquals(DEFAULT_ROOM_ID, first.get(5, TimeUnit.SECONDS).getId());
+    }
+
+    private PooledApiClient newApiClient(int maxConnections, Duration acquireTimeout) {
+        return PooledApiClient
+                .newBuilder()
+                .baseUri("http://localhost:" + server.getAddress().getPort() + "/v1")
+                .maxConnections(maxConnections)
+                .acquireTimeout(acquireTimeout)
+                .build();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        inFlight.decrementAndGet();
+
+        var body = ROOM_JSON.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (var responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    private void awaitInFlight(int expected) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (inFlight.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, inFlight.get());
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.sw2you.realmeet.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+@Component
+public class AdmissionControl {
+
+    private final Map<EndpointClass, AdmissionQueue> queues;
+
+    public AdmissionControl(
+            Executor controllersExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${realmeet.loadShedding.targetQueueWaitMillis:50}") long targetMillis,
+            @Value("${realmeet.loadShedding.intervalMillis:500}") long intervalMillis,
+            @Value("${realmeet.loadShedding.maxQueued.query:30}") int maxQueuedQueries,
+            @Value("${realmeet.loadShedding.maxQueued.command:15}") int maxQueuedCommands,
+            @Value("${realmeet.loadShedding.maxQueued.bulk:5}") int maxQueuedBulk
+    ) {
+        var maxQueued = Map.of(
+                EndpointClass.QUERY, maxQueuedQueries,
+                EndpointClass.COMMAND, maxQueuedCommands,
+                EndpointClass.BULK, maxQueuedBulk
+        );
+        this.queues = new EnumMap<>(EndpointClass.class);
+
+        for (var endpointClass : EndpointClass.values()) {
+            queues.put(
+                    endpointClass,
+                    new AdmissionQueue(
+                            endpointClass,
+                            controllersExecutor,
+                            maxQueued.get(endpointClass),
+                            targetMillis,
+                            intervalMillis,
+                            System::nanoTime,
+                            meterRegistry
+                    )
+            );
+        }
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(EndpointClass endpointClass, String operation, Supplier<T> supplier) {
+        return queues.get(endpointClass).supplyAsync(operation, supplier);
+    }
+
+    public CompletableFuture<Void> runAsync(EndpointClass endpointClass, String operation, Runnable runnable) {
+        return queues.get(endpointClass).runAsync(operation, runnable);
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.sw2you.realmeet.admission;
+
+import br.com.sw2you.realmeet.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Admits the tasks of one endpoint class into the shared controllers executor.
+ * Tasks are rejected on submission when too many of them are already waiting. A CoDel-style
+ * policy also sheds them once the queue stands: every task has waited longer than the target
+ * for a whole interval. While the queue stands, tasks that waited past the target are failed
+ * instead of run, and new tasks are rejected until the queue drains.
+ */
+public class AdmissionQueue {
+    public static final String QUEUE_WAIT_METRIC = "realmeet.controllers.queue.wait";
+    public static final String EXECUTION_METRIC = "realmeet.controllers.execution";
+    public static final String REJECTED_METRIC = "realmeet.controllers.rejected";
+    public static final String QUEUED_METRIC = "realmeet.controllers.queued";
+
+    private static final long NOT_ABOVE_TARGET = Long.MIN_VALUE;
+
+    private final EndpointClass endpointClass;
+    private final Executor executor;
+    private final int maxQueued;
+    private final long targetNanos;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, OperationMeters> operationMeters;
+    private final AtomicInteger queued;
+    private volatile long lastSojournNanos;
+    private volatile long aboveTargetSince;
+
+    public AdmissionQueue(
+            EndpointClass endpointClass,
+            Executor executor,
+            int maxQueued,
+            long targetMillis,
+            long intervalMillis,
+            LongSupplier nanoClock,
+            MeterRegistry meterRegistry
+    ) {
+        this.endpointClass = endpointClass;
+        this.executor = executor;
+        this.maxQueued = maxQueued;
+        this.targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMillis);
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.nanoClock = nanoClock;
+        this.meterRegistry = meterRegistry;
+        this.operationMeters = new ConcurrentHashMap<>();
+        this.queued = meterRegistry.gauge(QUEUED_METRIC, endpointTags(), new AtomicInteger());
+        this.aboveTargetSince = NOT_ABOVE_TARGET;
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(String operation, Supplier<T> supplier) {
+        var meters = operationMeters.computeIfAbsent(operation, OperationMeters::new);
+
+        if (queued.incrementAndGet() > maxQueued) {
+            return reject(meters.rejectedQueueFull);
+        }
+
+        // A standing queue that has drained admits again, so the next sojourn can end the shedding
+        if (isStanding(nanoClock.getAsLong()) && queued.get() > 1) {
+            return reject(meters.rejectedStanding);
+        }
+
+        var future = new CompletableFuture<T>();
+        var enqueuedAt = nanoClock.getAsLong();
+
+        try {
+            executor.execute(() -> run(supplier, future, enqueuedAt, meters));
+        } catch (RejectedExecutionException e) {
+            return reject(meters.rejectedExecutor);
+        }
+        return future;
+    }
+
+    public CompletableFuture<Void> runAsync(String operation, Runnable runnable) {
+        return supplyAsync(
+                operation,
+                () -> {
+                    runnable.run();
+                    return null;
+                }
+        );
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    private <T> void run(Supplier<T> supplier, CompletableFuture<T> future, long enqueuedAt, OperationMeters meters) {
+        queued.decrementAndGet();
+        var now = nanoClock.getAsLong();
+        var sojournNanos = now - enqueuedAt;
+        lastSojournNanos = sojournNanos;
+        meters.queueWait.record(sojournNanos, TimeUnit.NANOSECONDS);
+
+        if (sojournNanos < targetNanos) {
+            aboveTargetSince = NOT_ABOVE_TARGET;
+        } else if (aboveTargetSince == NOT_ABOVE_TARGET) {
+            aboveTargetSince = now;
+        } else if (isStanding(now)) {
+            meters.rejectedShed.increment();
+            future.completeExceptionally(overloaded());
+            return;
+        }
+
+        try {
+            future.complete(supplier.get());
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        } finally {
+            meters.execution.record(nanoClock.getAsLong() - now, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> CompletableFuture<T> reject(Counter rejected) {
+        queued.decrementAndGet();
+        rejected.increment();
+        return CompletableFuture.failedFuture(overloaded());
+    }
+
+    private boolean isStanding(long now) {
+        var since = aboveTargetSince;
+        return since != NOT_ABOVE_TARGET && now - since >= intervalNanos;
+    }
+
+    // The last measured wait is the best guess of how long the backlog takes to clear
+    private ServiceOverloadedException overloaded() {
+        var oneSecond = TimeUnit.SECONDS.toNanos(1);
+        var retryAfterSeconds = Math.max(1L, (lastSojournNanos + oneSecond - 1) / oneSecond);
+        return new ServiceOverloadedException(endpointClass + " requests are being shed", retryAfterSeconds);
+    }
+
+    private Tags endpointTags() {
+        return Tags.of("endpointClass", endpointClass.name().toLowerCase(Locale.ROOT));
+    }
+
+    private final class OperationMeters {
+        private final Timer queueWait;
+        private final Timer execution;
+        private final Counter rejectedQueueFull;
+        private final Counter rejectedStanding;
+        private final Counter rejectedExecutor;
+        private final Counter rejectedShed;
+
+        private OperationMeters(String operation) {
+            var tags = endpointTags().and("operation", operation);
+            this.queueWait = timer(QUEUE_WAIT_METRIC, tags);
+            this.execution = timer(EXECUTION_METRIC, tags);
+            this.rejectedQueueFull = rejected(tags, "queue_full");
+            this.rejectedStanding = rejected(tags, "standing_queue");
+            this.rejectedExecutor = rejected(tags, "executor");
+            this.rejectedShed = rejected(tags, "shed");
+        }
+
+        private Timer timer(String name, Tags tags) {
+            return Timer.builder(name).tags(tags).publishPercentileHistogram().register(meterRegistry);
+        }
+
+        private Counter rejected(Tags tags, String reason) {
+            return Counter.builder(REJECTED_METRIC).tags(tags.and("reason", reason)).register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.sw2you.realmeet.admission;
+
+public enum EndpointClass {
+    QUERY,
+    COMMAND,
+    BULK
+}
@@ -0,0 +1,102 @@
+package br.com.sw2you.realmeet.archive;
+
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.ArchivedAllocationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+
+/**
+ * Moves allocations that ended more than {@code afterDays} ago to the allocation_archive table, so the hot table
+ * and its indexes only hold recent and upcoming allocations. Each chunk is copied and deleted in its own short
+ * transaction, with a pause between chunks and a cap per run, so archiving a large backlog never holds locks for
+ * long nor saturates the database.
+ */
+@Component
+public class AllocationArchiver {
+    public static final String ARCHIVED_METRIC = "realmeet.archive.moved";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AllocationArchiver.class);
+
+    private final AllocationRepository allocationRepository;
+    private final ArchivedAllocationRepository archivedAllocationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long afterDays;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final int maxChunksPerRun;
+    private final Counter archived;
+
+    public AllocationArchiver(
+            AllocationRepository allocationRepository,
+            ArchivedAllocationRepository archivedAllocationRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${realmeet.archive.afterDays:90}") long afterDays,
+            @Value("${realmeet.archive.chunkSize:500}") int chunkSize,
+            @Value("${realmeet.archive.pauseMillis:200}") long pauseMillis,
+            @Value("${realmeet.archive.maxChunksPerRun:100}") int maxChunksPerRun
+    ) {
+        this.allocationRepository = allocationRepository;
+        this.archivedAllocationRepository = archivedAllocationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.afterDays = afterDays;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.archived = meterRegistry.counter(ARCHIVED_METRIC);
+    }
+
+    @Scheduled(fixedDelayString = "${realmeet.archive.intervalMillis:600000}")
+    public void archive() {
+        var endedBefore = now().minusDays(afterDays);
+        var total = 0;
+        var chunks = 0;
+        int moved;
+
+        // A full chunk means more rows may be due, whatever is left over waits for the next run
+        do {
+            moved = archiveChunk(endedBefore);
+            total += moved;
+        } while (moved == chunkSize && ++chunks < maxChunksPerRun && pause());
+
+        if (total > 0) {
+            LOGGER.info("Archived {} allocations ended before {}", total, endedBefore);
+        }
+    }
+
+    public int archiveChunk(OffsetDateTime endedBefore) {
+        int moved = transactionTemplate.execute(status -> {
+            var ids = allocationRepository.findIdsEndedBefore(endedBefore, PageRequest.of(0, chunkSize));
+
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            archivedAllocationRepository.copyFromAllocations(ids, now());
+            return allocationRepository.deleteAllByIdIn(ids);
+        });
+        archived.increment(moved);
+        return moved;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.sw2you.realmeet.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache regions backed by bounded, expiring Caffeine caches local to each instance.
+ * Enabled through hibernate.cache.region.factory_class, sized by the hibernate.cache.caffeine.* properties.
+ * Nothing invalidates them across instances, so reads that back conditional requests or room version checks bypass
+ * them; for the remaining reads, expiry bounds how long an instance may serve a room another instance changed.
+ */
+public class CaffeineRegionFactory extends RegionFactoryTemplate {
+    public static final String MAXIMUM_SIZE = "hibernate.cache.caffeine.maximum_size";
+    public static final String EXPIRE_AFTER_WRITE_SECONDS = "hibernate.cache.caffeine.expire_after_write_seconds";
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 1000;
+    private static final int DEFAULT_EXPIRE_AFTER_WRITE_SECONDS = 300;
+
+    private long maximumSize;
+    private Duration expireAfterWrite;
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map configValues) {
+        var expireAfterWriteSeconds = ConfigurationHelper.getLong(
+                EXPIRE_AFTER_WRITE_SECONDS,
+                configValues,
+                DEFAULT_EXPIRE_AFTER_WRITE_SECONDS
+        );
+        maximumSize = ConfigurationHelper.getLong(MAXIMUM_SIZE, configValues, DEFAULT_MAXIMUM_SIZE);
+        expireAfterWrite = Duration.ofSeconds(expireAfterWriteSeconds);
+    }
+
+    @Override
+    protected void releaseFromUse() {}
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(
+            DomainDataRegionConfig regionConfig,
+            DomainDataRegionBuildingContext buildingContext
+    ) {
+        return new CaffeineStorageAccess(bounded());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(
+            String regionName,
+            SessionFactoryImplementor sessionFactory
+    ) {
+        return new CaffeineStorageAccess(bounded());
+    }
+
+    // Never bounded: an evicted update timestamp would make stale query results look valid.
+    // It holds one entry per table.
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(
+            String regionName,
+            SessionFactoryImplementor sessionFactory
+    ) {
+        return new CaffeineStorageAccess(Caffeine.newBuilder().build());
+    }
+
+    private Cache<Object, Object> bounded() {
+        return Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(expireAfterWrite).build();
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.sw2you.realmeet.cache;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Soft locks on the second-level cache entry of an entity written by a native statement, which Hibernate only
+ * takes for its own updates. While the lock is held reads miss the entry and nothing loaded is cached; once it is
+ * released, rows loaded with the locked version or older are still refused, so a read racing the write can't put
+ * the old row back.
+ */
+@Component
+public class EntityCacheLocks {
+    private final EntityManager entityManager;
+
+    public EntityCacheLocks(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Call within the writing transaction, before the write. The lock is released when that transaction completes,
+    // whether it commits or rolls back.
+    public void lockUntilCompletion(Class<?> entityClass, Object id, Object version) {
+        var session = entityManager.unwrap(SessionImplementor.class);
+        var factory = session.getFactory();
+        var persister = factory.getMetamodel().entityPersister(entityClass);
+
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+
+        var cacheAccess = persister.getCacheAccessStrategy();
+        var key = cacheAccess.generateCacheKey(id, persister, factory, session.getTenantIdentifier());
+        var lock = cacheAccess.lockItem(session, key, version);
+        session.getActionQueue().registerProcess((success, s) -> cacheAccess.unlockItem(s, key, lock));
+    }
+}
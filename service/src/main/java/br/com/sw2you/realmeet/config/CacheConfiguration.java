@@ -0,0 +1,22 @@
+package br.com.sw2you.realmeet.config;
+
+import org.hibernate.Cache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+
+// Rooms are cached by Hibernate's second-level cache (CaffeineRegionFactory, spring.jpa.properties.hibernate.cache.*)
+// for allocations loading their room, plain room reads and room-exists checks; conditional requests and room writes
+// read the database
+@Configuration
+public class CacheConfiguration {
+
+    public static final String ROOM_REGION = "room";
+    public static final String ROOM_QUERY_REGION = "room-by-id";
+
+    @Bean
+    public Cache secondLevelCache(EntityManagerFactory entityManagerFactory) {
+        return entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+}
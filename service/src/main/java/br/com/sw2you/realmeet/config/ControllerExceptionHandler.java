@@ -2,8 +2,14 @@ package br.com.sw2you.realmeet.config;
 
 import br.com.sw2you.realmeet.api.model.ResponseError;
 import br.com.sw2you.realmeet.exception.AllocationNotFoundException;
+import br.com.sw2you.realmeet.exception.AllocationSeriesNotFoundException;
 import br.com.sw2you.realmeet.exception.InvalidRequestException;
+import br.com.sw2you.realmeet.exception.PreconditionFailedException;
+import br.com.sw2you.realmeet.exception.RateLimitExceededException;
+import br.com.sw2you.realmeet.exception.ReportJobNotFoundException;
 import br.com.sw2you.realmeet.exception.RoomNotFoundException;
+import br.com.sw2you.realmeet.exception.ServiceOverloadedException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -12,14 +18,24 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
+import static br.com.sw2you.realmeet.util.ResponseEntityUtils.conflict;
 import static br.com.sw2you.realmeet.util.ResponseEntityUtils.notFound;
+import static br.com.sw2you.realmeet.util.ResponseEntityUtils.preconditionFailed;
+import static br.com.sw2you.realmeet.util.ResponseEntityUtils.serviceUnavailable;
+import static br.com.sw2you.realmeet.util.ResponseEntityUtils.tooManyRequests;
 
 @RestControllerAdvice
 public class ControllerExceptionHandler {
 
-    @ExceptionHandler({RoomNotFoundException.class, AllocationNotFoundException.class})
+    @ExceptionHandler({
+            RoomNotFoundException.class,
+            AllocationNotFoundException.class,
+            AllocationSeriesNotFoundException.class,
+            ReportJobNotFoundException.class
+    })
     public ResponseEntity<Object> handleNotFoundException(Exception exception) {
         return notFound();
     }
@@ -34,4 +50,31 @@ public class ControllerExceptionHandler {
                 .map(e -> new ResponseError().field(e.getField()).errorCode(e.getErrorCode()))
                 .collect(Collectors.toList());
     }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Object> handlePreconditionFailedException(Exception exception) {
+        return preconditionFailed();
+    }
+
+    // Concurrent bookings for the same slot: the losing transaction is rolled back and may be retried
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<Object> handlePessimisticLockingFailureException(Exception exception) {
+        return conflict();
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Object> handleRateLimitExceededException(RateLimitExceededException exception) {
+        return tooManyRequests(exception.getRetryAfterSeconds());
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Object> handleServiceOverloadedException(ServiceOverloadedException exception) {
+        return serviceUnavailable(exception.getRetryAfterSeconds());
+    }
+
+    // Any executor still saturated past admission control, e.g. the MVC one used by exports
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Object> handleRejectedExecutionException(Exception exception) {
+        return serviceUnavailable(1);
+    }
 }
@@ -1,30 +1,107 @@
 package br.com.sw2you.realmeet.config;
 
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class ExecutorsConfiguration {
+    public static final String POOL_MODE = "pool";
+    public static final String VIRTUAL_MODE = "virtual";
 
     @Bean
     public Executor controllersExecutor(
+            @Value("${realmeet.taskExecutor.mode:pool}") String mode,
             @Value("${realmeet.taskExecutor.pool.coreSize:10}") int corePoolSize,
             @Value("${realmeet.taskExecutor.pool.maxSize:20}") int maxPoolSize,
             @Value("${realmeet.taskExecutor.pool.queueCapacity:50}") int queueCapacity,
             @Value("${realmeet.taskExecutor.pool.keepAliveSeconds:60}") int keepAliveSeconds
+    ) {
+        switch (mode) {
+            case POOL_MODE:
+                return new ThreadPoolExecutor(
+                        corePoolSize,
+                        maxPoolSize,
+                        keepAliveSeconds,
+                        TimeUnit.SECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity, true)
+                );
+            case VIRTUAL_MODE:
+                return newVirtualThreadPerTaskExecutor();
+            default:
+                throw new IllegalArgumentException("Unknown realmeet.taskExecutor.mode: " + mode);
+        }
+    }
+
+    // Pool size, active threads, queue depth and completed tasks as executor.* metrics; tasks rejected by the
+    // pool are counted per operation by AdmissionQueue
+    @Bean
+    public MeterBinder controllersExecutorMetrics(Executor controllersExecutor) {
+        return new ExecutorServiceMetrics((ExecutorService) controllersExecutor, "controllersExecutor", Tags.empty());
+    }
+
+    // Reports are long and memory hungry: a couple run at a time, the rest wait here or are rejected with 503
+    @Bean
+    public ExecutorService reportsExecutor(
+            @Value("${realmeet.reports.maxConcurrent:2}") int maxConcurrent,
+            @Value("${realmeet.reports.queueCapacity:20}") int queueCapacity
     ) {
         return new ThreadPoolExecutor(
-                corePoolSize,
-                maxPoolSize,
-                keepAliveSeconds,
+                maxConcurrent,
+                maxConcurrent,
+                0,
                 TimeUnit.SECONDS,
-                new ArrayBlockingQueue<>(queueCapacity, true)
+                new ArrayBlockingQueue<>(queueCapacity)
         );
     }
+
+    @Bean
+    public MeterBinder reportsExecutorMetrics(ExecutorService reportsExecutor) {
+        return new ExecutorServiceMetrics(reportsExecutor, "reportsExecutor", Tags.empty());
+    }
+
+    // The single thread fanning change events out; when its queue is full events are dropped for a resync
+    @Bean
+    public ExecutorService changeEventsExecutor(@Value("${realmeet.events.queueCapacity:1000}") int queueCapacity) {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity));
+    }
+
+    // Writes to SSE connections; each subscriber has at most one task queued, which bounds the queue
+    @Bean
+    public ExecutorService changeEventWritersExecutor(@Value("${realmeet.events.writerThreads:4}") int writerThreads) {
+        return Executors.newFixedThreadPool(writerThreads);
+    }
+
+    @Bean
+    public MeterBinder changeEventsExecutorMetrics(ExecutorService changeEventsExecutor) {
+        return new ExecutorServiceMetrics(changeEventsExecutor, "changeEventsExecutor", Tags.empty());
+    }
+
+    @Bean
+    public MeterBinder changeEventWritersExecutorMetrics(ExecutorService changeEventWritersExecutor) {
+        return new ExecutorServiceMetrics(changeEventWritersExecutor, "changeEventWritersExecutor", Tags.empty());
+    }
+
+    // One virtual thread per task: a blocked JDBC call parks instead of holding a platform thread, so database work
+    // waits for a Hikari connection instead of a pool thread. Looked up reflectively, since the build targets Java 11.
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                    "realmeet.taskExecutor.mode=virtual requires Java 21 or later, running on " + Runtime.version(),
+                    e
+            );
+        }
+    }
 }
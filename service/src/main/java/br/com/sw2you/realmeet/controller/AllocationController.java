@@ -1,46 +1,220 @@
 package br.com.sw2you.realmeet.controller;
 
+import br.com.sw2you.realmeet.admission.AdmissionControl;
 import br.com.sw2you.realmeet.api.facade.AllocationsApi;
 import br.com.sw2you.realmeet.api.model.AllocationDTO;
+import br.com.sw2you.realmeet.api.model.AllocationPageDTO;
+import br.com.sw2you.realmeet.api.model.AllocationSeriesDTO;
+import br.com.sw2you.realmeet.api.model.CancelAllocationsResultDTO;
 import br.com.sw2you.realmeet.api.model.CreateAllocationDTO;
+import br.com.sw2you.realmeet.api.model.CreateAllocationSeriesDTO;
 import br.com.sw2you.realmeet.api.model.UpdateAllocationDTO;
+import br.com.sw2you.realmeet.idempotency.IdempotentRequests;
+import br.com.sw2you.realmeet.ratelimit.CallerIdentity;
+import br.com.sw2you.realmeet.ratelimit.RateLimits;
+import br.com.sw2you.realmeet.service.AllocationExportService;
 import br.com.sw2you.realmeet.service.AllocationService;
 import br.com.sw2you.realmeet.util.ResponseEntityUtils;
+import br.com.sw2you.realmeet.validator.AllocationValidator;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
-import static java.util.concurrent.CompletableFuture.runAsync;
-import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static br.com.sw2you.realmeet.admission.EndpointClass.BULK;
+import static br.com.sw2you.realmeet.admission.EndpointClass.COMMAND;
+import static br.com.sw2you.realmeet.admission.EndpointClass.QUERY;
 
 @RestController
 public class AllocationController implements AllocationsApi {
 
-    private final Executor controllersExecutor;
+    private final AdmissionControl admissionControl;
+    private final IdempotentRequests idempotentRequests;
+    private final RateLimits rateLimits;
+    // Proxy to the current request, only read on the request thread before anything is submitted
+    private final HttpServletRequest request;
     private final AllocationService allocationService;
+    private final AllocationExportService allocationExportService;
+    private final AllocationValidator allocationValidator;
 
-    public AllocationController(Executor controllersExecutor, AllocationService allocationService) {
-        this.controllersExecutor = controllersExecutor;
+    public AllocationController(
+            AdmissionControl admissionControl,
+            IdempotentRequests idempotentRequests,
+            RateLimits rateLimits,
+            HttpServletRequest request,
+            AllocationService allocationService,
+            AllocationExportService allocationExportService,
+            AllocationValidator allocationValidator
+    ) {
+        this.admissionControl = admissionControl;
+        this.idempotentRequests = idempotentRequests;
+        this.rateLimits = rateLimits;
+        this.request = request;
         this.allocationService = allocationService;
+        this.allocationExportService = allocationExportService;
+        this.allocationValidator = allocationValidator;
     }
 
     @Override
-    public CompletableFuture<ResponseEntity<AllocationDTO>> createAllocation(CreateAllocationDTO createAllocationDTO) {
-        return supplyAsync(() -> allocationService.createAllocation(createAllocationDTO), controllersExecutor)
-                .thenApply(ResponseEntityUtils::created);
+    public CompletableFuture<ResponseEntity<AllocationPageDTO>> listAllocations(
+            Long roomId,
+            String employeeEmail,
+            OffsetDateTime startAt,
+            OffsetDateTime endAt,
+            String cursor,
+            Integer limit
+    ) {
+        return admissionControl.supplyAsync(
+                QUERY,
+                "listAllocations",
+                () -> allocationService.listAllocations(roomId, employeeEmail, startAt, endAt, cursor, limit)
+        ).thenApply(ResponseEntityUtils::ok);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<AllocationPageDTO>> listAllocationHistory(
+            Long roomId,
+            String employeeEmail,
+            OffsetDateTime startAt,
+            OffsetDateTime endAt,
+            String cursor,
+            Integer limit
+    ) {
+        return admissionControl.supplyAsync(
+                QUERY,
+                "listAllocationHistory",
+                () -> allocationService.listAllocationHistory(roomId, employeeEmail, startAt, endAt, cursor, limit)
+        ).thenApply(ResponseEntityUtils::ok);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<AllocationDTO>> createAllocation(
+            CreateAllocationDTO createAllocationDTO,
+            String idempotencyKey
+    ) {
+        return rateLimits.whenAllowed(
+                CallerIdentity.of(request),
+                createAllocationDTO.getEmployeeEmail(),
+                () -> idempotentRequests.supplyAsync(
+                        CallerIdentity.of(request),
+                        "createAllocation",
+                        idempotencyKey,
+                        createAllocationDTO,
+                        AllocationDTO.class,
+                        () -> allocationService.createAllocation(createAllocationDTO)
+                )
+        ).thenApply(ResponseEntityUtils::created);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<AllocationDTO>>> createAllocations(
+            List<CreateAllocationDTO> createAllocationDTOs
+    ) {
+        return rateLimits.whenAllowed(
+                CallerIdentity.of(request),
+                createAllocationDTOs.stream().map(CreateAllocationDTO::getEmployeeEmail).collect(Collectors.toList()),
+                () -> admissionControl.supplyAsync(
+                        BULK,
+                        "createAllocations",
+                        () -> allocationService.createAllocations(createAllocationDTOs)
+                )
+        ).thenApply(ResponseEntityUtils::created);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<CancelAllocationsResultDTO>> cancelAllocations(List<Long> allocationIds) {
+        return rateLimits.whenAllowed(
+                CallerIdentity.of(request),
+                () -> admissionControl.supplyAsync(
+                        BULK,
+                        "cancelAllocations",
+                        () -> allocationService.cancelAllocations(allocationIds)
+                )
+        ).thenApply(ResponseEntityUtils::ok);
     }
 
     @Override
     public CompletableFuture<ResponseEntity<Void>> deleteAllocation(Long id) {
-        return runAsync(() -> allocationService.deleteAllocation(id), controllersExecutor)
-                .thenApply(ResponseEntityUtils::noContent);
+        return rateLimits.whenAllowed(
+                CallerIdentity.of(request),
+                () -> admissionControl.runAsync(
+                        COMMAND,
+                        "deleteAllocation",
+                        () -> allocationService.deleteAllocation(id)
+                )
+        ).thenApply(ResponseEntityUtils::noContent);
     }
 
     @Override
     public CompletableFuture<ResponseEntity<Void>> updateAllocation(Long id, UpdateAllocationDTO updateAllocationDTO) {
-        return runAsync(() -> allocationService.updateAllocation(id, updateAllocationDTO), controllersExecutor)
-                .thenApply(ResponseEntityUtils::noContent);
+        return rateLimits.whenAllowed(
+                CallerIdentity.of(request),
+                () -> admissionControl.runAsync(
+                        COMMAND,
+                        "updateAllocation",
+                        () -> allocationService.updateAllocation(id, updateAllocationDTO)
+                )
+        ).thenApply(ResponseEntityUtils::noContent);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<AllocationSeriesDTO>> createAllocationSeries(
+            CreateAllocationSeriesDTO createAllocationSeriesDTO
+    ) {
+        return rateLimits.whenAllowed(
+                CallerIdentity.of(request),
+                createAllocationSeriesDTO.getEmployeeEmail(),
+                () -> admissionControl.supplyAsync(
+                        COMMAND,
+                        "createAllocationSeries",
+                        () -> allocationService.createAllocationSeries(createAllocationSeriesDTO)
+                )
+        ).thenApply(ResponseEntityUtils::created);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Void>> cancelAllocationOccurrence(Long id, OffsetDateTime startAt) {
+        return rateLimits.whenAllowed(
+                CallerIdentity.of(request),
+                () -> admissionControl.runAsync(
+                        COMMAND,
+                        "cancelAllocationOccurrence",
+                        () -> allocationService.cancelAllocationOccurrence(id, startAt)
+                )
+        ).thenApply(ResponseEntityUtils::noContent);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Void>> deleteAllocationSeries(Long id) {
+        return rateLimits.whenAllowed(
+                CallerIdentity.of(request),
+                () -> admissionControl.runAsync(
+                        COMMAND,
+                        "deleteAllocationSeries",
+                        () -> allocationService.deleteAllocationSeries(id)
+                )
+        ).thenApply(ResponseEntityUtils::noContent);
+    }
+
+    // Not part of api.yml: a streamed body can't be expressed by the generated interfaces.
+    // Validation runs before the response is committed, the rows are then written by the MVC async executor.
+    @GetMapping(value = "/allocations/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllocations(
+            @RequestParam("startAt") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startAt,
+            @RequestParam("endAt") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endAt
+    ) {
+        allocationValidator.validateExportWindow(startAt, endAt);
+        return ResponseEntityUtils.ok(
+                outputStream -> allocationExportService.exportAllocations(startAt, endAt, outputStream)
+        );
     }
 }
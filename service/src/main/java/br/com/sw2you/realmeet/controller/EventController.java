@@ -0,0 +1,32 @@
+package br.com.sw2you.realmeet.controller;
+
+import br.com.sw2you.realmeet.event.ChangeEventDispatcher;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static java.util.Objects.isNull;
+
+@RestController
+public class EventController {
+
+    private final ChangeEventDispatcher changeEventDispatcher;
+
+    public EventController(ChangeEventDispatcher changeEventDispatcher) {
+        this.changeEventDispatcher = changeEventDispatcher;
+    }
+
+    // Not part of api.yml, like the allocations export: the generated interfaces can't return an SseEmitter.
+    // Without roomId the stream carries the changes of every room. Only changes committed through this instance are
+    // streamed, clients refetch periodically for the rest.
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestParam(value = "roomId", required = false) Long roomId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return changeEventDispatcher.subscribe(roomId, !isNull(lastEventId));
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.sw2you.realmeet.controller;
+
+import br.com.sw2you.realmeet.admission.AdmissionControl;
+import br.com.sw2you.realmeet.api.facade.ReportsApi;
+import br.com.sw2you.realmeet.api.model.CreateOccupancyReportDTO;
+import br.com.sw2you.realmeet.api.model.ReportJobDTO;
+import br.com.sw2you.realmeet.report.ReportExporter;
+import br.com.sw2you.realmeet.service.OccupancyReportService;
+import br.com.sw2you.realmeet.util.ResponseEntityUtils;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+import static br.com.sw2you.realmeet.admission.EndpointClass.COMMAND;
+import static br.com.sw2you.realmeet.admission.EndpointClass.QUERY;
+
+@RestController
+public class ReportController implements ReportsApi {
+
+    private final AdmissionControl admissionControl;
+    private final OccupancyReportService occupancyReportService;
+
+    public ReportController(AdmissionControl admissionControl, OccupancyReportService occupancyReportService) {
+        this.admissionControl = admissionControl;
+        this.occupancyReportService = occupancyReportService;
+    }
+
+    // Only queues the job: the report itself is filled on the reports executor, away from request threads
+    @Override
+    public CompletableFuture<ResponseEntity<ReportJobDTO>> createOccupancyReport(
+            CreateOccupancyReportDTO createOccupancyReportDTO
+    ) {
+        return admissionControl.supplyAsync(
+                COMMAND,
+                "createOccupancyReport",
+                () -> occupancyReportService.createOccupancyReport(createOccupancyReportDTO)
+        ).thenApply(ResponseEntityUtils::accepted);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<ReportJobDTO>> getReportJob(String id) {
+        return admissionControl.supplyAsync(QUERY, "getReportJob", () -> occupancyReportService.getReportJob(id))
+                .thenApply(ResponseEntityUtils::ok);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Resource>> getReportContent(String id) {
+        return admissionControl.supplyAsync(
+                QUERY,
+                "getReportContent",
+                () -> occupancyReportService.getReportContent(id)
+        ).thenApply(report -> ResponseEntityUtils.attachment(
+                report.getContent(),
+                report.getFileName(),
+                ReportExporter.getMediaType(report.getFormat())
+        ));
+    }
+}
@@ -1,48 +1,89 @@
 package br.com.sw2you.realmeet.controller;
 
+import br.com.sw2you.realmeet.admission.AdmissionControl;
 import br.com.sw2you.realmeet.api.facade.RoomsApi;
 import br.com.sw2you.realmeet.api.model.CreateRoomDTO;
 import br.com.sw2you.realmeet.api.model.RoomDTO;
 import br.com.sw2you.realmeet.api.model.UpdateRoomDTO;
+import br.com.sw2you.realmeet.idempotency.IdempotentRequests;
+import br.com.sw2you.realmeet.ratelimit.CallerIdentity;
 import br.com.sw2you.realmeet.service.RoomService;
 import br.com.sw2you.realmeet.util.ResponseEntityUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
 
-import static java.util.concurrent.CompletableFuture.runAsync;
-import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static br.com.sw2you.realmeet.admission.EndpointClass.COMMAND;
+import static br.com.sw2you.realmeet.admission.EndpointClass.QUERY;
 
 @RestController
 public class RoomController implements RoomsApi {
 
-    private final Executor controllersExecutor;
+    private final AdmissionControl admissionControl;
+    private final IdempotentRequests idempotentRequests;
+    // Proxy to the current request, only read on the request thread before anything is submitted
+    private final HttpServletRequest request;
     private final RoomService roomService;
 
-    public RoomController(Executor controllersExecutor, RoomService roomService) {
-        this.controllersExecutor = controllersExecutor;
+    public RoomController(
+            AdmissionControl admissionControl,
+            IdempotentRequests idempotentRequests,
+            HttpServletRequest request,
+            RoomService roomService
+    ) {
+        this.admissionControl = admissionControl;
+        this.idempotentRequests = idempotentRequests;
+        this.request = request;
         this.roomService = roomService;
     }
 
     @Override
-    public CompletableFuture<ResponseEntity<RoomDTO>> getRoom(Long id) {
-        return supplyAsync(() -> roomService.getRoom(id), controllersExecutor).thenApply(ResponseEntityUtils::ok);
+    public CompletableFuture<ResponseEntity<RoomDTO>> getRoom(Long id, String ifNoneMatch) {
+        return admissionControl.supplyAsync(QUERY, "getRoom", () -> roomService.getRoom(id, ifNoneMatch))
+                .thenApply(ResponseEntityUtils::okOrNotModified);
     }
 
     @Override
-    public CompletableFuture<ResponseEntity<RoomDTO>> createRoom(CreateRoomDTO createRoomDTO) {
-        return supplyAsync(() -> roomService.createRoom(createRoomDTO), controllersExecutor).thenApply(ResponseEntityUtils::created);
+    public CompletableFuture<ResponseEntity<List<RoomDTO>>> listAvailableRooms(
+            OffsetDateTime start,
+            OffsetDateTime end,
+            Integer minSeats
+    ) {
+        return admissionControl.supplyAsync(
+                QUERY,
+                "listAvailableRooms",
+                () -> roomService.findAvailableRooms(start, end, minSeats)
+        ).thenApply(ResponseEntityUtils::ok);
     }
 
     @Override
-    public CompletableFuture<ResponseEntity<Void>> deleteRoom(Long id) {
-        return runAsync(() -> roomService.deleteRoom(id), controllersExecutor).thenApply(ResponseEntityUtils::noContent);
+    public CompletableFuture<ResponseEntity<RoomDTO>> createRoom(CreateRoomDTO createRoomDTO, String idempotencyKey) {
+        return idempotentRequests.supplyAsync(
+                CallerIdentity.of(request),
+                "createRoom",
+                idempotencyKey,
+                createRoomDTO,
+                RoomDTO.class,
+                () -> roomService.createRoom(createRoomDTO)
+        ).thenApply(ResponseEntityUtils::created);
     }
 
     @Override
-    public CompletableFuture<ResponseEntity<Void>> updateRoom(Long id, UpdateRoomDTO updateRoomDTO) {
-        return runAsync(() -> roomService.updateRoom(id, updateRoomDTO), controllersExecutor). thenApply(ResponseEntityUtils::noContent);
+    public CompletableFuture<ResponseEntity<Void>> deleteRoom(Long id, String ifMatch) {
+        return admissionControl.runAsync(COMMAND, "deleteRoom", () -> roomService.deleteRoom(id, ifMatch))
+                .thenApply(ResponseEntityUtils::noContent);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Void>> updateRoom(Long id, UpdateRoomDTO updateRoomDTO, String ifMatch) {
+        return admissionControl.runAsync(
+                COMMAND,
+                "updateRoom",
+                () -> roomService.updateRoom(id, updateRoomDTO, ifMatch)
+        ).thenApply(ResponseEntityUtils::noContent);
     }
 }
@@ -1,18 +1,25 @@
 package br.com.sw2you.realmeet.domain.entity;
 
+import br.com.sw2you.realmeet.domain.generator.BlockIdGenerator;
+import br.com.sw2you.realmeet.domain.model.AllocationView;
 import br.com.sw2you.realmeet.domain.model.Employee;
 import br.com.sw2you.realmeet.util.DateUtils;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.Column;
+import javax.persistence.ColumnResult;
+import javax.persistence.ConstructorResult;
 import javax.persistence.Embedded;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
+import javax.persistence.SqlResultSetMapping;
 import javax.persistence.Table;
 import java.time.OffsetDateTime;
 import java.util.Objects;
@@ -20,15 +27,41 @@ import java.util.Objects;
 import static br.com.sw2you.realmeet.util.DateUtils.now;
 import static java.util.Objects.isNull;
 
+// ALLOCATION_VIEW_MAPPING reads AllocationView from native queries over allocation or allocation_archive
 @Entity
 @Table(name = "allocation")
+@SqlResultSetMapping(
+        name = Allocation.ALLOCATION_VIEW_MAPPING,
+        classes = @ConstructorResult(
+                targetClass = AllocationView.class,
+                columns = {
+                        @ColumnResult(name = "id", type = Long.class),
+                        @ColumnResult(name = "room_id", type = Long.class),
+                        @ColumnResult(name = "employee_name", type = String.class),
+                        @ColumnResult(name = "employee_email", type = String.class),
+                        @ColumnResult(name = "subject", type = String.class),
+                        @ColumnResult(name = "start_at", type = OffsetDateTime.class),
+                        @ColumnResult(name = "end_at", type = OffsetDateTime.class)
+                }
+        )
+)
 public class Allocation {
+    public static final String ALLOCATION_VIEW_MAPPING = "AllocationView";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "allocation_id")
+    @GenericGenerator(
+            name = "allocation_id",
+            strategy = "br.com.sw2you.realmeet.domain.generator.BlockIdGenerator",
+            parameters = {
+                    @Parameter(name = BlockIdGenerator.BLOCK_TABLE, value = "allocation_id_block"),
+                    @Parameter(name = BlockIdGenerator.BLOCK_SIZE, value = "50")
+            }
+    )
     private Long id;
 
-    @ManyToOne
+    // Reads that need the room join fetch it, the others only use its id, which a proxy holds without loading it
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id")
     private Room room;
 
@@ -126,7 +159,7 @@ public class Allocation {
     public String toString() {
         return "Allocation{" +
                 "id=" + id +
-                ", room=" + room +
+                ", roomId=" + (isNull(room) ? null : room.getId()) +
                 ", employee=" + employee +
                 ", subject='" + subject + '\'' +
                 ", startAt=" + startAt +
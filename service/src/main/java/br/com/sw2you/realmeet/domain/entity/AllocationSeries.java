@@ -0,0 +1,290 @@
+package br.com.sw2you.realmeet.domain.entity;
+
+import br.com.sw2you.realmeet.domain.model.Employee;
+import br.com.sw2you.realmeet.domain.model.Occurrence;
+import br.com.sw2you.realmeet.domain.model.Recurrence;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
+import javax.persistence.CollectionTable;
+import javax.persistence.Column;
+import javax.persistence.ElementCollection;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.Table;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+import static java.util.Objects.isNull;
+
+/**
+ * A recurring allocation stored as its rule: the first occurrence, the recurrence and the cancelled occurrences.
+ * Occurrences are expanded on demand and only within the window being read.
+ */
+@Entity
+@Table(name = "allocation_series")
+public class AllocationSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @Embedded
+    private Employee employee;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Column(name = "start_at")
+    private OffsetDateTime startAt;
+
+    @Column(name = "end_at")
+    private OffsetDateTime endAt;
+
+    @Embedded
+    private Recurrence recurrence;
+
+    // Loaded with one extra query for all the series a query returned, services read them outside transactions
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @CollectionTable(name = "allocation_series_exception", joinColumns = @JoinColumn(name = "series_id"))
+    @Column(name = "start_at")
+    private Set<Instant> cancelledStartAts = new HashSet<>();
+
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    public AllocationSeries() {}
+
+    private AllocationSeries(Builder builder) {
+        id = builder.id;
+        roomId = builder.roomId;
+        employee = builder.employee;
+        subject = builder.subject;
+        startAt = builder.startAt;
+        endAt = builder.endAt;
+        recurrence = builder.recurrence;
+        cancelledStartAts = builder.cancelledStartAts;
+        createdAt = builder.createdAt;
+        updatedAt = builder.updatedAt;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        if (isNull(createdAt)) {
+            createdAt = now();
+        }
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = now();
+    }
+
+    // In start order; the first candidate is computed from the date, so far away windows cost the same
+    public Stream<Occurrence> occurrencesEndingAfter(OffsetDateTime date) {
+        var step = recurrence.step();
+        var duration = Duration.between(startAt, endAt);
+        var first = 0L;
+
+        if (!isNull(date)) {
+            // Occurrence i ends i steps after endAt, none before this one can end after the date
+            first = Math.max(0, Math.floorDiv(Duration.between(endAt, date).toMillis(), step.toMillis()));
+        }
+
+        return LongStream
+                .iterate(first, i -> i + 1)
+                .mapToObj(i -> startAt.plus(step.multipliedBy(i)))
+                .takeWhile(start -> start.isBefore(recurrence.getUntil()))
+                .filter(start -> isNull(date) || start.plus(duration).isAfter(date))
+                .filter(start -> !cancelledStartAts.contains(start.toInstant()))
+                .map(start -> new Occurrence(id, roomId, employee, subject, start, start.plus(duration)));
+    }
+
+    public Stream<Occurrence> occurrencesBetween(OffsetDateTime startAt, OffsetDateTime endAt) {
+        return occurrencesEndingAfter(startAt).takeWhile(o -> o.getStartAt().isBefore(endAt));
+    }
+
+    public Optional<Occurrence> occurrenceAt(OffsetDateTime date) {
+        return occurrencesEndingAfter(date).findFirst().filter(o -> o.getStartAt().isEqual(date));
+    }
+
+    public void cancel(Occurrence occurrence) {
+        cancelledStartAts.add(occurrence.getStartAt().toInstant());
+    }
+
+    // Occurrences starting from the given date on are dropped, the ones before it stay part of the series
+    public void stopAt(OffsetDateTime date) {
+        if (date.isBefore(recurrence.getUntil())) {
+            recurrence = recurrence.withUntil(date);
+        }
+    }
+
+    public long occurrenceCount() {
+        return Recurrence.countOccurrences(startAt, recurrence.step(), recurrence.getUntil());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public OffsetDateTime getStartAt() {
+        return startAt;
+    }
+
+    public OffsetDateTime getEndAt() {
+        return endAt;
+    }
+
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    public Set<Instant> getCancelledStartAts() {
+        return cancelledStartAts;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AllocationSeries that = (AllocationSeries) o;
+        return Objects.equals(getId(), that.getId()) && Objects.equals(getRoomId(), that.getRoomId()) && Objects.equals(getEmployee(), that.getEmployee()) && Objects.equals(getSubject(), that.getSubject()) && Objects.equals(getStartAt(), that.getStartAt()) && Objects.equals(getEndAt(), that.getEndAt()) && Objects.equals(getRecurrence(), that.getRecurrence()) && Objects.equals(getCreatedAt(), that.getCreatedAt()) && Objects.equals(getUpdatedAt(), that.getUpdatedAt());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId(), getRoomId(), getEmployee(), getSubject(), getStartAt(), getEndAt(), getRecurrence(), getCreatedAt(), getUpdatedAt());
+    }
+
+    @Override
+    public String toString() {
+        return "AllocationSeries{" +
+                "id=" + id +
+                ", roomId=" + roomId +
+                ", employee=" + employee +
+                ", subject='" + subject + '\'' +
+                ", startAt=" + startAt +
+                ", endAt=" + endAt +
+                ", recurrence=" + recurrence +
+                ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private Long id;
+        private Long roomId;
+        private Employee employee;
+        private String subject;
+        private OffsetDateTime startAt;
+        private OffsetDateTime endAt;
+        private Recurrence recurrence;
+        private Set<Instant> cancelledStartAts = new HashSet<>();
+        private OffsetDateTime createdAt;
+        private OffsetDateTime updatedAt;
+
+        private Builder() {
+        }
+
+        public Builder id(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder roomId(Long roomId) {
+            this.roomId = roomId;
+            return this;
+        }
+
+        public Builder employee(Employee employee) {
+            this.employee = employee;
+            return this;
+        }
+
+        public Builder subject(String subject) {
+            this.subject = subject;
+            return this;
+        }
+
+        public Builder startAt(OffsetDateTime startAt) {
+            this.startAt = startAt;
+            return this;
+        }
+
+        public Builder endAt(OffsetDateTime endAt) {
+            this.endAt = endAt;
+            return this;
+        }
+
+        public Builder recurrence(Recurrence recurrence) {
+            this.recurrence = recurrence;
+            return this;
+        }
+
+        public Builder cancelledStartAts(Set<Instant> cancelledStartAts) {
+            this.cancelledStartAts = cancelledStartAts;
+            return this;
+        }
+
+        public Builder createdAt(OffsetDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
+        public Builder updatedAt(OffsetDateTime updatedAt) {
+            this.updatedAt = updatedAt;
+            return this;
+        }
+
+        public AllocationSeries build() {
+            return new AllocationSeries(this);
+        }
+    }
+}
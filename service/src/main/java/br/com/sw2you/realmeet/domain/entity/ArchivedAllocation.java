@@ -0,0 +1,193 @@
+package br.com.sw2you.realmeet.domain.entity;
+
+import br.com.sw2you.realmeet.domain.model.Employee;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+// A finished allocation moved out of the allocation table. Rows are only inserted by
+// ArchivedAllocationRepository's INSERT ... SELECT, keeping the original id, and never change afterwards.
+@Entity
+@Immutable
+@Table(name = "allocation_archive")
+public class ArchivedAllocation {
+
+    @Id
+    private Long id;
+
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @Embedded
+    private Employee employee;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Column(name = "start_at")
+    private OffsetDateTime startAt;
+
+    @Column(name = "end_at")
+    private OffsetDateTime endAt;
+
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    @Column(name = "archived_at")
+    private OffsetDateTime archivedAt;
+
+    public ArchivedAllocation() {}
+
+    private ArchivedAllocation(Builder builder) {
+        id = builder.id;
+        roomId = builder.roomId;
+        employee = builder.employee;
+        subject = builder.subject;
+        startAt = builder.startAt;
+        endAt = builder.endAt;
+        createdAt = builder.createdAt;
+        updatedAt = builder.updatedAt;
+        archivedAt = builder.archivedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public OffsetDateTime getStartAt() {
+        return startAt;
+    }
+
+    public OffsetDateTime getEndAt() {
+        return endAt;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public OffsetDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ArchivedAllocation that = (ArchivedAllocation) o;
+        return Objects.equals(getId(), that.getId()) && Objects.equals(getRoomId(), that.getRoomId()) && Objects.equals(getEmployee(), that.getEmployee()) && Objects.equals(getSubject(), that.getSubject()) && Objects.equals(getStartAt(), that.getStartAt()) && Objects.equals(getEndAt(), that.getEndAt()) && Objects.equals(getCreatedAt(), that.getCreatedAt()) && Objects.equals(getUpdatedAt(), that.getUpdatedAt()) && Objects.equals(getArchivedAt(), that.getArchivedAt());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId(), getRoomId(), getEmployee(), getSubject(), getStartAt(), getEndAt(), getCreatedAt(), getUpdatedAt(), getArchivedAt());
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedAllocation{" +
+                "id=" + id +
+                ", roomId=" + roomId +
+                ", employee=" + employee +
+                ", subject='" + subject + '\'' +
+                ", startAt=" + startAt +
+                ", endAt=" + endAt +
+                ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
+                ", archivedAt=" + archivedAt +
+                '}';
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private Long id;
+        private Long roomId;
+        private Employee employee;
+        private String subject;
+        private OffsetDateTime startAt;
+        private OffsetDateTime endAt;
+        private OffsetDateTime createdAt;
+        private OffsetDateTime updatedAt;
+        private OffsetDateTime archivedAt;
+
+        private Builder() {
+        }
+
+        public Builder id(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder roomId(Long roomId) {
+            this.roomId = roomId;
+            return this;
+        }
+
+        public Builder employee(Employee employee) {
+            this.employee = employee;
+            return this;
+        }
+
+        public Builder subject(String subject) {
+            this.subject = subject;
+            return this;
+        }
+
+        public Builder startAt(OffsetDateTime startAt) {
+            this.startAt = startAt;
+            return this;
+        }
+
+        public Builder endAt(OffsetDateTime endAt) {
+            this.endAt = endAt;
+            return this;
+        }
+
+        public Builder createdAt(OffsetDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
+        public Builder updatedAt(OffsetDateTime updatedAt) {
+            this.updatedAt = updatedAt;
+            return this;
+        }
+
+        public Builder archivedAt(OffsetDateTime archivedAt) {
+            this.archivedAt = archivedAt;
+            return this;
+        }
+
+        public ArchivedAllocation build() {
+            return new ArchivedAllocation(this);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.sw2you.realmeet.domain.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+// The response given to the first request sent with an Idempotency-Key. Rows are only written by
+// IdempotencyRecordRepository's statements, within the transaction that ran the request.
+@Entity
+@Table(name = "idempotency_key")
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+
+    @Column(name = "fingerprint")
+    private String fingerprint;
+
+    @Column(name = "response")
+    private String response;
+
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
+
+    @Column(name = "expires_at")
+    private OffsetDateTime expiresAt;
+
+    public IdempotencyRecord() {}
+
+    private IdempotencyRecord(Builder builder) {
+        key = builder.key;
+        fingerprint = builder.fingerprint;
+        response = builder.response;
+        createdAt = builder.createdAt;
+        expiresAt = builder.expiresAt;
+    }
+
+    public boolean isExpired(OffsetDateTime date) {
+        return !expiresAt.isAfter(date);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public String getResponse() {
+        return response;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IdempotencyRecord that = (IdempotencyRecord) o;
+        return Objects.equals(getKey(), that.getKey()) && Objects.equals(getFingerprint(), that.getFingerprint()) && Objects.equals(getResponse(), that.getResponse()) && Objects.equals(getCreatedAt(), that.getCreatedAt()) && Objects.equals(getExpiresAt(), that.getExpiresAt());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getKey(), getFingerprint(), getResponse(), getCreatedAt(), getExpiresAt());
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{" +
+                "key='" + key + '\'' +
+                ", fingerprint='" + fingerprint + '\'' +
+                ", createdAt=" + createdAt +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private String key;
+        private String fingerprint;
+        private String response;
+        private OffsetDateTime createdAt;
+        private OffsetDateTime expiresAt;
+
+        private Builder() {
+        }
+
+        public Builder key(String key) {
+            this.key = key;
+            return this;
+        }
+
+        public Builder fingerprint(String fingerprint) {
+            this.fingerprint = fingerprint;
+            return this;
+        }
+
+        public Builder response(String response) {
+            this.response = response;
+            return this;
+        }
+
+        public Builder createdAt(OffsetDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
+        public Builder expiresAt(OffsetDateTime expiresAt) {
+            this.expiresAt = expiresAt;
+            return this;
+        }
+
+        public IdempotencyRecord build() {
+            return new IdempotencyRecord(this);
+        }
+    }
+}
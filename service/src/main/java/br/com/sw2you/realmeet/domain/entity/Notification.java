@@ -0,0 +1,234 @@
+package br.com.sw2you.realmeet.domain.entity;
+
+import br.com.sw2you.realmeet.domain.model.Employee;
+import br.com.sw2you.realmeet.domain.model.NotificationEvent;
+
+import javax.persistence.Column;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+// A snapshot of the allocation, so deleted allocations can still be notified. Rows are only inserted by
+// NotificationRepository's INSERT ... SELECT statements, hence the identity column.
+@Entity
+@Table(name = "notification")
+public class Notification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event")
+    private NotificationEvent event;
+
+    @Column(name = "allocation_id")
+    private Long allocationId;
+
+    @Embedded
+    private Employee employee;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Column(name = "room_name")
+    private String roomName;
+
+    @Column(name = "start_at")
+    private OffsetDateTime startAt;
+
+    @Column(name = "end_at")
+    private OffsetDateTime endAt;
+
+    @Column(name = "attempts")
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at")
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
+
+    public Notification() {}
+
+    private Notification(Builder builder) {
+        id = builder.id;
+        event = builder.event;
+        allocationId = builder.allocationId;
+        employee = builder.employee;
+        subject = builder.subject;
+        roomName = builder.roomName;
+        startAt = builder.startAt;
+        endAt = builder.endAt;
+        attempts = builder.attempts;
+        nextAttemptAt = builder.nextAttemptAt;
+        createdAt = builder.createdAt;
+    }
+
+    // Counts the attempt up front: if the instance dies while sending, the row is retried at nextAttemptAt
+    public void claim(OffsetDateTime nextAttemptAt) {
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public NotificationEvent getEvent() {
+        return event;
+    }
+
+    public Long getAllocationId() {
+        return allocationId;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getRoomName() {
+        return roomName;
+    }
+
+    public OffsetDateTime getStartAt() {
+        return startAt;
+    }
+
+    public OffsetDateTime getEndAt() {
+        return endAt;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public OffsetDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Notification that = (Notification) o;
+        return Objects.equals(getId(), that.getId()) && getEvent() == that.getEvent() && Objects.equals(getAllocationId(), that.getAllocationId()) && Objects.equals(getEmployee(), that.getEmployee()) && Objects.equals(getSubject(), that.getSubject()) && Objects.equals(getRoomName(), that.getRoomName()) && Objects.equals(getStartAt(), that.getStartAt()) && Objects.equals(getEndAt(), that.getEndAt()) && Objects.equals(getAttempts(), that.getAttempts()) && Objects.equals(getNextAttemptAt(), that.getNextAttemptAt()) && Objects.equals(getCreatedAt(), that.getCreatedAt());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId(), getEvent(), getAllocationId(), getEmployee(), getSubject(), getRoomName(), getStartAt(), getEndAt(), getAttempts(), getNextAttemptAt(), getCreatedAt());
+    }
+
+    @Override
+    public String toString() {
+        return "Notification{" +
+                "id=" + id +
+                ", event=" + event +
+                ", allocationId=" + allocationId +
+                ", employee=" + employee +
+                ", subject='" + subject + '\'' +
+                ", roomName='" + roomName + '\'' +
+                ", startAt=" + startAt +
+                ", endAt=" + endAt +
+                ", attempts=" + attempts +
+                ", nextAttemptAt=" + nextAttemptAt +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private Long id;
+        private NotificationEvent event;
+        private Long allocationId;
+        private Employee employee;
+        private String subject;
+        private String roomName;
+        private OffsetDateTime startAt;
+        private OffsetDateTime endAt;
+        private Integer attempts;
+        private OffsetDateTime nextAttemptAt;
+        private OffsetDateTime createdAt;
+
+        private Builder() {
+        }
+
+        public Builder id(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder event(NotificationEvent event) {
+            this.event = event;
+            return this;
+        }
+
+        public Builder allocationId(Long allocationId) {
+            this.allocationId = allocationId;
+            return this;
+        }
+
+        public Builder employee(Employee employee) {
+            this.employee = employee;
+            return this;
+        }
+
+        public Builder subject(String subject) {
+            this.subject = subject;
+            return this;
+        }
+
+        public Builder roomName(String roomName) {
+            this.roomName = roomName;
+            return this;
+        }
+
+        public Builder startAt(OffsetDateTime startAt) {
+            this.startAt = startAt;
+            return this;
+        }
+
+        public Builder endAt(OffsetDateTime endAt) {
+            this.endAt = endAt;
+            return this;
+        }
+
+        public Builder attempts(Integer attempts) {
+            this.attempts = attempts;
+            return this;
+        }
+
+        public Builder nextAttemptAt(OffsetDateTime nextAttemptAt) {
+            this.nextAttemptAt = nextAttemptAt;
+            return this;
+        }
+
+        public Builder createdAt(OffsetDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
+        public Notification build() {
+            return new Notification(this);
+        }
+    }
+}
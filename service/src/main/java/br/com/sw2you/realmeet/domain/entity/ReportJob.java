@@ -0,0 +1,139 @@
+package br.com.sw2you.realmeet.domain.entity;
+
+import br.com.sw2you.realmeet.api.model.ReportFormatDTO;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+// A report being generated in the background by one of the instances. Status changes and the content are only
+// written by ReportJobRepository's statements, so a job purged meanwhile is never written back.
+@Entity
+@Table(name = "report_job")
+public class ReportJob {
+
+    public enum Status {
+        PENDING, RUNNING, DONE, FAILED
+    }
+
+    @Id
+    @Column(name = "id")
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format")
+    private ReportFormatDTO format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private Status status;
+
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private OffsetDateTime completedAt;
+
+    public ReportJob() {}
+
+    private ReportJob(Builder builder) {
+        id = builder.id;
+        format = builder.format;
+        status = builder.status;
+        createdAt = builder.createdAt;
+        completedAt = builder.completedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ReportFormatDTO getFormat() {
+        return format;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReportJob reportJob = (ReportJob) o;
+        return Objects.equals(getId(), reportJob.getId()) && getFormat() == reportJob.getFormat() && getStatus() == reportJob.getStatus() && Objects.equals(getCreatedAt(), reportJob.getCreatedAt()) && Objects.equals(getCompletedAt(), reportJob.getCompletedAt());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId(), getFormat(), getStatus(), getCreatedAt(), getCompletedAt());
+    }
+
+    @Override
+    public String toString() {
+        return "ReportJob{" +
+                "id='" + id + '\'' +
+                ", format=" + format +
+                ", status=" + status +
+                ", createdAt=" + createdAt +
+                ", completedAt=" + completedAt +
+                '}';
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private String id;
+        private ReportFormatDTO format;
+        private Status status;
+        private OffsetDateTime createdAt;
+        private OffsetDateTime completedAt;
+
+        private Builder() {
+        }
+
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder format(ReportFormatDTO format) {
+            this.format = format;
+            return this;
+        }
+
+        public Builder status(Status status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder createdAt(OffsetDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
+        public Builder completedAt(OffsetDateTime completedAt) {
+            this.completedAt = completedAt;
+            return this;
+        }
+
+        public ReportJob build() {
+            return new ReportJob(this);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package br.com.sw2you.realmeet.domain.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -7,12 +10,15 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.PrePersist;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.util.Objects;
 
+import static br.com.sw2you.realmeet.config.CacheConfiguration.ROOM_REGION;
 import static java.util.Objects.isNull;
 
 @Entity
 @Table(name = "room")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ROOM_REGION)
 public class Room {
 
     @Id
@@ -27,6 +33,10 @@ public class Room {
     @Column(name = "active", nullable = false)
     private Boolean active;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public Room() {}
 
     private Room(Builder builder) {
@@ -34,6 +44,7 @@ public class Room {
         name = builder.name;
         seats = builder.seats;
         active = builder.active;
+        version = builder.version;
     }
 
     @PrePersist
@@ -59,6 +70,10 @@ public class Room {
         return active;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -80,6 +95,7 @@ public class Room {
                 ", name='" + name + '\'' +
                 ", seats=" + seats +
                 ", active=" + active +
+                ", version=" + version +
                 '}';
     }
 
@@ -93,6 +109,7 @@ public class Room {
         private Integer seats;
 
         private Boolean active;
+        private Long version;
 
         private Builder() {
         }
@@ -117,6 +134,11 @@ public class Room {
             return this;
         }
 
+        public Builder version(Long version) {
+            this.version = version;
+            return this;
+        }
+
         public Room build() {
             return new Room(this);
         }
@@ -0,0 +1,147 @@
+package br.com.sw2you.realmeet.domain.generator;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.Configurable;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Hands out ids in blocks of {@code block_size}, so Hibernate can batch inserts, which IDENTITY columns rule out.
+ * A block is reserved by inserting a row into {@code block_table}, an AUTO_INCREMENT table: block n holds the ids
+ * from n * block_size on. The insert runs on the session's own connection and MySQL releases the AUTO_INCREMENT
+ * counter when the statement ends, so reserving a block neither needs a second pooled connection nor holds a lock
+ * until commit. The rows are kept, since MySQL before 8.0 recomputes the counter from the highest row on restart.
+ * <p>
+ * The row of a block only exists once its reserving transaction commits, so until then the block is used by that
+ * transaction alone. On commit the rest of the block is shared with the other sessions; on rollback it is dropped,
+ * together with every id taken from it, so a block handed out again after a restart can't clash with stored rows.
+ */
+public class BlockIdGenerator implements IdentifierGenerator, Configurable {
+    public static final String BLOCK_TABLE = "block_table";
+    public static final String BLOCK_SIZE = "block_size";
+
+    private static final int DEFAULT_BLOCK_SIZE = 50;
+
+    // Blocks whose reserving transaction is still open, each only used by the thread running its session
+    private final Map<SharedSessionContractImplementor, Block> uncommittedBlocks = new ConcurrentHashMap<>();
+
+    private String reserveBlockSql;
+    private int blockSize;
+    private Block committedBlock = Block.EMPTY;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        var blockTable = ConfigurationHelper.getString(BLOCK_TABLE, params);
+
+        if (isNull(blockTable)) {
+            throw new MappingException("Missing " + BLOCK_TABLE + " parameter");
+        }
+        reserveBlockSql = "INSERT INTO " + blockTable + " () VALUES ()";
+        blockSize = ConfigurationHelper.getInt(BLOCK_SIZE, params, DEFAULT_BLOCK_SIZE);
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        var uncommitted = uncommittedBlocks.get(session);
+
+        if (!isNull(uncommitted) && uncommitted.hasNext()) {
+            return uncommitted.next();
+        }
+
+        synchronized (this) {
+            if (committedBlock.hasNext()) {
+                return committedBlock.next();
+            }
+        }
+
+        var block = new Block(reserveBlock(session) * blockSize, blockSize);
+
+        // Without a transaction to follow, nothing tells when the block row is committed: only its first id is used
+        if (!(session instanceof SessionImplementor)) {
+            return block.next();
+        }
+
+        if (isNull(uncommitted)) {
+            ((SessionImplementor) session).getActionQueue().registerProcess((success, s) -> {
+                var reserved = uncommittedBlocks.remove(session);
+
+                if (success) {
+                    share(reserved);
+                }
+            });
+        }
+        uncommittedBlocks.put(session, block);
+        return block.next();
+    }
+
+    // Keeps whichever of the two blocks has more ids left, the other one is skipped
+    private synchronized void share(Block block) {
+        if (block.remaining() > committedBlock.remaining()) {
+            committedBlock = block;
+        }
+    }
+
+    private long reserveBlock(SharedSessionContractImplementor session) {
+        var jdbcCoordinator = session.getJdbcCoordinator();
+        var statement = jdbcCoordinator
+                .getStatementPreparer()
+                .prepareStatement(reserveBlockSql, PreparedStatement.RETURN_GENERATED_KEYS);
+
+        try {
+            jdbcCoordinator.getResultSetReturn().executeUpdate(statement);
+
+            try (var generatedKeys = statement.getGeneratedKeys()) {
+                if (!generatedKeys.next()) {
+                    throw new HibernateException("No block reserved by: " + reserveBlockSql);
+                }
+                return generatedKeys.getLong(1);
+            }
+        } catch (SQLException e) {
+            throw session
+                    .getJdbcServices()
+                    .getSqlExceptionHelper()
+                    .convert(e, "Could not reserve an id block", reserveBlockSql);
+        } finally {
+            jdbcCoordinator.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbcCoordinator.afterStatementExecution();
+        }
+    }
+
+    private static final class Block {
+        static final Block EMPTY = new Block(0, 0);
+
+        private long next;
+        private final long end;
+
+        Block(long first, int size) {
+            this.next = first;
+            this.end = first + size;
+        }
+
+        boolean hasNext() {
+            return next < end;
+        }
+
+        long next() {
+            return next++;
+        }
+
+        long remaining() {
+            return end - next;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package br.com.sw2you.realmeet.domain.index;
+
+import br.com.sw2you.realmeet.domain.entity.Allocation;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+import static java.util.Objects.isNull;
+
+/**
+ * Keeps the current and future allocations of every room sorted by start time, so availability searches
+ * don't need to hit the database. Past intervals are evicted as the timelines are accessed.
+ * Each timeline also keeps a slot bitmap, which answers availability searches with a few word operations.
+ * The index is per instance and may miss or still hold changes made elsewhere: it is only a hint, bookings are
+ * checked against the database.
+ */
+@Component
+public class AllocationIndex {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final AllocationRepository allocationRepository;
+    private final long slotMillis;
+    private final int slotsPerDay;
+    private final ConcurrentMap<Long, RoomTimeline> timelines;
+
+    public AllocationIndex(
+            AllocationRepository allocationRepository,
+            @Value("${realmeet.availability.slotMinutes:15}") int slotMinutes
+    ) {
+        if (slotMinutes <= 0 || MINUTES_PER_DAY % slotMinutes != 0) {
+            throw new IllegalArgumentException("Slot minutes must divide a day: " + slotMinutes);
+        }
+        this.allocationRepository = allocationRepository;
+        this.slotMillis = TimeUnit.MINUTES.toMillis(slotMinutes);
+        this.slotsPerDay = MINUTES_PER_DAY / slotMinutes;
+        this.timelines = new ConcurrentHashMap<>();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        timelines.clear();
+        allocationRepository.findAllByEndAtAfter(now()).forEach(this::put);
+    }
+
+    public boolean isAvailable(Long roomId, OffsetDateTime startAt, OffsetDateTime endAt) {
+        var timeline = timelines.get(roomId);
+        return isNull(timeline) || timeline.isAvailable(startAt.toInstant(), endAt.toInstant());
+    }
+
+    public void put(Allocation allocation) {
+        put(allocation.getRoom().getId(), allocation.getId(), allocation.getStartAt(), allocation.getEndAt());
+    }
+
+    public void put(Long roomId, Long allocationId, OffsetDateTime startAt, OffsetDateTime endAt) {
+        timelines
+                .computeIfAbsent(roomId, id -> new RoomTimeline(slotMillis, slotsPerDay))
+                .put(new Interval(allocationId, startAt.toInstant(), endAt.toInstant()));
+    }
+
+    public void remove(Long roomId, Long allocationId) {
+        var timeline = timelines.get(roomId);
+
+        if (!isNull(timeline)) {
+            timeline.remove(allocationId);
+        }
+    }
+
+    // For deletes that don't know the room: the interval is in at most one timeline, whose room is returned
+    public Optional<Long> remove(Long allocationId) {
+        return timelines
+                .entrySet()
+                .stream()
+                .filter(entry -> entry.getValue().remove(allocationId))
+                .map(Map.Entry::getKey)
+                .findFirst();
+    }
+
+    public int size() {
+        return timelines.values().stream().mapToInt(RoomTimeline::size).sum();
+    }
+
+    private static final class Interval {
+        private static final Comparator<Interval> BY_START = Comparator
+                .comparing((Interval i) -> i.startAt)
+                .thenComparing(i -> i.allocationId);
+
+        private final Long allocationId;
+        private final Instant startAt;
+        private final Instant endAt;
+
+        private Interval(Long allocationId, Instant startAt, Instant endAt) {
+            this.allocationId = allocationId;
+            this.startAt = startAt;
+            this.endAt = endAt;
+        }
+
+        private long durationMillis() {
+            return endAt.toEpochMilli() - startAt.toEpochMilli();
+        }
+    }
+
+    private static final class RoomTimeline {
+        private final NavigableSet<Interval> intervals = new TreeSet<>(Interval.BY_START);
+        private final Map<Long, Interval> intervalsById = new HashMap<>();
+        private final long slotMillis;
+        private final SlotBitmap slots;
+        private long maxDurationMillis;
+
+        RoomTimeline(long slotMillis, int slotsPerDay) {
+            this.slotMillis = slotMillis;
+            this.slots = new SlotBitmap(slotsPerDay);
+        }
+
+        // A free bitmap range is exact. A busy one is exact too when the window is slot-aligned, otherwise the
+        // busy slot may only be shared at the edges and the intervals decide.
+        synchronized boolean isAvailable(Instant startAt, Instant endAt) {
+            evictPast();
+
+            if (!slots.intersects(firstSlot(startAt), endSlot(endAt))) {
+                return true;
+            }
+            if (isSlotAligned(startAt) && isSlotAligned(endAt)) {
+                return false;
+            }
+            return findOverlapping(startAt, endAt).findAny().isEmpty();
+        }
+
+        synchronized void put(Interval interval) {
+            remove(interval.allocationId);
+            intervals.add(interval);
+            intervalsById.put(interval.allocationId, interval);
+            slots.set(firstSlot(interval.startAt), endSlot(interval.endAt));
+            maxDurationMillis = Math.max(maxDurationMillis, interval.durationMillis());
+            evictPast();
+        }
+
+        synchronized boolean remove(Long allocationId) {
+            var previous = intervalsById.remove(allocationId);
+
+            if (isNull(previous)) {
+                return false;
+            }
+
+            intervals.remove(previous);
+
+            // Edge slots may be shared with adjacent intervals, which have to mark them again
+            var fromSlot = firstSlot(previous.startAt);
+            var toSlot = endSlot(previous.endAt);
+            slots.clear(fromSlot, toSlot);
+            findOverlapping(slotStart(fromSlot), slotStart(toSlot))
+                    .forEach(i -> slots.set(firstSlot(i.startAt), endSlot(i.endAt)));
+            return true;
+        }
+
+        synchronized int size() {
+            return intervals.size();
+        }
+
+        private Stream<Interval> findOverlapping(Instant startAt, Instant endAt) {
+            // Nothing longer than the longest known interval can start before this bound and still reach startAt
+            var lowerBound = new Interval(Long.MIN_VALUE, startAt.minusMillis(maxDurationMillis), null);
+            var upperBound = new Interval(Long.MIN_VALUE, endAt, null);
+
+            return intervals
+                    .subSet(lowerBound, true, upperBound, false)
+                    .stream()
+                    .filter(i -> i.endAt.isAfter(startAt));
+        }
+
+        private long firstSlot(Instant instant) {
+            return Math.floorDiv(instant.toEpochMilli(), slotMillis);
+        }
+
+        private long endSlot(Instant instant) {
+            return Math.floorDiv(instant.toEpochMilli() + slotMillis - 1, slotMillis);
+        }
+
+        private Instant slotStart(long slot) {
+            return Instant.ofEpochMilli(slot * slotMillis);
+        }
+
+        private boolean isSlotAligned(Instant instant) {
+            return instant.toEpochMilli() % slotMillis == 0;
+        }
+
+        private void evictPast() {
+            var now = now().toInstant();
+
+            while (!intervals.isEmpty() && !intervals.first().endAt.isAfter(now)) {
+                intervalsById.remove(intervals.pollFirst().allocationId);
+            }
+            slots.evictDaysBefore(firstSlot(now));
+        }
+    }
+}
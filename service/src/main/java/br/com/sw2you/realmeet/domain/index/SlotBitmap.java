@@ -0,0 +1,85 @@
+package br.com.sw2you.realmeet.domain.index;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Occupancy of fixed-size time slots, one {@code long[]} per day. Slots are numbered from the epoch, so a range
+ * check only touches the words of the days it spans.
+ */
+public final class SlotBitmap {
+    private static final int WORD_BITS = Long.SIZE;
+
+    private final int slotsPerDay;
+    private final int wordsPerDay;
+    private final NavigableMap<Long, long[]> days;
+
+    public SlotBitmap(int slotsPerDay) {
+        this.slotsPerDay = slotsPerDay;
+        this.wordsPerDay = (slotsPerDay + WORD_BITS - 1) / WORD_BITS;
+        this.days = new TreeMap<>();
+    }
+
+    // Ranges are [fromSlot, toSlot)
+    public void set(long fromSlot, long toSlot) {
+        forEachWord(fromSlot, toSlot, true, (words, index, mask) -> {
+            words[index] |= mask;
+            return false;
+        });
+    }
+
+    public void clear(long fromSlot, long toSlot) {
+        forEachWord(fromSlot, toSlot, false, (words, index, mask) -> {
+            words[index] &= ~mask;
+            return false;
+        });
+    }
+
+    public boolean intersects(long fromSlot, long toSlot) {
+        return forEachWord(fromSlot, toSlot, false, (words, index, mask) -> (words[index] & mask) != 0);
+    }
+
+    public void evictDaysBefore(long slot) {
+        days.headMap(Math.floorDiv(slot, slotsPerDay)).clear();
+    }
+
+    public int size() {
+        return days.size();
+    }
+
+    // Stops and returns true as soon as the visitor does
+    private boolean forEachWord(long fromSlot, long toSlot, boolean create, WordVisitor visitor) {
+        for (long day = Math.floorDiv(fromSlot, slotsPerDay); fromSlot < toSlot; day++) {
+            var dayStart = day * slotsPerDay;
+            var dayEnd = Math.min(toSlot, dayStart + slotsPerDay);
+            var words = create ? days.computeIfAbsent(day, d -> new long[wordsPerDay]) : days.get(day);
+
+            if (!isNull(words) && visitDay(words, (int) (fromSlot - dayStart), (int) (dayEnd - dayStart), visitor)) {
+                return true;
+            }
+            fromSlot = dayEnd;
+        }
+        return false;
+    }
+
+    private static boolean visitDay(long[] words, int from, int to, WordVisitor visitor) {
+        for (int index = from / WORD_BITS; index <= (to - 1) / WORD_BITS; index++) {
+            var wordStart = index * WORD_BITS;
+            var lo = Math.max(from, wordStart) - wordStart;
+            var hi = Math.min(to, wordStart + WORD_BITS) - wordStart;
+            var mask = (hi == WORD_BITS ? -1L : (1L << hi) - 1) & (-1L << lo);
+
+            if (visitor.visit(words, index, mask)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface WordVisitor {
+        boolean visit(long[] words, int index, long mask);
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.sw2you.realmeet.domain.model;
+
+import br.com.sw2you.realmeet.domain.entity.Allocation;
+import br.com.sw2you.realmeet.domain.entity.ArchivedAllocation;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Objects;
+
+// Keyset position in the (start_at, id) ordering of allocations
+public class AllocationCursor implements Comparable<AllocationCursor> {
+
+    private static final String SEPARATOR = ":";
+
+    private final OffsetDateTime startAt;
+    private final Long id;
+
+    public AllocationCursor(OffsetDateTime startAt, Long id) {
+        this.startAt = startAt;
+        this.id = id;
+    }
+
+    public static AllocationCursor of(Allocation allocation) {
+        return new AllocationCursor(allocation.getStartAt(), allocation.getId());
+    }
+
+    public static AllocationCursor of(ArchivedAllocation archivedAllocation) {
+        return new AllocationCursor(archivedAllocation.getStartAt(), archivedAllocation.getId());
+    }
+
+    public static AllocationCursor decode(String cursor) {
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR);
+
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new AllocationCursor(
+                    Instant.ofEpochMilli(Long.parseLong(parts[0])).atOffset(ZoneOffset.UTC),
+                    Long.parseLong(parts[1])
+            );
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        var value = startAt.toInstant().toEpochMilli() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public OffsetDateTime getStartAt() {
+        return startAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public int compareTo(AllocationCursor other) {
+        var byStartAt = startAt.toInstant().compareTo(other.startAt.toInstant());
+        return byStartAt != 0 ? byStartAt : id.compareTo(other.id);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AllocationCursor that = (AllocationCursor) o;
+        return Objects.equals(startAt.toInstant(), that.startAt.toInstant()) && Objects.equals(getId(), that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(startAt.toInstant(), getId());
+    }
+
+    @Override
+    public String toString() {
+        return "AllocationCursor{" +
+                "startAt=" + startAt +
+                ", id=" + id +
+                '}';
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.sw2you.realmeet.domain.model;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+// Read-only row with exactly the AllocationDTO columns, built by JPQL constructor expressions in AllocationRepository
+// and by Allocation.ALLOCATION_VIEW_MAPPING in native queries.
+// Not an entity, so the persistence context neither tracks it nor keeps a dirty-checking snapshot of it.
+public class AllocationView {
+    private final Long id;
+    private final Long roomId;
+    private final String employeeName;
+    private final String employeeEmail;
+    private final String subject;
+    private final OffsetDateTime startAt;
+    private final OffsetDateTime endAt;
+
+    public AllocationView(
+            Long id,
+            Long roomId,
+            String employeeName,
+            String employeeEmail,
+            String subject,
+            OffsetDateTime startAt,
+            OffsetDateTime endAt
+    ) {
+        this.id = id;
+        this.roomId = roomId;
+        this.employeeName = employeeName;
+        this.employeeEmail = employeeEmail;
+        this.subject = subject;
+        this.startAt = startAt;
+        this.endAt = endAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public String getEmployeeEmail() {
+        return employeeEmail;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public OffsetDateTime getStartAt() {
+        return startAt;
+    }
+
+    public OffsetDateTime getEndAt() {
+        return endAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AllocationView that = (AllocationView) o;
+        return Objects.equals(getId(), that.getId()) && Objects.equals(getRoomId(), that.getRoomId()) && Objects.equals(getEmployeeName(), that.getEmployeeName()) && Objects.equals(getEmployeeEmail(), that.getEmployeeEmail()) && Objects.equals(getSubject(), that.getSubject()) && Objects.equals(getStartAt(), that.getStartAt()) && Objects.equals(getEndAt(), that.getEndAt());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId(), getRoomId(), getEmployeeName(), getEmployeeEmail(), getSubject(), getStartAt(), getEndAt());
+    }
+
+    @Override
+    public String toString() {
+        return "AllocationView{" +
+                "id=" + id +
+                ", roomId=" + roomId +
+                ", employeeName='" + employeeName + '\'' +
+                ", employeeEmail='" + employeeEmail + '\'' +
+                ", subject='" + subject + '\'' +
+                ", startAt=" + startAt +
+                ", endAt=" + endAt +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.sw2you.realmeet.domain.model;
+
+// Tells subscribers what changed, not the new state: they fetch it, with If-None-Match for rooms
+public class ChangeEvent {
+
+    public enum Type {
+        ROOM_CREATED,
+        ROOM_UPDATED,
+        ROOM_DELETED,
+        ALLOCATION_CREATED,
+        ALLOCATION_UPDATED,
+        ALLOCATION_DELETED,
+        SERIES_CREATED,
+        SERIES_UPDATED,
+        SERIES_DELETED,
+        // Events were dropped for this subscriber, everything it shows has to be fetched again
+        RESYNC
+    }
+
+    public static final ChangeEvent RESYNC = new ChangeEvent(Type.RESYNC, null, null, null);
+
+    private final Type type;
+    private final Long roomId;
+    private final Long allocationId;
+    private final Long seriesId;
+
+    private ChangeEvent(Type type, Long roomId, Long allocationId, Long seriesId) {
+        this.type = type;
+        this.roomId = roomId;
+        this.allocationId = allocationId;
+        this.seriesId = seriesId;
+    }
+
+    public static ChangeEvent ofRoom(Type type, Long roomId) {
+        return new ChangeEvent(type, roomId, null, null);
+    }
+
+    public static ChangeEvent ofAllocation(Type type, Long roomId, Long allocationId) {
+        return new ChangeEvent(type, roomId, allocationId, null);
+    }
+
+    public static ChangeEvent ofSeries(Type type, Long roomId, Long seriesId) {
+        return new ChangeEvent(type, roomId, null, seriesId);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public Long getAllocationId() {
+        return allocationId;
+    }
+
+    public Long getSeriesId() {
+        return seriesId;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent{" +
+                "type=" + type +
+                ", roomId=" + roomId +
+                ", allocationId=" + allocationId +
+                ", seriesId=" + seriesId +
+                '}';
+    }
+}
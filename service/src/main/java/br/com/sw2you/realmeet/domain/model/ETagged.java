@@ -0,0 +1,37 @@
+package br.com.sw2you.realmeet.domain.model;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A resource representation with its ETag. The body is left out when the client already holds
+ * the current version, so it is neither mapped nor serialized.
+ */
+public class ETagged<T> {
+    private final String eTag;
+    private final T body;
+
+    private ETagged(String eTag, T body) {
+        this.eTag = eTag;
+        this.body = body;
+    }
+
+    public static <T> ETagged<T> modified(String eTag, T body) {
+        return new ETagged<>(eTag, body);
+    }
+
+    public static <T> ETagged<T> notModified(String eTag) {
+        return new ETagged<>(eTag, null);
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public T getBody() {
+        return body;
+    }
+
+    public boolean isModified() {
+        return !isNull(body);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.sw2you.realmeet.domain.model;
+
+public enum NotificationEvent {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,79 @@
+package br.com.sw2you.realmeet.domain.model;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+// One expanded occurrence of an allocation series, never stored
+public class Occurrence {
+    private final Long seriesId;
+    private final Long roomId;
+    private final Employee employee;
+    private final String subject;
+    private final OffsetDateTime startAt;
+    private final OffsetDateTime endAt;
+
+    public Occurrence(
+            Long seriesId,
+            Long roomId,
+            Employee employee,
+            String subject,
+            OffsetDateTime startAt,
+            OffsetDateTime endAt
+    ) {
+        this.seriesId = seriesId;
+        this.roomId = roomId;
+        this.employee = employee;
+        this.subject = subject;
+        this.startAt = startAt;
+        this.endAt = endAt;
+    }
+
+    public Long getSeriesId() {
+        return seriesId;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public OffsetDateTime getStartAt() {
+        return startAt;
+    }
+
+    public OffsetDateTime getEndAt() {
+        return endAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Occurrence that = (Occurrence) o;
+        return Objects.equals(getSeriesId(), that.getSeriesId()) && Objects.equals(getRoomId(), that.getRoomId()) && Objects.equals(getEmployee(), that.getEmployee()) && Objects.equals(getSubject(), that.getSubject()) && Objects.equals(getStartAt(), that.getStartAt()) && Objects.equals(getEndAt(), that.getEndAt());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getSeriesId(), getRoomId(), getEmployee(), getSubject(), getStartAt(), getEndAt());
+    }
+
+    @Override
+    public String toString() {
+        return "Occurrence{" +
+                "seriesId=" + seriesId +
+                ", roomId=" + roomId +
+                ", employee=" + employee +
+                ", subject='" + subject + '\'' +
+                ", startAt=" + startAt +
+                ", endAt=" + endAt +
+                '}';
+    }
+}
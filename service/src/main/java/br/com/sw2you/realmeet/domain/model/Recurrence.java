@@ -0,0 +1,111 @@
+package br.com.sw2you.realmeet.domain.model;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+// Occurrences start every interval frequency units from the first one, as long as they start before until
+@Embeddable
+public class Recurrence {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency")
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "interval_count")
+    private Integer interval;
+
+    @Column(name = "until_at")
+    private OffsetDateTime until;
+
+    public Recurrence() {}
+
+    private Recurrence(Builder builder) {
+        frequency = builder.frequency;
+        interval = builder.interval;
+        until = builder.until;
+    }
+
+    public static long countOccurrences(OffsetDateTime firstStartAt, Duration step, OffsetDateTime until) {
+        var span = Duration.between(firstStartAt, until).toMillis();
+        return span <= 0 ? 0 : (span + step.toMillis() - 1) / step.toMillis();
+    }
+
+    public Duration step() {
+        return frequency.step(interval);
+    }
+
+    public Recurrence withUntil(OffsetDateTime until) {
+        return newBuilder().frequency(frequency).interval(interval).until(until).build();
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public Integer getInterval() {
+        return interval;
+    }
+
+    public OffsetDateTime getUntil() {
+        return until;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Recurrence that = (Recurrence) o;
+        return getFrequency() == that.getFrequency() && Objects.equals(getInterval(), that.getInterval()) && Objects.equals(getUntil(), that.getUntil());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getFrequency(), getInterval(), getUntil());
+    }
+
+    @Override
+    public String toString() {
+        return "Recurrence{" +
+                "frequency=" + frequency +
+                ", interval=" + interval +
+                ", until=" + until +
+                '}';
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private RecurrenceFrequency frequency;
+        private Integer interval;
+        private OffsetDateTime until;
+
+        private Builder() {
+        }
+
+        public Builder frequency(RecurrenceFrequency frequency) {
+            this.frequency = frequency;
+            return this;
+        }
+
+        public Builder interval(Integer interval) {
+            this.interval = interval;
+            return this;
+        }
+
+        public Builder until(OffsetDateTime until) {
+            this.until = until;
+            return this;
+        }
+
+        public Recurrence build() {
+            return new Recurrence(this);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.sw2you.realmeet.domain.model;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+public enum RecurrenceFrequency {
+    DAILY(ChronoUnit.DAYS),
+    WEEKLY(ChronoUnit.WEEKS);
+
+    private final ChronoUnit unit;
+
+    RecurrenceFrequency(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    // Dates carry a fixed offset, so a day is always 24 hours and every step has the same length
+    public Duration step(int interval) {
+        return unit.getDuration().multipliedBy(interval);
+    }
+}
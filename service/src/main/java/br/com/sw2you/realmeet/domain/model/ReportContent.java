@@ -0,0 +1,30 @@
+package br.com.sw2you.realmeet.domain.model;
+
+import br.com.sw2you.realmeet.api.model.ReportFormatDTO;
+
+import java.io.InputStream;
+
+// A finished report, streamed back from report_job_content
+public class ReportContent {
+    private final String fileName;
+    private final ReportFormatDTO format;
+    private final InputStream content;
+
+    public ReportContent(String fileName, ReportFormatDTO format, InputStream content) {
+        this.fileName = fileName;
+        this.format = format;
+        this.content = content;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public ReportFormatDTO getFormat() {
+        return format;
+    }
+
+    public InputStream getContent() {
+        return content;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.sw2you.realmeet.domain.repository;
+
+import br.com.sw2you.realmeet.domain.model.AllocationView;
+
+import java.time.OffsetDateTime;
+import java.util.stream.Stream;
+
+// Streams for exports and reports, which have to cover archived allocations as well as the allocation table
+public interface AllocationHistoryRepository {
+
+    Stream<AllocationView> streamAllByStartAtBetween(OffsetDateTime startAt, OffsetDateTime endAt);
+
+    // Ordered by room so reports can group rows without buffering them
+    Stream<AllocationView> streamAllByStartAtBetweenOrderByRoom(OffsetDateTime startAt, OffsetDateTime endAt);
+}
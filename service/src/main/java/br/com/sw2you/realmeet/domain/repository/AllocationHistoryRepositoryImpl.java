@@ -0,0 +1,59 @@
+package br.com.sw2you.realmeet.domain.repository;
+
+import br.com.sw2you.realmeet.domain.model.AllocationView;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.persistence.EntityManager;
+import java.time.OffsetDateTime;
+import java.util.stream.Stream;
+
+import static br.com.sw2you.realmeet.domain.entity.Allocation.ALLOCATION_VIEW_MAPPING;
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+public class AllocationHistoryRepositoryImpl implements AllocationHistoryRepository {
+    private static final String SELECT_VIEW_COLUMNS =
+            "SELECT id, room_id, employee_name, employee_email, subject, start_at, end_at FROM ";
+    private static final String WHERE_IN_WINDOW = " WHERE start_at >= :startAt AND start_at < :endAt";
+
+    private final EntityManager entityManager;
+    private final long archiveAfterDays;
+
+    public AllocationHistoryRepositoryImpl(
+            EntityManager entityManager,
+            @Value("${realmeet.archive.afterDays:90}") long archiveAfterDays
+    ) {
+        this.entityManager = entityManager;
+        this.archiveAfterDays = archiveAfterDays;
+    }
+
+    @Override
+    public Stream<AllocationView> streamAllByStartAtBetween(OffsetDateTime startAt, OffsetDateTime endAt) {
+        return stream(startAt, endAt, "start_at, id");
+    }
+
+    @Override
+    public Stream<AllocationView> streamAllByStartAtBetweenOrderByRoom(OffsetDateTime startAt, OffsetDateTime endAt) {
+        return stream(startAt, endAt, "room_id, start_at, id");
+    }
+
+    // An archived allocation ended before the archiver's cutoff when it was moved, so windows starting after today's
+    // cutoff read the allocation table alone, in index order. Older ones add allocation_archive in the same statement:
+    // its snapshot sees each allocation in exactly one of the tables, even while the archiver is moving rows.
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows one by one instead of buffering the whole result set.
+    @SuppressWarnings("unchecked")
+    private Stream<AllocationView> stream(OffsetDateTime startAt, OffsetDateTime endAt, String orderBy) {
+        var sql = SELECT_VIEW_COLUMNS + "allocation" + WHERE_IN_WINDOW;
+
+        if (startAt.isBefore(now().minusDays(archiveAfterDays))) {
+            sql += " UNION ALL " + SELECT_VIEW_COLUMNS + "allocation_archive" + WHERE_IN_WINDOW;
+        }
+
+        return entityManager
+                .createNativeQuery(sql + " ORDER BY " + orderBy, ALLOCATION_VIEW_MAPPING)
+                .setParameter("startAt", startAt)
+                .setParameter("endAt", endAt)
+                .setHint(HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                .getResultStream();
+    }
+}
@@ -1,26 +1,167 @@
 package br.com.sw2you.realmeet.domain.repository;
 
 import br.com.sw2you.realmeet.domain.entity.Allocation;
+import br.com.sw2you.realmeet.domain.model.AllocationView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_MAX_DURATION_SECONDS;
+import static java.util.Objects.isNull;
 
 @Repository
-public interface AllocationRepository extends JpaRepository<Allocation, Long> {
+public interface AllocationRepository extends JpaRepository<Allocation, Long>, AllocationHistoryRepository {
+
+    String FIND_OVERLAPPING_QUERY = "SELECT a FROM Allocation a WHERE a.room.id = :roomId " +
+            "AND a.startAt > :earliestStartAt AND a.startAt < :endAt AND a.endAt > :startAt";
+
+    String VIEW_COLUMNS = "new br.com.sw2you.realmeet.domain.model.AllocationView(" +
+            "a.id, a.room.id, a.employee.name, a.employee.email, a.subject, a.startAt, a.endAt)";
+
+    List<Allocation> findAllByEndAtAfter(OffsetDateTime date);
+
+    // Oldest first, so the range scan on start_at only walks the rows about to be archived
+    @Query(
+            "SELECT a.id FROM Allocation a WHERE a.startAt < :endedBefore AND a.endAt < :endedBefore " +
+            "ORDER BY a.startAt, a.id"
+    )
+    List<Long> findIdsEndedBefore(@Param("endedBefore") OffsetDateTime endedBefore, Pageable pageable);
+
+    // No allocation lasts longer than ALLOCATION_MAX_DURATION_SECONDS, which bounds the index range scan on start_at
+    default List<Allocation> findOverlapping(Long roomId, OffsetDateTime startAt, OffsetDateTime endAt) {
+        return findOverlapping(roomId, startAt.minusSeconds(ALLOCATION_MAX_DURATION_SECONDS), startAt, endAt);
+    }
+
+    default List<Allocation> findOverlappingForUpdate(Long roomId, OffsetDateTime startAt, OffsetDateTime endAt) {
+        return findOverlappingForUpdate(roomId, startAt.minusSeconds(ALLOCATION_MAX_DURATION_SECONDS), startAt, endAt);
+    }
+
+    default Set<Long> findRoomIdsWithOverlap(Collection<Long> roomIds, OffsetDateTime startAt, OffsetDateTime endAt) {
+        return findRoomIdsWithOverlap(roomIds, startAt.minusSeconds(ALLOCATION_MAX_DURATION_SECONDS), startAt, endAt);
+    }
+
+    @Query(FIND_OVERLAPPING_QUERY)
+    List<Allocation> findOverlapping(
+            @Param("roomId") Long roomId,
+            @Param("earliestStartAt") OffsetDateTime earliestStartAt,
+            @Param("startAt") OffsetDateTime startAt,
+            @Param("endAt") OffsetDateTime endAt
+    );
+
+    // Locks the scanned (room_id, start_at) range, so concurrent writers can't book the same slot
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(FIND_OVERLAPPING_QUERY)
+    List<Allocation> findOverlappingForUpdate(
+            @Param("roomId") Long roomId,
+            @Param("earliestStartAt") OffsetDateTime earliestStartAt,
+            @Param("startAt") OffsetDateTime startAt,
+            @Param("endAt") OffsetDateTime endAt
+    );
 
+    // One (room_id, start_at) range scan per room, reading only the index
+    @Query(
+            "SELECT DISTINCT a.room.id FROM Allocation a WHERE a.room.id IN :roomIds " +
+            "AND a.startAt > :earliestStartAt AND a.startAt < :endAt AND a.endAt > :startAt"
+    )
+    Set<Long> findRoomIdsWithOverlap(
+            @Param("roomIds") Collection<Long> roomIds,
+            @Param("earliestStartAt") OffsetDateTime earliestStartAt,
+            @Param("startAt") OffsetDateTime startAt,
+            @Param("endAt") OffsetDateTime endAt
+    );
+
+    // A window is bounded on start_at from below as well, the same way as the overlap queries
+    default List<AllocationView> findAllWithFilters(
+            Long roomId,
+            String employeeEmail,
+            OffsetDateTime startAt,
+            OffsetDateTime endAt,
+            OffsetDateTime cursorStartAt,
+            Long cursorId,
+            Pageable pageable
+    ) {
+        return findAllWithFilters(
+                roomId,
+                employeeEmail,
+                isNull(startAt) ? null : startAt.minusSeconds(ALLOCATION_MAX_DURATION_SECONDS),
+                startAt,
+                endAt,
+                cursorStartAt,
+                cursorId,
+                pageable
+        );
+    }
+
+    // Keyset pagination: the cursor predicate is a range on start_at, so deep pages cost the same as the first one.
+    // Selects only the AllocationDTO columns, a.room.id reads the foreign key without joining room.
+    @Query(
+            "SELECT " + VIEW_COLUMNS + " FROM Allocation a WHERE " +
+            "(:roomId IS NULL OR a.room.id = :roomId) AND " +
+            "(:employeeEmail IS NULL OR a.employee.email = :employeeEmail) AND " +
+            "(:earliestStartAt IS NULL OR a.startAt > :earliestStartAt) AND " +
+            "(:startAt IS NULL OR a.endAt > :startAt) AND " +
+            "(:endAt IS NULL OR a.startAt < :endAt) AND " +
+            "(:cursorStartAt IS NULL OR " +
+            "(a.startAt >= :cursorStartAt AND (a.startAt > :cursorStartAt OR a.id > :cursorId))) " +
+            "ORDER BY a.startAt, a.id"
+    )
+    List<AllocationView> findAllWithFilters(
+            @Param("roomId") Long roomId,
+            @Param("employeeEmail") String employeeEmail,
+            @Param("earliestStartAt") OffsetDateTime earliestStartAt,
+            @Param("startAt") OffsetDateTime startAt,
+            @Param("endAt") OffsetDateTime endAt,
+            @Param("cursorStartAt") OffsetDateTime cursorStartAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    @Query("SELECT a.room.id FROM Allocation a WHERE a.id = :allocationId")
+    Optional<Long> findRoomIdById(@Param("allocationId") Long allocationId);
 
-    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    // The "not ended yet" guard is part of the statement: 0 rows means the allocation is gone or already ended
+    @Modifying
     @Query(
-            "UPDATE Allocation a SET a.subject = :subject, a.startAt = :startAt, a.endAt = :endAt WHERE a.id = :allocationId"
+            "UPDATE Allocation a SET a.subject = :subject, a.startAt = :startAt, a.endAt = :endAt " +
+            "WHERE a.id = :allocationId AND a.endAt > :now"
     )
-    void updateAllocation(
+    int updateAllocationIfNotEnded(
             @Param("allocationId") Long allocationId,
             @Param("subject") String subject,
-            @Param("startAt")OffsetDateTime startAt,
-            @Param("endAt") OffsetDateTime endAt
+            @Param("startAt") OffsetDateTime startAt,
+            @Param("endAt") OffsetDateTime endAt,
+            @Param("now") OffsetDateTime now
+    );
+
+    // Same guard as updates: 0 rows means the allocation is gone or already ended
+    @Modifying
+    @Query("DELETE FROM Allocation a WHERE a.id = :allocationId AND a.endAt >= :now")
+    int deleteIfNotEnded(@Param("allocationId") Long allocationId, @Param("now") OffsetDateTime now);
+
+    // Locks the rows a batch cancel is about to delete, so it knows which ones it actually removed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Allocation a WHERE a.id IN :allocationIds AND a.endAt >= :now")
+    List<Allocation> findAllNotEndedForUpdate(
+            @Param("allocationIds") Collection<Long> allocationIds,
+            @Param("now") OffsetDateTime now
     );
+
+    @Modifying
+    @Query("DELETE FROM Allocation a WHERE a.id IN :allocationIds AND a.endAt >= :now")
+    int deleteAllIfNotEnded(@Param("allocationIds") Collection<Long> allocationIds, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Allocation a WHERE a.id IN :allocationIds")
+    int deleteAllByIdIn(@Param("allocationIds") Collection<Long> allocationIds);
 }
@@ -0,0 +1,65 @@
+package br.com.sw2you.realmeet.domain.repository;
+
+import br.com.sw2you.realmeet.domain.entity.AllocationSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_MAX_DURATION_SECONDS;
+
+@Repository
+public interface AllocationSeriesRepository extends JpaRepository<AllocationSeries, Long> {
+
+    // These return the series that may have an occurrence overlapping the window, which callers then expand
+    default List<AllocationSeries> findOverlappingForUpdate(Long roomId, OffsetDateTime startAt, OffsetDateTime endAt) {
+        return findInWindowForUpdate(roomId, startAt.minusSeconds(ALLOCATION_MAX_DURATION_SECONDS), endAt);
+    }
+
+    default List<AllocationSeries> findAllOverlapping(OffsetDateTime startAt, OffsetDateTime endAt) {
+        return findAllInWindow(startAt.minusSeconds(ALLOCATION_MAX_DURATION_SECONDS), endAt);
+    }
+
+    // Locks the room's (room_id, until_at) range: allocation writers and series writers of a room take it in turn
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+            "SELECT s FROM AllocationSeries s WHERE s.roomId = :roomId " +
+            "AND s.startAt < :endAt AND s.recurrence.until > :earliestStartAt"
+    )
+    List<AllocationSeries> findInWindowForUpdate(
+            @Param("roomId") Long roomId,
+            @Param("earliestStartAt") OffsetDateTime earliestStartAt,
+            @Param("endAt") OffsetDateTime endAt
+    );
+
+    @Query("SELECT s FROM AllocationSeries s WHERE s.startAt < :endAt AND s.recurrence.until > :earliestStartAt")
+    List<AllocationSeries> findAllInWindow(
+            @Param("earliestStartAt") OffsetDateTime earliestStartAt,
+            @Param("endAt") OffsetDateTime endAt
+    );
+
+    // Null bounds are open; occurrences are filtered and paginated by the caller
+    @Query(
+            "SELECT s FROM AllocationSeries s WHERE " +
+            "(:roomId IS NULL OR s.roomId = :roomId) AND " +
+            "(:employeeEmail IS NULL OR s.employee.email = :employeeEmail) AND " +
+            "(:earliestStartAt IS NULL OR s.recurrence.until > :earliestStartAt) AND " +
+            "(:endAt IS NULL OR s.startAt < :endAt)"
+    )
+    List<AllocationSeries> findAllWithFilters(
+            @Param("roomId") Long roomId,
+            @Param("employeeEmail") String employeeEmail,
+            @Param("earliestStartAt") OffsetDateTime earliestStartAt,
+            @Param("endAt") OffsetDateTime endAt
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AllocationSeries s WHERE s.id = :seriesId")
+    Optional<AllocationSeries> findByIdForUpdate(@Param("seriesId") Long seriesId);
+}
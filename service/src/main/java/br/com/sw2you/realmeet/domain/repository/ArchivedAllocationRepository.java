@@ -0,0 +1,83 @@
+package br.com.sw2you.realmeet.domain.repository;
+
+import br.com.sw2you.realmeet.domain.entity.ArchivedAllocation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_MAX_DURATION_SECONDS;
+import static java.util.Objects.isNull;
+import static org.hibernate.annotations.QueryHints.NATIVE_SPACES;
+
+@Repository
+public interface ArchivedAllocationRepository extends JpaRepository<ArchivedAllocation, Long> {
+
+    // The SELECT part is a locking read: rows another archiver already moved are not copied twice.
+    // The declared query space keeps Hibernate from clearing the second-level cache after the insert.
+    @Modifying
+    @QueryHints(@QueryHint(name = NATIVE_SPACES, value = "allocation_archive"))
+    @Query(
+            value = "INSERT INTO allocation_archive (id, room_id, employee_name, employee_email, subject, start_at, " +
+                    "end_at, created_at, updated_at, archived_at) " +
+                    "SELECT a.id, a.room_id, a.employee_name, a.employee_email, a.subject, a.start_at, a.end_at, " +
+                    "a.created_at, a.updated_at, :now FROM allocation a WHERE a.id IN :allocationIds",
+            nativeQuery = true
+    )
+    int copyFromAllocations(
+            @Param("allocationIds") Collection<Long> allocationIds,
+            @Param("now") OffsetDateTime now
+    );
+
+    default List<ArchivedAllocation> findAllWithFilters(
+            Long roomId,
+            String employeeEmail,
+            OffsetDateTime startAt,
+            OffsetDateTime endAt,
+            OffsetDateTime cursorStartAt,
+            Long cursorId,
+            Pageable pageable
+    ) {
+        return findAllWithFilters(
+                roomId,
+                employeeEmail,
+                isNull(startAt) ? null : startAt.minusSeconds(ALLOCATION_MAX_DURATION_SECONDS),
+                startAt,
+                endAt,
+                cursorStartAt,
+                cursorId,
+                pageable
+        );
+    }
+
+    // Same filters, window bound and keyset pagination as AllocationRepository.findAllWithFilters
+    @Query(
+            "SELECT a FROM ArchivedAllocation a WHERE " +
+            "(:roomId IS NULL OR a.roomId = :roomId) AND " +
+            "(:employeeEmail IS NULL OR a.employee.email = :employeeEmail) AND " +
+            "(:earliestStartAt IS NULL OR a.startAt > :earliestStartAt) AND " +
+            "(:startAt IS NULL OR a.endAt > :startAt) AND " +
+            "(:endAt IS NULL OR a.startAt < :endAt) AND " +
+            "(:cursorStartAt IS NULL OR " +
+            "(a.startAt >= :cursorStartAt AND (a.startAt > :cursorStartAt OR a.id > :cursorId))) " +
+            "ORDER BY a.startAt, a.id"
+    )
+    List<ArchivedAllocation> findAllWithFilters(
+            @Param("roomId") Long roomId,
+            @Param("employeeEmail") String employeeEmail,
+            @Param("earliestStartAt") OffsetDateTime earliestStartAt,
+            @Param("startAt") OffsetDateTime startAt,
+            @Param("endAt") OffsetDateTime endAt,
+            @Param("cursorStartAt") OffsetDateTime cursorStartAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+}
@@ -0,0 +1,46 @@
+package br.com.sw2you.realmeet.domain.repository;
+
+import br.com.sw2you.realmeet.domain.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.time.OffsetDateTime;
+
+import static org.hibernate.annotations.QueryHints.NATIVE_SPACES;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // A plain INSERT, so a concurrent request holding the same key makes this one wait for its commit and then
+    // fail on the primary key, instead of both running
+    @Modifying
+    @QueryHints(@QueryHint(name = NATIVE_SPACES, value = "idempotency_key"))
+    @Query(
+            value = "INSERT INTO idempotency_key (idempotency_key, fingerprint, created_at, expires_at) " +
+                    "VALUES (:key, :fingerprint, :now, :expiresAt)",
+            nativeQuery = true
+    )
+    int insert(
+            @Param("key") String key,
+            @Param("fingerprint") String fingerprint,
+            @Param("now") OffsetDateTime now,
+            @Param("expiresAt") OffsetDateTime expiresAt
+    );
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.response = :response WHERE r.key = :key")
+    int updateResponse(@Param("key") String key, @Param("response") String response);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.expiresAt <= :now")
+    int deleteIfExpired(@Param("key") String key, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int deleteAllExpired(@Param("now") OffsetDateTime now);
+}
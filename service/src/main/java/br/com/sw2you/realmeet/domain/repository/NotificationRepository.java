@@ -0,0 +1,74 @@
+package br.com.sw2you.realmeet.domain.repository;
+
+import br.com.sw2you.realmeet.domain.entity.Notification;
+import br.com.sw2you.realmeet.domain.model.NotificationEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.annotations.QueryHints.NATIVE_SPACES;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    String ENQUEUE_QUERY = "INSERT INTO notification (event, allocation_id, employee_name, employee_email, subject, " +
+            "room_name, start_at, end_at, attempts, next_attempt_at, created_at) " +
+            "SELECT :event, a.id, a.employee_name, a.employee_email, a.subject, r.name, a.start_at, a.end_at, " +
+            "0, :now, :now FROM allocation a JOIN room r ON r.id = a.room_id WHERE a.id IN :allocationIds";
+
+    default int enqueue(NotificationEvent event, Collection<Long> allocationIds, OffsetDateTime now) {
+        return insertFromAllocations(event.name(), allocationIds, now);
+    }
+
+    default int enqueueIfNotEnded(NotificationEvent event, Collection<Long> allocationIds, OffsetDateTime now) {
+        return insertFromAllocationsIfNotEnded(event.name(), allocationIds, now);
+    }
+
+    // One statement per change, copying the allocation as the pending inserts and updates left it.
+    // Without a declared query space Hibernate would clear every second-level cache region after native writes.
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = NATIVE_SPACES, value = "notification"))
+    @Query(value = ENQUEUE_QUERY, nativeQuery = true)
+    int insertFromAllocations(
+            @Param("event") String event,
+            @Param("allocationIds") Collection<Long> allocationIds,
+            @Param("now") OffsetDateTime now
+    );
+
+    // Runs before the conditional DELETE with the same guard, so only the allocations it removes are notified
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = NATIVE_SPACES, value = "notification"))
+    @Query(value = ENQUEUE_QUERY + " AND a.end_at >= :now", nativeQuery = true)
+    int insertFromAllocationsIfNotEnded(
+            @Param("event") String event,
+            @Param("allocationIds") Collection<Long> allocationIds,
+            @Param("now") OffsetDateTime now
+    );
+
+    // Another dispatcher waiting on these locks re-reads the rows once they are claimed, and skips them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+            "SELECT n FROM Notification n WHERE n.nextAttemptAt <= :now AND n.attempts < :maxAttempts " +
+            "ORDER BY n.nextAttemptAt, n.id"
+    )
+    List<Notification> findDueForUpdate(
+            @Param("now") OffsetDateTime now,
+            @Param("maxAttempts") int maxAttempts,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
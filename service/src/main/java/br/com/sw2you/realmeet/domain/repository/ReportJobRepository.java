@@ -0,0 +1,56 @@
+package br.com.sw2you.realmeet.domain.repository;
+
+import br.com.sw2you.realmeet.domain.entity.ReportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import static org.hibernate.annotations.QueryHints.NATIVE_SPACES;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, String> {
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :status, j.completedAt = :completedAt WHERE j.id = :id")
+    int updateStatus(
+            @Param("id") String id,
+            @Param("status") ReportJob.Status status,
+            @Param("completedAt") OffsetDateTime completedAt
+    );
+
+    // Chunks are inserted and read one per statement, each well within max_allowed_packet
+    @Modifying
+    @QueryHints(@QueryHint(name = NATIVE_SPACES, value = "report_job_content"))
+    @Query(
+            value = "INSERT INTO report_job_content (report_job_id, chunk_index, content) " +
+                    "VALUES (:id, :chunkIndex, :content)",
+            nativeQuery = true
+    )
+    int insertContentChunk(
+            @Param("id") String id,
+            @Param("chunkIndex") int chunkIndex,
+            @Param("content") byte[] content
+    );
+
+    @Query(
+            value = "SELECT content FROM report_job_content WHERE report_job_id = :id AND chunk_index = :chunkIndex",
+            nativeQuery = true
+    )
+    Optional<byte[]> findContentChunk(@Param("id") String id, @Param("chunkIndex") int chunkIndex);
+
+    // Jobs never completed are dropped as well, once as old: the instance running them is likely gone.
+    // created_at <= completed_at, so the created_at index bounds the scan. Contents go with ON DELETE CASCADE.
+    @Modifying
+    @Query(
+            "DELETE FROM ReportJob j WHERE j.createdAt < :expiredBefore AND " +
+            "(j.completedAt IS NULL OR j.completedAt < :expiredBefore)"
+    )
+    int deleteAllExpired(@Param("expiredBefore") OffsetDateTime expiredBefore);
+}
@@ -4,23 +4,67 @@ import br.com.sw2you.realmeet.domain.entity.Room;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
 
+import static br.com.sw2you.realmeet.config.CacheConfiguration.ROOM_QUERY_REGION;
+import static org.hibernate.annotations.QueryHints.CACHEABLE;
+import static org.hibernate.annotations.QueryHints.CACHE_MODE;
+import static org.hibernate.annotations.QueryHints.CACHE_REGION;
+import static org.hibernate.annotations.QueryHints.NATIVE_SPACES;
+
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
+    // Unique index on a generated column holding the name of active rooms only (V6 migration)
+    String ACTIVE_NAME_UNIQUE_KEY = "uk-room-active_name";
+
+    // Query space of the UPDATEs below. Declaring the room table instead would make Hibernate drop the whole room
+    // region on every update; RoomService soft locks just the updated room until the transaction completes.
+    String ROOM_UPDATES_SPACE = "room_updates";
 
+    // Bypasses the second-level cache, which is local to each instance: the room returned backs conditional requests
+    // and the version checks of room writes, so it must not be one another instance changed since
+    @QueryHints(@QueryHint(name = CACHE_MODE, value = "IGNORE"))
     Optional<Room> findByIdAndActive(Long id, Boolean active);
 
-    Optional<Room> findByNameAndActive(String name, Boolean active);
+    // Cached counterpart of findByIdAndActive for plain reads and room-exists checks. Native so that it can depend
+    // on ROOM_UPDATES_SPACE: the UPDATEs below invalidate it once they commit, inserts do through the room space.
+    @QueryHints({
+            @QueryHint(name = CACHEABLE, value = "true"),
+            @QueryHint(name = CACHE_REGION, value = ROOM_QUERY_REGION),
+            @QueryHint(name = NATIVE_SPACES, value = "room," + ROOM_UPDATES_SPACE)
+    })
+    @Query(value = "SELECT * FROM room WHERE id = :id AND active = true", nativeQuery = true)
+    Optional<Room> findActiveById(@Param("id") Long id);
+
+    List<Room> findAllByActiveAndSeatsGreaterThanEqualOrderByName(Boolean active, Integer seats);
 
+    // A null version skips the optimistic check; either way the version is bumped for the next ETag
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE Room r SET r.active = false WHERE r.id = :roomId")
-    void deactivate(@Param("roomId") Long roomId);
+    @QueryHints(@QueryHint(name = NATIVE_SPACES, value = ROOM_UPDATES_SPACE))
+    @Query(
+            value = "UPDATE room SET active = false, version = version + 1 " +
+                    "WHERE id = :roomId AND (:version IS NULL OR version = :version)",
+            nativeQuery = true
+    )
+    int deactivate(@Param("roomId") Long roomId, @Param("version") Long version);
 
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE Room r SET r.name = :name, r.seats = :seats WHERE r.id = :roomId")
-    void updateRoom(@Param("roomId") Long roomId, @Param("name") String name, @Param("seats") Integer seats);
+    @QueryHints(@QueryHint(name = NATIVE_SPACES, value = ROOM_UPDATES_SPACE))
+    @Query(
+            value = "UPDATE room SET name = :name, seats = :seats, version = version + 1 " +
+                    "WHERE id = :roomId AND (:version IS NULL OR version = :version)",
+            nativeQuery = true
+    )
+    int updateRoom(
+            @Param("roomId") Long roomId,
+            @Param("name") String name,
+            @Param("seats") Integer seats,
+            @Param("version") Long version
+    );
 }
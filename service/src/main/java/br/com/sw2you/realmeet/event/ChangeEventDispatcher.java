@@ -0,0 +1,197 @@
+package br.com.sw2you.realmeet.event;
+
+import br.com.sw2you.realmeet.domain.model.ChangeEvent;
+import br.com.sw2you.realmeet.domain.repository.RoomRepository;
+import br.com.sw2you.realmeet.exception.RoomNotFoundException;
+import br.com.sw2you.realmeet.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Fans committed room and allocation changes out to SSE subscribers. Publishing only queues the event for the
+ * single dispatcher thread, which copies it into the buffers of the interested subscribers; writer threads
+ * then drain those buffers. Idle connections are parked by the servlet container's async support, so they
+ * hold no thread. If the dispatcher queue itself overflows, every subscriber is told to resync.
+ * <p>
+ * Events only reach the subscribers of the instance that committed the change, there is no channel between
+ * instances. Behind a load balancer a subscriber misses the changes made through the other instances, so clients
+ * have to refetch what they show periodically, as they do on a resync, and treat events as a way to see their own
+ * instance's changes sooner.
+ */
+@Component
+public class ChangeEventDispatcher {
+    public static final String SUBSCRIBERS_METRIC = "realmeet.events.subscribers";
+    public static final String RESYNC_METRIC = "realmeet.events.resync";
+    public static final String SUBSCRIBED_ROOMS_METRIC = "realmeet.events.subscribed.rooms";
+
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private final Executor changeEventsExecutor;
+    private final Executor changeEventWritersExecutor;
+    private final RoomRepository roomRepository;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Set<Subscriber> allRoomsSubscribers;
+    private final ConcurrentMap<Long, Set<Subscriber>> roomSubscribers;
+    private final AtomicInteger subscriberCount;
+    private final AtomicLong lastEventId;
+    private final AtomicBoolean resyncPending;
+    private final Counter resyncs;
+
+    public ChangeEventDispatcher(
+            Executor changeEventsExecutor,
+            Executor changeEventWritersExecutor,
+            RoomRepository roomRepository,
+            MeterRegistry meterRegistry,
+            @Value("${realmeet.events.timeoutMinutes:30}") long timeoutMinutes,
+            @Value("${realmeet.events.bufferSize:32}") int bufferSize,
+            @Value("${realmeet.events.maxSubscribers:10000}") int maxSubscribers
+    ) {
+        this.changeEventsExecutor = changeEventsExecutor;
+        this.changeEventWritersExecutor = changeEventWritersExecutor;
+        this.roomRepository = roomRepository;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.allRoomsSubscribers = ConcurrentHashMap.newKeySet();
+        this.roomSubscribers = meterRegistry.gaugeMapSize(
+                SUBSCRIBED_ROOMS_METRIC,
+                Tags.empty(),
+                new ConcurrentHashMap<Long, Set<Subscriber>>()
+        );
+        this.subscriberCount = meterRegistry.gauge(SUBSCRIBERS_METRIC, new AtomicInteger());
+        this.lastEventId = new AtomicLong();
+        this.resyncPending = new AtomicBoolean();
+        this.resyncs = meterRegistry.counter(RESYNC_METRIC);
+    }
+
+    public SseEmitter subscribe(Long roomId, boolean resync) {
+        return subscribe(new SseEmitter(timeoutMillis), roomId, resync);
+    }
+
+    // A client reconnecting with Last-Event-ID may have missed events, there is no history to replay them from
+    public SseEmitter subscribe(SseEmitter emitter, Long roomId, boolean resync) {
+        // Served by the room query cache; it also keeps roomSubscribers to rooms that exist
+        if (!isNull(roomId) && roomRepository.findActiveById(roomId).isEmpty()) {
+            throw new RoomNotFoundException("Room not found: " + roomId);
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceOverloadedException("Too many event subscribers", RETRY_AFTER_SECONDS);
+        }
+
+        var subscriber = new Subscriber(roomId, emitter, bufferSize);
+        addSubscriber(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        if (resync && subscriber.resync()) {
+            schedule(subscriber);
+        }
+        return emitter;
+    }
+
+    // Called after commit, from request threads
+    public void publish(ChangeEvent event) {
+        try {
+            changeEventsExecutor.execute(() -> fanOut(event));
+        } catch (RejectedExecutionException e) {
+            resyncPending.set(true);
+        }
+    }
+
+    // Keeps proxies from closing idle connections and detects clients that went away
+    @Scheduled(fixedDelayString = "${realmeet.events.heartbeatMillis:30000}")
+    public void heartbeat() {
+        subscribers().filter(Subscriber::heartbeat).forEach(this::schedule);
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void fanOut(ChangeEvent event) {
+        if (resyncPending.getAndSet(false)) {
+            resyncs.increment();
+            subscribers().filter(Subscriber::resync).forEach(this::schedule);
+        }
+
+        var id = lastEventId.incrementAndGet();
+        var subscribersOfRoom = roomSubscribers.getOrDefault(event.getRoomId(), Set.of());
+        Stream
+                .concat(allRoomsSubscribers.stream(), subscribersOfRoom.stream())
+                .filter(subscriber -> subscriber.offer(id, event))
+                .forEach(this::schedule);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        changeEventWritersExecutor.execute(() -> {
+            try {
+                subscriber.drain();
+            } catch (Exception e) {
+                unsubscribe(subscriber);
+                subscriber.getEmitter().completeWithError(e);
+            }
+        });
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (removeSubscriber(subscriber)) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    // Sets of a room are created and dropped inside compute, so a subscriber added while the last one leaves is kept
+    private void addSubscriber(Subscriber subscriber) {
+        if (isNull(subscriber.getRoomId())) {
+            allRoomsSubscribers.add(subscriber);
+            return;
+        }
+
+        roomSubscribers.compute(subscriber.getRoomId(), (roomId, subscribers) -> {
+            var current = isNull(subscribers) ? ConcurrentHashMap.<Subscriber>newKeySet() : subscribers;
+            current.add(subscriber);
+            return current;
+        });
+    }
+
+    private boolean removeSubscriber(Subscriber subscriber) {
+        if (isNull(subscriber.getRoomId())) {
+            return allRoomsSubscribers.remove(subscriber);
+        }
+
+        var removed = new AtomicBoolean();
+        roomSubscribers.computeIfPresent(subscriber.getRoomId(), (roomId, subscribers) -> {
+            removed.set(subscribers.remove(subscriber));
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        return removed.get();
+    }
+
+    private Stream<Subscriber> subscribers() {
+        return Stream.concat(
+                allRoomsSubscribers.stream(),
+                roomSubscribers.values().stream().flatMap(Set::stream)
+        );
+    }
+}
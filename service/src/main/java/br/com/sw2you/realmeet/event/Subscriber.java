@@ -0,0 +1,91 @@
+package br.com.sw2you.realmeet.event;
+
+import br.com.sw2you.realmeet.domain.model.ChangeEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.isNull;
+
+/**
+ * One SSE connection with its own bounded buffer. The dispatcher only offers to the buffer, a writer thread
+ * drains it; at most one drain is scheduled at a time. When the buffer overflows its events are dropped and
+ * replaced by a single RESYNC, so a slow client costs a bounded amount of memory and catches up by refetching.
+ */
+public class Subscriber {
+    private final Long roomId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<SequencedEvent> buffer;
+    private final AtomicBoolean scheduled;
+    private volatile boolean resync;
+    private volatile boolean heartbeat;
+
+    public Subscriber(Long roomId, SseEmitter emitter, int bufferSize) {
+        this.roomId = roomId;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.scheduled = new AtomicBoolean();
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    // Each of these returns true when the caller has to schedule a drain
+    public boolean offer(long id, ChangeEvent event) {
+        if (!buffer.offer(new SequencedEvent(id, event))) {
+            resync = true;
+        }
+        return scheduled.compareAndSet(false, true);
+    }
+
+    public boolean resync() {
+        resync = true;
+        return scheduled.compareAndSet(false, true);
+    }
+
+    public boolean heartbeat() {
+        heartbeat = true;
+        return scheduled.compareAndSet(false, true);
+    }
+
+    public void drain() throws IOException {
+        do {
+            if (resync) {
+                resync = false;
+                buffer.clear();
+                emitter.send(SseEmitter.event().data(ChangeEvent.RESYNC));
+            }
+            for (var event = buffer.poll(); !isNull(event); event = buffer.poll()) {
+                emitter.send(SseEmitter.event().id(Long.toString(event.id)).data(event.event));
+            }
+            if (heartbeat) {
+                heartbeat = false;
+                emitter.send(SseEmitter.event().comment(""));
+            }
+            scheduled.set(false);
+            // Work offered after the last check but before the flag was cleared is drained here, not lost
+        } while (hasWork() && scheduled.compareAndSet(false, true));
+    }
+
+    private boolean hasWork() {
+        return resync || heartbeat || !buffer.isEmpty();
+    }
+
+    private static final class SequencedEvent {
+        private final long id;
+        private final ChangeEvent event;
+
+        private SequencedEvent(long id, ChangeEvent event) {
+            this.id = id;
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.sw2you.realmeet.exception;
+
+public class AllocationSeriesNotFoundException extends RuntimeException {
+
+    public AllocationSeriesNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.sw2you.realmeet.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
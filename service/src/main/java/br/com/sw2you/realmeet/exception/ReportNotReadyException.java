@@ -0,0 +1,13 @@
+package br.com.sw2you.realmeet.exception;
+
+import br.com.sw2you.realmeet.validator.ValidationError;
+
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.NOT_READY;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.REPORT_STATUS;
+
+public class ReportNotReadyException extends InvalidRequestException {
+
+    public ReportNotReadyException() {
+        super(new ValidationError(REPORT_STATUS, REPORT_STATUS + NOT_READY));
+    }
+}
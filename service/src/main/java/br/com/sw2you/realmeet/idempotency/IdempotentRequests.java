@@ -0,0 +1,222 @@
+package br.com.sw2you.realmeet.idempotency;
+
+import br.com.sw2you.realmeet.admission.AdmissionControl;
+import br.com.sw2you.realmeet.domain.entity.IdempotencyRecord;
+import br.com.sw2you.realmeet.domain.repository.IdempotencyRecordRepository;
+import br.com.sw2you.realmeet.exception.InvalidRequestException;
+import br.com.sw2you.realmeet.validator.ValidationError;
+import br.com.sw2you.realmeet.validator.ValidationErrors;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static br.com.sw2you.realmeet.admission.EndpointClass.COMMAND;
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.IDEMPOTENCY_KEY;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.IDEMPOTENCY_KEY_MAX_LENGTH;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.INCONSISTENT;
+import static br.com.sw2you.realmeet.validator.ValidatorUtils.throwOnError;
+import static br.com.sw2you.realmeet.validator.ValidatorUtils.validateMaxLength;
+import static br.com.sw2you.realmeet.validator.ValidatorUtils.validateRequired;
+import static java.util.Objects.isNull;
+
+/**
+ * Runs create requests sent with an Idempotency-Key header at most once. A retry with the same key and body gets the
+ * first response back without running the request again, and one arriving while the first is still running waits
+ * for it; reusing a key with another body is rejected. Keys are scoped to the caller and the operation, so callers
+ * picking the same key neither see each other's responses nor get rejected. The newest keys are kept on heap, in
+ * front of the idempotency_key table, which also covers restarts and the other instances.
+ */
+@Component
+public class IdempotentRequests {
+
+    private final AdmissionControl admissionControl;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Cache<String, Entry> entries;
+
+    public IdempotentRequests(
+            AdmissionControl admissionControl,
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${realmeet.idempotency.ttlHours:24}") long ttlHours,
+            @Value("${realmeet.idempotency.maxKeysInMemory:10000}") long maxKeysInMemory
+    ) {
+        this.admissionControl = admissionControl;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.entries = Caffeine.newBuilder().maximumSize(maxKeysInMemory).expireAfterWrite(ttl).build();
+    }
+
+    // Same as AdmissionControl.supplyAsync for commands when no key is sent
+    public <T> CompletableFuture<T> supplyAsync(
+            String caller,
+            String operation,
+            String idempotencyKey,
+            Object request,
+            Class<T> responseType,
+            Supplier<T> supplier
+    ) {
+        if (isNull(idempotencyKey)) {
+            return admissionControl.supplyAsync(COMMAND, operation, supplier);
+        }
+
+        try {
+            validate(idempotencyKey);
+        } catch (InvalidRequestException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        var key = scopedKey(caller, operation, idempotencyKey);
+        var fingerprint = fingerprint(operation, request);
+        var entry = new Entry(fingerprint);
+        var existing = entries.asMap().putIfAbsent(key, entry);
+
+        if (!isNull(existing)) {
+            return existing.replay(fingerprint, responseType);
+        }
+        admissionControl
+                .supplyAsync(COMMAND, operation, () -> runOnce(key, fingerprint, responseType, supplier))
+                .whenComplete((response, error) -> {
+                    // Failures aren't remembered, so a retry runs the request again
+                    if (!isNull(error)) {
+                        entries.asMap().remove(key, entry);
+                        entry.response.completeExceptionally(error);
+                    } else {
+                        entry.response.complete(response);
+                    }
+                });
+        return entry.replay(fingerprint, responseType);
+    }
+
+    // The key as stored: hashed, so the scope fits the idempotency_key column whatever the length of the caller
+    public static String scopedKey(String caller, String operation, String idempotencyKey) {
+        return sha256(String.join("\0", caller, operation, idempotencyKey).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Scheduled(fixedDelayString = "${realmeet.idempotency.purgeIntervalMillis:600000}")
+    public void purgeExpired() {
+        transactionTemplate.execute(status -> idempotencyRecordRepository.deleteAllExpired(now()));
+    }
+
+    // Keys missing from memory may still have been used before a restart or on another instance
+    private <T> T runOnce(String key, String fingerprint, Class<T> responseType, Supplier<T> supplier) {
+        var now = now();
+        var stored = findLive(key, now);
+
+        if (stored.isPresent()) {
+            return replay(stored.get(), fingerprint, responseType);
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                idempotencyRecordRepository.deleteIfExpired(key, now);
+                idempotencyRecordRepository.insert(key, fingerprint, now, now.plus(ttl));
+                var response = supplier.get();
+                idempotencyRecordRepository.updateResponse(key, toJson(response));
+                return response;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance got the key first: the insert waited for its commit, then hit the primary key
+            return findLive(key, now()).map(r -> replay(r, fingerprint, responseType)).orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<IdempotencyRecord> findLive(String key, OffsetDateTime now) {
+        return idempotencyRecordRepository.findById(key).filter(r -> !r.isExpired(now));
+    }
+
+    private <T> T replay(IdempotencyRecord record, String fingerprint, Class<T> responseType) {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            throw keyReused();
+        }
+
+        try {
+            return objectMapper.readValue(record.getResponse(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            return sha256(operation.getBytes(StandardCharsets.UTF_8), objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String sha256(byte[]... parts) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+
+            for (var part : parts) {
+                digest.update(part);
+            }
+            return String.format("%064x", new BigInteger(1, digest.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void validate(String idempotencyKey) {
+        var validationErrors = new ValidationErrors();
+
+        if (validateRequired(idempotencyKey, IDEMPOTENCY_KEY, validationErrors)) {
+            validateMaxLength(idempotencyKey, IDEMPOTENCY_KEY, IDEMPOTENCY_KEY_MAX_LENGTH, validationErrors);
+        }
+        throwOnError(validationErrors);
+    }
+
+    private static InvalidRequestException keyReused() {
+        return new InvalidRequestException(new ValidationError(IDEMPOTENCY_KEY, IDEMPOTENCY_KEY + INCONSISTENT));
+    }
+
+    // The first request with a key, completed once it finishes; later ones with the same key wait on it
+    private static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<Object> response;
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+            this.response = new CompletableFuture<>();
+        }
+
+        private <T> CompletableFuture<T> replay(String fingerprint, Class<T> responseType) {
+            if (!this.fingerprint.equals(fingerprint)) {
+                return CompletableFuture.failedFuture(keyReused());
+            }
+            return response.thenApply(responseType::cast);
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package br.com.sw2you.realmeet.mapper;
 
 import br.com.sw2you.realmeet.api.model.AllocationDTO;
+import br.com.sw2you.realmeet.api.model.AllocationSeriesDTO;
 import br.com.sw2you.realmeet.api.model.CreateAllocationDTO;
+import br.com.sw2you.realmeet.api.model.CreateAllocationSeriesDTO;
+import br.com.sw2you.realmeet.api.model.RecurrenceDTO;
 import br.com.sw2you.realmeet.domain.entity.Allocation;
+import br.com.sw2you.realmeet.domain.entity.AllocationSeries;
+import br.com.sw2you.realmeet.domain.entity.ArchivedAllocation;
 import br.com.sw2you.realmeet.domain.entity.Room;
+import br.com.sw2you.realmeet.domain.model.AllocationView;
+import br.com.sw2you.realmeet.domain.model.Occurrence;
+import br.com.sw2you.realmeet.domain.model.Recurrence;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring")
 public abstract class AllocationMapper {
 
@@ -19,5 +29,45 @@ public abstract class AllocationMapper {
     @Mapping(source = "employee.name", target = "employeeName")
     @Mapping(source = "employee.email", target = "employeeEmail")
     @Mapping(source = "room.id", target = "roomId")
+    @Mapping(target = "seriesId", ignore = true)
     public abstract AllocationDTO fromEntityToAllocationDTO(Allocation allocation);
+
+    public abstract List<AllocationDTO> fromEntitiesToAllocationDTOs(List<Allocation> allocations);
+
+    @Mapping(target = "seriesId", ignore = true)
+    public abstract AllocationDTO fromViewToAllocationDTO(AllocationView allocationView);
+
+    public abstract List<AllocationDTO> fromViewsToAllocationDTOs(List<AllocationView> allocationViews);
+
+    @Mapping(source = "employee.name", target = "employeeName")
+    @Mapping(source = "employee.email", target = "employeeEmail")
+    @Mapping(target = "seriesId", ignore = true)
+    public abstract AllocationDTO fromArchivedEntityToAllocationDTO(ArchivedAllocation archivedAllocation);
+
+    public abstract List<AllocationDTO> fromArchivedEntitiesToAllocationDTOs(
+            List<ArchivedAllocation> archivedAllocations
+    );
+
+    // Occurrences have no id of their own, they are told apart by seriesId and startAt
+    @Mapping(source = "employee.name", target = "employeeName")
+    @Mapping(source = "employee.email", target = "employeeEmail")
+    @Mapping(target = "id", ignore = true)
+    public abstract AllocationDTO fromOccurrenceToAllocationDTO(Occurrence occurrence);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(source = "employeeName", target = "employee.name")
+    @Mapping(source = "employeeEmail", target = "employee.email")
+    @Mapping(target = "cancelledStartAts", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    public abstract AllocationSeries fromCreateAllocationSeriesDTOToEntity(
+            CreateAllocationSeriesDTO createAllocationSeriesDTO
+    );
+
+    @Mapping(source = "interval", target = "interval", defaultValue = "1")
+    public abstract Recurrence fromRecurrenceDTOToRecurrence(RecurrenceDTO recurrenceDTO);
+
+    @Mapping(source = "employee.name", target = "employeeName")
+    @Mapping(source = "employee.email", target = "employeeEmail")
+    public abstract AllocationSeriesDTO fromEntityToAllocationSeriesDTO(AllocationSeries allocationSeries);
 }
@@ -0,0 +1,11 @@
+package br.com.sw2you.realmeet.mapper;
+
+import br.com.sw2you.realmeet.api.model.ReportJobDTO;
+import br.com.sw2you.realmeet.domain.entity.ReportJob;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public abstract class ReportMapper {
+
+    public abstract ReportJobDTO fromReportJobToDTO(ReportJob reportJob);
+}
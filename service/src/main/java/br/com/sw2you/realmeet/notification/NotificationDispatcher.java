@@ -0,0 +1,138 @@
+package br.com.sw2you.realmeet.notification;
+
+import br.com.sw2you.realmeet.domain.entity.Notification;
+import br.com.sw2you.realmeet.domain.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+
+/**
+ * Drains the notification outbox in the background, so SMTP latency and outages never reach the requests that
+ * wrote it. Each batch is claimed in a short transaction, sent over a single SMTP connection and deleted once
+ * accepted by the server. Claiming already schedules the next attempt with exponential backoff, so failed rows,
+ * and rows claimed by an instance that died, are retried until {@code maxAttempts} is reached.
+ */
+@Component
+public class NotificationDispatcher {
+    public static final String SENT_METRIC = "realmeet.notifications.sent";
+    public static final String FAILED_METRIC = "realmeet.notifications.failed";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationMailComposer notificationMailComposer;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Counter sent;
+    private final Counter failed;
+
+    public NotificationDispatcher(
+            NotificationRepository notificationRepository,
+            NotificationMailComposer notificationMailComposer,
+            JavaMailSender mailSender,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${realmeet.notifications.batchSize:50}") int batchSize,
+            @Value("${realmeet.notifications.maxAttempts:10}") int maxAttempts,
+            @Value("${realmeet.notifications.initialBackoffSeconds:30}") long initialBackoffSeconds,
+            @Value("${realmeet.notifications.maxBackoffSeconds:3600}") long maxBackoffSeconds
+    ) {
+        this.notificationRepository = notificationRepository;
+        this.notificationMailComposer = notificationMailComposer;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.sent = meterRegistry.counter(SENT_METRIC);
+        this.failed = meterRegistry.counter(FAILED_METRIC);
+    }
+
+    @Scheduled(fixedDelayString = "${realmeet.notifications.pollIntervalMillis:2000}")
+    public void dispatch() {
+        // A full batch means more rows may be due, a partial one that the outbox is drained
+        while (dispatchBatch() == batchSize) {
+        }
+    }
+
+    public int dispatchBatch() {
+        var batch = transactionTemplate.execute(status -> claim());
+
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        var sentIds = send(batch);
+
+        if (!sentIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> notificationRepository.deleteAllByIdIn(sentIds));
+        }
+        sent.increment(sentIds.size());
+        failed.increment(batch.size() - sentIds.size());
+        return batch.size();
+    }
+
+    public Duration backoff(int attempts) {
+        var backoff = initialBackoff.multipliedBy(1L << Math.min(attempts, 30));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private List<Notification> claim() {
+        var now = now();
+        var batch = notificationRepository.findDueForUpdate(now, maxAttempts, PageRequest.of(0, batchSize));
+        batch.forEach(notification -> notification.claim(now.plus(backoff(notification.getAttempts()))));
+        return batch;
+    }
+
+    // JavaMailSender sends an array of messages over one connection and reports the ones the server refused
+    private List<Long> send(List<Notification> batch) {
+        var messages = new LinkedHashMap<MimeMessage, Long>();
+
+        for (var notification : batch) {
+            try {
+                messages.put(notificationMailComposer.compose(notification), notification.getId());
+            } catch (MessagingException | RuntimeException e) {
+                LOGGER.warn("Could not compose notification {}", notification.getId(), e);
+            }
+        }
+
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            LOGGER.warn("Could not send {} of {} notifications", e.getFailedMessages().size(), batch.size(), e);
+            e.getFailedMessages().keySet().forEach(messages::remove);
+        } catch (MailException e) {
+            LOGGER.warn("Could not send {} notifications", batch.size(), e);
+            messages.clear();
+        }
+        return new ArrayList<>(messages.values());
+    }
+}
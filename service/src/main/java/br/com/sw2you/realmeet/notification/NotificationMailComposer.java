@@ -0,0 +1,54 @@
+package br.com.sw2you.realmeet.notification;
+
+import br.com.sw2you.realmeet.domain.entity.Notification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import static br.com.sw2you.realmeet.util.DateUtils.toDefaultTimezone;
+
+@Component
+public class NotificationMailComposer {
+    public static final String TEMPLATE = "mail/allocation-notification";
+
+    private final JavaMailSender mailSender;
+    private final ITemplateEngine templateEngine;
+    private final String from;
+
+    public NotificationMailComposer(
+            JavaMailSender mailSender,
+            ITemplateEngine templateEngine,
+            @Value("${realmeet.notifications.from:noreply@realmeet.com}") String from
+    ) {
+        this.mailSender = mailSender;
+        this.templateEngine = templateEngine;
+        this.from = from;
+    }
+
+    public MimeMessage compose(Notification notification) throws MessagingException {
+        var title = "Allocation " + notification.getEvent().name().toLowerCase(Locale.ROOT) + ": " +
+                notification.getSubject();
+
+        var context = new Context(Locale.ROOT);
+        context.setVariable("title", title);
+        context.setVariable("notification", notification);
+        context.setVariable("startAt", toDefaultTimezone(notification.getStartAt()));
+        context.setVariable("endAt", toDefaultTimezone(notification.getEndAt()));
+
+        var message = mailSender.createMimeMessage();
+        var helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setFrom(from);
+        helper.setTo(notification.getEmployee().getEmail());
+        helper.setSubject(title);
+        helper.setText(templateEngine.process(TEMPLATE, context), true);
+        return message;
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.sw2you.realmeet.ratelimit;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static java.util.Objects.isNull;
+
+public final class CallerIdentity {
+
+    private CallerIdentity() {}
+
+    // The authenticated principal, the remote address otherwise. The Authorization header alone is never trusted:
+    // nothing verifies its credentials, so a caller could send a new user name with every request.
+    public static String of(HttpServletRequest request) {
+        var principal = request.getUserPrincipal();
+
+        if (!isNull(principal)) {
+            return "user:" + principal.getName();
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+}
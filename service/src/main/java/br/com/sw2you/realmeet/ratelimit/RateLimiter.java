@@ -0,0 +1,88 @@
+package br.com.sw2you.realmeet.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.isNull;
+
+/**
+ * One token bucket per key, holding up to {@code capacity} tokens and refilled with {@code refillPerMinute}.
+ * Buckets are lock-free and refilled lazily: a bucket only stores the time at which it will be full again, so the
+ * tokens are worked out from the clock when one is taken and nothing runs between requests. Idle buckets are
+ * evicted once they would be full again, and the least recently used ones past {@code maxKeys}.
+ */
+public class RateLimiter {
+    public static final String REJECTED_METRIC = "realmeet.ratelimit.rejected";
+
+    private final String name;
+    private final long nanosPerToken;
+    private final long capacityNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> buckets;
+    private final Counter rejected;
+
+    public RateLimiter(
+            String name,
+            int capacity,
+            int refillPerMinute,
+            long maxKeys,
+            LongSupplier nanoClock,
+            MeterRegistry meterRegistry
+    ) {
+        this.name = name;
+        this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.capacityNanos = capacity * nanosPerToken;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine
+                .newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(capacityNanos))
+                .ticker(nanoClock::getAsLong)
+                .build();
+        this.rejected = Counter.builder(REJECTED_METRIC).tag("limit", name).register(meterRegistry);
+    }
+
+    /**
+     * Takes a token from the bucket of the key.
+     *
+     * @return 0 when the token was taken, otherwise the nanoseconds until the bucket has one
+     */
+    public long tryAcquire(String key) {
+        var fullAt = buckets.get(key, k -> new AtomicLong(nanoClock.getAsLong()));
+
+        while (true) {
+            var now = nanoClock.getAsLong();
+            var current = fullAt.get();
+            var next = Math.max(current, now) + nanosPerToken;
+            var waitNanos = next - now - capacityNanos;
+
+            if (waitNanos > 0) {
+                rejected.increment();
+                return waitNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Gives back a token taken for a request that another limit rejected
+    public void release(String key) {
+        var fullAt = buckets.getIfPresent(key);
+
+        if (!isNull(fullAt)) {
+            fullAt.addAndGet(-nanosPerToken);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.sw2you.realmeet.ratelimit;
+
+import br.com.sw2you.realmeet.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Rate limits allocation writes per caller and per employee, so one misbehaving integration can't take the shared
+ * controllers executor from everyone else. Limits are checked on the request thread, before anything is submitted:
+ * a rejected request never reaches admission control nor the database.
+ */
+@Component
+public class RateLimits {
+
+    private final RateLimiter callerLimiter;
+    private final RateLimiter employeeLimiter;
+
+    public RateLimits(
+            MeterRegistry meterRegistry,
+            @Value("${realmeet.rateLimit.maxKeys:100000}") long maxKeys,
+            @Value("${realmeet.rateLimit.caller.capacity:100}") int callerCapacity,
+            @Value("${realmeet.rateLimit.caller.refillPerMinute:600}") int callerRefillPerMinute,
+            @Value("${realmeet.rateLimit.employee.capacity:10}") int employeeCapacity,
+            @Value("${realmeet.rateLimit.employee.refillPerMinute:30}") int employeeRefillPerMinute
+    ) {
+        this.callerLimiter = new RateLimiter(
+                "caller",
+                callerCapacity,
+                callerRefillPerMinute,
+                maxKeys,
+                System::nanoTime,
+                meterRegistry
+        );
+        this.employeeLimiter = new RateLimiter(
+                "employee",
+                employeeCapacity,
+                employeeRefillPerMinute,
+                maxKeys,
+                System::nanoTime,
+                meterRegistry
+        );
+    }
+
+    public <T> CompletableFuture<T> whenAllowed(String caller, Supplier<CompletableFuture<T>> submission) {
+        return whenAllowed(caller, Collections.emptyList(), submission);
+    }
+
+    public <T> CompletableFuture<T> whenAllowed(
+            String caller,
+            String employeeEmail,
+            Supplier<CompletableFuture<T>> submission
+    ) {
+        return whenAllowed(caller, Collections.singletonList(employeeEmail), submission);
+    }
+
+    // One token per request from the caller and from each distinct employee it writes for
+    public <T> CompletableFuture<T> whenAllowed(
+            String caller,
+            Collection<String> employeeEmails,
+            Supplier<CompletableFuture<T>> submission
+    ) {
+        var waitNanos = callerLimiter.tryAcquire(caller);
+
+        if (waitNanos > 0) {
+            return reject(callerLimiter, waitNanos);
+        }
+
+        var employees = employeeEmails
+                .stream()
+                .filter(e -> !isNull(e))
+                .map(e -> e.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        var acquired = new ArrayList<String>();
+
+        for (var employee : employees) {
+            waitNanos = employeeLimiter.tryAcquire(employee);
+
+            if (waitNanos > 0) {
+                callerLimiter.release(caller);
+                acquired.forEach(employeeLimiter::release);
+                return reject(employeeLimiter, waitNanos);
+            }
+            acquired.add(employee);
+        }
+        return submission.get();
+    }
+
+    private static <T> CompletableFuture<T> reject(RateLimiter limiter, long waitNanos) {
+        var oneSecond = TimeUnit.SECONDS.toNanos(1);
+        var retryAfterSeconds = Math.max(1L, (waitNanos + oneSecond - 1) / oneSecond);
+        return CompletableFuture.failedFuture(
+                new RateLimitExceededException("Rate limit per " + limiter.getName() + " exceeded", retryAfterSeconds)
+        );
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.sw2you.realmeet.report;
+
+import br.com.sw2you.realmeet.domain.model.AllocationView;
+import net.sf.jasperreports.engine.JRDataSource;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Feeds a report from a streamed query, one allocation at a time. Rows are read-only views that nothing else
+ * references, so they never pile up in memory. Room names are looked up once, before the stream is opened.
+ */
+public class AllocationReportDataSource implements JRDataSource {
+
+    private final Iterator<AllocationView> allocations;
+    private final Map<Long, String> roomNames;
+    private AllocationView current;
+
+    public AllocationReportDataSource(Iterator<AllocationView> allocations, Map<Long, String> roomNames) {
+        this.allocations = allocations;
+        this.roomNames = roomNames;
+    }
+
+    @Override
+    public boolean next() {
+        current = allocations.hasNext() ? allocations.next() : null;
+        return !isNull(current);
+    }
+
+    @Override
+    public Object getFieldValue(JRField field) throws JRException {
+        switch (field.getName()) {
+            case "roomId":
+                return current.getRoomId();
+            case "roomName":
+                return roomNames.get(current.getRoomId());
+            case "subject":
+                return current.getSubject();
+            case "employeeName":
+                return current.getEmployeeName();
+            case "startAt":
+                return Date.from(current.getStartAt().toInstant());
+            case "endAt":
+                return Date.from(current.getEndAt().toInstant());
+            case "durationMinutes":
+                return Duration.between(current.getStartAt(), current.getEndAt()).toMinutes();
+            default:
+                throw new JRException("Unknown field: " + field.getName());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.sw2you.realmeet.report;
+
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Reads content stored as numbered chunks, fetching each chunk only once the previous one is consumed, so no more
+ * than one chunk is held at a time. The content ends at the first chunk index with nothing stored.
+ */
+public class ChunkedInputStream extends InputStream {
+
+    private final IntFunction<Optional<byte[]>> chunks;
+    private byte[] chunk;
+    private int chunkIndex;
+    private int position;
+
+    public ChunkedInputStream(byte[] firstChunk, IntFunction<Optional<byte[]>> chunks) {
+        this.chunks = chunks;
+        this.chunk = firstChunk;
+    }
+
+    @Override
+    public int read() {
+        if (!fill()) {
+            return -1;
+        }
+        return chunk[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+
+        var read = Math.min(len, chunk.length - position);
+        System.arraycopy(chunk, position, b, off, read);
+        position += read;
+        return read;
+    }
+
+    // Moves past consumed chunks; false once the content is over
+    private boolean fill() {
+        while (!isNull(chunk) && position == chunk.length) {
+            chunk = chunks.apply(++chunkIndex).orElse(null);
+            position = 0;
+        }
+        return !isNull(chunk);
+    }
+}
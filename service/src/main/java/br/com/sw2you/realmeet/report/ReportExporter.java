@@ -0,0 +1,49 @@
+package br.com.sw2you.realmeet.report;
+
+import br.com.sw2you.realmeet.api.model.ReportFormatDTO;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.export.JRCsvExporter;
+import net.sf.jasperreports.engine.export.JRPdfExporter;
+import net.sf.jasperreports.export.SimpleExporterInput;
+import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
+import net.sf.jasperreports.export.SimpleWriterExporterOutput;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+// Writes a filled report straight to a file, so the exported document is never held in memory
+@Component
+public class ReportExporter {
+    public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    public void export(JasperPrint jasperPrint, ReportFormatDTO format, Path target) throws JRException {
+        var input = new SimpleExporterInput(jasperPrint);
+
+        switch (format) {
+            case CSV:
+                var csvExporter = new JRCsvExporter();
+                csvExporter.setExporterInput(input);
+                csvExporter.setExporterOutput(new SimpleWriterExporterOutput(target.toFile()));
+                csvExporter.exportReport();
+                break;
+            case PDF:
+                var pdfExporter = new JRPdfExporter();
+                pdfExporter.setExporterInput(input);
+                pdfExporter.setExporterOutput(new SimpleOutputStreamExporterOutput(target.toFile()));
+                pdfExporter.exportReport();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown report format: " + format);
+        }
+    }
+
+    public static MediaType getMediaType(ReportFormatDTO format) {
+        return format == ReportFormatDTO.CSV ? TEXT_CSV : MediaType.APPLICATION_PDF;
+    }
+
+    public static String getExtension(ReportFormatDTO format) {
+        return format == ReportFormatDTO.CSV ? ".csv" : ".pdf";
+    }
+}
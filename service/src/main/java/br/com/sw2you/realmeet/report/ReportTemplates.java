@@ -0,0 +1,40 @@
+package br.com.sw2you.realmeet.report;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Compiled report templates. Compiling a .jrxml costs far more than filling most reports, so each template is
+ * compiled on first use and the {@link JasperReport} is shared by every later job.
+ */
+@Component
+public class ReportTemplates {
+    public static final String OCCUPANCY = "occupancy";
+
+    private static final String TEMPLATES_LOCATION = "/reports/";
+
+    private final ConcurrentMap<String, JasperReport> compiledTemplates = new ConcurrentHashMap<>();
+
+    public JasperReport get(String name) {
+        return compiledTemplates.computeIfAbsent(name, ReportTemplates::compile);
+    }
+
+    private static JasperReport compile(String name) {
+        try (var template = ReportTemplates.class.getResourceAsStream(TEMPLATES_LOCATION + name + ".jrxml")) {
+            if (isNull(template)) {
+                throw new IllegalArgumentException("Unknown report template: " + name);
+            }
+            return JasperCompileManager.compileReport(template);
+        } catch (IOException | JRException e) {
+            throw new IllegalStateException("Could not compile report template: " + name, e);
+        }
+    }
+}
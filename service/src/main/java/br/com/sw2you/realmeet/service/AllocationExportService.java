@@ -0,0 +1,54 @@
+package br.com.sw2you.realmeet.service;
+
+import br.com.sw2you.realmeet.api.model.AllocationDTO;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.mapper.AllocationMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+
+@Service
+public class AllocationExportService {
+
+    private static final int NEW_LINE = '\n';
+
+    private final AllocationRepository allocationRepository;
+    private final AllocationMapper allocationMapper;
+    private final ObjectWriter objectWriter;
+
+    public AllocationExportService(
+            AllocationRepository allocationRepository,
+            AllocationMapper allocationMapper,
+            ObjectMapper objectMapper
+    ) {
+        this.allocationRepository = allocationRepository;
+        this.allocationMapper = allocationMapper;
+        this.objectWriter = objectMapper.writerFor(AllocationDTO.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    // Writes one JSON document per line; rows are projections, so the heap footprint stays flat
+    @Transactional(readOnly = true)
+    public void exportAllocations(OffsetDateTime startAt, OffsetDateTime endAt, OutputStream outputStream) {
+        try (var allocations = allocationRepository.streamAllByStartAtBetween(startAt, endAt)) {
+            allocations.forEach(
+                    allocation -> write(allocationMapper.fromViewToAllocationDTO(allocation), outputStream)
+            );
+        }
+    }
+
+    private void write(AllocationDTO allocationDTO, OutputStream outputStream) {
+        try {
+            objectWriter.writeValue(outputStream, allocationDTO);
+            outputStream.write(NEW_LINE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
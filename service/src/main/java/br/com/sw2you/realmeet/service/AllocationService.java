@@ -1,88 +1,458 @@
 package br.com.sw2you.realmeet.service;
 
 import br.com.sw2you.realmeet.api.model.AllocationDTO;
+import br.com.sw2you.realmeet.api.model.AllocationPageDTO;
+import br.com.sw2you.realmeet.api.model.AllocationSeriesDTO;
+import br.com.sw2you.realmeet.api.model.CancelAllocationsResultDTO;
 import br.com.sw2you.realmeet.api.model.CreateAllocationDTO;
+import br.com.sw2you.realmeet.api.model.CreateAllocationSeriesDTO;
 import br.com.sw2you.realmeet.api.model.UpdateAllocationDTO;
 import br.com.sw2you.realmeet.domain.entity.Allocation;
+import br.com.sw2you.realmeet.domain.entity.AllocationSeries;
+import br.com.sw2you.realmeet.domain.entity.Room;
+import br.com.sw2you.realmeet.domain.index.AllocationIndex;
+import br.com.sw2you.realmeet.domain.model.AllocationCursor;
+import br.com.sw2you.realmeet.domain.model.ChangeEvent;
 import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.AllocationSeriesRepository;
+import br.com.sw2you.realmeet.domain.repository.ArchivedAllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.NotificationRepository;
 import br.com.sw2you.realmeet.domain.repository.RoomRepository;
+import br.com.sw2you.realmeet.event.ChangeEventDispatcher;
 import br.com.sw2you.realmeet.exception.AllocationCannotBeDeletedException;
 import br.com.sw2you.realmeet.exception.AllocationCannotBeUpdatedException;
 import br.com.sw2you.realmeet.exception.AllocationNotFoundException;
+import br.com.sw2you.realmeet.exception.AllocationSeriesNotFoundException;
+import br.com.sw2you.realmeet.exception.InvalidRequestException;
 import br.com.sw2you.realmeet.exception.RoomNotFoundException;
 import br.com.sw2you.realmeet.mapper.AllocationMapper;
 import br.com.sw2you.realmeet.validator.AllocationValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.ALLOCATION_CREATED;
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.ALLOCATION_DELETED;
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.ALLOCATION_UPDATED;
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.SERIES_CREATED;
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.SERIES_DELETED;
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.SERIES_UPDATED;
+import static br.com.sw2you.realmeet.domain.model.NotificationEvent.CREATED;
+import static br.com.sw2you.realmeet.domain.model.NotificationEvent.DELETED;
+import static br.com.sw2you.realmeet.domain.model.NotificationEvent.UPDATED;
 import static br.com.sw2you.realmeet.util.DateUtils.now;
+import static br.com.sw2you.realmeet.util.TransactionUtils.afterCommit;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_MAX_DURATION_SECONDS;
+import static java.util.Objects.isNull;
 
 @Service
 public class AllocationService {
 
     private final RoomRepository roomRepository;
     private final AllocationRepository allocationRepository;
+    private final ArchivedAllocationRepository archivedAllocationRepository;
+    private final AllocationSeriesRepository allocationSeriesRepository;
     private final AllocationValidator allocationValidator;
     private final AllocationMapper allocationMapper;
+    private final AllocationIndex allocationIndex;
+    private final NotificationRepository notificationRepository;
+    private final ChangeEventDispatcher changeEventDispatcher;
+    private final int maxFilterLimit;
+    private final int maxBatchSize;
+    private final int maxOccurrences;
 
     public AllocationService(
             RoomRepository roomRepository,
             AllocationRepository allocationRepository,
+            ArchivedAllocationRepository archivedAllocationRepository,
+            AllocationSeriesRepository allocationSeriesRepository,
             AllocationValidator allocationValidator,
-            AllocationMapper allocationMapper
+            AllocationMapper allocationMapper,
+            AllocationIndex allocationIndex,
+            NotificationRepository notificationRepository,
+            ChangeEventDispatcher changeEventDispatcher,
+            @Value("${realmeet.allocations.maxFilterLimit:50}") int maxFilterLimit,
+            @Value("${realmeet.allocations.maxBatchSize:1000}") int maxBatchSize,
+            @Value("${realmeet.allocations.maxOccurrences:500}") int maxOccurrences
     ) {
         this.roomRepository = roomRepository;
         this.allocationRepository = allocationRepository;
+        this.archivedAllocationRepository = archivedAllocationRepository;
+        this.allocationSeriesRepository = allocationSeriesRepository;
         this.allocationValidator = allocationValidator;
         this.allocationMapper = allocationMapper;
+        this.allocationIndex = allocationIndex;
+        this.notificationRepository = notificationRepository;
+        this.changeEventDispatcher = changeEventDispatcher;
+        this.maxFilterLimit = maxFilterLimit;
+        this.maxBatchSize = maxBatchSize;
+        this.maxOccurrences = maxOccurrences;
+    }
+
+    @Transactional(readOnly = true)
+    public AllocationPageDTO listAllocations(
+            Long roomId,
+            String employeeEmail,
+            OffsetDateTime startAt,
+            OffsetDateTime endAt,
+            String cursor,
+            Integer limit
+    ) {
+        return listPage(
+                cursor,
+                limit,
+                (after, pageable) -> withOccurrences(
+                        allocationMapper.fromViewsToAllocationDTOs(
+                                allocationRepository.findAllWithFilters(
+                                        roomId,
+                                        employeeEmail,
+                                        startAt,
+                                        endAt,
+                                        after.map(AllocationCursor::getStartAt).orElse(null),
+                                        after.map(AllocationCursor::getId).orElse(null),
+                                        pageable
+                                )
+                        ),
+                        allocationSeriesRepository.findAllWithFilters(
+                                roomId,
+                                employeeEmail,
+                                earliestStartAt(startAt, after),
+                                endAt
+                        ),
+                        startAt,
+                        endAt,
+                        after,
+                        pageable.getPageSize()
+                ),
+                AllocationService::cursorOf,
+                Function.identity()
+        );
     }
 
+    // Allocations moved to the archive by AllocationArchiver, same filters and cursors as listAllocations
+    @Transactional(readOnly = true)
+    public AllocationPageDTO listAllocationHistory(
+            Long roomId,
+            String employeeEmail,
+            OffsetDateTime startAt,
+            OffsetDateTime endAt,
+            String cursor,
+            Integer limit
+    ) {
+        return listPage(
+                cursor,
+                limit,
+                (after, pageable) -> archivedAllocationRepository.findAllWithFilters(
+                        roomId,
+                        employeeEmail,
+                        startAt,
+                        endAt,
+                        after.map(AllocationCursor::getStartAt).orElse(null),
+                        after.map(AllocationCursor::getId).orElse(null),
+                        pageable
+                ),
+                AllocationCursor::of,
+                allocationMapper::fromArchivedEntitiesToAllocationDTOs
+        );
+    }
+
+    @Transactional
     public AllocationDTO createAllocation(CreateAllocationDTO createAllocationDTO) {
         var room = roomRepository
-                .findById(createAllocationDTO.getRoomId())
+                .findActiveById(createAllocationDTO.getRoomId())
                 .orElseThrow(() -> new RoomNotFoundException("Room not found: " + createAllocationDTO.getRoomId()));
         allocationValidator.validate(createAllocationDTO);
 
         var allocation = allocationMapper.fromCreateAllocationDTOToEntity(createAllocationDTO, room);
         allocationRepository.save(allocation);
+        // Outbox row in the same transaction, NotificationDispatcher e-mails it once committed
+        notificationRepository.enqueue(CREATED, Set.of(allocation.getId()), now());
+        afterCommit(() -> onCreated(allocation));
         return allocationMapper.fromEntityToAllocationDTO(allocation);
     }
 
-    public void deleteAllocation(Long allocationId) {
-        var allocation = getAllocationOrThrow(allocationId);
+    // Inserts are sent as JDBC batches, see hibernate.jdbc.batch_size and BlockIdGenerator
+    @Transactional
+    public List<AllocationDTO> createAllocations(List<CreateAllocationDTO> createAllocationDTOs) {
+        var rooms = getRoomsOrThrow(createAllocationDTOs);
+        allocationValidator.validate(createAllocationDTOs, maxBatchSize);
 
-        if (isAllocationInThePast(allocation)) {
-            throw new AllocationCannotBeDeletedException();
-        }
+        var allocations = createAllocationDTOs
+                .stream()
+                .map(dto -> allocationMapper.fromCreateAllocationDTOToEntity(dto, rooms.get(dto.getRoomId())))
+                .collect(Collectors.toList());
+        allocationRepository.saveAll(allocations);
+        notificationRepository.enqueue(
+                CREATED,
+                allocations.stream().map(Allocation::getId).collect(Collectors.toSet()),
+                now()
+        );
+        afterCommit(() -> allocations.forEach(this::onCreated));
+        return allocationMapper.fromEntitiesToAllocationDTOs(allocations);
+    }
 
-        allocationRepository.delete(allocation);
+    @Transactional
+    public void deleteAllocation(Long allocationId) {
+        var now = now();
+        notificationRepository.enqueueIfNotEnded(DELETED, Set.of(allocationId), now);
+        failIfNotAffected(
+                allocationId,
+                allocationRepository.deleteIfNotEnded(allocationId, now),
+                AllocationCannotBeDeletedException::new
+        );
+        afterCommit(() -> onDeleted(allocationId));
     }
 
+    // Ids that don't exist or already ended are skipped, not reported. The rows left are locked first, so
+    // notifications and events go out for exactly the allocations the DELETE removes.
     @Transactional
-    public void updateAllocation(Long allocationId, UpdateAllocationDTO updateAllocationDTO) {
-        var allocation = getAllocationOrThrow(allocationId);
+    public CancelAllocationsResultDTO cancelAllocations(List<Long> allocationIds) {
+        allocationValidator.validateIds(allocationIds, maxBatchSize);
 
-        if (isAllocationInThePast(allocation)) {
-            throw new AllocationCannotBeUpdatedException();
+        var now = now();
+        var allocations = allocationRepository.findAllNotEndedForUpdate(new HashSet<>(allocationIds), now);
+
+        if (allocations.isEmpty()) {
+            return new CancelAllocationsResultDTO().cancelled(0);
         }
 
-        allocationValidator.validate(allocationId, updateAllocationDTO);
+        var ids = allocations.stream().map(Allocation::getId).collect(Collectors.toSet());
+        notificationRepository.enqueueIfNotEnded(DELETED, ids, now);
+        var cancelled = allocationRepository.deleteAllIfNotEnded(ids, now);
+        afterCommit(() -> allocations.forEach(a -> onDeleted(a.getId(), a.getRoom().getId())));
+        return new CancelAllocationsResultDTO().cancelled(cancelled);
+    }
+
+    // Existence and the "not ended yet" check are folded into the UPDATE
+    @Transactional
+    public void updateAllocation(Long allocationId, UpdateAllocationDTO updateAllocationDTO) {
+        var roomId = allocationRepository
+                .findRoomIdById(allocationId)
+                .orElseThrow(() -> notFoundOrArchived(allocationId, AllocationCannotBeUpdatedException::new));
+        allocationValidator.validate(allocationId, roomId, updateAllocationDTO);
 
-        allocationRepository.updateAllocation(
+        var updatedRows = allocationRepository.updateAllocationIfNotEnded(
                 allocationId,
                 updateAllocationDTO.getSubject(),
                 updateAllocationDTO.getStartAt(),
-                updateAllocationDTO.getEndAt()
+                updateAllocationDTO.getEndAt(),
+                now()
         );
+        failIfNotAffected(allocationId, updatedRows, AllocationCannotBeUpdatedException::new);
+        notificationRepository.enqueue(UPDATED, Set.of(allocationId), now());
+
+        afterCommit(() -> {
+            allocationIndex.put(roomId, allocationId, updateAllocationDTO.getStartAt(), updateAllocationDTO.getEndAt());
+            changeEventDispatcher.publish(ChangeEvent.ofAllocation(ALLOCATION_UPDATED, roomId, allocationId));
+        });
     }
 
-    private Allocation getAllocationOrThrow(Long allocationId) {
-        return allocationRepository
-                .findById(allocationId)
-                .orElseThrow(() -> new AllocationNotFoundException("Allocation not found: " + allocationId));
+    @Transactional
+    public AllocationSeriesDTO createAllocationSeries(CreateAllocationSeriesDTO createAllocationSeriesDTO) {
+        roomRepository
+                .findActiveById(createAllocationSeriesDTO.getRoomId())
+                .orElseThrow(() -> new RoomNotFoundException("Room not found: " + createAllocationSeriesDTO.getRoomId()));
+        allocationValidator.validate(createAllocationSeriesDTO, maxOccurrences);
+
+        var series = allocationMapper.fromCreateAllocationSeriesDTOToEntity(createAllocationSeriesDTO);
+        allocationSeriesRepository.save(series);
+        afterCommit(() -> onSeriesChanged(SERIES_CREATED, series));
+        return allocationMapper.fromEntityToAllocationSeriesDTO(series);
     }
 
-    private boolean isAllocationInThePast(Allocation allocation) {
-        return allocation.getEndAt().isBefore(now());
+    // Stored as an exception row of the series, the other occurrences are untouched
+    @Transactional
+    public void cancelAllocationOccurrence(Long seriesId, OffsetDateTime startAt) {
+        var series = getSeriesForUpdateOrThrow(seriesId);
+        var occurrence = series
+                .occurrenceAt(startAt)
+                .orElseThrow(() -> new AllocationSeriesNotFoundException(
+                        "Occurrence not found: " + seriesId + " at " + startAt
+                ));
+
+        if (occurrence.getEndAt().isBefore(now())) {
+            throw new AllocationCannotBeDeletedException();
+        }
+        series.cancel(occurrence);
+        afterCommit(() -> onSeriesChanged(SERIES_UPDATED, series));
+    }
+
+    // A series that already started keeps its past and ongoing occurrences, only the upcoming ones are dropped
+    @Transactional
+    public void deleteAllocationSeries(Long seriesId) {
+        var series = getSeriesForUpdateOrThrow(seriesId);
+        var now = now();
+
+        if (!series.getStartAt().isBefore(now)) {
+            allocationSeriesRepository.delete(series);
+        } else if (series.occurrencesEndingAfter(now).anyMatch(o -> !o.getStartAt().isBefore(now))) {
+            series.stopAt(now);
+        } else {
+            throw new AllocationCannotBeDeletedException();
+        }
+        afterCommit(() -> onSeriesChanged(SERIES_DELETED, series));
+    }
+
+    private void onCreated(Allocation allocation) {
+        allocationIndex.put(allocation);
+        changeEventDispatcher.publish(
+                ChangeEvent.ofAllocation(ALLOCATION_CREATED, allocation.getRoom().getId(), allocation.getId())
+        );
+    }
+
+    // The index tells the room, which the conditional DELETE never loaded
+    private void onDeleted(Long allocationId) {
+        allocationIndex
+                .remove(allocationId)
+                .ifPresent(roomId -> changeEventDispatcher.publish(
+                        ChangeEvent.ofAllocation(ALLOCATION_DELETED, roomId, allocationId)
+                ));
+    }
+
+    private void onDeleted(Long allocationId, Long roomId) {
+        allocationIndex.remove(allocationId);
+        changeEventDispatcher.publish(ChangeEvent.ofAllocation(ALLOCATION_DELETED, roomId, allocationId));
+    }
+
+    private void onSeriesChanged(ChangeEvent.Type eventType, AllocationSeries series) {
+        changeEventDispatcher.publish(ChangeEvent.ofSeries(eventType, series.getRoomId(), series.getId()));
+    }
+
+    private AllocationSeries getSeriesForUpdateOrThrow(Long seriesId) {
+        return allocationSeriesRepository
+                .findByIdForUpdate(seriesId)
+                .orElseThrow(() -> new AllocationSeriesNotFoundException("Allocation series not found: " + seriesId));
+    }
+
+    // Occurrences are expanded for this page only: at most pageSize per series, starting from the window or cursor,
+    // then merged with the allocations page in the same (startAt, id) order
+    private List<AllocationDTO> withOccurrences(
+            List<AllocationDTO> allocations,
+            List<AllocationSeries> series,
+            OffsetDateTime startAt,
+            OffsetDateTime endAt,
+            Optional<AllocationCursor> after,
+            int pageSize
+    ) {
+        var endingAfter = latestStart(startAt, after);
+
+        var occurrences = series
+                .stream()
+                .flatMap(s -> s
+                        .occurrencesEndingAfter(endingAfter)
+                        .takeWhile(o -> isNull(endAt) || o.getStartAt().isBefore(endAt))
+                        .map(allocationMapper::fromOccurrenceToAllocationDTO)
+                        .filter(o -> after.map(cursor -> cursorOf(o).compareTo(cursor) > 0).orElse(true))
+                        .limit(pageSize));
+
+        return Stream
+                .concat(allocations.stream(), occurrences)
+                .sorted(Comparator.comparing(AllocationService::cursorOf))
+                .limit(pageSize)
+                .collect(Collectors.toList());
+    }
+
+    private static OffsetDateTime latestStart(OffsetDateTime startAt, Optional<AllocationCursor> after) {
+        return Stream
+                .concat(Stream.ofNullable(startAt), after.map(AllocationCursor::getStartAt).stream())
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    // A series whose rule ends before this can't have an occurrence still running at the latest start
+    private static OffsetDateTime earliestStartAt(OffsetDateTime startAt, Optional<AllocationCursor> after) {
+        var latestStart = latestStart(startAt, after);
+        return isNull(latestStart) ? null : latestStart.minusSeconds(ALLOCATION_MAX_DURATION_SECONDS);
+    }
+
+    // Occurrences have no id of their own, the negated series id places them before the allocations starting
+    // at the same time and keeps the cursor a plain (startAt, id) pair
+    private static AllocationCursor cursorOf(AllocationDTO allocation) {
+        return new AllocationCursor(
+                allocation.getStartAt(),
+                isNull(allocation.getId()) ? -allocation.getSeriesId() : allocation.getId()
+        );
+    }
+
+    private <T> AllocationPageDTO listPage(
+            String cursor,
+            Integer limit,
+            BiFunction<Optional<AllocationCursor>, Pageable, List<T>> query,
+            Function<T, AllocationCursor> cursorOf,
+            Function<List<T>, List<AllocationDTO>> toDTOs
+    ) {
+        allocationValidator.validateFilters(cursor, limit, maxFilterLimit);
+
+        var pageSize = Optional.ofNullable(limit).orElse(maxFilterLimit);
+        var after = Optional.ofNullable(cursor).map(AllocationCursor::decode);
+
+        // One extra row tells whether there is a next page without a count query
+        var allocations = query.apply(after, PageRequest.of(0, pageSize + 1));
+        var hasNext = allocations.size() > pageSize;
+        var page = hasNext ? allocations.subList(0, pageSize) : allocations;
+
+        return new AllocationPageDTO()
+                .allocations(toDTOs.apply(page))
+                .nextCursor(hasNext ? cursorOf.apply(page.get(pageSize - 1)).encode() : null);
+    }
+
+    private Map<Long, Room> getRoomsOrThrow(List<CreateAllocationDTO> createAllocationDTOs) {
+        if (isNull(createAllocationDTOs)) {
+            return Map.of();
+        }
+
+        var roomIds = createAllocationDTOs.stream().map(CreateAllocationDTO::getRoomId).collect(Collectors.toSet());
+
+        if (roomIds.contains(null)) {
+            throw new RoomNotFoundException("Room not found: null");
+        }
+
+        // Few distinct rooms per batch, each lookup is usually served by the room query cache
+        return roomIds
+                .stream()
+                .map(roomId -> roomRepository
+                        .findActiveById(roomId)
+                        .orElseThrow(() -> new RoomNotFoundException("Room not found: " + roomId)))
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+    }
+
+    // The conditional statements can't tell why nothing matched, the probe only runs on that path
+    private void failIfNotAffected(
+            Long allocationId,
+            int affectedRows,
+            Supplier<? extends InvalidRequestException> alreadyEnded
+    ) {
+        if (affectedRows == 0) {
+            if (allocationRepository.existsById(allocationId)) {
+                throw alreadyEnded.get();
+            }
+            throw notFoundOrArchived(allocationId, alreadyEnded);
+        }
+    }
+
+    // An archived allocation ended long ago, so it can't be changed rather than not being found
+    private RuntimeException notFoundOrArchived(
+            Long allocationId,
+            Supplier<? extends InvalidRequestException> alreadyEnded
+    ) {
+        if (archivedAllocationRepository.existsById(allocationId)) {
+            return alreadyEnded.get();
+        }
+        return new AllocationNotFoundException("Allocation not found: " + allocationId);
     }
 }
@@ -0,0 +1,273 @@
+package br.com.sw2you.realmeet.service;
+
+import br.com.sw2you.realmeet.api.model.CreateOccupancyReportDTO;
+import br.com.sw2you.realmeet.api.model.ReportFormatDTO;
+import br.com.sw2you.realmeet.api.model.ReportJobDTO;
+import br.com.sw2you.realmeet.domain.entity.ReportJob;
+import br.com.sw2you.realmeet.domain.entity.Room;
+import br.com.sw2you.realmeet.domain.model.ReportContent;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.ReportJobRepository;
+import br.com.sw2you.realmeet.domain.repository.RoomRepository;
+import br.com.sw2you.realmeet.exception.ReportJobNotFoundException;
+import br.com.sw2you.realmeet.exception.ReportNotReadyException;
+import br.com.sw2you.realmeet.mapper.ReportMapper;
+import br.com.sw2you.realmeet.report.AllocationReportDataSource;
+import br.com.sw2you.realmeet.report.ChunkedInputStream;
+import br.com.sw2you.realmeet.report.ReportExporter;
+import br.com.sw2you.realmeet.report.ReportTemplates;
+import br.com.sw2you.realmeet.validator.AllocationValidator;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRParameter;
+import net.sf.jasperreports.engine.JasperFillManager;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.util.JRSwapFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.OffsetDateTime;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import static br.com.sw2you.realmeet.report.ReportTemplates.OCCUPANCY;
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+import static java.util.Objects.isNull;
+
+/**
+ * Fills occupancy reports on the reports executor of the instance they were submitted to. Jobs and finished reports
+ * are kept in report_job, so any instance answers status and download requests, also after a restart.
+ */
+@Service
+public class OccupancyReportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OccupancyReportService.class);
+
+    private static final String START_AT = "START_AT";
+    private static final String END_AT = "END_AT";
+    private static final int SWAP_BLOCK_SIZE = 4096;
+    private static final int SWAP_MIN_GROW_COUNT = 64;
+
+    private final AllocationRepository allocationRepository;
+    private final ReportJobRepository reportJobRepository;
+    private final AllocationValidator allocationValidator;
+    private final ReportMapper reportMapper;
+    private final ReportTemplates reportTemplates;
+    private final ReportExporter reportExporter;
+    private final RoomRepository roomRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService reportsExecutor;
+    private final Path directory;
+    private final int maxPagesInMemory;
+    private final int retentionMinutes;
+    private final int chunkBytes;
+
+    public OccupancyReportService(
+            AllocationRepository allocationRepository,
+            ReportJobRepository reportJobRepository,
+            AllocationValidator allocationValidator,
+            ReportMapper reportMapper,
+            ReportTemplates reportTemplates,
+            ReportExporter reportExporter,
+            RoomRepository roomRepository,
+            PlatformTransactionManager transactionManager,
+            ExecutorService reportsExecutor,
+            @Value("${realmeet.reports.directory:${java.io.tmpdir}/realmeet-reports}") String directory,
+            @Value("${realmeet.reports.maxPagesInMemory:100}") int maxPagesInMemory,
+            @Value("${realmeet.reports.retentionMinutes:60}") int retentionMinutes,
+            @Value("${realmeet.reports.chunkBytes:1048576}") int chunkBytes
+    ) {
+        this.allocationRepository = allocationRepository;
+        this.reportJobRepository = reportJobRepository;
+        this.allocationValidator = allocationValidator;
+        this.reportMapper = reportMapper;
+        this.reportTemplates = reportTemplates;
+        this.reportExporter = reportExporter;
+        this.roomRepository = roomRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reportsExecutor = reportsExecutor;
+        this.directory = Paths.get(directory);
+        this.maxPagesInMemory = maxPagesInMemory;
+        this.retentionMinutes = retentionMinutes;
+        this.chunkBytes = chunkBytes;
+    }
+
+    public ReportJobDTO createOccupancyReport(CreateOccupancyReportDTO createOccupancyReportDTO) {
+        var startAt = createOccupancyReportDTO.getStartAt();
+        var endAt = createOccupancyReportDTO.getEndAt();
+        allocationValidator.validateExportWindow(startAt, endAt);
+
+        var job = reportJobRepository.save(
+                ReportJob
+                        .newBuilder()
+                        .id(UUID.randomUUID().toString())
+                        .format(Optional.ofNullable(createOccupancyReportDTO.getFormat()).orElse(ReportFormatDTO.PDF))
+                        .status(ReportJob.Status.PENDING)
+                        .createdAt(now())
+                        .build()
+        );
+
+        try {
+            reportsExecutor.execute(() -> run(job, startAt, endAt));
+        } catch (RejectedExecutionException e) {
+            reportJobRepository.deleteById(job.getId());
+            throw e;
+        }
+        return reportMapper.fromReportJobToDTO(job);
+    }
+
+    public ReportJobDTO getReportJob(String id) {
+        return reportMapper.fromReportJobToDTO(getReportJobOrThrow(id));
+    }
+
+    public ReportContent getReportContent(String id) {
+        var job = getReportJobOrThrow(id);
+
+        if (job.getStatus() != ReportJob.Status.DONE) {
+            throw new ReportNotReadyException();
+        }
+        var firstChunk = reportJobRepository
+                .findContentChunk(id, 0)
+                .orElseThrow(() -> new ReportJobNotFoundException("Report job not found: " + id));
+
+        // Later chunks are read as the response is written
+        var content = new ChunkedInputStream(firstChunk, index -> reportJobRepository.findContentChunk(id, index));
+        return new ReportContent(fileName(job), job.getFormat(), content);
+    }
+
+    @Scheduled(fixedDelayString = "${realmeet.reports.purgeIntervalMillis:60000}")
+    public void purgeExpiredJobs() {
+        transactionTemplate.execute(
+                status -> reportJobRepository.deleteAllExpired(now().minusMinutes(retentionMinutes))
+        );
+    }
+
+    // The report is exported to a scratch file first, then stored in chunks with the job as it is marked done
+    private void run(ReportJob job, OffsetDateTime startAt, OffsetDateTime endAt) {
+        updateStatus(job, ReportJob.Status.RUNNING, null);
+        Path content = null;
+
+        try {
+            Files.createDirectories(directory);
+            content = Files.createTempFile(directory, OCCUPANCY + "-", ReportExporter.getExtension(job.getFormat()));
+
+            // Filled pages beyond maxPagesInMemory are swapped to disk, so a month over all rooms has a bounded heap
+            var virtualizer = new JRSwapFileVirtualizer(
+                    maxPagesInMemory,
+                    new JRSwapFile(directory.toString(), SWAP_BLOCK_SIZE, SWAP_MIN_GROW_COUNT),
+                    true
+            );
+
+            try {
+                var jasperPrint = fill(startAt, endAt, virtualizer);
+                virtualizer.setReadOnly(true);
+                reportExporter.export(jasperPrint, job.getFormat(), content);
+            } finally {
+                virtualizer.cleanup();
+            }
+            var file = content;
+
+            transactionTemplate.executeWithoutResult(status -> {
+                insertContent(job.getId(), file);
+                reportJobRepository.updateStatus(job.getId(), ReportJob.Status.DONE, now());
+            });
+        } catch (IOException | JRException | RuntimeException e) {
+            LOGGER.error("Report job {} failed", job.getId(), e);
+            updateStatus(job, ReportJob.Status.FAILED, now());
+        } finally {
+            deleteQuietly(content);
+        }
+    }
+
+    // Read and inserted one chunk at a time, so neither the heap nor a single packet holds the whole report
+    private void insertContent(String id, Path content) {
+        try (var in = Files.newInputStream(content)) {
+            for (int chunkIndex = 0; ; chunkIndex++) {
+                var chunk = in.readNBytes(chunkBytes);
+
+                if (chunk.length == 0 && chunkIndex > 0) {
+                    return;
+                }
+                reportJobRepository.insertContentChunk(id, chunkIndex, chunk);
+
+                if (chunk.length < chunkBytes) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void updateStatus(ReportJob job, ReportJob.Status status, OffsetDateTime completedAt) {
+        transactionTemplate.execute(s -> reportJobRepository.updateStatus(job.getId(), status, completedAt));
+    }
+
+    // The rows are streamed, which keeps a connection busy until the report is filled
+    private JasperPrint fill(OffsetDateTime startAt, OffsetDateTime endAt, JRSwapFileVirtualizer virtualizer) {
+        return readOnlyTransactionTemplate.execute(status -> {
+            var parameters = new HashMap<String, Object>();
+            parameters.put(START_AT, Date.from(startAt.toInstant()));
+            parameters.put(END_AT, Date.from(endAt.toInstant()));
+            parameters.put(JRParameter.REPORT_TIME_ZONE, TimeZone.getTimeZone(now().getOffset()));
+            parameters.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+
+            // Read before the stream is opened: no other statement may run on the connection while it streams
+            var roomNames = roomRepository
+                    .findAll()
+                    .stream()
+                    .collect(Collectors.toMap(Room::getId, Room::getName));
+
+            try (var allocations = allocationRepository.streamAllByStartAtBetweenOrderByRoom(startAt, endAt)) {
+                return JasperFillManager.fillReport(
+                        reportTemplates.get(OCCUPANCY),
+                        parameters,
+                        new AllocationReportDataSource(allocations.iterator(), roomNames)
+                );
+            } catch (JRException e) {
+                throw new IllegalStateException("Could not fill the occupancy report", e);
+            }
+        });
+    }
+
+    private ReportJob getReportJobOrThrow(String id) {
+        return reportJobRepository
+                .findById(id)
+                .orElseThrow(() -> new ReportJobNotFoundException("Report job not found: " + id));
+    }
+
+    private static String fileName(ReportJob job) {
+        return OCCUPANCY + "-" + job.getId() + ReportExporter.getExtension(job.getFormat());
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (isNull(path)) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete report file {}", path, e);
+        }
+    }
+}
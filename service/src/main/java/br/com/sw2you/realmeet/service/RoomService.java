@@ -3,14 +3,46 @@ package br.com.sw2you.realmeet.service;
 import br.com.sw2you.realmeet.api.model.CreateRoomDTO;
 import br.com.sw2you.realmeet.api.model.RoomDTO;
 import br.com.sw2you.realmeet.api.model.UpdateRoomDTO;
+import br.com.sw2you.realmeet.cache.EntityCacheLocks;
+import br.com.sw2you.realmeet.domain.entity.AllocationSeries;
 import br.com.sw2you.realmeet.domain.entity.Room;
+import br.com.sw2you.realmeet.domain.index.AllocationIndex;
+import br.com.sw2you.realmeet.domain.model.ChangeEvent;
+import br.com.sw2you.realmeet.domain.model.ETagged;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.AllocationSeriesRepository;
 import br.com.sw2you.realmeet.domain.repository.RoomRepository;
+import br.com.sw2you.realmeet.event.ChangeEventDispatcher;
+import br.com.sw2you.realmeet.exception.InvalidRequestException;
+import br.com.sw2you.realmeet.exception.PreconditionFailedException;
 import br.com.sw2you.realmeet.exception.RoomNotFoundException;
 import br.com.sw2you.realmeet.mapper.RoomMapper;
 import br.com.sw2you.realmeet.validator.RoomValidator;
+import br.com.sw2you.realmeet.validator.ValidationError;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.ROOM_CREATED;
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.ROOM_DELETED;
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.ROOM_UPDATED;
+import static br.com.sw2you.realmeet.domain.repository.RoomRepository.ACTIVE_NAME_UNIQUE_KEY;
+import static br.com.sw2you.realmeet.util.ETagUtils.ANY;
+import static br.com.sw2you.realmeet.util.ETagUtils.isNotModified;
+import static br.com.sw2you.realmeet.util.ETagUtils.isPreconditionFailed;
+import static br.com.sw2you.realmeet.util.ETagUtils.toETag;
+import static br.com.sw2you.realmeet.util.PersistenceUtils.isConstraintViolation;
+import static br.com.sw2you.realmeet.util.TransactionUtils.afterCommit;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.DUPLICATED;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_NAME;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_SEATS_MIN_VALUE;
+import static java.util.Objects.isNull;
 import static java.util.Objects.requireNonNull;
 
 @Service
@@ -19,43 +51,173 @@ public class RoomService {
     private final RoomRepository roomRepository;
     private final RoomValidator roomValidator;
     private final RoomMapper roomMapper;
+    private final EntityCacheLocks entityCacheLocks;
+    private final AllocationIndex allocationIndex;
+    private final AllocationRepository allocationRepository;
+    private final AllocationSeriesRepository allocationSeriesRepository;
+    private final ChangeEventDispatcher changeEventDispatcher;
 
-    public RoomService(RoomRepository roomRepository, RoomValidator roomValidator, RoomMapper roomMapper) {
+    public RoomService(
+            RoomRepository roomRepository,
+            RoomValidator roomValidator,
+            RoomMapper roomMapper,
+            EntityCacheLocks entityCacheLocks,
+            AllocationIndex allocationIndex,
+            AllocationRepository allocationRepository,
+            AllocationSeriesRepository allocationSeriesRepository,
+            ChangeEventDispatcher changeEventDispatcher
+    ) {
         this.roomRepository = roomRepository;
         this.roomValidator = roomValidator;
         this.roomMapper = roomMapper;
+        this.entityCacheLocks = entityCacheLocks;
+        this.allocationIndex = allocationIndex;
+        this.allocationRepository = allocationRepository;
+        this.allocationSeriesRepository = allocationSeriesRepository;
+        this.changeEventDispatcher = changeEventDispatcher;
     }
 
-    public RoomDTO getRoom(Long id) {
+    // A conditional GET revalidates an ETag the client holds, so it reads the database like the writes do
+    public ETagged<RoomDTO> getRoom(Long id, String ifNoneMatch) {
         requireNonNull(id);
-        Room room = getActiveRoomOrThrow(id);
-        return roomMapper.fromEntityToDTO(room);
+        Room room = isNull(ifNoneMatch) ? getCachedActiveRoomOrThrow(id) : getActiveRoomOrThrow(id);
+        var eTag = toETag(room.getVersion());
+
+        if (isNotModified(ifNoneMatch, eTag)) {
+            return ETagged.notModified(eTag);
+        }
+        return ETagged.modified(eTag, roomMapper.fromEntityToDTO(room));
+    }
+
+    // The in-memory index and the recurring allocations of the window rule rooms out cheaply. The index may miss
+    // bookings made on other instances, so the remaining rooms are checked with one overlap query; booking a
+    // returned room still goes through the locking overlap check.
+    public List<RoomDTO> findAvailableRooms(OffsetDateTime start, OffsetDateTime end, Integer minSeats) {
+        roomValidator.validateAvailabilityFilters(start, end, minSeats);
+
+        var roomsWithOccurrences = allocationSeriesRepository
+                .findAllOverlapping(start, end)
+                .stream()
+                .filter(series -> series.occurrencesBetween(start, end).findAny().isPresent())
+                .map(AllocationSeries::getRoomId)
+                .collect(Collectors.toSet());
+
+        var candidates = roomRepository
+                .findAllByActiveAndSeatsGreaterThanEqualOrderByName(
+                        true,
+                        Optional.ofNullable(minSeats).orElse(ROOM_SEATS_MIN_VALUE)
+                )
+                .stream()
+                .filter(room -> !roomsWithOccurrences.contains(room.getId()))
+                .filter(room -> allocationIndex.isAvailable(room.getId(), start, end))
+                .collect(Collectors.toList());
+
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        var roomsWithAllocations = allocationRepository.findRoomIdsWithOverlap(
+                candidates.stream().map(Room::getId).collect(Collectors.toList()),
+                start,
+                end
+        );
+
+        return candidates
+                .stream()
+                .filter(room -> !roomsWithAllocations.contains(room.getId()))
+                .map(roomMapper::fromEntityToDTO)
+                .collect(Collectors.toList());
     }
 
     public RoomDTO createRoom(CreateRoomDTO createRoomDTO) {
         roomValidator.validate(createRoomDTO);
         var room = roomMapper.fromCreateRoomDTOToEntity(createRoomDTO);
-        roomRepository.save(room);
+        failOnDuplicatedName(() -> roomRepository.saveAndFlush(room));
+        changeEventDispatcher.publish(ChangeEvent.ofRoom(ROOM_CREATED, room.getId()));
         return roomMapper.fromEntityToDTO(room);
     }
 
     @Transactional
-    public void deleteRoom(Long roomId) {
-        getActiveRoomOrThrow(roomId);
-        roomRepository.deactivate(roomId);
+    public void deleteRoom(Long roomId, String ifMatch) {
+        var room = getActiveRoomOrThrow(roomId);
+        var expectedVersion = getExpectedVersion(room, ifMatch);
+        lockCachedRoom(room);
+        failOnVersionMismatch(room, expectedVersion, roomRepository.deactivate(roomId, expectedVersion));
+        publishAfterCommit(room, ROOM_DELETED);
     }
 
     @Transactional
-    public void updateRoom(Long roomId, UpdateRoomDTO updateRoomDTO) {
-        getActiveRoomOrThrow(roomId);
+    public void updateRoom(Long roomId, UpdateRoomDTO updateRoomDTO, String ifMatch) {
+        var room = getActiveRoomOrThrow(roomId);
         roomValidator.validate(roomId, updateRoomDTO);
-        roomRepository.updateRoom(roomId, updateRoomDTO.getName(), updateRoomDTO.getSeats());
+        var expectedVersion = getExpectedVersion(room, ifMatch);
+        lockCachedRoom(room);
+        var updatedRows = failOnDuplicatedName(
+                () -> roomRepository.updateRoom(
+                        roomId,
+                        updateRoomDTO.getName(),
+                        updateRoomDTO.getSeats(),
+                        expectedVersion
+                )
+        );
+        failOnVersionMismatch(room, expectedVersion, updatedRows);
+        publishAfterCommit(room, ROOM_UPDATED);
+    }
+
+    // Without If-Match (or with "*") the write is unconditional
+    private Long getExpectedVersion(Room room, String ifMatch) {
+        if (isNull(ifMatch) || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        if (isPreconditionFailed(ifMatch, toETag(room.getVersion()))) {
+            throw new PreconditionFailedException("Room " + room.getId() + " changed since " + ifMatch);
+        }
+        return room.getVersion();
     }
 
+    // A concurrent request may have written the room since it was read: the version check in the UPDATE is the
+    // authoritative one
+    private void failOnVersionMismatch(Room room, Long expectedVersion, int updatedRows) {
+        if (!isNull(expectedVersion) && updatedRows == 0) {
+            throw new PreconditionFailedException("Room " + room.getId() + " changed since version " + expectedVersion);
+        }
+    }
+
+    // The native UPDATEs bypass Hibernate's own locking of the entity region, which rooms loaded through
+    // allocations are read from. Only this room is locked, every other room stays cached.
+    private void lockCachedRoom(Room room) {
+        entityCacheLocks.lockUntilCompletion(Room.class, room.getId(), room.getVersion());
+    }
+
+    // Subscribers notified before the commit would fetch the old row
+    private void publishAfterCommit(Room room, ChangeEvent.Type eventType) {
+        afterCommit(() -> changeEventDispatcher.publish(ChangeEvent.ofRoom(eventType, room.getId())));
+    }
+
+    // The unique key also covers concurrent requests, which a lookup before writing could not
+    private <T> T failOnDuplicatedName(Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            if (isConstraintViolation(e, ACTIVE_NAME_UNIQUE_KEY)) {
+                throw new InvalidRequestException(new ValidationError(ROOM_NAME, ROOM_NAME + DUPLICATED));
+            }
+            throw e;
+        }
+    }
+
+    // Reads the database, never the cache: it backs conditional requests and the checks before writes
     private Room getActiveRoomOrThrow(Long id) {
         requireNonNull(id);
         return roomRepository
                 .findByIdAndActive(id, true)
                 .orElseThrow(() -> new RoomNotFoundException("Room not found: " + id));
     }
+
+    // May be stale by up to the cache expiry when another instance changed the room
+    private Room getCachedActiveRoomOrThrow(Long id) {
+        return roomRepository
+                .findActiveById(id)
+                .orElseThrow(() -> new RoomNotFoundException("Room not found: " + id));
+    }
 }
@@ -16,4 +16,18 @@ public final class DateUtils {
     public static OffsetDateTime now() {
         return OffsetDateTime.now(DEFAULT_TIMEZONE).truncatedTo(MILLIS);
     }
+
+    public static OffsetDateTime toDefaultTimezone(OffsetDateTime date) {
+        return date.withOffsetSameInstant(DEFAULT_TIMEZONE);
+    }
+
+    // Intervals are half-open: one allocation may start exactly when another ends
+    public static boolean isOverlapping(
+            OffsetDateTime start1,
+            OffsetDateTime end1,
+            OffsetDateTime start2,
+            OffsetDateTime end2
+    ) {
+        return start1.isBefore(end2) && start2.isBefore(end1);
+    }
 }
@@ -0,0 +1,40 @@
+package br.com.sw2you.realmeet.util;
+
+import java.util.Arrays;
+
+import static java.util.Objects.isNull;
+
+public final class ETagUtils {
+    public static final String ANY = "*";
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETagUtils() {}
+
+    public static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-None-Match uses the weak comparison: W/"1" matches "1"
+    public static boolean isNotModified(String ifNoneMatch, String eTag) {
+        if (isNull(ifNoneMatch)) {
+            return false;
+        }
+        return Arrays
+                .stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag)
+                .anyMatch(tag -> ANY.equals(tag) || tag.equals(eTag));
+    }
+
+    // If-Match uses the strong comparison: weak tags never match
+    public static boolean isPreconditionFailed(String ifMatch, String eTag) {
+        if (isNull(ifMatch)) {
+            return false;
+        }
+        return Arrays
+                .stream(ifMatch.split(","))
+                .map(String::trim)
+                .noneMatch(tag -> ANY.equals(tag) || tag.equals(eTag));
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.sw2you.realmeet.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static java.util.Objects.isNull;
+
+public final class PersistenceUtils {
+
+    private PersistenceUtils() {}
+
+    // MySQL 8 reports unique keys as "table.key"
+    public static boolean isConstraintViolation(DataIntegrityViolationException exception, String constraintName) {
+        for (Throwable cause = exception; !isNull(cause); cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                var violatedConstraint = ((ConstraintViolationException) cause).getConstraintName();
+                return !isNull(violatedConstraint) &&
+                        (violatedConstraint.equals(constraintName) || violatedConstraint.endsWith("." + constraintName));
+            }
+        }
+        return false;
+    }
+}
@@ -1,8 +1,16 @@
 package br.com.sw2you.realmeet.util;
 
+import br.com.sw2you.realmeet.domain.model.ETagged;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.io.InputStream;
+
 public final class ResponseEntityUtils {
 
     private ResponseEntityUtils() {}
@@ -11,14 +19,59 @@ public final class ResponseEntityUtils {
         return ResponseEntity.status(HttpStatus.OK).body(body);
     }
 
+    public static <T> ResponseEntity<T> okOrNotModified(ETagged<T> resource) {
+        if (!resource.isModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(resource.getETag()).build();
+        }
+        return ResponseEntity.status(HttpStatus.OK).eTag(resource.getETag()).body(resource.getBody());
+    }
+
     public static <T> ResponseEntity<T> created(T body) {
         return ResponseEntity.status(HttpStatus.CREATED).body(body);
     }
 
+    public static <T> ResponseEntity<T> accepted(T body) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(body);
+    }
+
+    // The stream is copied to the response as it is read, in chunked encoding, and closed afterwards
+    public static ResponseEntity<Resource> attachment(InputStream content, String fileName, MediaType mediaType) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(mediaType)
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString()
+                )
+                .body(new InputStreamResource(content));
+    }
+
     public static <T> ResponseEntity<T> notFound() {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
     }
 
+    public static <T> ResponseEntity<T> preconditionFailed() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    public static <T> ResponseEntity<T> conflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    public static <T> ResponseEntity<T> tooManyRequests(long retryAfterSeconds) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .build();
+    }
+
+    public static <T> ResponseEntity<T> serviceUnavailable(long retryAfterSeconds) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .build();
+    }
+
     public static <T> ResponseEntity<T> noContent(Void aVoid) {
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
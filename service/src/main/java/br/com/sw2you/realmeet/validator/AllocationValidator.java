@@ -1,61 +1,220 @@
 package br.com.sw2you.realmeet.validator;
 
 import br.com.sw2you.realmeet.api.model.CreateAllocationDTO;
+import br.com.sw2you.realmeet.api.model.CreateAllocationSeriesDTO;
+import br.com.sw2you.realmeet.api.model.RecurrenceDTO;
 import br.com.sw2you.realmeet.api.model.UpdateAllocationDTO;
+import br.com.sw2you.realmeet.domain.index.AllocationIndex;
+import br.com.sw2you.realmeet.domain.entity.AllocationSeries;
+import br.com.sw2you.realmeet.domain.model.AllocationCursor;
+import br.com.sw2you.realmeet.domain.model.Recurrence;
+import br.com.sw2you.realmeet.domain.model.RecurrenceFrequency;
 import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.AllocationSeriesRepository;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
+import static br.com.sw2you.realmeet.util.DateUtils.isOverlapping;
 import static br.com.sw2you.realmeet.util.DateUtils.now;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_BATCH;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_BATCH_MIN_SIZE;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_CURSOR;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_EMPLOYEE_EMAIL;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_EMPLOYEE_EMAIL_MAX_LENGTH;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_EMPLOYEE_NAME;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_EMPLOYEE_NAME_MAX_LENGTH;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_END_AT;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_ID;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_LIMIT;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_LIMIT_MIN_VALUE;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_MAX_DURATION_SECONDS;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_RECURRENCE;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_RECURRENCE_FREQUENCY;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_RECURRENCE_INTERVAL;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_RECURRENCE_INTERVAL_MAX_VALUE;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_RECURRENCE_INTERVAL_MIN_VALUE;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_RECURRENCE_UNTIL;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_START_AT;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_SUBJECT;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_SUBJECT_MAX_LENGTH;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.EXCEEDS_DURATION;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.EXCEEDS_MAX_VALUE;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.INCONSISTENT;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.INVALID;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.IN_THE_PAST;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.OVERLAPS;
 import static br.com.sw2you.realmeet.validator.ValidatorUtils.throwOnError;
 import static br.com.sw2you.realmeet.validator.ValidatorUtils.validateMaxLength;
+import static br.com.sw2you.realmeet.validator.ValidatorUtils.validateMaxValue;
+import static br.com.sw2you.realmeet.validator.ValidatorUtils.validateMinValue;
 import static br.com.sw2you.realmeet.validator.ValidatorUtils.validateRequired;
+import static java.util.Objects.isNull;
 
 @Component
 public class AllocationValidator {
 
     private final AllocationRepository allocationRepository;
+    private final AllocationSeriesRepository allocationSeriesRepository;
+    private final AllocationIndex allocationIndex;
 
-    public AllocationValidator(AllocationRepository allocationRepository) {
+    public AllocationValidator(
+            AllocationRepository allocationRepository,
+            AllocationSeriesRepository allocationSeriesRepository,
+            AllocationIndex allocationIndex
+    ) {
         this.allocationRepository = allocationRepository;
+        this.allocationSeriesRepository = allocationSeriesRepository;
+        this.allocationIndex = allocationIndex;
     }
 
     public void validate(CreateAllocationDTO createAllocationDTO) {
         var validationErrors = new ValidationErrors();
 
-        validateSubject(createAllocationDTO.getSubject(), validationErrors);
-        validateEmployeeName(createAllocationDTO.getEmployeeName(), validationErrors);
-        validateEmployeeEmail(createAllocationDTO.getEmployeeEmail(), validationErrors);
-        validateDates(createAllocationDTO.getStartAt(), createAllocationDTO.getEndAt(), validationErrors);
+        if (validateFields(createAllocationDTO, validationErrors)) {
+            validateIfTimeAvailable(
+                    null,
+                    createAllocationDTO.getRoomId(),
+                    createAllocationDTO.getStartAt(),
+                    createAllocationDTO.getEndAt(),
+                    validationErrors
+            );
+        }
 
         throwOnError(validationErrors);
     }
 
-    public void validate(Long allocationId, UpdateAllocationDTO updateAllocationDTO) {
+    public void validate(Long allocationId, Long roomId, UpdateAllocationDTO updateAllocationDTO) {
         var validationErrors = new ValidationErrors();
 
         validateRequired(allocationId, ALLOCATION_ID, validationErrors);
         validateSubject(updateAllocationDTO.getSubject(), validationErrors);
-        validateDates(updateAllocationDTO.getStartAt(), updateAllocationDTO.getEndAt(), validationErrors);
+
+        if (validateDates(updateAllocationDTO.getStartAt(), updateAllocationDTO.getEndAt(), validationErrors)) {
+            validateIfTimeAvailable(
+                    allocationId,
+                    roomId,
+                    updateAllocationDTO.getStartAt(),
+                    updateAllocationDTO.getEndAt(),
+                    validationErrors
+            );
+        }
+
+        throwOnError(validationErrors);
+    }
+
+    // Errors are reported as "[index].field", overlaps are checked against each other and with one query per room
+    public void validate(List<CreateAllocationDTO> createAllocationDTOs, int maxBatchSize) {
+        var validationErrors = new ValidationErrors();
+
+        if (validateRequired(createAllocationDTOs, ALLOCATION_BATCH, validationErrors) &&
+                validateBatchSize(createAllocationDTOs.size(), maxBatchSize, validationErrors))
+        {
+            var datedAllocations = new ArrayList<Map.Entry<Integer, CreateAllocationDTO>>();
+
+            for (int i = 0; i < createAllocationDTOs.size(); i++) {
+                var itemValidationErrors = new ValidationErrors();
+
+                if (validateFields(createAllocationDTOs.get(i), itemValidationErrors)) {
+                    datedAllocations.add(Map.entry(i, createAllocationDTOs.get(i)));
+                }
+                addWithIndex(i, itemValidationErrors, validationErrors);
+            }
+
+            datedAllocations
+                    .stream()
+                    .filter(e -> !isNull(e.getValue().getRoomId()))
+                    .collect(Collectors.groupingBy(e -> e.getValue().getRoomId()))
+                    .forEach((roomId, allocations) -> validateBatchTimeAvailable(roomId, allocations, validationErrors));
+        }
+
+        throwOnError(validationErrors);
+    }
+
+    // Every occurrence is checked against the allocations and the other series of the room
+    public void validate(CreateAllocationSeriesDTO createAllocationSeriesDTO, int maxOccurrences) {
+        var validationErrors = new ValidationErrors();
+
+        var datesValid = validateFields(
+                createAllocationSeriesDTO.getSubject(),
+                createAllocationSeriesDTO.getEmployeeName(),
+                createAllocationSeriesDTO.getEmployeeEmail(),
+                createAllocationSeriesDTO.getStartAt(),
+                createAllocationSeriesDTO.getEndAt(),
+                validationErrors
+        );
+        var recurrenceValid = validateRecurrence(
+                createAllocationSeriesDTO.getStartAt(),
+                createAllocationSeriesDTO.getRecurrence(),
+                maxOccurrences,
+                validationErrors
+        );
+
+        if (datesValid && recurrenceValid) {
+            validateSeriesTimeAvailable(createAllocationSeriesDTO, validationErrors);
+        }
+
+        throwOnError(validationErrors);
+    }
+
+    public void validateIds(List<Long> allocationIds, int maxBatchSize) {
+        var validationErrors = new ValidationErrors();
+
+        if (validateRequired(allocationIds, ALLOCATION_BATCH, validationErrors) &&
+                validateBatchSize(allocationIds.size(), maxBatchSize, validationErrors))
+        {
+            for (int i = 0; i < allocationIds.size(); i++) {
+                var itemValidationErrors = new ValidationErrors();
+                validateRequired(allocationIds.get(i), ALLOCATION_ID, itemValidationErrors);
+                addWithIndex(i, itemValidationErrors, validationErrors);
+            }
+        }
 
         throwOnError(validationErrors);
     }
 
+    public void validateFilters(String cursor, Integer limit, int maxLimit) {
+        var validationErrors = new ValidationErrors();
+
+        validateCursor(cursor, validationErrors);
+        validateMinValue(limit, ALLOCATION_LIMIT, ALLOCATION_LIMIT_MIN_VALUE, validationErrors);
+        validateMaxValue(limit, ALLOCATION_LIMIT, maxLimit, validationErrors);
+
+        throwOnError(validationErrors);
+    }
+
+    public void validateExportWindow(OffsetDateTime startAt, OffsetDateTime endAt) {
+        var validationErrors = new ValidationErrors();
+
+        if (validateDatesPresent(startAt, endAt, validationErrors)) {
+            validateDateOrdering(startAt, endAt, validationErrors);
+        }
+
+        throwOnError(validationErrors);
+    }
+
+    private void validateCursor(String cursor, ValidationErrors validationErrors) {
+        if (isNull(cursor)) {
+            return;
+        }
+
+        try {
+            AllocationCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            validationErrors.add(ALLOCATION_CURSOR, ALLOCATION_CURSOR + INVALID);
+        }
+    }
+
     private void validateSubject(String subject, ValidationErrors validationErrors) {
         validateRequired(subject, ALLOCATION_SUBJECT, validationErrors);
         validateMaxLength(subject, ALLOCATION_SUBJECT, ALLOCATION_SUBJECT_MAX_LENGTH, validationErrors);
@@ -71,13 +230,78 @@ public class AllocationValidator {
         validateMaxLength(employeeEmail, ALLOCATION_EMPLOYEE_EMAIL, ALLOCATION_EMPLOYEE_EMAIL_MAX_LENGTH, validationErrors);
     }
 
-    private void validateDates(OffsetDateTime startAt, OffsetDateTime endAt, ValidationErrors validationErrors) {
+    private boolean validateFields(CreateAllocationDTO createAllocationDTO, ValidationErrors validationErrors) {
+        return validateFields(
+                createAllocationDTO.getSubject(),
+                createAllocationDTO.getEmployeeName(),
+                createAllocationDTO.getEmployeeEmail(),
+                createAllocationDTO.getStartAt(),
+                createAllocationDTO.getEndAt(),
+                validationErrors
+        );
+    }
+
+    private boolean validateFields(
+            String subject,
+            String employeeName,
+            String employeeEmail,
+            OffsetDateTime startAt,
+            OffsetDateTime endAt,
+            ValidationErrors validationErrors
+    ) {
+        validateSubject(subject, validationErrors);
+        validateEmployeeName(employeeName, validationErrors);
+        validateEmployeeEmail(employeeEmail, validationErrors);
+        return validateDates(startAt, endAt, validationErrors);
+    }
+
+    private boolean validateRecurrence(
+            OffsetDateTime startAt,
+            RecurrenceDTO recurrence,
+            int maxOccurrences,
+            ValidationErrors validationErrors
+    ) {
+        if (!validateRequired(recurrence, ALLOCATION_RECURRENCE, validationErrors)) {
+            return false;
+        }
+
+        var valid = validateRequired(recurrence.getFrequency(), ALLOCATION_RECURRENCE_FREQUENCY, validationErrors);
+        valid &= validateMinValue(
+                recurrence.getInterval(),
+                ALLOCATION_RECURRENCE_INTERVAL,
+                ALLOCATION_RECURRENCE_INTERVAL_MIN_VALUE,
+                validationErrors
+        );
+        valid &= validateMaxValue(
+                recurrence.getInterval(),
+                ALLOCATION_RECURRENCE_INTERVAL,
+                ALLOCATION_RECURRENCE_INTERVAL_MAX_VALUE,
+                validationErrors
+        );
+        valid &= validateRequired(recurrence.getUntil(), ALLOCATION_RECURRENCE_UNTIL, validationErrors);
+
+        if (!valid || isNull(startAt)) {
+            return false;
+        }
+        if (!recurrence.getUntil().isAfter(startAt)) {
+            validationErrors.add(ALLOCATION_RECURRENCE_UNTIL, ALLOCATION_RECURRENCE_UNTIL + INCONSISTENT);
+            return false;
+        }
+        if (Recurrence.countOccurrences(startAt, step(recurrence), recurrence.getUntil()) > maxOccurrences) {
+            validationErrors.add(ALLOCATION_RECURRENCE_UNTIL, ALLOCATION_RECURRENCE_UNTIL + EXCEEDS_MAX_VALUE);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean validateDates(OffsetDateTime startAt, OffsetDateTime endAt, ValidationErrors validationErrors) {
         if (validateDatesPresent(startAt, endAt, validationErrors)) {
-            validateDateOrdering(startAt, endAt, validationErrors);
+            var ordered = validateDateOrdering(startAt, endAt, validationErrors);
             validateDateInTheFuture(startAt, validationErrors);
             validateDuration(startAt, endAt, validationErrors);
-            validateIfTimeAvailable(startAt, endAt, validationErrors);
+            return ordered;
         }
+        return false;
     }
 
     private boolean validateDatesPresent(OffsetDateTime startAt, OffsetDateTime endAt, ValidationErrors validationErrors) {
@@ -86,10 +310,12 @@ public class AllocationValidator {
         );
     }
 
-    private void validateDateOrdering(OffsetDateTime startAt, OffsetDateTime endAt, ValidationErrors validationErrors) {
+    private boolean validateDateOrdering(OffsetDateTime startAt, OffsetDateTime endAt, ValidationErrors validationErrors) {
         if (startAt.isEqual(endAt) || startAt.isAfter(endAt)) {
             validationErrors.add(ALLOCATION_START_AT, ALLOCATION_START_AT + INCONSISTENT);
+            return false;
         }
+        return true;
     }
 
     private void validateDateInTheFuture(OffsetDateTime date, ValidationErrors validationErrors) {
@@ -104,7 +330,144 @@ public class AllocationValidator {
         }
     }
 
-    private void validateIfTimeAvailable(OffsetDateTime startAt, OffsetDateTime endAt, ValidationErrors validationErrors) {
-        // TODO
+    private void validateIfTimeAvailable(
+            Long allocationId,
+            Long roomId,
+            OffsetDateTime startAt,
+            OffsetDateTime endAt,
+            ValidationErrors validationErrors
+    ) {
+        // The local index may hold entries another instance deleted, only the locking queries decide
+        if (hasOverlapOnDatabase(allocationId, roomId, startAt, endAt) ||
+                hasOccurrenceOverlapOnDatabase(roomId, startAt, endAt))
+        {
+            validationErrors.add(ALLOCATION_START_AT, ALLOCATION_START_AT + OVERLAPS);
+        }
+    }
+
+    // Authoritative check: runs inside the caller's transaction and locks the range until it commits
+    private boolean hasOverlapOnDatabase(Long allocationId, Long roomId, OffsetDateTime startAt, OffsetDateTime endAt) {
+        var overlapping = allocationRepository
+                .findOverlappingForUpdate(roomId, startAt, endAt)
+                .stream()
+                .filter(a -> !Objects.equals(a.getId(), allocationId))
+                .collect(Collectors.toList());
+
+        // Bookings made through other instances are missing from the local index
+        overlapping.forEach(allocationIndex::put);
+        return !overlapping.isEmpty();
+    }
+
+    // Locks the room's series too, so a series can't be created over this allocation before it commits
+    private boolean hasOccurrenceOverlapOnDatabase(Long roomId, OffsetDateTime startAt, OffsetDateTime endAt) {
+        return hasOccurrenceOverlap(
+                allocationSeriesRepository.findOverlappingForUpdate(roomId, startAt, endAt),
+                startAt,
+                endAt
+        );
+    }
+
+    private boolean validateBatchSize(int size, int maxBatchSize, ValidationErrors validationErrors) {
+        return (validateMinValue(size, ALLOCATION_BATCH, ALLOCATION_BATCH_MIN_SIZE, validationErrors) &&
+                validateMaxValue(size, ALLOCATION_BATCH, maxBatchSize, validationErrors)
+        );
+    }
+
+    private void validateBatchTimeAvailable(
+            Long roomId,
+            List<Map.Entry<Integer, CreateAllocationDTO>> allocations,
+            ValidationErrors validationErrors
+    ) {
+        allocations.sort(Comparator.comparing(e -> e.getValue().getStartAt()));
+
+        var existing = allocationRepository.findOverlappingForUpdate(
+                roomId,
+                allocations.get(0).getValue().getStartAt(),
+                allocations.stream().map(e -> e.getValue().getEndAt()).max(Comparator.naturalOrder()).orElseThrow()
+        );
+        var series = allocationSeriesRepository.findOverlappingForUpdate(
+                roomId,
+                allocations.get(0).getValue().getStartAt(),
+                allocations.stream().map(e -> e.getValue().getEndAt()).max(Comparator.naturalOrder()).orElseThrow()
+        );
+        OffsetDateTime latestEndAt = null;
+
+        for (var allocation : allocations) {
+            var startAt = allocation.getValue().getStartAt();
+            var endAt = allocation.getValue().getEndAt();
+            var overlapsBatch = !isNull(latestEndAt) && startAt.isBefore(latestEndAt);
+            var overlapsExisting = existing.stream().anyMatch(a -> isOverlapping(startAt, endAt, a.getStartAt(), a.getEndAt())) ||
+                    hasOccurrenceOverlap(series, startAt, endAt);
+
+            if (overlapsBatch || overlapsExisting) {
+                validationErrors.add(withIndex(allocation.getKey(), ALLOCATION_START_AT), ALLOCATION_START_AT + OVERLAPS);
+            }
+            latestEndAt = isNull(latestEndAt) || endAt.isAfter(latestEndAt) ? endAt : latestEndAt;
+        }
+    }
+
+    private void validateSeriesTimeAvailable(
+            CreateAllocationSeriesDTO createAllocationSeriesDTO,
+            ValidationErrors validationErrors
+    ) {
+        var roomId = createAllocationSeriesDTO.getRoomId();
+        var startAt = createAllocationSeriesDTO.getStartAt();
+        var duration = Duration.between(startAt, createAllocationSeriesDTO.getEndAt());
+        var step = step(createAllocationSeriesDTO.getRecurrence());
+        var count = Recurrence.countOccurrences(startAt, step, createAllocationSeriesDTO.getRecurrence().getUntil());
+        var lastEndAt = startAt.plus(step.multipliedBy(count - 1)).plus(duration);
+
+        // One locking query per table for the whole span, then a range lookup per occurrence
+        var busy = new TreeMap<Instant, Instant>();
+        allocationRepository
+                .findOverlappingForUpdate(roomId, startAt, lastEndAt)
+                .forEach(a -> markBusy(busy, a.getStartAt(), a.getEndAt()));
+        allocationSeriesRepository
+                .findOverlappingForUpdate(roomId, startAt, lastEndAt)
+                .stream()
+                .flatMap(s -> s.occurrencesBetween(startAt, lastEndAt))
+                .forEach(o -> markBusy(busy, o.getStartAt(), o.getEndAt()));
+
+        for (long i = 0; i < count; i++) {
+            var occurrenceStartAt = startAt.plus(step.multipliedBy(i)).toInstant();
+            var occurrenceEndAt = occurrenceStartAt.plus(duration);
+            var earliestStartAt = occurrenceStartAt.minusSeconds(ALLOCATION_MAX_DURATION_SECONDS);
+            var overlaps = busy
+                    .subMap(earliestStartAt, true, occurrenceEndAt, false)
+                    .values()
+                    .stream()
+                    .anyMatch(busyEndAt -> busyEndAt.isAfter(occurrenceStartAt));
+
+            if (overlaps) {
+                validationErrors.add(ALLOCATION_START_AT, ALLOCATION_START_AT + OVERLAPS);
+                return;
+            }
+        }
+    }
+
+    private static boolean hasOccurrenceOverlap(
+            List<AllocationSeries> series,
+            OffsetDateTime startAt,
+            OffsetDateTime endAt
+    ) {
+        return series.stream().anyMatch(s -> s.occurrencesBetween(startAt, endAt).findAny().isPresent());
+    }
+
+    private static Duration step(RecurrenceDTO recurrence) {
+        return RecurrenceFrequency
+                .valueOf(recurrence.getFrequency().name())
+                .step(Optional.ofNullable(recurrence.getInterval()).orElse(1));
+    }
+
+    private static void markBusy(TreeMap<Instant, Instant> busy, OffsetDateTime startAt, OffsetDateTime endAt) {
+        busy.merge(startAt.toInstant(), endAt.toInstant(), (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    private static void addWithIndex(int index, ValidationErrors itemValidationErrors, ValidationErrors validationErrors) {
+        itemValidationErrors.forEach(e -> validationErrors.add(withIndex(index, e.getField()), e.getErrorCode()));
+    }
+
+    private static String withIndex(int index, String field) {
+        return "[" + index + "]." + field;
     }
 }
@@ -2,12 +2,17 @@ package br.com.sw2you.realmeet.validator;
 
 import br.com.sw2you.realmeet.api.model.CreateRoomDTO;
 import br.com.sw2you.realmeet.api.model.UpdateRoomDTO;
-import br.com.sw2you.realmeet.domain.repository.RoomRepository;
 import org.springframework.stereotype.Component;
 
-import java.util.Objects;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 
-import static br.com.sw2you.realmeet.validator.ValidatorConstants.DUPLICATED;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.EXCEEDS_DURATION;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.INCONSISTENT;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_AVAILABILITY_END;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_AVAILABILITY_MAX_WINDOW_SECONDS;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_AVAILABILITY_MIN_SEATS;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_AVAILABILITY_START;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_ID;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_NAME;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_NAME_MAX_LENGTH;
@@ -19,38 +24,45 @@ import static br.com.sw2you.realmeet.validator.ValidatorUtils.validateMaxLength;
 import static br.com.sw2you.realmeet.validator.ValidatorUtils.validateMaxValue;
 import static br.com.sw2you.realmeet.validator.ValidatorUtils.validateMinValue;
 import static br.com.sw2you.realmeet.validator.ValidatorUtils.validateRequired;
-import static java.util.Objects.isNull;
 
 @Component
 public class RoomValidator {
 
-    private final RoomRepository roomRepository;
+    public void validate(CreateRoomDTO createRoomDTO) {
+        var validationErrors = new ValidationErrors();
+
+        if (validateName(createRoomDTO.getName(), validationErrors)) {
+            validateSeats(createRoomDTO.getSeats(), validationErrors);
+        }
 
-    public RoomValidator(RoomRepository roomRepository) {
-        this.roomRepository = roomRepository;
+        throwOnError(validationErrors);
     }
 
-    public void validate(CreateRoomDTO createRoomDTO) {
+    public void validate(Long roomId, UpdateRoomDTO updateRoomDTO) {
         var validationErrors = new ValidationErrors();
 
-        if (validateName(createRoomDTO.getName(), validationErrors) &&
-                validateSeats(createRoomDTO.getSeats(), validationErrors))
+        if (validateRequired(roomId, ROOM_ID, validationErrors) &&
+                validateName(updateRoomDTO.getName(), validationErrors))
         {
-            validateNameDuplicated(null, createRoomDTO.getName(), validationErrors);
+            validateSeats(updateRoomDTO.getSeats(), validationErrors);
         }
 
         throwOnError(validationErrors);
     }
 
-    public void validate(Long roomId, UpdateRoomDTO updateRoomDTO) {
+    public void validateAvailabilityFilters(OffsetDateTime start, OffsetDateTime end, Integer minSeats) {
         var validationErrors = new ValidationErrors();
 
-        if (validateRequired(roomId, ROOM_ID, validationErrors) &&
-                validateName(updateRoomDTO.getName(), validationErrors) &&
-                validateSeats(updateRoomDTO.getSeats(), validationErrors))
+        if (validateRequired(start, ROOM_AVAILABILITY_START, validationErrors) &&
+                validateRequired(end, ROOM_AVAILABILITY_END, validationErrors))
         {
-            validateNameDuplicated(roomId, updateRoomDTO.getName(), validationErrors);
+            if (!start.isBefore(end)) {
+                validationErrors.add(ROOM_AVAILABILITY_START, ROOM_AVAILABILITY_START + INCONSISTENT);
+            } else if (Duration.between(start, end).getSeconds() > ROOM_AVAILABILITY_MAX_WINDOW_SECONDS) {
+                validationErrors.add(ROOM_AVAILABILITY_END, ROOM_AVAILABILITY_END + EXCEEDS_DURATION);
+            }
         }
+        validateMinValue(minSeats, ROOM_AVAILABILITY_MIN_SEATS, ROOM_SEATS_MIN_VALUE, validationErrors);
 
         throwOnError(validationErrors);
     }
@@ -67,14 +79,4 @@ public class RoomValidator {
                 validateMaxValue(seats, ROOM_SEATS, ROOM_SEATS_MAX_VALUE, validationErrors)
         );
     }
-
-    private void validateNameDuplicated(Long roomIdToExclude, String name, ValidationErrors validationErrors) {
-        roomRepository
-                .findByNameAndActive(name, true)
-                .ifPresent(room -> {
-                    if (isNull(roomIdToExclude) || !Objects.equals(room.getId(), roomIdToExclude)) {
-                        validationErrors.add(ROOM_NAME, ROOM_NAME + DUPLICATED);
-                    }
-                });
-    }
 }
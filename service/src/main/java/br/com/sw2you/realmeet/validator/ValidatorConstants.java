@@ -8,6 +8,10 @@ public final class ValidatorConstants {
     public static final String ROOM_SEATS = "seats";
     public static final int ROOM_SEATS_MIN_VALUE = 1;
     public static final int ROOM_SEATS_MAX_VALUE = 20;
+    public static final String ROOM_AVAILABILITY_START = "start";
+    public static final String ROOM_AVAILABILITY_END = "end";
+    public static final String ROOM_AVAILABILITY_MIN_SEATS = "minSeats";
+    public static final int ROOM_AVAILABILITY_MAX_WINDOW_SECONDS = 7 * 24 * 60 * 60;
 
     public static final String ALLOCATION_ID = "id";
     public static final String ALLOCATION_SUBJECT = "subject";
@@ -19,6 +23,22 @@ public final class ValidatorConstants {
     public static final int ALLOCATION_EMPLOYEE_NAME_MAX_LENGTH = 20;
     public static final int ALLOCATION_EMPLOYEE_EMAIL_MAX_LENGTH = 30;
     public static final int ALLOCATION_MAX_DURATION_SECONDS = 4 * 60 * 60;
+    public static final String ALLOCATION_CURSOR = "cursor";
+    public static final String ALLOCATION_LIMIT = "limit";
+    public static final int ALLOCATION_LIMIT_MIN_VALUE = 1;
+    public static final String ALLOCATION_BATCH = "allocations";
+    public static final int ALLOCATION_BATCH_MIN_SIZE = 1;
+    public static final String ALLOCATION_RECURRENCE = "recurrence";
+    public static final String ALLOCATION_RECURRENCE_FREQUENCY = "recurrence.frequency";
+    public static final String ALLOCATION_RECURRENCE_INTERVAL = "recurrence.interval";
+    public static final int ALLOCATION_RECURRENCE_INTERVAL_MIN_VALUE = 1;
+    public static final int ALLOCATION_RECURRENCE_INTERVAL_MAX_VALUE = 52;
+    public static final String ALLOCATION_RECURRENCE_UNTIL = "recurrence.until";
+
+    public static final String REPORT_STATUS = "status";
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final int IDEMPOTENCY_KEY_MAX_LENGTH = 64;
 
     public static final String MISSING = ".missing";
     public static final String EXCEEDS_MAX_LENGTH = ".exceedsMaxLength";
@@ -26,8 +46,11 @@ public final class ValidatorConstants {
     public static final String BELOW_MIN_VALUE = ".belowMinValue";
     public static final String DUPLICATED = ".duplicated";
     public static final String INCONSISTENT = ".inconsistent";
+    public static final String INVALID = ".invalid";
     public static final String IN_THE_PAST = ".inThePast";
     public static final String EXCEEDS_DURATION = ".exceedsDuration";
+    public static final String OVERLAPS = ".overlaps";
+    public static final String NOT_READY = ".notReady";
 
     private ValidatorConstants() {}
 }
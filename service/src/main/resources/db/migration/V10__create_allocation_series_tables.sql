@@ -0,0 +1,31 @@
+-- A recurring allocation is one rule row, its occurrences are expanded when a window is read
+CREATE TABLE IF NOT EXISTS `allocation_series` (
+  `id`              BIGINT NOT NULL AUTO_INCREMENT,
+  `room_id`         BIGINT NOT NULL,
+  `employee_name`   VARCHAR(20) NOT NULL,
+  `employee_email`  VARCHAR(30) NOT NULL,
+  `subject`         VARCHAR(60) NOT NULL,
+  `start_at`        DATETIME(3) NOT NULL,
+  `end_at`          DATETIME(3) NOT NULL,
+  `frequency`       VARCHAR(10) NOT NULL,
+  `interval_count`  INT NOT NULL,
+  `until_at`        DATETIME(3) NOT NULL,
+  `created_at`      DATETIME(3) NOT NULL,
+  `updated_at`      DATETIME(3) NOT NULL,
+
+  PRIMARY KEY (`id`),
+  CONSTRAINT `fk-allocation_series-room_id-room-id` FOREIGN KEY (`room_id`) REFERENCES `room` (`id`),
+  INDEX `idx-allocation_series-room_id-until_at` (`room_id`, `until_at`),
+  INDEX `idx-allocation_series-employee_email-until_at` (`employee_email`, `until_at`),
+  INDEX `idx-allocation_series-until_at` (`until_at`)
+);
+
+-- Cancelled occurrences, identified by their start
+CREATE TABLE IF NOT EXISTS `allocation_series_exception` (
+  `series_id`       BIGINT NOT NULL,
+  `start_at`        DATETIME(3) NOT NULL,
+
+  PRIMARY KEY (`series_id`, `start_at`),
+  CONSTRAINT `fk-allocation_series_exception-series_id-allocation_series-id`
+    FOREIGN KEY (`series_id`) REFERENCES `allocation_series` (`id`) ON DELETE CASCADE
+);
@@ -0,0 +1,12 @@
+-- Responses of create requests sent with an Idempotency-Key header, replayed to retries until expires_at.
+-- Written in the same transaction as the creation, so a duplicate on another instance waits on the key's row lock.
+CREATE TABLE IF NOT EXISTS `idempotency_key` (
+  `idempotency_key`  VARCHAR(64) NOT NULL,
+  `fingerprint`      CHAR(64) NOT NULL,
+  `response`         TEXT NULL,
+  `created_at`       DATETIME(3) NOT NULL,
+  `expires_at`       DATETIME(3) NOT NULL,
+
+  PRIMARY KEY (`idempotency_key`),
+  INDEX `idx-idempotency_key-expires_at` (`expires_at`)
+);
@@ -0,0 +1,3 @@
+-- Serves GET /allocations?roomId= in its (start_at, id) keyset order. In idx-allocation-room_id-start_at-end_at
+-- end_at sits between start_at and the appended primary key, so MySQL had to filesort every page.
+CREATE INDEX `idx-allocation-room_id-start_at-id` ON `allocation` (`room_id`, `start_at`, `id`);
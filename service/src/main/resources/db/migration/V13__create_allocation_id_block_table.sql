@@ -0,0 +1,16 @@
+-- Allocation ids are reserved in blocks of 50 by BlockIdGenerator, one AUTO_INCREMENT row per block, on the
+-- inserting transaction's own connection. id_generator needed a second connection per reservation.
+CREATE TABLE IF NOT EXISTS `allocation_id_block` (
+  `id`  BIGINT NOT NULL AUTO_INCREMENT,
+
+  PRIMARY KEY (`id`)
+);
+
+-- Block n starts at id n * 50: reserving the block holding next_val makes the next ones start past every id
+-- id_generator handed out
+INSERT INTO `allocation_id_block` (`id`)
+SELECT GREATEST(CEIL(`next_val` / 50), 1) FROM `id_generator` WHERE `name` = 'allocation';
+
+-- Rooms are inserted one at a time and are back on the AUTO_INCREMENT column, which InnoDB already moved past the
+-- ids inserted explicitly
+DROP TABLE `id_generator`;
@@ -0,0 +1,22 @@
+-- Occupancy report jobs, shared by the instances: any of them answers status and download requests.
+-- A job is purged retentionMinutes after it completed, or after it was created when it never completed.
+CREATE TABLE IF NOT EXISTS `report_job` (
+  `id`            CHAR(36) NOT NULL,
+  `format`        VARCHAR(8) NOT NULL,
+  `status`        VARCHAR(8) NOT NULL,
+  `created_at`    DATETIME(3) NOT NULL,
+  `completed_at`  DATETIME(3) NULL,
+
+  PRIMARY KEY (`id`),
+  INDEX `idx-report_job-created_at` (`created_at`)
+);
+
+-- Apart from report_job, so polling the status never reads the report itself
+CREATE TABLE IF NOT EXISTS `report_job_content` (
+  `report_job_id`  CHAR(36) NOT NULL,
+  `content`        LONGBLOB NOT NULL,
+
+  PRIMARY KEY (`report_job_id`),
+  CONSTRAINT `fk-report_job_content-report_job_id-report_job-id`
+    FOREIGN KEY (`report_job_id`) REFERENCES `report_job` (`id`) ON DELETE CASCADE
+);
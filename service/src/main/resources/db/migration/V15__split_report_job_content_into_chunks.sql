@@ -0,0 +1,8 @@
+-- A report is stored as numbered chunks of realmeet.reports.chunkBytes: as a single value it had to fit in
+-- max_allowed_packet when inserted and when read back. Reports stored before become their chunk 0.
+ALTER TABLE `report_job_content`
+  ADD COLUMN `chunk_index` INT NOT NULL DEFAULT 0 AFTER `report_job_id`,
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (`report_job_id`, `chunk_index`);
+
+ALTER TABLE `report_job_content` ALTER COLUMN `chunk_index` DROP DEFAULT;
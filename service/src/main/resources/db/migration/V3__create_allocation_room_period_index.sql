@@ -0,0 +1 @@
+CREATE INDEX `idx-allocation-room_id-start_at-end_at` ON `allocation` (`room_id`, `start_at`, `end_at`);
@@ -0,0 +1,3 @@
+-- InnoDB appends the primary key to secondary indexes, so both cover the (start_at, id) keyset ordering
+CREATE INDEX `idx-allocation-start_at` ON `allocation` (`start_at`);
+CREATE INDEX `idx-allocation-employee_email-start_at` ON `allocation` (`employee_email`, `start_at`);
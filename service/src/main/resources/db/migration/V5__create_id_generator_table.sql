@@ -0,0 +1,10 @@
+-- Table-based ids allow Hibernate to batch inserts, which IDENTITY columns disable
+CREATE TABLE IF NOT EXISTS `id_generator` (
+  `name`      VARCHAR(64) NOT NULL,
+  `next_val`  BIGINT NOT NULL,
+
+  PRIMARY KEY (`name`)
+);
+
+INSERT INTO `id_generator` (`name`, `next_val`) SELECT 'room', COALESCE(MAX(`id`), 0) + 1 FROM `room`;
+INSERT INTO `id_generator` (`name`, `next_val`) SELECT 'allocation', COALESCE(MAX(`id`), 0) + 1 FROM `allocation`;
@@ -0,0 +1,4 @@
+-- Inactive rooms get a NULL active_name, which the unique index allows any number of times
+ALTER TABLE `room`
+  ADD COLUMN `active_name` VARCHAR(20) GENERATED ALWAYS AS (IF(`active`, `name`, NULL)) STORED,
+  ADD UNIQUE INDEX `uk-room-active_name` (`active_name`);
@@ -0,0 +1,18 @@
+-- Transactional outbox: rows are written with the allocation change and deleted once the e-mail is sent
+CREATE TABLE IF NOT EXISTS `notification` (
+  `id`               BIGINT NOT NULL AUTO_INCREMENT,
+  `event`            VARCHAR(10) NOT NULL,
+  `allocation_id`    BIGINT NOT NULL,
+  `employee_name`    VARCHAR(20) NOT NULL,
+  `employee_email`   VARCHAR(30) NOT NULL,
+  `subject`          VARCHAR(60) NOT NULL,
+  `room_name`        VARCHAR(20) NOT NULL,
+  `start_at`         DATETIME(3) NOT NULL,
+  `end_at`           DATETIME(3) NOT NULL,
+  `attempts`         INT NOT NULL,
+  `next_attempt_at`  DATETIME(3) NOT NULL,
+  `created_at`       DATETIME(3) NOT NULL,
+
+  PRIMARY KEY (`id`),
+  INDEX `idx-notification-next_attempt_at` (`next_attempt_at`)
+);
@@ -0,0 +1,21 @@
+-- Finished allocations are moved here by AllocationArchiver, keeping the allocation table and its indexes small.
+-- Not a partitioned allocation table: InnoDB partitioning rules out the room foreign key and would force
+-- start_at into the primary key.
+CREATE TABLE IF NOT EXISTS `allocation_archive` (
+  `id`              BIGINT NOT NULL,
+  `room_id`         BIGINT NOT NULL,
+  `employee_name`   VARCHAR(20) NOT NULL,
+  `employee_email`  VARCHAR(30) NOT NULL,
+  `subject`         VARCHAR(60) NOT NULL,
+  `start_at`        DATETIME(3) NOT NULL,
+  `end_at`          DATETIME(3) NOT NULL,
+  `created_at`      DATETIME(3) NOT NULL,
+  `updated_at`      DATETIME(3) NOT NULL,
+  `archived_at`     DATETIME(3) NOT NULL,
+
+  PRIMARY KEY (`id`),
+  CONSTRAINT `fk-allocation_archive-room_id-room-id` FOREIGN KEY (`room_id`) REFERENCES `room` (`id`),
+  INDEX `idx-allocation_archive-start_at` (`start_at`),
+  INDEX `idx-allocation_archive-room_id-start_at` (`room_id`, `start_at`),
+  INDEX `idx-allocation_archive-employee_email-start_at` (`employee_email`, `start_at`)
+);
@@ -2,7 +2,9 @@ package br.com.sw2you.realmeet.core;
 
 import br.com.sw2you.realmeet.Application;
 import br.com.sw2you.realmeet.api.ApiClient;
+import br.com.sw2you.realmeet.domain.index.AllocationIndex;
 import org.flywaydb.core.Flyway;
+import org.hibernate.Cache;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -19,6 +21,12 @@ public abstract class BaseIntegrationTest {
     @Autowired
     private Flyway flyway;
 
+    @Autowired
+    private AllocationIndex allocationIndex;
+
+    @Autowired
+    private Cache secondLevelCache;
+
     @LocalServerPort
     private int serverPort;
 
@@ -37,5 +45,7 @@ public abstract class BaseIntegrationTest {
     private void setupFlyway() {
         flyway.clean();
         flyway.migrate();
+        allocationIndex.reload();
+        secondLevelCache.evictAllRegions();
     }
 }
@@ -1,28 +1,46 @@
 package br.com.sw2you.realmeet.integration;
 
 import br.com.sw2you.realmeet.api.facade.AllocationApi;
+import br.com.sw2you.realmeet.archive.AllocationArchiver;
 import br.com.sw2you.realmeet.core.BaseIntegrationTest;
 import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
 import br.com.sw2you.realmeet.domain.repository.RoomRepository;
 import br.com.sw2you.realmeet.util.DateUtils;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.UUID;
 
 import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_END_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_SERIES_OCCURRENCES;
 import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
 import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_SUBJECT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_EMPLOYEE_EMAIL;
 import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationBuilder;
 import static br.com.sw2you.realmeet.utils.TestDataCreator.newCreateAllocationDTO;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newCreateAllocationSeriesDTO;
 import static br.com.sw2you.realmeet.utils.TestDataCreator.newRoomBuilder;
 import static br.com.sw2you.realmeet.utils.TestDataCreator.newUpdateAllocationDTO;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AllocationApiIntegrationTest extends BaseIntegrationTest {
+    private static final long MAIL_TIMEOUT_MILLIS = 5000;
+
+    // Listens on the spring.mail.port of the integration-test profile
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
     @Autowired
     private AllocationApi api;
 
@@ -32,6 +50,9 @@ class AllocationApiIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private AllocationRepository allocationRepository;
 
+    @Autowired
+    private AllocationArchiver allocationArchiver;
+
     @Override
     protected void setupEach() throws Exception {
         setLocalHostBasePath(api.getApiClient(), "/v1");
@@ -41,7 +62,7 @@ class AllocationApiIntegrationTest extends BaseIntegrationTest {
     void testCreateAllocationSuccess() {
         var room = roomRepository.saveAndFlush(newRoomBuilder().build());
         var createAllocationDTO = newCreateAllocationDTO().roomId(room.getId());
-        var allocationDTO = api.createAllocation(createAllocationDTO);
+        var allocationDTO = api.createAllocation(createAllocationDTO, null);
 
         assertNotNull(allocationDTO.getId());
         assertEquals(room.getId(), allocationDTO.getRoomId());
@@ -52,6 +73,17 @@ class AllocationApiIntegrationTest extends BaseIntegrationTest {
         assertTrue(createAllocationDTO.getEndAt().isEqual(allocationDTO.getEndAt()));
     }
 
+    @Test
+    void testCreateAllocationSendsNotification() throws Exception {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        api.createAllocation(newCreateAllocationDTO().roomId(room.getId()), null);
+
+        assertTrue(greenMail.waitForIncomingEmail(MAIL_TIMEOUT_MILLIS, 1));
+        var message = greenMail.getReceivedMessages()[0];
+        assertEquals("Allocation created: " + DEFAULT_ALLOCATION_SUBJECT, message.getSubject());
+        assertEquals(DEFAULT_EMPLOYEE_EMAIL, message.getAllRecipients()[0].toString());
+    }
+
     @Test
     void testCreateAllocationValidationError() {
         var room = roomRepository.saveAndFlush(newRoomBuilder().build());
@@ -61,7 +93,52 @@ class AllocationApiIntegrationTest extends BaseIntegrationTest {
 
         assertThrows(
                 HttpClientErrorException.UnprocessableEntity.class,
-                () -> api.createAllocation(newCreateAllocationDTO().subject(null))
+                () -> api.createAllocation(newCreateAllocationDTO().subject(null), null)
+        );
+    }
+
+    @Test
+    void testCreateAllocationWhenTimeIsUnavailable() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        api.createAllocation(newCreateAllocationDTO().roomId(room.getId()), null);
+
+        assertThrows(
+                HttpClientErrorException.UnprocessableEntity.class,
+                () -> api.createAllocation(
+                        newCreateAllocationDTO()
+                                .roomId(room.getId())
+                                .startAt(DEFAULT_ALLOCATION_START_AT.plusMinutes(30))
+                                .endAt(DEFAULT_ALLOCATION_END_AT.plusMinutes(30)),
+                        null
+                )
+        );
+    }
+
+    @Test
+    void testCreateAllocationWithIdempotencyKeyReplaysResponse() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        var createAllocationDTO = newCreateAllocationDTO().roomId(room.getId());
+        var idempotencyKey = UUID.randomUUID().toString();
+
+        var allocationDTO = api.createAllocation(createAllocationDTO, idempotencyKey);
+        var retriedAllocationDTO = api.createAllocation(createAllocationDTO, idempotencyKey);
+
+        assertEquals(allocationDTO, retriedAllocationDTO);
+        assertEquals(1, allocationRepository.count());
+    }
+
+    @Test
+    void testCreateAllocationWhenIdempotencyKeyIsReused() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        var idempotencyKey = UUID.randomUUID().toString();
+        api.createAllocation(newCreateAllocationDTO().roomId(room.getId()), idempotencyKey);
+
+        assertThrows(
+                HttpClientErrorException.UnprocessableEntity.class,
+                () -> api.createAllocation(
+                        newCreateAllocationDTO().roomId(room.getId()).subject("Another subject"),
+                        idempotencyKey
+                )
         );
     }
 
@@ -69,10 +146,221 @@ class AllocationApiIntegrationTest extends BaseIntegrationTest {
     void testCreateAllocationWhenRoomDoesNotExist() {
         assertThrows(
                 HttpClientErrorException.NotFound.class,
-                () -> api.createAllocation(newCreateAllocationDTO().subject(null))
+                () -> api.createAllocation(newCreateAllocationDTO().subject(null), null)
+        );
+    }
+
+    @Test
+    void testCreateAllocationsSuccess() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        var createAllocationDTOs = List.of(
+                newCreateAllocationDTO().roomId(room.getId()),
+                newCreateAllocationDTO()
+                        .roomId(room.getId())
+                        .startAt(DEFAULT_ALLOCATION_END_AT)
+                        .endAt(DEFAULT_ALLOCATION_END_AT.plusHours(1))
+        );
+
+        var allocationDTOs = api.createAllocations(createAllocationDTOs);
+
+        assertEquals(2, allocationDTOs.size());
+        allocationDTOs.forEach(dto -> assertTrue(allocationRepository.findById(dto.getId()).isPresent()));
+    }
+
+    @Test
+    void testCreateAllocationsWhenItemsOverlap() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+
+        assertThrows(
+                HttpClientErrorException.UnprocessableEntity.class,
+                () -> api.createAllocations(
+                        List.of(newCreateAllocationDTO().roomId(room.getId()), newCreateAllocationDTO().roomId(room.getId()))
+                )
+        );
+        assertEquals(0, allocationRepository.count());
+    }
+
+    @Test
+    void testListAllocationsPaginated() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        for (int i = 0; i < 5; i++) {
+            allocationRepository.saveAndFlush(
+                    newAllocationBuilder(room)
+                            .startAt(DEFAULT_ALLOCATION_START_AT.plusHours(i))
+                            .endAt(DEFAULT_ALLOCATION_END_AT.plusHours(i))
+                            .build()
+            );
+        }
+
+        var firstPage = api.listAllocations(room.getId(), null, null, null, null, 3);
+        assertEquals(3, firstPage.getAllocations().size());
+        assertNotNull(firstPage.getNextCursor());
+
+        var secondPage = api.listAllocations(room.getId(), null, null, null, firstPage.getNextCursor(), 3);
+        assertEquals(2, secondPage.getAllocations().size());
+        assertNull(secondPage.getNextCursor());
+        assertTrue(
+                firstPage.getAllocations().get(2).getStartAt().isBefore(secondPage.getAllocations().get(0).getStartAt())
+        );
+    }
+
+    @Test
+    void testListAllocationsFilteredByEmployeeAndWindow() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        allocationRepository.saveAndFlush(newAllocationBuilder(room).build());
+        allocationRepository.saveAndFlush(
+                newAllocationBuilder(room)
+                        .startAt(DEFAULT_ALLOCATION_START_AT.plusDays(1))
+                        .endAt(DEFAULT_ALLOCATION_END_AT.plusDays(1))
+                        .build()
+        );
+
+        var page = api.listAllocations(
+                null,
+                DEFAULT_EMPLOYEE_EMAIL,
+                DEFAULT_ALLOCATION_START_AT,
+                DEFAULT_ALLOCATION_END_AT,
+                null,
+                null
+        );
+
+        assertEquals(1, page.getAllocations().size());
+        assertTrue(DEFAULT_ALLOCATION_START_AT.isEqual(page.getAllocations().get(0).getStartAt()));
+        assertTrue(api.listAllocations(null, "other@email.com", null, null, null, null).getAllocations().isEmpty());
+    }
+
+    @Test
+    void testListAllocationsValidationError() {
+        assertThrows(
+                HttpClientErrorException.UnprocessableEntity.class,
+                () -> api.listAllocations(null, null, null, null, "not a cursor", null)
+        );
+    }
+
+    @Test
+    void testListAllocationHistoryAfterArchiving() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        var oldAllocation = allocationRepository.saveAndFlush(
+                newAllocationBuilder(room)
+                        .startAt(DateUtils.now().minusDays(100))
+                        .endAt(DateUtils.now().minusDays(100).plusHours(1))
+                        .build()
+        );
+        var allocation = allocationRepository.saveAndFlush(newAllocationBuilder(room).build());
+
+        allocationArchiver.archive();
+
+        assertFalse(allocationRepository.findById(oldAllocation.getId()).isPresent());
+        assertTrue(allocationRepository.findById(allocation.getId()).isPresent());
+
+        var history = api.listAllocationHistory(room.getId(), null, null, null, null, null);
+        assertEquals(1, history.getAllocations().size());
+        assertEquals(oldAllocation.getId(), history.getAllocations().get(0).getId());
+        assertEquals(room.getId(), history.getAllocations().get(0).getRoomId());
+        assertEquals(1, api.listAllocations(room.getId(), null, null, null, null, null).getAllocations().size());
+        assertThrows(
+                HttpClientErrorException.UnprocessableEntity.class,
+                () -> api.deleteAllocation(oldAllocation.getId())
+        );
+    }
+
+    @Test
+    void testCreateAllocationSeriesAndListOccurrences() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        var seriesDTO = api.createAllocationSeries(newCreateAllocationSeriesDTO().roomId(room.getId()));
+        allocationRepository.saveAndFlush(
+                newAllocationBuilder(room)
+                        .startAt(DEFAULT_ALLOCATION_START_AT.plusDays(1))
+                        .endAt(DEFAULT_ALLOCATION_END_AT.plusDays(1))
+                        .build()
+        );
+
+        assertNotNull(seriesDTO.getId());
+        var firstPage = api.listAllocations(room.getId(), null, null, null, null, 2);
+        assertEquals(2, firstPage.getAllocations().size());
+        assertNull(firstPage.getAllocations().get(0).getId());
+        assertEquals(seriesDTO.getId(), firstPage.getAllocations().get(0).getSeriesId());
+        assertNotNull(firstPage.getAllocations().get(1).getId());
+
+        var secondPage = api.listAllocations(room.getId(), null, null, null, firstPage.getNextCursor(), 10);
+        assertEquals(DEFAULT_ALLOCATION_SERIES_OCCURRENCES - 1, secondPage.getAllocations().size());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void testCreateAllocationSeriesWhenOccurrenceOverlaps() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        allocationRepository.saveAndFlush(
+                newAllocationBuilder(room)
+                        .startAt(DEFAULT_ALLOCATION_START_AT.plusWeeks(2))
+                        .endAt(DEFAULT_ALLOCATION_END_AT.plusWeeks(2))
+                        .build()
+        );
+
+        assertThrows(
+                HttpClientErrorException.UnprocessableEntity.class,
+                () -> api.createAllocationSeries(newCreateAllocationSeriesDTO().roomId(room.getId()))
+        );
+    }
+
+    @Test
+    void testCreateAllocationWhenSeriesOccurrenceOverlaps() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        api.createAllocationSeries(newCreateAllocationSeriesDTO().roomId(room.getId()));
+
+        assertThrows(
+                HttpClientErrorException.UnprocessableEntity.class,
+                () -> api.createAllocation(
+                        newCreateAllocationDTO()
+                                .roomId(room.getId())
+                                .startAt(DEFAULT_ALLOCATION_START_AT.plusWeeks(1).plusMinutes(30))
+                                .endAt(DEFAULT_ALLOCATION_END_AT.plusWeeks(1).plusMinutes(30)),
+                        null
+                )
+        );
+    }
+
+    @Test
+    void testCancelAllocationOccurrenceAndDeleteSeries() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        var seriesDTO = api.createAllocationSeries(newCreateAllocationSeriesDTO().roomId(room.getId()));
+
+        api.cancelAllocationOccurrence(seriesDTO.getId(), DEFAULT_ALLOCATION_START_AT.plusWeeks(1));
+        assertEquals(
+                DEFAULT_ALLOCATION_SERIES_OCCURRENCES - 1,
+                api.listAllocations(room.getId(), null, null, null, null, null).getAllocations().size()
+        );
+
+        api.deleteAllocationSeries(seriesDTO.getId());
+        assertTrue(api.listAllocations(room.getId(), null, null, null, null, null).getAllocations().isEmpty());
+        assertThrows(
+                HttpClientErrorException.NotFound.class,
+                () -> api.deleteAllocationSeries(seriesDTO.getId())
         );
     }
 
+    @Test
+    void testExportAllocations() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        allocationRepository.saveAndFlush(newAllocationBuilder(room).build());
+        allocationRepository.saveAndFlush(
+                newAllocationBuilder(room)
+                        .startAt(DEFAULT_ALLOCATION_START_AT.plusHours(2))
+                        .endAt(DEFAULT_ALLOCATION_END_AT.plusHours(2))
+                        .build()
+        );
+
+        var body = new RestTemplate().getForObject(
+                api.getApiClient().getBasePath() + "/allocations/export?startAt={startAt}&endAt={endAt}",
+                String.class,
+                DEFAULT_ALLOCATION_START_AT.minusDays(1).toInstant(),
+                DEFAULT_ALLOCATION_START_AT.plusDays(1).toInstant()
+        );
+
+        assertNotNull(body);
+        assertEquals(2, body.lines().count());
+    }
+
     @Test
     void testDeleteAllocationSuccess() {
         var room = roomRepository.saveAndFlush(newRoomBuilder().build());
@@ -82,6 +370,17 @@ class AllocationApiIntegrationTest extends BaseIntegrationTest {
         assertFalse(allocationRepository.findById(allocation.getId()).isPresent());
     }
 
+    @Test
+    void testDeleteAllocationSendsNotification() throws Exception {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        var allocation = allocationRepository.saveAndFlush(newAllocationBuilder(room).build());
+
+        api.deleteAllocation(allocation.getId());
+
+        assertTrue(greenMail.waitForIncomingEmail(MAIL_TIMEOUT_MILLIS, 1));
+        assertEquals("Allocation deleted: " + DEFAULT_ALLOCATION_SUBJECT, greenMail.getReceivedMessages()[0].getSubject());
+    }
+
     @Test
     void testDeleteAllocationInThePast() {
         var room = roomRepository.saveAndFlush(newRoomBuilder().build());
@@ -104,7 +403,7 @@ class AllocationApiIntegrationTest extends BaseIntegrationTest {
     void testUpdateAllocationSuccess() {
         var room = roomRepository.saveAndFlush(newRoomBuilder().build());
         var createAllocationDTO = newCreateAllocationDTO().roomId(room.getId());
-        var allocationDTO = api.createAllocation(createAllocationDTO);
+        var allocationDTO = api.createAllocation(createAllocationDTO, null);
         var updateAllocationDTO = newUpdateAllocationDTO()
                 .subject(DEFAULT_ALLOCATION_SUBJECT + "_")
                 .startAt(DEFAULT_ALLOCATION_START_AT)
@@ -130,10 +429,49 @@ class AllocationApiIntegrationTest extends BaseIntegrationTest {
     void testUpdateAllocationValidationError() {
         var room = roomRepository.saveAndFlush(newRoomBuilder().build());
         var createAllocationDTO = newCreateAllocationDTO().roomId(room.getId());
-        var allocationDTO = api.createAllocation(createAllocationDTO);
+        var allocationDTO = api.createAllocation(createAllocationDTO, null);
 
         assertThrows(HttpClientErrorException.UnprocessableEntity.class, () ->
                 api.updateAllocation(allocationDTO.getId(), newUpdateAllocationDTO().subject(null))
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdateAllocationInThePast() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        var allocation = allocationRepository.saveAndFlush(
+                newAllocationBuilder(room)
+                        .startAt(DateUtils.now().minusDays(1))
+                        .endAt(DateUtils.now().minusDays(1).plusHours(1))
+                        .build()
+        );
+
+        assertThrows(HttpClientErrorException.UnprocessableEntity.class, () ->
+                api.updateAllocation(allocation.getId(), newUpdateAllocationDTO())
+        );
+        assertEquals(allocation.getSubject(), allocationRepository.findById(allocation.getId()).orElseThrow().getSubject());
+    }
+
+    @Test
+    void testCancelAllocationsSkipsPastAndMissing() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        var allocation = allocationRepository.saveAndFlush(newAllocationBuilder(room).build());
+        var pastAllocation = allocationRepository.saveAndFlush(
+                newAllocationBuilder(room)
+                        .startAt(DateUtils.now().minusDays(1))
+                        .endAt(DateUtils.now().minusDays(1).plusHours(1))
+                        .build()
+        );
+
+        var result = api.cancelAllocations(List.of(allocation.getId(), pastAllocation.getId(), 0L));
+
+        assertEquals(1, result.getCancelled());
+        assertFalse(allocationRepository.findById(allocation.getId()).isPresent());
+        assertTrue(allocationRepository.findById(pastAllocation.getId()).isPresent());
+    }
+
+    @Test
+    void testCancelAllocationsValidationError() {
+        assertThrows(HttpClientErrorException.UnprocessableEntity.class, () -> api.cancelAllocations(List.of()));
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.sw2you.realmeet.integration;
+
+import br.com.sw2you.realmeet.api.facade.ReportApi;
+import br.com.sw2you.realmeet.api.model.CreateOccupancyReportDTO;
+import br.com.sw2you.realmeet.api.model.ReportFormatDTO;
+import br.com.sw2you.realmeet.api.model.ReportJobDTO;
+import br.com.sw2you.realmeet.core.BaseIntegrationTest;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.nio.file.Files;
+
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_SUBJECT;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationBuilder;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newRoomBuilder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportApiIntegrationTest extends BaseIntegrationTest {
+
+    private static final int MAX_POLLS = 50;
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    @Autowired
+    private ReportApi api;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private AllocationRepository allocationRepository;
+
+    @Override
+    protected void setupEach() throws Exception {
+        setLocalHostBasePath(api.getApiClient(), "/v1");
+    }
+
+    @Test
+    void testCreateOccupancyReportSuccess() throws Exception {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        allocationRepository.saveAndFlush(newAllocationBuilder(room).build());
+
+        var job = api.createOccupancyReport(newCreateOccupancyReportDTO());
+
+        assertEquals(ReportJobDTO.StatusEnum.DONE, awaitCompletion(job).getStatus());
+        var content = Files.readString(api.getReportContent(job.getId()).toPath());
+        assertTrue(content.contains(room.getName()));
+        assertTrue(content.contains(DEFAULT_ALLOCATION_SUBJECT));
+    }
+
+    @Test
+    void testCreateOccupancyReportValidationError() {
+        assertThrows(HttpClientErrorException.UnprocessableEntity.class, () ->
+                api.createOccupancyReport(newCreateOccupancyReportDTO().endAt(null)));
+    }
+
+    @Test
+    void testGetReportJobDoesNotExist() {
+        assertThrows(HttpClientErrorException.NotFound.class, () -> api.getReportJob("unknown"));
+    }
+
+    private ReportJobDTO awaitCompletion(ReportJobDTO job) throws InterruptedException {
+        for (int i = 0; i < MAX_POLLS; i++) {
+            var current = api.getReportJob(job.getId());
+
+            if (current.getStatus() == ReportJobDTO.StatusEnum.DONE || current.getStatus() == ReportJobDTO.StatusEnum.FAILED) {
+                return current;
+            }
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+        throw new AssertionError("Report job did not complete: " + job.getId());
+    }
+
+    private static CreateOccupancyReportDTO newCreateOccupancyReportDTO() {
+        return new CreateOccupancyReportDTO()
+                .startAt(DEFAULT_ALLOCATION_START_AT.minusDays(1))
+                .endAt(DEFAULT_ALLOCATION_START_AT.plusDays(1))
+                .format(ReportFormatDTO.CSV);
+    }
+}
@@ -1,15 +1,28 @@
 package br.com.sw2you.realmeet.integration;
 
+import br.com.sw2you.realmeet.api.facade.AllocationApi;
 import br.com.sw2you.realmeet.api.facade.RoomApi;
 import br.com.sw2you.realmeet.api.model.CreateRoomDTO;
 import br.com.sw2you.realmeet.api.model.UpdateRoomDTO;
 import br.com.sw2you.realmeet.core.BaseIntegrationTest;
+import br.com.sw2you.realmeet.domain.entity.Room;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
 import br.com.sw2you.realmeet.domain.repository.RoomRepository;
+import org.hibernate.Cache;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 
+import java.util.UUID;
+
+import static br.com.sw2you.realmeet.util.ETagUtils.toETag;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_END_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
 import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_ID;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationBuilder;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newCreateAllocationDTO;
 import static br.com.sw2you.realmeet.utils.TestDataCreator.newCreateRoomDTO;
 import static br.com.sw2you.realmeet.utils.TestDataCreator.newRoomBuilder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -17,18 +30,32 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
 
 class RoomApiIntegrationTest extends BaseIntegrationTest {
 
     @Autowired
     private RoomApi api;
 
+    @Autowired
+    private AllocationApi allocationApi;
+
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private AllocationRepository allocationRepository;
+
+    @Autowired
+    private Cache secondLevelCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Override
     protected void setupEach() throws Exception {
         setLocalHostBasePath(api.getApiClient(), "/v1");
+        setLocalHostBasePath(allocationApi.getApiClient(), "/v1");
     }
 
     @Test
@@ -39,7 +66,7 @@ class RoomApiIntegrationTest extends BaseIntegrationTest {
         assertNotNull(room.getId());
         assertTrue(room.getActive());
 
-        var dto = api.getRoom(room.getId());
+        var dto = api.getRoom(room.getId(), null);
 
         assertEquals(room.getId(), dto.getId());
         assertEquals(room.getName(), dto.getName());
@@ -53,18 +80,18 @@ class RoomApiIntegrationTest extends BaseIntegrationTest {
 
         assertFalse(room.getActive());
 
-        assertThrows(HttpClientErrorException.NotFound.class, () -> api.getRoom(room.getId()));
+        assertThrows(HttpClientErrorException.NotFound.class, () -> api.getRoom(room.getId(), null));
     }
 
     @Test
     void testGetRoomDoesNotExist() {
-        assertThrows(HttpClientErrorException.NotFound.class, () -> api.getRoom(DEFAULT_ROOM_ID));
+        assertThrows(HttpClientErrorException.NotFound.class, () -> api.getRoom(DEFAULT_ROOM_ID, null));
     }
 
     @Test
     void testCreateRoomSuccess() {
         var createRoomDTO = newCreateRoomDTO();
-        var roomDTO = api.createRoom(createRoomDTO);
+        var roomDTO = api.createRoom(createRoomDTO, null);
 
         assertEquals(createRoomDTO.getName(), roomDTO.getName());
         assertEquals(createRoomDTO.getSeats(), roomDTO.getSeats());
@@ -77,20 +104,20 @@ class RoomApiIntegrationTest extends BaseIntegrationTest {
 
     @Test
     void testCreateRoomValidationError() {
-        assertThrows(HttpClientErrorException.UnprocessableEntity.class, () -> api.createRoom((CreateRoomDTO) newCreateRoomDTO().name(null)));
+        assertThrows(HttpClientErrorException.UnprocessableEntity.class, () -> api.createRoom((CreateRoomDTO) newCreateRoomDTO().name(null), null));
     }
 
     @Test
     void testDeleteRoomSuccess() {
         var roomId = roomRepository.saveAndFlush(newRoomBuilder().build()).getId();
-        api.deleteRoom(roomId);
+        api.deleteRoom(roomId, null);
 
         assertFalse(roomRepository.findById(roomId).orElseThrow().getActive());
     }
 
     @Test
     void testDeleteRoomDoesNotExist() {
-        assertThrows(HttpClientErrorException.NotFound.class, () -> api.deleteRoom(1L));
+        assertThrows(HttpClientErrorException.NotFound.class, () -> api.deleteRoom(1L, null));
     }
 
     @Test
@@ -98,23 +125,216 @@ class RoomApiIntegrationTest extends BaseIntegrationTest {
         var room = roomRepository.saveAndFlush(newRoomBuilder().build());
         var updateRoomDTO = new UpdateRoomDTO().name(room.getName() + "_").seats(room.getSeats() + 1);
 
-        api.updateRoom(room.getId(), updateRoomDTO);
+        api.updateRoom(room.getId(), updateRoomDTO, null);
 
         var updatedRoom = roomRepository.findById(room.getId()).orElseThrow();
         assertEquals(updateRoomDTO.getName(), updatedRoom.getName());
         assertEquals(updatedRoom.getSeats(), updatedRoom.getSeats());
     }
 
+    @Test
+    void testUpdateRoomReplacesCachedRoom() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        roomRepository.findById(room.getId());
+
+        api.updateRoom(room.getId(), new UpdateRoomDTO().name(room.getName() + "_").seats(room.getSeats()), null);
+
+        assertEquals(room.getName() + "_", roomRepository.findById(room.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void testUpdateRoomKeepsOtherRoomsCached() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        var otherRoom = roomRepository.saveAndFlush(newRoomBuilder().name("Room B").build());
+        roomRepository.findById(room.getId());
+        roomRepository.findById(otherRoom.getId());
+
+        api.updateRoom(room.getId(), new UpdateRoomDTO().name(room.getName() + "_").seats(room.getSeats()), null);
+
+        assertTrue(secondLevelCache.containsEntity(Room.class, otherRoom.getId()));
+    }
+
+    @Test
+    void testDeleteRoomReplacesCachedRoom() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        roomRepository.findById(room.getId());
+
+        api.deleteRoom(room.getId(), null);
+
+        assertFalse(roomRepository.findById(room.getId()).orElseThrow().getActive());
+        assertThrows(HttpClientErrorException.NotFound.class, () -> api.getRoom(room.getId(), null));
+    }
+
+    @Test
+    void testGetRoomWhenCachedRoomChangedElsewhere() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        api.getRoom(room.getId(), null);
+
+        // As another instance would, leaving this instance's cache untouched
+        jdbcTemplate.update("UPDATE room SET name = ?, version = version + 1 WHERE id = ?", "Room B", room.getId());
+
+        assertEquals("Room B", api.getRoom(room.getId(), toETag(room.getVersion())).getName());
+    }
+
+    @Test
+    void testGetRoomWhenCachedRoomDeactivatedElsewhere() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        api.getRoom(room.getId(), null);
+
+        jdbcTemplate.update("UPDATE room SET active = false, version = version + 1 WHERE id = ?", room.getId());
+
+        assertThrows(
+                HttpClientErrorException.NotFound.class,
+                () -> api.getRoom(room.getId(), toETag(room.getVersion()))
+        );
+    }
+
+    @Test
+    void testUpdateRoomInvalidatesCachedRead() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        api.getRoom(room.getId(), null);
+
+        api.updateRoom(room.getId(), new UpdateRoomDTO().name(room.getName() + "_").seats(room.getSeats()), null);
+
+        assertEquals(room.getName() + "_", api.getRoom(room.getId(), null).getName());
+    }
+
+    @Test
+    void testDeleteRoomInvalidatesCachedRead() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        api.getRoom(room.getId(), null);
+
+        api.deleteRoom(room.getId(), null);
+
+        assertThrows(HttpClientErrorException.NotFound.class, () -> api.getRoom(room.getId(), null));
+    }
+
     @Test
     void testUpdateRoomDoesNotExist() {
         assertThrows(HttpClientErrorException.NotFound.class, () ->
-                api.updateRoom(1L, new UpdateRoomDTO().name("Room").seats(10)));
+                api.updateRoom(1L, new UpdateRoomDTO().name("Room").seats(10), null));
     }
 
     @Test
     void testUpdateRoomValidationError() {
         var room = roomRepository.saveAndFlush(newRoomBuilder().build());
         assertThrows(HttpClientErrorException.UnprocessableEntity.class, () ->
-                api.updateRoom(room.getId(), new UpdateRoomDTO().name(null).seats(10)));
+                api.updateRoom(room.getId(), new UpdateRoomDTO().name(null).seats(10), null));
+    }
+
+    @Test
+    void testCreateRoomWhenNameIsDuplicated() {
+        api.createRoom(newCreateRoomDTO(), null);
+
+        assertThrows(HttpClientErrorException.UnprocessableEntity.class, () -> api.createRoom(newCreateRoomDTO(), null));
+    }
+
+    @Test
+    void testCreateRoomWithIdempotencyKeyReplaysResponse() {
+        var idempotencyKey = UUID.randomUUID().toString();
+
+        var roomDTO = api.createRoom(newCreateRoomDTO(), idempotencyKey);
+        var retriedRoomDTO = api.createRoom(newCreateRoomDTO(), idempotencyKey);
+
+        assertEquals(roomDTO, retriedRoomDTO);
+        assertEquals(1, roomRepository.count());
+    }
+
+    @Test
+    void testCreateRoomWithNameOfInactiveRoom() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().active(false).build());
+
+        var roomDTO = api.createRoom(newCreateRoomDTO(), null);
+
+        assertEquals(room.getName(), roomDTO.getName());
+    }
+
+    @Test
+    void testUpdateRoomWhenNameIsDuplicated() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        var otherRoom = roomRepository.saveAndFlush(newRoomBuilder().name("Room B").build());
+
+        assertThrows(HttpClientErrorException.UnprocessableEntity.class, () ->
+                api.updateRoom(otherRoom.getId(), new UpdateRoomDTO().name(room.getName()).seats(10), null));
+    }
+
+    @Test
+    void testGetRoomReturnsETag() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+
+        var response = api.getRoomWithHttpInfo(room.getId(), null);
+
+        assertEquals(toETag(room.getVersion()), response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetRoomWhenETagMatches() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+
+        // The generated client treats any non-2xx status, including 304, as an error
+        var exception = assertThrows(
+                RestClientException.class,
+                () -> api.getRoom(room.getId(), toETag(room.getVersion()))
+        );
+        assertTrue(exception.getMessage().contains("304"));
+    }
+
+    @Test
+    void testUpdateRoomWhenIfMatchIsStale() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        var staleETag = toETag(room.getVersion());
+        api.updateRoom(room.getId(), new UpdateRoomDTO().name(room.getName() + "_").seats(room.getSeats()), null);
+
+        var exception = assertThrows(HttpClientErrorException.class, () ->
+                api.updateRoom(room.getId(), new UpdateRoomDTO().name("Room B").seats(10), staleETag));
+        assertEquals(PRECONDITION_FAILED, exception.getStatusCode());
+        assertEquals(room.getName() + "_", roomRepository.findById(room.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void testDeleteRoomWhenIfMatchIsCurrent() {
+        var room = roomRepository.saveAndFlush(newRoomBuilder().build());
+        var eTag = api.getRoomWithHttpInfo(room.getId(), null).getHeaders().getETag();
+
+        api.deleteRoom(room.getId(), eTag);
+
+        assertFalse(roomRepository.findById(room.getId()).orElseThrow().getActive());
+    }
+
+    @Test
+    void testListAvailableRooms() {
+        var busyRoom = roomRepository.saveAndFlush(newRoomBuilder().build());
+        var freeRoom = roomRepository.saveAndFlush(newRoomBuilder().name("Room B").build());
+        roomRepository.saveAndFlush(newRoomBuilder().name("Room C").seats(1).build());
+        allocationApi.createAllocation(newCreateAllocationDTO().roomId(busyRoom.getId()), null);
+
+        var rooms = api.listAvailableRooms(
+                DEFAULT_ALLOCATION_START_AT.plusMinutes(30),
+                DEFAULT_ALLOCATION_END_AT.plusMinutes(30),
+                2
+        );
+
+        assertEquals(1, rooms.size());
+        assertEquals(freeRoom.getId(), rooms.get(0).getId());
+    }
+
+    @Test
+    void testListAvailableRoomsWhenBookedElsewhere() {
+        var bookedRoom = roomRepository.saveAndFlush(newRoomBuilder().build());
+        var freeRoom = roomRepository.saveAndFlush(newRoomBuilder().name("Room B").build());
+
+        // Straight to the database, as another instance would, so this instance's index never sees it
+        allocationRepository.saveAndFlush(newAllocationBuilder(bookedRoom).build());
+
+        var rooms = api.listAvailableRooms(DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT, null);
+
+        assertEquals(1, rooms.size());
+        assertEquals(freeRoom.getId(), rooms.get(0).getId());
+    }
+
+    @Test
+    void testListAvailableRoomsValidationError() {
+        assertThrows(HttpClientErrorException.UnprocessableEntity.class, () ->
+                api.listAvailableRooms(DEFAULT_ALLOCATION_END_AT, DEFAULT_ALLOCATION_START_AT, null));
     }
 }
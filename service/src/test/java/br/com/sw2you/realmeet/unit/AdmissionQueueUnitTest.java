@@ -0,0 +1,194 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.admission.AdmissionQueue;
+import br.com.sw2you.realmeet.admission.EndpointClass;
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static br.com.sw2you.realmeet.admission.AdmissionQueue.EXECUTION_METRIC;
+import static br.com.sw2you.realmeet.admission.AdmissionQueue.QUEUE_WAIT_METRIC;
+import static br.com.sw2you.realmeet.admission.AdmissionQueue.REJECTED_METRIC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionQueueUnitTest extends BaseUnitTest {
+    private static final String OPERATION = "getRoom";
+    private static final int MAX_QUEUED = 2;
+    private static final long TARGET_MILLIS = 50;
+    private static final long INTERVAL_MILLIS = 500;
+
+    private AdmissionQueue victim;
+    private Deque<Runnable> pending;
+    private AtomicLong clock;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setupEach() {
+        pending = new ArrayDeque<>();
+        clock = new AtomicLong();
+        meterRegistry = new SimpleMeterRegistry();
+        victim = new AdmissionQueue(
+                EndpointClass.QUERY,
+                pending::add,
+                MAX_QUEUED,
+                TARGET_MILLIS,
+                INTERVAL_MILLIS,
+                clock::get,
+                meterRegistry
+        );
+    }
+
+    @Test
+    void testSupplyAsyncRunsTask() throws Exception {
+        var future = victim.supplyAsync(OPERATION, () -> "ok");
+
+        assertEquals(1, victim.getQueued());
+        runNextAfter(10);
+        assertEquals("ok", future.get());
+        assertEquals(0, victim.getQueued());
+    }
+
+    @Test
+    void testSupplyAsyncWhenTaskFails() {
+        var future = victim.supplyAsync(
+                OPERATION,
+                () -> {
+                    throw new IllegalStateException();
+                }
+        );
+
+        runNextAfter(10);
+        var exception = assertThrows(ExecutionException.class, future::get);
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    void testSupplyAsyncWhenQueueIsFull() {
+        victim.supplyAsync(OPERATION, () -> "first");
+        victim.supplyAsync(OPERATION, () -> "second");
+
+        var rejected = victim.supplyAsync(OPERATION, () -> "third");
+
+        assertOverloaded(rejected, 1);
+        assertEquals(MAX_QUEUED, victim.getQueued());
+        assertEquals(MAX_QUEUED, pending.size());
+    }
+
+    @Test
+    void testSupplyAsyncWhenExecutorRejects() {
+        victim = new AdmissionQueue(
+                EndpointClass.QUERY,
+                task -> {
+                    throw new RejectedExecutionException();
+                },
+                MAX_QUEUED,
+                TARGET_MILLIS,
+                INTERVAL_MILLIS,
+                clock::get,
+                meterRegistry
+        );
+
+        assertOverloaded(victim.supplyAsync(OPERATION, () -> "ok"), 1);
+        assertEquals(0, victim.getQueued());
+    }
+
+    @Test
+    void testSupplyAsyncRunsTasksAboveTargetForLessThanAnInterval() throws Exception {
+        var first = victim.supplyAsync(OPERATION, () -> "first");
+        var second = victim.supplyAsync(OPERATION, () -> "second");
+
+        runNextAfter(100);
+        runNextAfter(300);
+
+        assertEquals("first", first.get());
+        assertEquals("second", second.get());
+    }
+
+    @Test
+    void testSupplyAsyncShedsWhenQueueStandsForAnInterval() throws Exception {
+        var first = victim.supplyAsync(OPERATION, () -> "first");
+        var second = victim.supplyAsync(OPERATION, () -> "second");
+
+        runNextAfter(100);
+        runNextAfter(1400);
+
+        assertEquals("first", first.get());
+        assertOverloaded(second, 2);
+    }
+
+    @Test
+    void testSupplyAsyncRejectsWhileQueueStands() {
+        victim.supplyAsync(OPERATION, () -> "first");
+        victim.supplyAsync(OPERATION, () -> "second");
+        runNextAfter(100);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(INTERVAL_MILLIS));
+
+        assertOverloaded(victim.supplyAsync(OPERATION, () -> "third"), 1);
+    }
+
+    @Test
+    void testSupplyAsyncRecoversOnceQueueDrains() throws Exception {
+        victim.supplyAsync(OPERATION, () -> "first");
+        var second = victim.supplyAsync(OPERATION, () -> "second");
+        runNextAfter(100);
+        runNextAfter(1000);
+        assertOverloaded(second, 2);
+
+        var third = victim.supplyAsync(OPERATION, () -> "third");
+        runNextAfter(10);
+        var fourth = victim.supplyAsync(OPERATION, () -> "fourth");
+        runNextAfter(10);
+
+        assertEquals("third", third.get());
+        assertEquals("fourth", fourth.get());
+    }
+
+    @Test
+    void testSupplyAsyncRecordsQueueWaitAndExecution() {
+        victim.supplyAsync(OPERATION, () -> "ok");
+        runNextAfter(30);
+
+        var queueWait = meterRegistry
+                .get(QUEUE_WAIT_METRIC)
+                .tag("operation", OPERATION)
+                .tag("endpointClass", "query")
+                .timer();
+        assertEquals(1, queueWait.count());
+        assertEquals(30, queueWait.totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1, meterRegistry.get(EXECUTION_METRIC).tag("operation", OPERATION).timer().count());
+    }
+
+    @Test
+    void testSupplyAsyncCountsRejectionsByReason() {
+        victim.supplyAsync(OPERATION, () -> "first");
+        victim.supplyAsync(OPERATION, () -> "second");
+        victim.supplyAsync(OPERATION, () -> "third");
+
+        assertEquals(1, meterRegistry.get(REJECTED_METRIC).tag("reason", "queue_full").counter().count());
+        assertEquals(0, meterRegistry.get(REJECTED_METRIC).tag("reason", "shed").counter().count());
+    }
+
+    private void runNextAfter(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        pending.poll().run();
+    }
+
+    private void assertOverloaded(CompletableFuture<?> future, long retryAfterSeconds) {
+        assertTrue(future.isCompletedExceptionally());
+        var exception = assertThrows(ExecutionException.class, future::get);
+        assertTrue(exception.getCause() instanceof ServiceOverloadedException);
+        assertEquals(retryAfterSeconds, ((ServiceOverloadedException) exception.getCause()).getRetryAfterSeconds());
+    }
+}
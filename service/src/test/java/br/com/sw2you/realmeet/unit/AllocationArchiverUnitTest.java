@@ -0,0 +1,103 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.archive.AllocationArchiver;
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.ArchivedAllocationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static br.com.sw2you.realmeet.archive.AllocationArchiver.ARCHIVED_METRIC;
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AllocationArchiverUnitTest extends BaseUnitTest {
+    private static final long AFTER_DAYS = 90;
+    private static final int CHUNK_SIZE = 2;
+    private static final int MAX_CHUNKS_PER_RUN = 3;
+
+    private AllocationArchiver victim;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private AllocationRepository allocationRepository;
+
+    @Mock
+    private ArchivedAllocationRepository archivedAllocationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setupEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        victim = new AllocationArchiver(
+                allocationRepository,
+                archivedAllocationRepository,
+                transactionManager,
+                meterRegistry,
+                AFTER_DAYS,
+                CHUNK_SIZE,
+                0,
+                MAX_CHUNKS_PER_RUN
+        );
+    }
+
+    @Test
+    void testArchiveMovesChunksUntilDrained() {
+        given(allocationRepository.findIdsEndedBefore(any(), eq(PageRequest.of(0, CHUNK_SIZE))))
+                .willReturn(List.of(1L, 2L), List.of(3L));
+        given(allocationRepository.deleteAllByIdIn(List.of(1L, 2L))).willReturn(2);
+        given(allocationRepository.deleteAllByIdIn(List.of(3L))).willReturn(1);
+        var startedAt = now();
+
+        victim.archive();
+
+        var endedBefore = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(allocationRepository, times(2)).findIdsEndedBefore(endedBefore.capture(), any());
+        assertFalse(endedBefore.getValue().isAfter(now().minusDays(AFTER_DAYS)));
+        assertFalse(endedBefore.getValue().isBefore(startedAt.minusDays(AFTER_DAYS)));
+        verify(archivedAllocationRepository).copyFromAllocations(eq(List.of(1L, 2L)), any());
+        verify(archivedAllocationRepository).copyFromAllocations(eq(List.of(3L)), any());
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(3, meterRegistry.counter(ARCHIVED_METRIC).count());
+    }
+
+    @Test
+    void testArchiveStopsAtMaxChunksPerRun() {
+        given(allocationRepository.findIdsEndedBefore(any(), any())).willReturn(List.of(1L, 2L));
+        given(allocationRepository.deleteAllByIdIn(List.of(1L, 2L))).willReturn(CHUNK_SIZE);
+
+        victim.archive();
+
+        verify(allocationRepository, times(MAX_CHUNKS_PER_RUN)).deleteAllByIdIn(any());
+        assertEquals(MAX_CHUNKS_PER_RUN * CHUNK_SIZE, meterRegistry.counter(ARCHIVED_METRIC).count());
+    }
+
+    @Test
+    void testArchiveChunkWithNothingToMove() {
+        given(allocationRepository.findIdsEndedBefore(any(), any())).willReturn(List.of());
+
+        assertEquals(0, victim.archiveChunk(now()));
+
+        verify(archivedAllocationRepository, never()).copyFromAllocations(any(), any());
+        verify(allocationRepository, never()).deleteAllByIdIn(any());
+        assertEquals(0, meterRegistry.counter(ARCHIVED_METRIC).count());
+    }
+}
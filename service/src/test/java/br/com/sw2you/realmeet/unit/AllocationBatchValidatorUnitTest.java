@@ -0,0 +1,161 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.index.AllocationIndex;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.AllocationSeriesRepository;
+import br.com.sw2you.realmeet.exception.InvalidRequestException;
+import br.com.sw2you.realmeet.validator.AllocationValidator;
+import br.com.sw2you.realmeet.validator.ValidationError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_END_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_ID;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationBuilder;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newCreateAllocationDTO;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newRoomBuilder;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_BATCH;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_ID;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_START_AT;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_SUBJECT;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.BELOW_MIN_VALUE;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.EXCEEDS_MAX_VALUE;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.MISSING;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.OVERLAPS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AllocationBatchValidatorUnitTest extends BaseUnitTest {
+
+    private static final int MAX_BATCH_SIZE = 10;
+
+    private AllocationValidator victim;
+
+    @Mock
+    private AllocationRepository allocationRepository;
+
+    @Mock
+    private AllocationSeriesRepository allocationSeriesRepository;
+
+    @Mock
+    private AllocationIndex allocationIndex;
+
+    @BeforeEach
+    void setupEach() {
+        victim = new AllocationValidator(allocationRepository, allocationSeriesRepository, allocationIndex);
+    }
+
+    @Test
+    void testValidateWhenBatchIsValid() {
+        victim.validate(
+                List.of(
+                        newCreateAllocationDTO(),
+                        newCreateAllocationDTO().startAt(DEFAULT_ALLOCATION_END_AT).endAt(DEFAULT_ALLOCATION_END_AT.plusHours(1)),
+                        newCreateAllocationDTO().roomId(DEFAULT_ROOM_ID + 1)
+                ),
+                MAX_BATCH_SIZE
+        );
+
+        verify(allocationRepository, times(2)).findOverlappingForUpdate(any(), any(), any());
+    }
+
+    @Test
+    void testValidateWhenBatchIsEmpty() {
+        var exception = assertThrows(InvalidRequestException.class, () -> victim.validate(List.of(), MAX_BATCH_SIZE));
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(new ValidationError(ALLOCATION_BATCH, ALLOCATION_BATCH + BELOW_MIN_VALUE), exception.getValidationErrors().getError(0));
+    }
+
+    @Test
+    void testValidateWhenBatchExceedsMaxSize() {
+        var exception = assertThrows(
+                InvalidRequestException.class,
+                () -> victim.validate(List.of(newCreateAllocationDTO(), newCreateAllocationDTO()), 1)
+        );
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(new ValidationError(ALLOCATION_BATCH, ALLOCATION_BATCH + EXCEEDS_MAX_VALUE), exception.getValidationErrors().getError(0));
+    }
+
+    @Test
+    void testValidateWhenItemIsInvalid() {
+        var exception = assertThrows(
+                InvalidRequestException.class,
+                () -> victim.validate(List.of(newCreateAllocationDTO(), newCreateAllocationDTO().roomId(2L).subject(null)), MAX_BATCH_SIZE)
+        );
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(new ValidationError("[1]." + ALLOCATION_SUBJECT, ALLOCATION_SUBJECT + MISSING), exception.getValidationErrors().getError(0));
+    }
+
+    @Test
+    void testValidateWhenItemsOverlapEachOther() {
+        var exception = assertThrows(
+                InvalidRequestException.class,
+                () -> victim.validate(
+                        List.of(
+                                newCreateAllocationDTO().startAt(DEFAULT_ALLOCATION_START_AT.plusMinutes(30)).endAt(DEFAULT_ALLOCATION_END_AT.plusMinutes(30)),
+                                newCreateAllocationDTO()
+                        ),
+                        MAX_BATCH_SIZE
+                )
+        );
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(new ValidationError("[0]." + ALLOCATION_START_AT, ALLOCATION_START_AT + OVERLAPS), exception.getValidationErrors().getError(0));
+    }
+
+    @Test
+    void testValidateWhenItemOverlapsAllocationOnDatabase() {
+        var room = newRoomBuilder().id(DEFAULT_ROOM_ID).build();
+        given(allocationRepository.findOverlappingForUpdate(eq(DEFAULT_ROOM_ID), any(), any()))
+                .willReturn(List.of(newAllocationBuilder(room).id(1L).build()));
+
+        var exception = assertThrows(
+                InvalidRequestException.class,
+                () -> victim.validate(
+                        List.of(newCreateAllocationDTO().startAt(DEFAULT_ALLOCATION_END_AT).endAt(DEFAULT_ALLOCATION_END_AT.plusHours(1)), newCreateAllocationDTO()),
+                        MAX_BATCH_SIZE
+                )
+        );
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(new ValidationError("[1]." + ALLOCATION_START_AT, ALLOCATION_START_AT + OVERLAPS), exception.getValidationErrors().getError(0));
+    }
+
+    @Test
+    void testValidateIdsWhenValid() {
+        victim.validateIds(List.of(1L, 2L), MAX_BATCH_SIZE);
+    }
+
+    @Test
+    void testValidateIdsWhenEmpty() {
+        var exception = assertThrows(InvalidRequestException.class, () -> victim.validateIds(List.of(), MAX_BATCH_SIZE));
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(new ValidationError(ALLOCATION_BATCH, ALLOCATION_BATCH + BELOW_MIN_VALUE), exception.getValidationErrors().getError(0));
+    }
+
+    @Test
+    void testValidateIdsWhenIdIsMissing() {
+        var exception = assertThrows(
+                InvalidRequestException.class,
+                () -> victim.validateIds(Arrays.asList(1L, null), MAX_BATCH_SIZE)
+        );
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(new ValidationError("[1]." + ALLOCATION_ID, ALLOCATION_ID + MISSING), exception.getValidationErrors().getError(0));
+    }
+}
@@ -1,7 +1,10 @@
 package br.com.sw2you.realmeet.unit;
 
 import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.entity.Allocation;
+import br.com.sw2you.realmeet.domain.index.AllocationIndex;
 import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.AllocationSeriesRepository;
 import br.com.sw2you.realmeet.exception.InvalidRequestException;
 import br.com.sw2you.realmeet.validator.AllocationValidator;
 import br.com.sw2you.realmeet.validator.ValidationError;
@@ -10,8 +13,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
+import java.util.List;
+
 import static br.com.sw2you.realmeet.util.DateUtils.now;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_END_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_ID;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_ID;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationBuilder;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationSeriesBuilder;
 import static br.com.sw2you.realmeet.utils.TestDataCreator.newCreateAllocationDTO;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newRoomBuilder;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_EMPLOYEE_EMAIL;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_EMPLOYEE_EMAIL_MAX_LENGTH;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_EMPLOYEE_NAME;
@@ -26,8 +38,12 @@ import static br.com.sw2you.realmeet.validator.ValidatorConstants.EXCEEDS_MAX_LE
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.INCONSISTENT;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.IN_THE_PAST;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.MISSING;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.OVERLAPS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 
 class AllocationCreateValidatorUnitTest extends BaseUnitTest {
 
@@ -36,9 +52,15 @@ class AllocationCreateValidatorUnitTest extends BaseUnitTest {
     @Mock
     private AllocationRepository allocationRepository;
 
+    @Mock
+    private AllocationSeriesRepository allocationSeriesRepository;
+
+    @Mock
+    private AllocationIndex allocationIndex;
+
     @BeforeEach
     void setupEach() {
-        victim = new AllocationValidator(allocationRepository);
+        victim = new AllocationValidator(allocationRepository, allocationSeriesRepository, allocationIndex);
     }
 
     @Test
@@ -168,4 +190,35 @@ class AllocationCreateValidatorUnitTest extends BaseUnitTest {
         assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
         assertEquals(new ValidationError(ALLOCATION_END_AT, ALLOCATION_END_AT + EXCEEDS_DURATION), exception.getValidationErrors().getError(0));
     }
+
+    @Test
+    void testValidateWhenTimeOverlapsAllocationOnDatabase() {
+        var room = newRoomBuilder().id(DEFAULT_ROOM_ID).build();
+        given(allocationRepository.findOverlappingForUpdate(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT))
+                .willReturn(List.of(newAllocationBuilder(room).id(DEFAULT_ALLOCATION_ID).build()));
+
+        var exception = assertThrows(
+                InvalidRequestException.class,
+                () -> victim.validate(newCreateAllocationDTO())
+        );
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(new ValidationError(ALLOCATION_START_AT, ALLOCATION_START_AT + OVERLAPS), exception.getValidationErrors().getError(0));
+        verify(allocationIndex).put(any(Allocation.class));
+    }
+
+    @Test
+    void testValidateWhenTimeOverlapsSeriesOccurrence() {
+        var startAt = DEFAULT_ALLOCATION_START_AT.minusWeeks(1).plusMinutes(30);
+        given(allocationSeriesRepository.findOverlappingForUpdate(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT))
+                .willReturn(List.of(newAllocationSeriesBuilder().startAt(startAt).endAt(startAt.plusHours(1)).build()));
+
+        var exception = assertThrows(
+                InvalidRequestException.class,
+                () -> victim.validate(newCreateAllocationDTO())
+        );
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(new ValidationError(ALLOCATION_START_AT, ALLOCATION_START_AT + OVERLAPS), exception.getValidationErrors().getError(0));
+    }
 }
@@ -0,0 +1,56 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.api.model.AllocationDTO;
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.service.AllocationExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static br.com.sw2you.realmeet.utils.MapperUtils.allocationMapper;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_END_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_ID;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationView;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.given;
+
+class AllocationExportServiceUnitTest extends BaseUnitTest {
+
+    private AllocationExportService victim;
+
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private AllocationRepository allocationRepository;
+
+    @BeforeEach
+    void setupEach() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        victim = new AllocationExportService(allocationRepository, allocationMapper(), objectMapper);
+    }
+
+    @Test
+    void testExportAllocationsWritesOneLinePerAllocation() throws Exception {
+        given(allocationRepository.streamAllByStartAtBetween(DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT))
+                .willReturn(Stream.of(
+                        newAllocationView(1L, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT),
+                        newAllocationView(2L, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT)
+                ));
+
+        var outputStream = new ByteArrayOutputStream();
+        victim.exportAllocations(DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT, outputStream);
+
+        var lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readValue(lines[0], AllocationDTO.class).getId());
+        assertEquals(DEFAULT_ROOM_ID, objectMapper.readValue(lines[1], AllocationDTO.class).getRoomId());
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.repository.AllocationHistoryRepositoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.stream.Stream;
+
+import static br.com.sw2you.realmeet.domain.entity.Allocation.ALLOCATION_VIEW_MAPPING;
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+class AllocationHistoryRepositoryUnitTest extends BaseUnitTest {
+    private static final long AFTER_DAYS = 90;
+
+    private AllocationHistoryRepositoryImpl victim;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Query query;
+
+    @BeforeEach
+    void setupEach() {
+        victim = new AllocationHistoryRepositoryImpl(entityManager, AFTER_DAYS);
+        given(entityManager.createNativeQuery(anyString(), eq(ALLOCATION_VIEW_MAPPING))).willReturn(query);
+        given(query.setParameter(anyString(), any())).willReturn(query);
+        given(query.setHint(anyString(), any())).willReturn(query);
+        given(query.getResultStream()).willReturn(Stream.empty());
+    }
+
+    @Test
+    void testStreamRecentWindowReadsAllocationTableOnly() {
+        victim.streamAllByStartAtBetween(now().minusDays(AFTER_DAYS - 1), now());
+
+        var sql = capturedSql();
+        assertFalse(sql.contains("allocation_archive"));
+        assertTrue(sql.endsWith("ORDER BY start_at, id"));
+    }
+
+    @Test
+    void testStreamOldWindowAddsArchive() {
+        victim.streamAllByStartAtBetweenOrderByRoom(now().minusDays(AFTER_DAYS + 30), now().minusDays(AFTER_DAYS));
+
+        var sql = capturedSql();
+        assertTrue(sql.contains(" UNION ALL ") && sql.contains("FROM allocation_archive"));
+        assertTrue(sql.endsWith("ORDER BY room_id, start_at, id"));
+    }
+
+    private String capturedSql() {
+        var sql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager).createNativeQuery(sql.capture(), eq(ALLOCATION_VIEW_MAPPING));
+        return sql.getValue();
+    }
+}
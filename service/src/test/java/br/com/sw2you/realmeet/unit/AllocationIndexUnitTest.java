@@ -0,0 +1,145 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.index.AllocationIndex;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_END_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_ID;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_ID;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationBuilder;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newRoomBuilder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+class AllocationIndexUnitTest extends BaseUnitTest {
+    private static final int SLOT_MINUTES = 15;
+    private static final long OTHER_ROOM_ID = DEFAULT_ROOM_ID + 1;
+    private static final OffsetDateTime ALIGNED_START_AT = DEFAULT_ALLOCATION_START_AT.truncatedTo(ChronoUnit.HOURS);
+
+    private AllocationIndex victim;
+
+    @Mock
+    private AllocationRepository allocationRepository;
+
+    @BeforeEach
+    void setupEach() {
+        victim = new AllocationIndex(allocationRepository, SLOT_MINUTES);
+        victim.put(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_ID, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT);
+    }
+
+    @Test
+    void testIsAvailableWhenIntervalIntersects() {
+        assertFalse(
+                victim.isAvailable(
+                        DEFAULT_ROOM_ID,
+                        DEFAULT_ALLOCATION_START_AT.minusMinutes(30),
+                        DEFAULT_ALLOCATION_START_AT.plusMinutes(30)
+                )
+        );
+        assertFalse(
+                victim.isAvailable(
+                        DEFAULT_ROOM_ID,
+                        DEFAULT_ALLOCATION_START_AT.plusMinutes(10),
+                        DEFAULT_ALLOCATION_END_AT.minusMinutes(10)
+                )
+        );
+    }
+
+    @Test
+    void testIsAvailableWhenIntervalIsAdjacent() {
+        assertTrue(victim.isAvailable(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_END_AT, DEFAULT_ALLOCATION_END_AT.plusHours(1)));
+        assertTrue(victim.isAvailable(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_START_AT.minusHours(1), DEFAULT_ALLOCATION_START_AT));
+    }
+
+    @Test
+    void testRemove() {
+        victim.remove(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_ID);
+
+        assertTrue(victim.isAvailable(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT));
+        assertEquals(0, victim.size());
+    }
+
+    @Test
+    void testRemoveWithoutRoom() {
+        victim.put(DEFAULT_ROOM_ID + 1, DEFAULT_ALLOCATION_ID + 1, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT);
+
+        assertEquals(Optional.of(DEFAULT_ROOM_ID), victim.remove(DEFAULT_ALLOCATION_ID));
+        assertEquals(Optional.empty(), victim.remove(DEFAULT_ALLOCATION_ID));
+
+        assertTrue(victim.isAvailable(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT));
+        assertEquals(1, victim.size());
+    }
+
+    @Test
+    void testPutReplacesPreviousInterval() {
+        victim.put(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_ID, DEFAULT_ALLOCATION_END_AT, DEFAULT_ALLOCATION_END_AT.plusHours(1));
+
+        assertEquals(1, victim.size());
+        assertTrue(victim.isAvailable(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT));
+    }
+
+    @Test
+    void testPastIntervalsAreEvicted() {
+        victim.put(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_ID + 1, now().minusHours(2), now().minusHours(1));
+
+        assertEquals(1, victim.size());
+    }
+
+    @Test
+    void testReload() {
+        var room = newRoomBuilder().id(DEFAULT_ROOM_ID).build();
+        given(allocationRepository.findAllByEndAtAfter(any()))
+                .willReturn(List.of(newAllocationBuilder(room).id(DEFAULT_ALLOCATION_ID + 1).build()));
+
+        victim.reload();
+
+        assertEquals(1, victim.size());
+        assertFalse(victim.isAvailable(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT));
+    }
+
+    @Test
+    void testIsAvailable() {
+        victim.put(OTHER_ROOM_ID, DEFAULT_ALLOCATION_ID + 1, ALIGNED_START_AT, ALIGNED_START_AT.plusHours(1));
+
+        assertTrue(victim.isAvailable(OTHER_ROOM_ID, ALIGNED_START_AT.plusHours(1), ALIGNED_START_AT.plusHours(2)));
+        assertFalse(victim.isAvailable(OTHER_ROOM_ID, ALIGNED_START_AT.plusMinutes(30), ALIGNED_START_AT.plusMinutes(90)));
+        assertTrue(victim.isAvailable(OTHER_ROOM_ID + 1, ALIGNED_START_AT, ALIGNED_START_AT.plusHours(1)));
+    }
+
+    @Test
+    void testIsAvailableWhenSlotIsSharedAtTheEdge() {
+        victim.put(OTHER_ROOM_ID, DEFAULT_ALLOCATION_ID + 1, ALIGNED_START_AT, ALIGNED_START_AT.plusMinutes(5));
+
+        assertTrue(victim.isAvailable(OTHER_ROOM_ID, ALIGNED_START_AT.plusMinutes(5), ALIGNED_START_AT.plusMinutes(15)));
+        assertFalse(victim.isAvailable(OTHER_ROOM_ID, ALIGNED_START_AT, ALIGNED_START_AT.plusMinutes(15)));
+    }
+
+    @Test
+    void testRemoveKeepsSlotsOfAdjacentIntervals() {
+        victim.put(OTHER_ROOM_ID, DEFAULT_ALLOCATION_ID + 1, ALIGNED_START_AT, ALIGNED_START_AT.plusMinutes(5));
+        victim.put(OTHER_ROOM_ID, DEFAULT_ALLOCATION_ID + 2, ALIGNED_START_AT.plusMinutes(5), ALIGNED_START_AT.plusMinutes(10));
+
+        victim.remove(DEFAULT_ALLOCATION_ID + 1);
+
+        assertFalse(victim.isAvailable(OTHER_ROOM_ID, ALIGNED_START_AT, ALIGNED_START_AT.plusMinutes(15)));
+        assertTrue(victim.isAvailable(OTHER_ROOM_ID, ALIGNED_START_AT, ALIGNED_START_AT.plusMinutes(5)));
+
+        victim.remove(DEFAULT_ALLOCATION_ID + 2);
+
+        assertTrue(victim.isAvailable(OTHER_ROOM_ID, ALIGNED_START_AT, ALIGNED_START_AT.plusMinutes(15)));
+    }
+}
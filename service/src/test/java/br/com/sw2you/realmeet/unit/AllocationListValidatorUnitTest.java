@@ -0,0 +1,81 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.index.AllocationIndex;
+import br.com.sw2you.realmeet.domain.model.AllocationCursor;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.AllocationSeriesRepository;
+import br.com.sw2you.realmeet.exception.InvalidRequestException;
+import br.com.sw2you.realmeet.validator.AllocationValidator;
+import br.com.sw2you.realmeet.validator.ValidationError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_ID;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_CURSOR;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_LIMIT;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.BELOW_MIN_VALUE;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.EXCEEDS_MAX_VALUE;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.INVALID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AllocationListValidatorUnitTest extends BaseUnitTest {
+
+    private static final int MAX_LIMIT = 50;
+
+    private AllocationValidator victim;
+
+    @Mock
+    private AllocationRepository allocationRepository;
+
+    @Mock
+    private AllocationSeriesRepository allocationSeriesRepository;
+
+    @Mock
+    private AllocationIndex allocationIndex;
+
+    @BeforeEach
+    void setupEach() {
+        victim = new AllocationValidator(allocationRepository, allocationSeriesRepository, allocationIndex);
+    }
+
+    @Test
+    void testValidateWhenFiltersAreValid() {
+        victim.validateFilters(null, null, MAX_LIMIT);
+        victim.validateFilters(new AllocationCursor(DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_ID).encode(), MAX_LIMIT, MAX_LIMIT);
+    }
+
+    @Test
+    void testValidateWhenCursorIsInvalid() {
+        var exception = assertThrows(InvalidRequestException.class, () -> victim.validateFilters("not a cursor", null, MAX_LIMIT));
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(new ValidationError(ALLOCATION_CURSOR, ALLOCATION_CURSOR + INVALID), exception.getValidationErrors().getError(0));
+    }
+
+    @Test
+    void testValidateWhenLimitIsBelowMinValue() {
+        var exception = assertThrows(InvalidRequestException.class, () -> victim.validateFilters(null, 0, MAX_LIMIT));
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(new ValidationError(ALLOCATION_LIMIT, ALLOCATION_LIMIT + BELOW_MIN_VALUE), exception.getValidationErrors().getError(0));
+    }
+
+    @Test
+    void testValidateWhenLimitExceedsMaxValue() {
+        var exception = assertThrows(InvalidRequestException.class, () -> victim.validateFilters(null, MAX_LIMIT + 1, MAX_LIMIT));
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(new ValidationError(ALLOCATION_LIMIT, ALLOCATION_LIMIT + EXCEEDS_MAX_VALUE), exception.getValidationErrors().getError(0));
+    }
+
+    @Test
+    void testCursorRoundTrip() {
+        var cursor = new AllocationCursor(DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_ID);
+
+        assertEquals(cursor, AllocationCursor.decode(cursor.encode()));
+    }
+}
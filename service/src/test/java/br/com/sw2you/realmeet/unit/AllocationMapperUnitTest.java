@@ -6,7 +6,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static br.com.sw2you.realmeet.utils.MapperUtils.allocationMapper;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_END_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
 import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationBuilder;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationView;
 import static br.com.sw2you.realmeet.utils.TestDataCreator.newCreateAllocationDTO;
 import static br.com.sw2you.realmeet.utils.TestDataCreator.newRoomBuilder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -49,4 +52,19 @@ class AllocationMapperUnitTest extends BaseUnitTest {
         assertEquals(allocation.getStartAt(), allocationDTO.getStartAt());
         assertEquals(allocation.getEndAt(), allocationDTO.getEndAt());
     }
+
+    @Test
+    void testFromViewToAllocationDTO() {
+        var allocationView = newAllocationView(1L, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT);
+        var allocationDTO = victim.fromViewToAllocationDTO(allocationView);
+
+        assertEquals(allocationView.getId(), allocationDTO.getId());
+        assertEquals(allocationView.getRoomId(), allocationDTO.getRoomId());
+        assertEquals(allocationView.getSubject(), allocationDTO.getSubject());
+        assertEquals(allocationView.getEmployeeName(), allocationDTO.getEmployeeName());
+        assertEquals(allocationView.getEmployeeEmail(), allocationDTO.getEmployeeEmail());
+        assertEquals(allocationView.getStartAt(), allocationDTO.getStartAt());
+        assertEquals(allocationView.getEndAt(), allocationDTO.getEndAt());
+        assertNull(allocationDTO.getSeriesId());
+    }
 }
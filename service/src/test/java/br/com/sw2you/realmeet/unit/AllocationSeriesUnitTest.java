@@ -0,0 +1,89 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.entity.AllocationSeries;
+import br.com.sw2you.realmeet.domain.model.Occurrence;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_END_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_SERIES_ID;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_SERIES_OCCURRENCES;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_ID;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationSeriesBuilder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AllocationSeriesUnitTest extends BaseUnitTest {
+
+    private AllocationSeries victim;
+
+    @BeforeEach
+    void setupEach() {
+        victim = newAllocationSeriesBuilder().build();
+    }
+
+    @Test
+    void testOccurrencesEndingAfter() {
+        var occurrences = victim.occurrencesEndingAfter(null).collect(Collectors.toList());
+
+        assertEquals(DEFAULT_ALLOCATION_SERIES_OCCURRENCES, occurrences.size());
+        assertEquals(DEFAULT_ALLOCATION_SERIES_OCCURRENCES, victim.occurrenceCount());
+        assertEquals(DEFAULT_ALLOCATION_SERIES_ID, occurrences.get(0).getSeriesId());
+        assertEquals(DEFAULT_ROOM_ID, occurrences.get(0).getRoomId());
+        assertEquals(DEFAULT_ALLOCATION_START_AT, occurrences.get(0).getStartAt());
+        assertEquals(DEFAULT_ALLOCATION_END_AT, occurrences.get(0).getEndAt());
+        assertEquals(DEFAULT_ALLOCATION_START_AT.plusWeeks(3), occurrences.get(3).getStartAt());
+        assertEquals(DEFAULT_ALLOCATION_END_AT.plusWeeks(3), occurrences.get(3).getEndAt());
+    }
+
+    @Test
+    void testOccurrencesEndingAfterSkipsEndedOccurrences() {
+        var occurrences = victim
+                .occurrencesEndingAfter(DEFAULT_ALLOCATION_END_AT.plusWeeks(1))
+                .map(Occurrence::getStartAt)
+                .collect(Collectors.toList());
+
+        assertEquals(2, occurrences.size());
+        assertEquals(DEFAULT_ALLOCATION_START_AT.plusWeeks(2), occurrences.get(0));
+    }
+
+    @Test
+    void testOccurrencesBetweenIncludesRunningOccurrence() {
+        var occurrences = victim
+                .occurrencesBetween(DEFAULT_ALLOCATION_START_AT.plusMinutes(30), DEFAULT_ALLOCATION_START_AT.plusWeeks(1))
+                .collect(Collectors.toList());
+
+        assertEquals(1, occurrences.size());
+        assertEquals(DEFAULT_ALLOCATION_START_AT, occurrences.get(0).getStartAt());
+    }
+
+    @Test
+    void testCancel() {
+        var occurrence = victim.occurrenceAt(DEFAULT_ALLOCATION_START_AT.plusWeeks(1)).orElseThrow();
+
+        victim.cancel(occurrence);
+
+        assertFalse(victim.occurrenceAt(DEFAULT_ALLOCATION_START_AT.plusWeeks(1)).isPresent());
+        assertEquals(DEFAULT_ALLOCATION_SERIES_OCCURRENCES - 1, victim.occurrencesEndingAfter(null).count());
+    }
+
+    @Test
+    void testOccurrenceAtWhenDateIsNotAnOccurrence() {
+        assertFalse(victim.occurrenceAt(DEFAULT_ALLOCATION_START_AT.plusDays(1)).isPresent());
+        assertFalse(victim.occurrenceAt(DEFAULT_ALLOCATION_START_AT.plusWeeks(DEFAULT_ALLOCATION_SERIES_OCCURRENCES)).isPresent());
+        assertTrue(victim.occurrenceAt(DEFAULT_ALLOCATION_START_AT).isPresent());
+    }
+
+    @Test
+    void testStopAt() {
+        victim.stopAt(DEFAULT_ALLOCATION_START_AT.plusWeeks(2));
+
+        assertEquals(2, victim.occurrenceCount());
+        assertEquals(2, victim.occurrencesEndingAfter(null).count());
+    }
+}
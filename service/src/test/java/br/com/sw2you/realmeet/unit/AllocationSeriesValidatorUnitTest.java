@@ -0,0 +1,177 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.index.AllocationIndex;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.AllocationSeriesRepository;
+import br.com.sw2you.realmeet.exception.InvalidRequestException;
+import br.com.sw2you.realmeet.validator.AllocationValidator;
+import br.com.sw2you.realmeet.validator.ValidationError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.List;
+
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_SERIES_ID;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_ID;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationBuilder;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationSeriesBuilder;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newCreateAllocationSeriesDTO;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newRoomBuilder;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_RECURRENCE;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_RECURRENCE_INTERVAL;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_RECURRENCE_INTERVAL_MAX_VALUE;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_RECURRENCE_UNTIL;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_START_AT;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.EXCEEDS_MAX_VALUE;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.INCONSISTENT;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.MISSING;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.OVERLAPS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+class AllocationSeriesValidatorUnitTest extends BaseUnitTest {
+    private static final int MAX_OCCURRENCES = 10;
+
+    private AllocationValidator victim;
+
+    @Mock
+    private AllocationRepository allocationRepository;
+
+    @Mock
+    private AllocationSeriesRepository allocationSeriesRepository;
+
+    @Mock
+    private AllocationIndex allocationIndex;
+
+    @BeforeEach
+    void setupEach() {
+        victim = new AllocationValidator(allocationRepository, allocationSeriesRepository, allocationIndex);
+    }
+
+    @Test
+    void testValidateWhenSeriesIsValid() {
+        victim.validate(newCreateAllocationSeriesDTO(), MAX_OCCURRENCES);
+    }
+
+    @Test
+    void testValidateWhenRecurrenceIsMissing() {
+        var exception = assertThrows(
+                InvalidRequestException.class,
+                () -> victim.validate(newCreateAllocationSeriesDTO().recurrence(null), MAX_OCCURRENCES)
+        );
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(
+                new ValidationError(ALLOCATION_RECURRENCE, ALLOCATION_RECURRENCE + MISSING),
+                exception.getValidationErrors().getError(0)
+        );
+    }
+
+    @Test
+    void testValidateWhenIntervalExceedsMaxValue() {
+        var createAllocationSeriesDTO = newCreateAllocationSeriesDTO();
+        createAllocationSeriesDTO.getRecurrence().interval(ALLOCATION_RECURRENCE_INTERVAL_MAX_VALUE + 1);
+
+        var exception = assertThrows(
+                InvalidRequestException.class,
+                () -> victim.validate(createAllocationSeriesDTO, MAX_OCCURRENCES)
+        );
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(
+                new ValidationError(ALLOCATION_RECURRENCE_INTERVAL, ALLOCATION_RECURRENCE_INTERVAL + EXCEEDS_MAX_VALUE),
+                exception.getValidationErrors().getError(0)
+        );
+    }
+
+    @Test
+    void testValidateWhenUntilIsBeforeStart() {
+        var createAllocationSeriesDTO = newCreateAllocationSeriesDTO();
+        createAllocationSeriesDTO.getRecurrence().until(DEFAULT_ALLOCATION_START_AT);
+
+        var exception = assertThrows(
+                InvalidRequestException.class,
+                () -> victim.validate(createAllocationSeriesDTO, MAX_OCCURRENCES)
+        );
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(
+                new ValidationError(ALLOCATION_RECURRENCE_UNTIL, ALLOCATION_RECURRENCE_UNTIL + INCONSISTENT),
+                exception.getValidationErrors().getError(0)
+        );
+    }
+
+    @Test
+    void testValidateWhenOccurrencesExceedMax() {
+        var createAllocationSeriesDTO = newCreateAllocationSeriesDTO();
+        createAllocationSeriesDTO.getRecurrence().until(DEFAULT_ALLOCATION_START_AT.plusWeeks(MAX_OCCURRENCES + 1));
+
+        var exception = assertThrows(
+                InvalidRequestException.class,
+                () -> victim.validate(createAllocationSeriesDTO, MAX_OCCURRENCES)
+        );
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(
+                new ValidationError(ALLOCATION_RECURRENCE_UNTIL, ALLOCATION_RECURRENCE_UNTIL + EXCEEDS_MAX_VALUE),
+                exception.getValidationErrors().getError(0)
+        );
+    }
+
+    @Test
+    void testValidateWhenOccurrenceOverlapsAllocation() {
+        var room = newRoomBuilder().id(DEFAULT_ROOM_ID).build();
+        var startAt = DEFAULT_ALLOCATION_START_AT.plusWeeks(2).plusMinutes(30);
+        given(allocationRepository.findOverlappingForUpdate(eq(DEFAULT_ROOM_ID), any(), any()))
+                .willReturn(List.of(newAllocationBuilder(room).startAt(startAt).endAt(startAt.plusHours(1)).build()));
+
+        var exception = assertThrows(
+                InvalidRequestException.class,
+                () -> victim.validate(newCreateAllocationSeriesDTO(), MAX_OCCURRENCES)
+        );
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(
+                new ValidationError(ALLOCATION_START_AT, ALLOCATION_START_AT + OVERLAPS),
+                exception.getValidationErrors().getError(0)
+        );
+    }
+
+    @Test
+    void testValidateWhenOccurrenceOverlapsAnotherSeries() {
+        var otherSeries = newAllocationSeriesBuilder()
+                .id(DEFAULT_ALLOCATION_SERIES_ID + 1)
+                .startAt(DEFAULT_ALLOCATION_START_AT.plusWeeks(1).minusMinutes(30))
+                .endAt(DEFAULT_ALLOCATION_START_AT.plusWeeks(1).plusMinutes(30))
+                .build();
+        given(allocationSeriesRepository.findOverlappingForUpdate(eq(DEFAULT_ROOM_ID), any(), any()))
+                .willReturn(List.of(otherSeries));
+
+        var exception = assertThrows(
+                InvalidRequestException.class,
+                () -> victim.validate(newCreateAllocationSeriesDTO(), MAX_OCCURRENCES)
+        );
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(
+                new ValidationError(ALLOCATION_START_AT, ALLOCATION_START_AT + OVERLAPS),
+                exception.getValidationErrors().getError(0)
+        );
+    }
+
+    @Test
+    void testValidateWhenOccurrencesFitBetweenAllocations() {
+        var room = newRoomBuilder().id(DEFAULT_ROOM_ID).build();
+        var endAt = DEFAULT_ALLOCATION_START_AT.plusWeeks(1);
+        given(allocationRepository.findOverlappingForUpdate(eq(DEFAULT_ROOM_ID), any(), any()))
+                .willReturn(List.of(newAllocationBuilder(room).startAt(endAt.minusHours(1)).endAt(endAt).build()));
+
+        victim.validate(newCreateAllocationSeriesDTO(), MAX_OCCURRENCES);
+    }
+}
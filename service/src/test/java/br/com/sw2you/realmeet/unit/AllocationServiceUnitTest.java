@@ -0,0 +1,428 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.index.AllocationIndex;
+import br.com.sw2you.realmeet.domain.model.AllocationCursor;
+import br.com.sw2you.realmeet.domain.model.ChangeEvent;
+import br.com.sw2you.realmeet.domain.model.Recurrence;
+import br.com.sw2you.realmeet.domain.model.RecurrenceFrequency;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.AllocationSeriesRepository;
+import br.com.sw2you.realmeet.domain.repository.ArchivedAllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.NotificationRepository;
+import br.com.sw2you.realmeet.domain.repository.RoomRepository;
+import br.com.sw2you.realmeet.event.ChangeEventDispatcher;
+import br.com.sw2you.realmeet.exception.AllocationCannotBeDeletedException;
+import br.com.sw2you.realmeet.exception.AllocationCannotBeUpdatedException;
+import br.com.sw2you.realmeet.exception.AllocationNotFoundException;
+import br.com.sw2you.realmeet.exception.AllocationSeriesNotFoundException;
+import br.com.sw2you.realmeet.service.AllocationService;
+import br.com.sw2you.realmeet.validator.AllocationValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.ALLOCATION_DELETED;
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.SERIES_CREATED;
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.SERIES_DELETED;
+import static br.com.sw2you.realmeet.domain.model.NotificationEvent.DELETED;
+import static br.com.sw2you.realmeet.domain.model.NotificationEvent.UPDATED;
+import static br.com.sw2you.realmeet.utils.MapperUtils.allocationMapper;
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_ID;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_SERIES_ID;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_SERIES_OCCURRENCES;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_ID;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationBuilder;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationSeriesBuilder;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationView;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newArchivedAllocationBuilder;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newCreateAllocationSeriesDTO;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newRoomBuilder;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newUpdateAllocationDTO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AllocationServiceUnitTest extends BaseUnitTest {
+
+    private AllocationService victim;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private AllocationRepository allocationRepository;
+
+    @Mock
+    private ArchivedAllocationRepository archivedAllocationRepository;
+
+    @Mock
+    private AllocationSeriesRepository allocationSeriesRepository;
+
+    @Mock
+    private AllocationValidator allocationValidator;
+
+    @Mock
+    private AllocationIndex allocationIndex;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private ChangeEventDispatcher changeEventDispatcher;
+
+    @BeforeEach
+    void setupEach() {
+        victim = new AllocationService(
+                roomRepository,
+                allocationRepository,
+                archivedAllocationRepository,
+                allocationSeriesRepository,
+                allocationValidator,
+                allocationMapper(),
+                allocationIndex,
+                notificationRepository,
+                changeEventDispatcher,
+                50,
+                1000,
+                500
+        );
+    }
+
+    @Test
+    void testUpdateAllocationSuccess() {
+        var updateAllocationDTO = newUpdateAllocationDTO();
+        when(allocationRepository.findRoomIdById(DEFAULT_ALLOCATION_ID)).thenReturn(Optional.of(DEFAULT_ROOM_ID));
+        when(allocationRepository.updateAllocationIfNotEnded(eq(DEFAULT_ALLOCATION_ID), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        victim.updateAllocation(DEFAULT_ALLOCATION_ID, updateAllocationDTO);
+
+        verify(allocationRepository, never()).existsById(any());
+        verify(notificationRepository).enqueue(eq(UPDATED), eq(Set.of(DEFAULT_ALLOCATION_ID)), any());
+        verify(allocationIndex).put(
+                DEFAULT_ROOM_ID,
+                DEFAULT_ALLOCATION_ID,
+                updateAllocationDTO.getStartAt(),
+                updateAllocationDTO.getEndAt()
+        );
+    }
+
+    @Test
+    void testUpdateAllocationDoesNotExist() {
+        when(allocationRepository.findRoomIdById(DEFAULT_ALLOCATION_ID)).thenReturn(Optional.empty());
+
+        assertThrows(
+                AllocationNotFoundException.class,
+                () -> victim.updateAllocation(DEFAULT_ALLOCATION_ID, newUpdateAllocationDTO())
+        );
+        verify(allocationRepository, never()).updateAllocationIfNotEnded(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testUpdateArchivedAllocation() {
+        when(allocationRepository.findRoomIdById(DEFAULT_ALLOCATION_ID)).thenReturn(Optional.empty());
+        when(archivedAllocationRepository.existsById(DEFAULT_ALLOCATION_ID)).thenReturn(true);
+
+        assertThrows(
+                AllocationCannotBeUpdatedException.class,
+                () -> victim.updateAllocation(DEFAULT_ALLOCATION_ID, newUpdateAllocationDTO())
+        );
+    }
+
+    @Test
+    void testUpdateAllocationInThePast() {
+        when(allocationRepository.findRoomIdById(DEFAULT_ALLOCATION_ID)).thenReturn(Optional.of(DEFAULT_ROOM_ID));
+        when(allocationRepository.updateAllocationIfNotEnded(eq(DEFAULT_ALLOCATION_ID), any(), any(), any(), any()))
+                .thenReturn(0);
+        when(allocationRepository.existsById(DEFAULT_ALLOCATION_ID)).thenReturn(true);
+
+        assertThrows(
+                AllocationCannotBeUpdatedException.class,
+                () -> victim.updateAllocation(DEFAULT_ALLOCATION_ID, newUpdateAllocationDTO())
+        );
+        verify(notificationRepository, never()).enqueue(any(), any(), any());
+        verify(allocationIndex, never()).put(any(), any(), any(), any());
+    }
+
+    @Test
+    void testUpdateAllocationDeletedConcurrently() {
+        when(allocationRepository.findRoomIdById(DEFAULT_ALLOCATION_ID)).thenReturn(Optional.of(DEFAULT_ROOM_ID));
+        when(allocationRepository.updateAllocationIfNotEnded(eq(DEFAULT_ALLOCATION_ID), any(), any(), any(), any()))
+                .thenReturn(0);
+        when(allocationRepository.existsById(DEFAULT_ALLOCATION_ID)).thenReturn(false);
+
+        assertThrows(
+                AllocationNotFoundException.class,
+                () -> victim.updateAllocation(DEFAULT_ALLOCATION_ID, newUpdateAllocationDTO())
+        );
+    }
+
+    @Test
+    void testDeleteAllocationSuccess() {
+        when(allocationRepository.deleteIfNotEnded(eq(DEFAULT_ALLOCATION_ID), any())).thenReturn(1);
+        when(allocationIndex.remove(DEFAULT_ALLOCATION_ID)).thenReturn(Optional.of(DEFAULT_ROOM_ID));
+
+        victim.deleteAllocation(DEFAULT_ALLOCATION_ID);
+
+        verify(allocationRepository, never()).existsById(any());
+        verify(notificationRepository).enqueueIfNotEnded(eq(DELETED), eq(Set.of(DEFAULT_ALLOCATION_ID)), any());
+        verify(allocationIndex).remove(DEFAULT_ALLOCATION_ID);
+        var event = ArgumentCaptor.forClass(ChangeEvent.class);
+        verify(changeEventDispatcher).publish(event.capture());
+        assertEquals(ALLOCATION_DELETED, event.getValue().getType());
+        assertEquals(DEFAULT_ROOM_ID, event.getValue().getRoomId());
+        assertEquals(DEFAULT_ALLOCATION_ID, event.getValue().getAllocationId());
+    }
+
+    @Test
+    void testDeleteAllocationInThePast() {
+        when(allocationRepository.deleteIfNotEnded(eq(DEFAULT_ALLOCATION_ID), any())).thenReturn(0);
+        when(allocationRepository.existsById(DEFAULT_ALLOCATION_ID)).thenReturn(true);
+
+        assertThrows(AllocationCannotBeDeletedException.class, () -> victim.deleteAllocation(DEFAULT_ALLOCATION_ID));
+        verify(allocationIndex, never()).remove(any());
+        verify(changeEventDispatcher, never()).publish(any());
+    }
+
+    @Test
+    void testDeleteArchivedAllocation() {
+        when(allocationRepository.deleteIfNotEnded(eq(DEFAULT_ALLOCATION_ID), any())).thenReturn(0);
+        when(allocationRepository.existsById(DEFAULT_ALLOCATION_ID)).thenReturn(false);
+        when(archivedAllocationRepository.existsById(DEFAULT_ALLOCATION_ID)).thenReturn(true);
+
+        assertThrows(AllocationCannotBeDeletedException.class, () -> victim.deleteAllocation(DEFAULT_ALLOCATION_ID));
+    }
+
+    @Test
+    void testDeleteAllocationDoesNotExist() {
+        when(allocationRepository.deleteIfNotEnded(eq(DEFAULT_ALLOCATION_ID), any())).thenReturn(0);
+        when(allocationRepository.existsById(DEFAULT_ALLOCATION_ID)).thenReturn(false);
+
+        assertThrows(AllocationNotFoundException.class, () -> victim.deleteAllocation(DEFAULT_ALLOCATION_ID));
+    }
+
+    @Test
+    void testCancelAllocations() {
+        var allocationIds = List.of(1L, 2L, 2L, 3L);
+        var room = newRoomBuilder().id(DEFAULT_ROOM_ID).build();
+        when(allocationRepository.findAllNotEndedForUpdate(eq(Set.of(1L, 2L, 3L)), any()))
+                .thenReturn(List.of(newAllocationBuilder(room).id(1L).build(), newAllocationBuilder(room).id(3L).build()));
+        when(allocationRepository.deleteAllIfNotEnded(eq(Set.of(1L, 3L)), any())).thenReturn(2);
+
+        var result = victim.cancelAllocations(allocationIds);
+
+        assertEquals(2, result.getCancelled());
+        verify(allocationValidator).validateIds(allocationIds, 1000);
+        verify(notificationRepository).enqueueIfNotEnded(eq(DELETED), eq(Set.of(1L, 3L)), any());
+        verify(allocationIndex).remove(1L);
+        verify(allocationIndex).remove(3L);
+        verify(allocationIndex, never()).remove(2L);
+        var events = ArgumentCaptor.forClass(ChangeEvent.class);
+        verify(changeEventDispatcher, times(2)).publish(events.capture());
+        assertEquals(
+                List.of(1L, 3L),
+                events.getAllValues().stream().map(ChangeEvent::getAllocationId).collect(Collectors.toList())
+        );
+        assertEquals(ALLOCATION_DELETED, events.getValue().getType());
+        assertEquals(DEFAULT_ROOM_ID, events.getValue().getRoomId());
+    }
+
+    @Test
+    void testCancelAllocationsWhenNoneCanBeCancelled() {
+        when(allocationRepository.findAllNotEndedForUpdate(eq(Set.of(1L, 2L)), any())).thenReturn(List.of());
+
+        var result = victim.cancelAllocations(List.of(1L, 2L));
+
+        assertEquals(0, result.getCancelled());
+        verify(notificationRepository, never()).enqueueIfNotEnded(any(), any(), any());
+        verify(allocationRepository, never()).deleteAllIfNotEnded(any(), any());
+        verify(changeEventDispatcher, never()).publish(any());
+    }
+
+    @Test
+    void testListAllocationHistoryPaginated() {
+        var archivedAllocations = List.of(
+                newArchivedAllocationBuilder().id(1L).build(),
+                newArchivedAllocationBuilder().id(2L).build(),
+                newArchivedAllocationBuilder().id(3L).build()
+        );
+        when(archivedAllocationRepository.findAllWithFilters(
+                eq(DEFAULT_ROOM_ID), any(), any(), any(), any(), any(), eq(PageRequest.of(0, 3))
+        )).thenReturn(archivedAllocations);
+
+        var page = victim.listAllocationHistory(DEFAULT_ROOM_ID, null, null, null, null, 2);
+
+        assertEquals(2, page.getAllocations().size());
+        assertEquals(DEFAULT_ROOM_ID, page.getAllocations().get(0).getRoomId());
+        assertEquals(AllocationCursor.of(archivedAllocations.get(1)), AllocationCursor.decode(page.getNextCursor()));
+        verify(allocationRepository, never()).findAllWithFilters(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testListAllocationsMergesOccurrences() {
+        var allocation = newAllocationView(
+                DEFAULT_ALLOCATION_ID,
+                DEFAULT_ALLOCATION_START_AT.plusDays(1),
+                DEFAULT_ALLOCATION_START_AT.plusDays(1).plusHours(1)
+        );
+        when(allocationRepository.findAllWithFilters(
+                eq(DEFAULT_ROOM_ID), any(), any(), any(), any(), any(), eq(PageRequest.of(0, 3))
+        )).thenReturn(List.of(allocation));
+        when(allocationSeriesRepository.findAllWithFilters(DEFAULT_ROOM_ID, null, null, null))
+                .thenReturn(List.of(newAllocationSeriesBuilder().build()));
+
+        var page = victim.listAllocations(DEFAULT_ROOM_ID, null, null, null, null, 2);
+
+        assertEquals(2, page.getAllocations().size());
+        assertNull(page.getAllocations().get(0).getId());
+        assertEquals(DEFAULT_ALLOCATION_SERIES_ID, page.getAllocations().get(0).getSeriesId());
+        assertEquals(DEFAULT_ALLOCATION_START_AT, page.getAllocations().get(0).getStartAt());
+        assertEquals(DEFAULT_ALLOCATION_ID, page.getAllocations().get(1).getId());
+        assertEquals(
+                new AllocationCursor(allocation.getStartAt(), allocation.getId()),
+                AllocationCursor.decode(page.getNextCursor())
+        );
+    }
+
+    @Test
+    void testListAllocationsAfterOccurrenceCursor() {
+        var cursor = new AllocationCursor(DEFAULT_ALLOCATION_START_AT, -DEFAULT_ALLOCATION_SERIES_ID);
+        when(allocationSeriesRepository.findAllWithFilters(any(), any(), any(), any()))
+                .thenReturn(List.of(newAllocationSeriesBuilder().build()));
+
+        var page = victim.listAllocations(null, null, null, null, cursor.encode(), 50);
+
+        assertEquals(DEFAULT_ALLOCATION_SERIES_OCCURRENCES - 1, page.getAllocations().size());
+        assertEquals(DEFAULT_ALLOCATION_START_AT.plusWeeks(1), page.getAllocations().get(0).getStartAt());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testCreateAllocationSeries() {
+        var createAllocationSeriesDTO = newCreateAllocationSeriesDTO();
+        when(roomRepository.findActiveById(DEFAULT_ROOM_ID))
+                .thenReturn(Optional.of(newRoomBuilder().id(DEFAULT_ROOM_ID).build()));
+
+        var dto = victim.createAllocationSeries(createAllocationSeriesDTO);
+
+        assertEquals(createAllocationSeriesDTO.getRecurrence(), dto.getRecurrence());
+        verify(allocationValidator).validate(createAllocationSeriesDTO, 500);
+        verify(allocationSeriesRepository).save(any());
+        var event = ArgumentCaptor.forClass(ChangeEvent.class);
+        verify(changeEventDispatcher).publish(event.capture());
+        assertEquals(SERIES_CREATED, event.getValue().getType());
+        assertEquals(DEFAULT_ROOM_ID, event.getValue().getRoomId());
+    }
+
+    @Test
+    void testCancelAllocationOccurrence() {
+        var series = newAllocationSeriesBuilder().build();
+        when(allocationSeriesRepository.findByIdForUpdate(DEFAULT_ALLOCATION_SERIES_ID)).thenReturn(Optional.of(series));
+
+        victim.cancelAllocationOccurrence(DEFAULT_ALLOCATION_SERIES_ID, DEFAULT_ALLOCATION_START_AT.plusWeeks(1));
+
+        assertEquals(Set.of(DEFAULT_ALLOCATION_START_AT.plusWeeks(1).toInstant()), series.getCancelledStartAts());
+    }
+
+    @Test
+    void testCancelAllocationOccurrenceDoesNotExist() {
+        when(allocationSeriesRepository.findByIdForUpdate(DEFAULT_ALLOCATION_SERIES_ID))
+                .thenReturn(Optional.of(newAllocationSeriesBuilder().build()));
+
+        assertThrows(
+                AllocationSeriesNotFoundException.class,
+                () -> victim.cancelAllocationOccurrence(
+                        DEFAULT_ALLOCATION_SERIES_ID,
+                        DEFAULT_ALLOCATION_START_AT.plusDays(1)
+                )
+        );
+    }
+
+    @Test
+    void testCancelAllocationOccurrenceInThePast() {
+        var startAt = now().minusWeeks(1).minusHours(2);
+        var series = newAllocationSeriesBuilder().startAt(startAt).endAt(startAt.plusHours(1)).build();
+        when(allocationSeriesRepository.findByIdForUpdate(DEFAULT_ALLOCATION_SERIES_ID)).thenReturn(Optional.of(series));
+
+        assertThrows(
+                AllocationCannotBeDeletedException.class,
+                () -> victim.cancelAllocationOccurrence(DEFAULT_ALLOCATION_SERIES_ID, startAt)
+        );
+    }
+
+    @Test
+    void testDeleteAllocationSeriesNotStarted() {
+        var series = newAllocationSeriesBuilder().build();
+        when(allocationSeriesRepository.findByIdForUpdate(DEFAULT_ALLOCATION_SERIES_ID)).thenReturn(Optional.of(series));
+
+        victim.deleteAllocationSeries(DEFAULT_ALLOCATION_SERIES_ID);
+
+        verify(allocationSeriesRepository).delete(series);
+        var event = ArgumentCaptor.forClass(ChangeEvent.class);
+        verify(changeEventDispatcher).publish(event.capture());
+        assertEquals(SERIES_DELETED, event.getValue().getType());
+        assertEquals(DEFAULT_ALLOCATION_SERIES_ID, event.getValue().getSeriesId());
+    }
+
+    @Test
+    void testDeleteAllocationSeriesAlreadyStarted() {
+        var startAt = now().minusWeeks(1).minusHours(2);
+        var series = newAllocationSeriesBuilder().startAt(startAt).endAt(startAt.plusHours(1)).build();
+        when(allocationSeriesRepository.findByIdForUpdate(DEFAULT_ALLOCATION_SERIES_ID)).thenReturn(Optional.of(series));
+
+        victim.deleteAllocationSeries(DEFAULT_ALLOCATION_SERIES_ID);
+
+        verify(allocationSeriesRepository, never()).delete(any());
+        assertEquals(2, series.occurrencesEndingAfter(null).count());
+        assertFalse(series.occurrencesEndingAfter(now()).findAny().isPresent());
+    }
+
+    @Test
+    void testDeleteAllocationSeriesAlreadyEnded() {
+        var startAt = now().minusWeeks(5);
+        var series = newAllocationSeriesBuilder()
+                .startAt(startAt)
+                .endAt(startAt.plusHours(1))
+                .recurrence(
+                        Recurrence.newBuilder()
+                                .frequency(RecurrenceFrequency.WEEKLY)
+                                .interval(1)
+                                .until(startAt.plusWeeks(DEFAULT_ALLOCATION_SERIES_OCCURRENCES))
+                                .build()
+                )
+                .build();
+        when(allocationSeriesRepository.findByIdForUpdate(DEFAULT_ALLOCATION_SERIES_ID)).thenReturn(Optional.of(series));
+
+        assertThrows(
+                AllocationCannotBeDeletedException.class,
+                () -> victim.deleteAllocationSeries(DEFAULT_ALLOCATION_SERIES_ID)
+        );
+    }
+
+    @Test
+    void testDeleteAllocationSeriesDoesNotExist() {
+        when(allocationSeriesRepository.findByIdForUpdate(DEFAULT_ALLOCATION_SERIES_ID)).thenReturn(Optional.empty());
+
+        assertThrows(
+                AllocationSeriesNotFoundException.class,
+                () -> victim.deleteAllocationSeries(DEFAULT_ALLOCATION_SERIES_ID)
+        );
+    }
+}
@@ -1,7 +1,9 @@
 package br.com.sw2you.realmeet.unit;
 
 import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.index.AllocationIndex;
 import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.AllocationSeriesRepository;
 import br.com.sw2you.realmeet.exception.InvalidRequestException;
 import br.com.sw2you.realmeet.validator.AllocationValidator;
 import br.com.sw2you.realmeet.validator.ValidationError;
@@ -10,8 +12,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
+import java.util.List;
+
 import static br.com.sw2you.realmeet.util.DateUtils.now;
 import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_ID;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_END_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_ID;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationBuilder;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newRoomBuilder;
 import static br.com.sw2you.realmeet.utils.TestDataCreator.newUpdateAllocationDTO;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_END_AT;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ALLOCATION_ID;
@@ -24,8 +33,10 @@ import static br.com.sw2you.realmeet.validator.ValidatorConstants.EXCEEDS_MAX_LE
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.INCONSISTENT;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.IN_THE_PAST;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.MISSING;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.OVERLAPS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
 
 class AllocationUpdateValidatorUnitTest extends BaseUnitTest {
 
@@ -34,21 +45,36 @@ class AllocationUpdateValidatorUnitTest extends BaseUnitTest {
     @Mock
     private AllocationRepository allocationRepository;
 
+    @Mock
+    private AllocationSeriesRepository allocationSeriesRepository;
+
+    @Mock
+    private AllocationIndex allocationIndex;
+
     @BeforeEach
     void setupEach() {
-        victim = new AllocationValidator(allocationRepository);
+        victim = new AllocationValidator(allocationRepository, allocationSeriesRepository, allocationIndex);
     }
 
     @Test
     void testValidateWhenAllocationIsValid() {
-        victim.validate(DEFAULT_ALLOCATION_ID, newUpdateAllocationDTO());
+        victim.validate(DEFAULT_ALLOCATION_ID, DEFAULT_ROOM_ID, newUpdateAllocationDTO());
+    }
+
+    @Test
+    void testValidateWhenTimeOverlapsOnlyItself() {
+        var room = newRoomBuilder().id(DEFAULT_ROOM_ID).build();
+        given(allocationRepository.findOverlappingForUpdate(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT))
+                .willReturn(List.of(newAllocationBuilder(room).id(DEFAULT_ALLOCATION_ID).build()));
+
+        victim.validate(DEFAULT_ALLOCATION_ID, DEFAULT_ROOM_ID, newUpdateAllocationDTO());
     }
 
     @Test
     void testValidateWhenAllocationIdIsMissing() {
         var exception = assertThrows(
                 InvalidRequestException.class,
-                () -> victim.validate(null, newUpdateAllocationDTO())
+                () -> victim.validate(null, DEFAULT_ROOM_ID, newUpdateAllocationDTO())
         );
 
         assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
@@ -59,7 +85,7 @@ class AllocationUpdateValidatorUnitTest extends BaseUnitTest {
     void testValidateWhenSubjectIsMissing() {
         var exception = assertThrows(
                 InvalidRequestException.class,
-                () -> victim.validate(DEFAULT_ALLOCATION_ID, newUpdateAllocationDTO().subject(null))
+                () -> victim.validate(DEFAULT_ALLOCATION_ID, DEFAULT_ROOM_ID, newUpdateAllocationDTO().subject(null))
         );
 
         assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
@@ -71,7 +97,7 @@ class AllocationUpdateValidatorUnitTest extends BaseUnitTest {
         var exception = assertThrows(
                 InvalidRequestException.class,
                 () -> victim.validate(
-                        DEFAULT_ALLOCATION_ID, newUpdateAllocationDTO().subject(StringUtils.rightPad("X", ALLOCATION_SUBJECT_MAX_LENGTH + 1, 'X')))
+                        DEFAULT_ALLOCATION_ID, DEFAULT_ROOM_ID, newUpdateAllocationDTO().subject(StringUtils.rightPad("X", ALLOCATION_SUBJECT_MAX_LENGTH + 1, 'X')))
         );
 
         assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
@@ -82,7 +108,7 @@ class AllocationUpdateValidatorUnitTest extends BaseUnitTest {
     void testValidateWhenStartAtIsMissing() {
         var exception = assertThrows(
                 InvalidRequestException.class,
-                () -> victim.validate(DEFAULT_ALLOCATION_ID, newUpdateAllocationDTO().startAt(null))
+                () -> victim.validate(DEFAULT_ALLOCATION_ID, DEFAULT_ROOM_ID, newUpdateAllocationDTO().startAt(null))
         );
 
         assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
@@ -93,7 +119,7 @@ class AllocationUpdateValidatorUnitTest extends BaseUnitTest {
     void testValidateWhenEndAtIsMissing() {
         var exception = assertThrows(
                 InvalidRequestException.class,
-                () -> victim.validate(DEFAULT_ALLOCATION_ID, newUpdateAllocationDTO().endAt(null))
+                () -> victim.validate(DEFAULT_ALLOCATION_ID, DEFAULT_ROOM_ID, newUpdateAllocationDTO().endAt(null))
         );
 
         assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
@@ -105,7 +131,7 @@ class AllocationUpdateValidatorUnitTest extends BaseUnitTest {
         var exception = assertThrows(
                 InvalidRequestException.class,
                 // startAt será amanhã e o endAt será amanhã 30 minutos antes, ou seja o startAt é depois do endAt, o que é errado
-                () -> victim.validate(DEFAULT_ALLOCATION_ID, newUpdateAllocationDTO().startAt(now().plusDays(1)).endAt(now().plusDays(1).minusMinutes(30)))
+                () -> victim.validate(DEFAULT_ALLOCATION_ID, DEFAULT_ROOM_ID, newUpdateAllocationDTO().startAt(now().plusDays(1)).endAt(now().plusDays(1).minusMinutes(30)))
         );
 
         assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
@@ -117,7 +143,7 @@ class AllocationUpdateValidatorUnitTest extends BaseUnitTest {
         var exception = assertThrows(
                 InvalidRequestException.class,
                 // startAt está no passado, neste caso 30 minutos atrás
-                () -> victim.validate(DEFAULT_ALLOCATION_ID, newUpdateAllocationDTO().startAt(now().minusMinutes(30)).endAt(now().plusMinutes(30)))
+                () -> victim.validate(DEFAULT_ALLOCATION_ID, DEFAULT_ROOM_ID, newUpdateAllocationDTO().startAt(now().minusMinutes(30)).endAt(now().plusMinutes(30)))
         );
 
         assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
@@ -128,10 +154,25 @@ class AllocationUpdateValidatorUnitTest extends BaseUnitTest {
     void testValidateWhenDateIntervalExceedsMaxDuration() {
         var exception = assertThrows(
                 InvalidRequestException.class,
-                () -> victim.validate(DEFAULT_ALLOCATION_ID, newUpdateAllocationDTO().startAt(now().plusDays(1)).endAt(now().plusDays(1).plusSeconds(ALLOCATION_MAX_DURATION_SECONDS + 1)))
+                () -> victim.validate(DEFAULT_ALLOCATION_ID, DEFAULT_ROOM_ID, newUpdateAllocationDTO().startAt(now().plusDays(1)).endAt(now().plusDays(1).plusSeconds(ALLOCATION_MAX_DURATION_SECONDS + 1)))
         );
 
         assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
         assertEquals(new ValidationError(ALLOCATION_END_AT, ALLOCATION_END_AT + EXCEEDS_DURATION), exception.getValidationErrors().getError(0));
     }
+
+    @Test
+    void testValidateWhenTimeOverlapsAnotherAllocation() {
+        var room = newRoomBuilder().id(DEFAULT_ROOM_ID).build();
+        given(allocationRepository.findOverlappingForUpdate(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT))
+                .willReturn(List.of(newAllocationBuilder(room).id(DEFAULT_ALLOCATION_ID + 1).build()));
+
+        var exception = assertThrows(
+                InvalidRequestException.class,
+                () -> victim.validate(DEFAULT_ALLOCATION_ID, DEFAULT_ROOM_ID, newUpdateAllocationDTO())
+        );
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(new ValidationError(ALLOCATION_START_AT, ALLOCATION_START_AT + OVERLAPS), exception.getValidationErrors().getError(0));
+    }
 }
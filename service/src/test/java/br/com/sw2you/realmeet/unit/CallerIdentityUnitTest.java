@@ -0,0 +1,44 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.ratelimit.CallerIdentity;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CallerIdentityUnitTest extends BaseUnitTest {
+    private static final String REMOTE_ADDRESS = "10.0.0.1";
+
+    @Test
+    void testOfAuthenticatedCaller() {
+        var request = newRequest();
+        request.setUserPrincipal(() -> "calendar-sync");
+
+        assertEquals("user:calendar-sync", CallerIdentity.of(request));
+    }
+
+    @Test
+    void testOfAnonymousCaller() {
+        assertEquals("address:" + REMOTE_ADDRESS, CallerIdentity.of(newRequest()));
+    }
+
+    @Test
+    void testOfCallerWithUnverifiedCredentials() {
+        var request = newRequest();
+        var credentials = Base64.getEncoder().encodeToString("anyone:secret".getBytes(StandardCharsets.UTF_8));
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Basic " + credentials);
+
+        assertEquals("address:" + REMOTE_ADDRESS, CallerIdentity.of(request));
+    }
+
+    private static MockHttpServletRequest newRequest() {
+        var request = new MockHttpServletRequest();
+        request.setRemoteAddr(REMOTE_ADDRESS);
+        return request;
+    }
+}
@@ -0,0 +1,230 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.model.ChangeEvent;
+import br.com.sw2you.realmeet.domain.repository.RoomRepository;
+import br.com.sw2you.realmeet.event.ChangeEventDispatcher;
+import br.com.sw2you.realmeet.exception.RoomNotFoundException;
+import br.com.sw2you.realmeet.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.ALLOCATION_CREATED;
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.ROOM_UPDATED;
+import static br.com.sw2you.realmeet.event.ChangeEventDispatcher.RESYNC_METRIC;
+import static br.com.sw2you.realmeet.event.ChangeEventDispatcher.SUBSCRIBED_ROOMS_METRIC;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_ID;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_ID;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newRoomBuilder;
+import static java.util.Objects.isNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+
+class ChangeEventDispatcherUnitTest extends BaseUnitTest {
+    private static final int BUFFER_SIZE = 2;
+    private static final int MAX_SUBSCRIBERS = 3;
+
+    private ChangeEventDispatcher victim;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    // Writes only run when the test says so, which makes every subscriber as slow as needed
+    private List<Runnable> pendingWrites;
+
+    private boolean rejectDispatch;
+
+    @BeforeEach
+    void setupEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        pendingWrites = new ArrayList<>();
+        rejectDispatch = false;
+
+        Executor changeEventsExecutor = command -> {
+            if (rejectDispatch) {
+                throw new RejectedExecutionException();
+            }
+            command.run();
+        };
+        victim = new ChangeEventDispatcher(
+                changeEventsExecutor,
+                pendingWrites::add,
+                roomRepository,
+                meterRegistry,
+                30,
+                BUFFER_SIZE,
+                MAX_SUBSCRIBERS
+        );
+    }
+
+    @Test
+    void testPublishFiltersByRoom() {
+        var roomSubscriber = subscribe(DEFAULT_ROOM_ID);
+        var otherRoomSubscriber = subscribe(DEFAULT_ROOM_ID + 1);
+        var allRoomsSubscriber = subscribe(null);
+        var event = ChangeEvent.ofAllocation(ALLOCATION_CREATED, DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_ID);
+
+        victim.publish(event);
+        runPendingWrites();
+
+        assertEquals(List.of(event), roomSubscriber.events);
+        assertEquals(List.of(), otherRoomSubscriber.events);
+        assertEquals(List.of(event), allRoomsSubscriber.events);
+    }
+
+    @Test
+    void testSlowSubscriberIsResynced() {
+        var subscriber = subscribe(DEFAULT_ROOM_ID);
+
+        for (int i = 0; i <= BUFFER_SIZE; i++) {
+            victim.publish(ChangeEvent.ofRoom(ROOM_UPDATED, DEFAULT_ROOM_ID));
+        }
+        runPendingWrites();
+
+        assertEquals(List.of(ChangeEvent.RESYNC), subscriber.events);
+
+        var event = ChangeEvent.ofRoom(ROOM_UPDATED, DEFAULT_ROOM_ID);
+        victim.publish(event);
+        runPendingWrites();
+
+        assertEquals(List.of(ChangeEvent.RESYNC, event), subscriber.events);
+    }
+
+    @Test
+    void testDispatcherOverflowResyncsEverySubscriber() {
+        var roomSubscriber = subscribe(DEFAULT_ROOM_ID);
+        var otherRoomSubscriber = subscribe(DEFAULT_ROOM_ID + 1);
+
+        rejectDispatch = true;
+        victim.publish(ChangeEvent.ofRoom(ROOM_UPDATED, DEFAULT_ROOM_ID));
+        rejectDispatch = false;
+        victim.publish(ChangeEvent.ofRoom(ROOM_UPDATED, DEFAULT_ROOM_ID));
+        runPendingWrites();
+
+        assertEquals(List.of(ChangeEvent.RESYNC), roomSubscriber.events);
+        assertEquals(List.of(ChangeEvent.RESYNC), otherRoomSubscriber.events);
+        assertEquals(1, meterRegistry.counter(RESYNC_METRIC).count());
+    }
+
+    @Test
+    void testReconnectingSubscriberIsResynced() {
+        givenRoomExists(DEFAULT_ROOM_ID);
+        var emitter = new RecordingEmitter();
+        victim.subscribe(emitter, DEFAULT_ROOM_ID, true);
+        runPendingWrites();
+
+        assertEquals(List.of(ChangeEvent.RESYNC), emitter.events);
+    }
+
+    @Test
+    void testHeartbeat() {
+        var subscriber = subscribe(DEFAULT_ROOM_ID);
+
+        victim.heartbeat();
+        runPendingWrites();
+
+        assertEquals(1, subscriber.sends);
+        assertEquals(List.of(), subscriber.events);
+    }
+
+    @Test
+    void testBrokenSubscriberIsRemoved() {
+        var subscriber = subscribe(DEFAULT_ROOM_ID);
+        subscriber.broken = true;
+
+        victim.publish(ChangeEvent.ofRoom(ROOM_UPDATED, DEFAULT_ROOM_ID));
+        runPendingWrites();
+
+        assertEquals(0, victim.getSubscriberCount());
+    }
+
+    @Test
+    void testSubscribeBeyondMaxSubscribers() {
+        for (int i = 0; i < MAX_SUBSCRIBERS; i++) {
+            subscribe(DEFAULT_ROOM_ID);
+        }
+
+        assertThrows(ServiceOverloadedException.class, () -> subscribe(DEFAULT_ROOM_ID));
+        assertEquals(MAX_SUBSCRIBERS, victim.getSubscriberCount());
+    }
+
+    @Test
+    void testSubscribeToUnknownRoom() {
+        given(roomRepository.findActiveById(DEFAULT_ROOM_ID)).willReturn(Optional.empty());
+
+        assertThrows(RoomNotFoundException.class, () -> victim.subscribe(new RecordingEmitter(), DEFAULT_ROOM_ID, false));
+        assertEquals(0, victim.getSubscriberCount());
+        assertEquals(0, meterRegistry.get(SUBSCRIBED_ROOMS_METRIC).gauge().value());
+    }
+
+    @Test
+    void testRoomIsDroppedWithItsLastSubscriber() {
+        var subscriber = subscribe(DEFAULT_ROOM_ID);
+        var otherSubscriber = subscribe(DEFAULT_ROOM_ID);
+        assertEquals(1, meterRegistry.get(SUBSCRIBED_ROOMS_METRIC).gauge().value());
+
+        subscriber.broken = true;
+        victim.publish(ChangeEvent.ofRoom(ROOM_UPDATED, DEFAULT_ROOM_ID));
+        runPendingWrites();
+        assertEquals(1, meterRegistry.get(SUBSCRIBED_ROOMS_METRIC).gauge().value());
+
+        otherSubscriber.broken = true;
+        victim.publish(ChangeEvent.ofRoom(ROOM_UPDATED, DEFAULT_ROOM_ID));
+        runPendingWrites();
+        assertEquals(0, meterRegistry.get(SUBSCRIBED_ROOMS_METRIC).gauge().value());
+        assertEquals(0, victim.getSubscriberCount());
+    }
+
+    private RecordingEmitter subscribe(Long roomId) {
+        if (!isNull(roomId)) {
+            givenRoomExists(roomId);
+        }
+
+        var emitter = new RecordingEmitter();
+        victim.subscribe(emitter, roomId, false);
+        return emitter;
+    }
+
+    private void givenRoomExists(Long roomId) {
+        given(roomRepository.findActiveById(roomId)).willReturn(Optional.of(newRoomBuilder().id(roomId).build()));
+    }
+
+    private void runPendingWrites() {
+        var writes = new ArrayList<>(pendingWrites);
+        pendingWrites.clear();
+        writes.forEach(Runnable::run);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<ChangeEvent> events = new ArrayList<>();
+        private int sends;
+        private boolean broken;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            sends++;
+            builder.build()
+                    .stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(ChangeEvent.class::isInstance)
+                    .forEach(data -> events.add((ChangeEvent) data));
+        }
+    }
+}
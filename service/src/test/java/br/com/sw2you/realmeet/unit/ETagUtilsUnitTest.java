@@ -0,0 +1,39 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import org.junit.jupiter.api.Test;
+
+import static br.com.sw2you.realmeet.util.ETagUtils.isNotModified;
+import static br.com.sw2you.realmeet.util.ETagUtils.isPreconditionFailed;
+import static br.com.sw2you.realmeet.util.ETagUtils.toETag;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ETagUtilsUnitTest extends BaseUnitTest {
+
+    @Test
+    void testToETag() {
+        assertEquals("\"3\"", toETag(3L));
+    }
+
+    @Test
+    void testIsNotModified() {
+        assertFalse(isNotModified(null, "\"3\""));
+        assertFalse(isNotModified("\"2\"", "\"3\""));
+        assertTrue(isNotModified("\"3\"", "\"3\""));
+        assertTrue(isNotModified("W/\"3\"", "\"3\""));
+        assertTrue(isNotModified("\"1\", \"3\"", "\"3\""));
+        assertTrue(isNotModified("*", "\"3\""));
+    }
+
+    @Test
+    void testIsPreconditionFailed() {
+        assertFalse(isPreconditionFailed(null, "\"3\""));
+        assertFalse(isPreconditionFailed("\"3\"", "\"3\""));
+        assertFalse(isPreconditionFailed("\"1\", \"3\"", "\"3\""));
+        assertFalse(isPreconditionFailed("*", "\"3\""));
+        assertTrue(isPreconditionFailed("\"2\"", "\"3\""));
+        assertTrue(isPreconditionFailed("W/\"3\"", "\"3\""));
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.config.ExecutorsConfiguration;
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static br.com.sw2you.realmeet.config.ExecutorsConfiguration.POOL_MODE;
+import static br.com.sw2you.realmeet.config.ExecutorsConfiguration.VIRTUAL_MODE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ExecutorsConfigurationUnitTest extends BaseUnitTest {
+    private ExecutorsConfiguration victim;
+
+    @BeforeEach
+    void setupEach() {
+        victim = new ExecutorsConfiguration();
+    }
+
+    @Test
+    void testControllersExecutorInPoolMode() {
+        var executor = (ThreadPoolExecutor) victim.controllersExecutor(POOL_MODE, 10, 20, 50, 60);
+
+        try {
+            assertEquals(10, executor.getCorePoolSize());
+            assertEquals(20, executor.getMaximumPoolSize());
+            assertEquals(50, executor.getQueue().remainingCapacity());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testControllersExecutorInVirtualModeBeforeJava21() {
+        assumeTrue(Runtime.version().feature() < 21);
+
+        assertThrows(IllegalStateException.class, () -> victim.controllersExecutor(VIRTUAL_MODE, 10, 20, 50, 60));
+    }
+
+    @Test
+    void testControllersExecutorInVirtualMode() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21);
+        var executor = (ExecutorService) victim.controllersExecutor(VIRTUAL_MODE, 10, 20, 50, 60);
+
+        try {
+            assertTrue(executor.submit(() -> Thread.currentThread().toString().startsWith("VirtualThread")).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testControllersExecutorInUnknownMode() {
+        assertThrows(IllegalArgumentException.class, () -> victim.controllersExecutor("fibers", 10, 20, 50, 60));
+    }
+}
@@ -0,0 +1,278 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.admission.AdmissionControl;
+import br.com.sw2you.realmeet.api.model.CreateRoomDTO;
+import br.com.sw2you.realmeet.api.model.RoomDTO;
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.entity.IdempotencyRecord;
+import br.com.sw2you.realmeet.domain.repository.IdempotencyRecordRepository;
+import br.com.sw2you.realmeet.exception.InvalidRequestException;
+import br.com.sw2you.realmeet.idempotency.IdempotentRequests;
+import br.com.sw2you.realmeet.validator.ValidationError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static br.com.sw2you.realmeet.admission.EndpointClass.COMMAND;
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_IDEMPOTENCY_KEY;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_ID;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newCreateRoomDTO;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.EXCEEDS_MAX_LENGTH;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.IDEMPOTENCY_KEY;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.IDEMPOTENCY_KEY_MAX_LENGTH;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.INCONSISTENT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class IdempotentRequestsUnitTest extends BaseUnitTest {
+    private static final String CALLER = "address:127.0.0.1";
+    private static final String OPERATION = "createRoom";
+    private static final String STORED_KEY = IdempotentRequests.scopedKey(CALLER, OPERATION, DEFAULT_IDEMPOTENCY_KEY);
+
+    private IdempotentRequests victim;
+
+    private ObjectMapper objectMapper;
+
+    private AtomicInteger executions;
+
+    @Mock
+    private AdmissionControl admissionControl;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setupEach() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        executions = new AtomicInteger();
+        victim = newIdempotentRequests();
+    }
+
+    @Test
+    void testSupplyAsyncWithoutKey() {
+        givenAdmissionRunsInline();
+
+        victim.supplyAsync(CALLER, OPERATION, null, newCreateRoomDTO(), RoomDTO.class, this::createRoom).join();
+        victim.supplyAsync(CALLER, OPERATION, null, newCreateRoomDTO(), RoomDTO.class, this::createRoom).join();
+
+        assertEquals(2, executions.get());
+        verify(idempotencyRecordRepository, never()).insert(any(), any(), any(), any());
+    }
+
+    @Test
+    void testSupplyAsyncReplaysResponse() {
+        givenAdmissionRunsInline();
+
+        var first = supplyAsync(newCreateRoomDTO()).join();
+        var second = supplyAsync(newCreateRoomDTO()).join();
+
+        assertSame(first, second);
+        assertEquals(1, executions.get());
+        verify(idempotencyRecordRepository).insert(eq(STORED_KEY), anyString(), any(), any());
+        verify(idempotencyRecordRepository)
+                .updateResponse(STORED_KEY, objectMapper.valueToTree(first).toString());
+    }
+
+    @Test
+    void testSupplyAsyncWaitsForRequestInFlight() {
+        var inFlight = new CompletableFuture<RoomDTO>();
+        given(admissionControl.<RoomDTO>supplyAsync(eq(COMMAND), eq(OPERATION), any())).willReturn(inFlight);
+
+        var first = supplyAsync(newCreateRoomDTO());
+        var second = supplyAsync(newCreateRoomDTO());
+
+        assertFalse(second.isDone());
+        inFlight.complete(new RoomDTO().id(DEFAULT_ROOM_ID));
+        assertSame(first.join(), second.join());
+        verify(admissionControl, times(1)).supplyAsync(any(), any(), any());
+    }
+
+    @Test
+    void testSupplyAsyncWhenKeyIsReusedWithAnotherRequest() {
+        givenAdmissionRunsInline();
+        supplyAsync(newCreateRoomDTO()).join();
+
+        var exception = assertThrows(
+                CompletionException.class,
+                () -> supplyAsync((CreateRoomDTO) newCreateRoomDTO().seats(2)).join()
+        );
+
+        assertInvalidRequest(new ValidationError(IDEMPOTENCY_KEY, IDEMPOTENCY_KEY + INCONSISTENT), exception);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testSupplyAsyncWhenKeyExceedsMaxLength() {
+        var key = "k".repeat(IDEMPOTENCY_KEY_MAX_LENGTH + 1);
+
+        var exception = assertThrows(
+                CompletionException.class,
+                () -> victim
+                        .supplyAsync(CALLER, OPERATION, key, newCreateRoomDTO(), RoomDTO.class, this::createRoom)
+                        .join()
+        );
+
+        assertInvalidRequest(new ValidationError(IDEMPOTENCY_KEY, IDEMPOTENCY_KEY + EXCEEDS_MAX_LENGTH), exception);
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void testSupplyAsyncDoesNotRememberFailures() {
+        givenAdmissionRunsInline();
+
+        assertThrows(
+                CompletionException.class,
+                () -> victim.supplyAsync(
+                        CALLER,
+                        OPERATION,
+                        DEFAULT_IDEMPOTENCY_KEY,
+                        newCreateRoomDTO(),
+                        RoomDTO.class,
+                        () -> {
+                            throw new IllegalStateException();
+                        }
+                ).join()
+        );
+        supplyAsync(newCreateRoomDTO()).join();
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testSupplyAsyncReplaysStoredResponse() {
+        givenAdmissionRunsInline();
+        var response = supplyAsync(newCreateRoomDTO()).join();
+        var stored = storedRecord(response);
+
+        // A restarted instance only has the row
+        victim = newIdempotentRequests();
+        given(idempotencyRecordRepository.findById(STORED_KEY)).willReturn(Optional.of(stored));
+        var replayed = supplyAsync(newCreateRoomDTO()).join();
+
+        assertEquals(response, replayed);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testSupplyAsyncReplaysResponseStoredConcurrently() {
+        givenAdmissionRunsInline();
+        var response = supplyAsync(newCreateRoomDTO()).join();
+        var stored = storedRecord(response);
+
+        // Another instance commits the same key while this one waits on the insert
+        victim = newIdempotentRequests();
+        given(idempotencyRecordRepository.findById(STORED_KEY))
+                .willReturn(Optional.empty())
+                .willReturn(Optional.of(stored));
+        given(idempotencyRecordRepository.insert(eq(STORED_KEY), anyString(), any(), any()))
+                .willThrow(new DataIntegrityViolationException("Duplicate entry"));
+        var replayed = supplyAsync(newCreateRoomDTO()).join();
+
+        assertEquals(response, replayed);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testSupplyAsyncScopesKeyToCaller() {
+        givenAdmissionRunsInline();
+        var first = supplyAsync(newCreateRoomDTO()).join();
+
+        var other = victim.supplyAsync(
+                "user:other",
+                OPERATION,
+                DEFAULT_IDEMPOTENCY_KEY,
+                (CreateRoomDTO) newCreateRoomDTO().seats(2),
+                RoomDTO.class,
+                this::createRoom
+        ).join();
+
+        assertNotEquals(first, other);
+        assertEquals(2, executions.get());
+        verify(idempotencyRecordRepository)
+                .insert(eq(IdempotentRequests.scopedKey("user:other", OPERATION, DEFAULT_IDEMPOTENCY_KEY)), anyString(), any(), any());
+    }
+
+    @Test
+    void testSupplyAsyncScopesKeyToOperation() {
+        assertNotEquals(STORED_KEY, IdempotentRequests.scopedKey(CALLER, "createAllocation", DEFAULT_IDEMPOTENCY_KEY));
+        assertEquals(64, STORED_KEY.length());
+    }
+
+    private IdempotentRequests newIdempotentRequests() {
+        return new IdempotentRequests(
+                admissionControl,
+                idempotencyRecordRepository,
+                transactionManager,
+                objectMapper,
+                24,
+                100
+        );
+    }
+
+    private CompletableFuture<RoomDTO> supplyAsync(CreateRoomDTO createRoomDTO) {
+        return victim.supplyAsync(
+                CALLER,
+                OPERATION,
+                DEFAULT_IDEMPOTENCY_KEY,
+                createRoomDTO,
+                RoomDTO.class,
+                this::createRoom
+        );
+    }
+
+    private RoomDTO createRoom() {
+        return new RoomDTO().id((long) executions.incrementAndGet());
+    }
+
+    private IdempotencyRecord storedRecord(RoomDTO response) {
+        var fingerprint = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyRecordRepository).insert(eq(STORED_KEY), fingerprint.capture(), any(), any());
+        return IdempotencyRecord
+                .newBuilder()
+                .key(STORED_KEY)
+                .fingerprint(fingerprint.getValue())
+                .response(objectMapper.valueToTree(response).toString())
+                .createdAt(now())
+                .expiresAt(now().plusHours(24))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenAdmissionRunsInline() {
+        given(admissionControl.supplyAsync(eq(COMMAND), eq(OPERATION), any())).willAnswer(
+                invocation -> CompletableFuture.supplyAsync(invocation.getArgument(2, Supplier.class), Runnable::run)
+        );
+    }
+
+    private static void assertInvalidRequest(ValidationError expected, CompletionException exception) {
+        assertTrue(exception.getCause() instanceof InvalidRequestException);
+        var validationErrors = ((InvalidRequestException) exception.getCause()).getValidationErrors();
+        assertEquals(1, validationErrors.getNumberOfErrors());
+        assertEquals(expected, validationErrors.getError(0));
+    }
+}
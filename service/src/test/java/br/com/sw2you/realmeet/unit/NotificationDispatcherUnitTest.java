@@ -0,0 +1,176 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.repository.NotificationRepository;
+import br.com.sw2you.realmeet.notification.NotificationDispatcher;
+import br.com.sw2you.realmeet.notification.NotificationMailComposer;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.thymeleaf.extras.java8time.dialect.Java8TimeDialect;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import javax.mail.internet.MimeMessage;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+
+import static br.com.sw2you.realmeet.domain.model.NotificationEvent.CREATED;
+import static br.com.sw2you.realmeet.domain.model.NotificationEvent.DELETED;
+import static br.com.sw2you.realmeet.notification.NotificationDispatcher.FAILED_METRIC;
+import static br.com.sw2you.realmeet.notification.NotificationDispatcher.SENT_METRIC;
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_SUBJECT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_EMPLOYEE_EMAIL;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_NAME;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newNotificationBuilder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class NotificationDispatcherUnitTest extends BaseUnitTest {
+    private static final int BATCH_SIZE = 2;
+
+    // In-process SMTP server standing in for the real one
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private NotificationDispatcher victim;
+
+    private JavaMailSenderImpl mailSender;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setupEach() {
+        mailSender = spy(new JavaMailSenderImpl());
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        meterRegistry = new SimpleMeterRegistry();
+        victim = newDispatcher(mailSender);
+    }
+
+    @Test
+    void testDispatchBatchSendsOverOneConnection() throws Exception {
+        var created = newNotificationBuilder(CREATED).id(1L).build();
+        var deleted = newNotificationBuilder(DELETED).id(2L).build();
+        given(notificationRepository.findDueForUpdate(any(), anyInt(), any())).willReturn(List.of(created, deleted));
+
+        assertEquals(2, victim.dispatchBatch());
+
+        verify(mailSender, times(1)).send((MimeMessage[]) any());
+        verify(notificationRepository).deleteAllByIdIn(List.of(1L, 2L));
+        assertEquals(2, meterRegistry.counter(SENT_METRIC).count());
+
+        var messages = greenMail.getReceivedMessages();
+        assertEquals(2, messages.length);
+        assertEquals("Allocation created: " + DEFAULT_ALLOCATION_SUBJECT, messages[0].getSubject());
+        assertEquals("Allocation deleted: " + DEFAULT_ALLOCATION_SUBJECT, messages[1].getSubject());
+        assertEquals(DEFAULT_EMPLOYEE_EMAIL, messages[0].getAllRecipients()[0].toString());
+        assertTrue(messages[0].getContent().toString().contains(DEFAULT_ROOM_NAME));
+    }
+
+    @Test
+    void testDispatchBatchKeepsFailedNotificationsForRetry() throws Exception {
+        var unreachableMailSender = new JavaMailSenderImpl();
+        unreachableMailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        unreachableMailSender.setPort(freePort());
+        victim = newDispatcher(unreachableMailSender);
+
+        var notification = newNotificationBuilder(CREATED).id(1L).build();
+        given(notificationRepository.findDueForUpdate(any(), anyInt(), any())).willReturn(List.of(notification));
+        var claimedAt = now();
+
+        assertEquals(1, victim.dispatchBatch());
+
+        verify(notificationRepository, never()).deleteAllByIdIn(any());
+        assertEquals(1, meterRegistry.counter(FAILED_METRIC).count());
+        assertEquals(1, notification.getAttempts());
+        assertFalse(notification.getNextAttemptAt().isBefore(claimedAt.plusSeconds(30)));
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void testDispatchDrainsFullBatches() {
+        given(notificationRepository.findDueForUpdate(any(), anyInt(), any())).willReturn(
+                List.of(newNotificationBuilder(CREATED).id(1L).build(), newNotificationBuilder(CREATED).id(2L).build()),
+                List.of(newNotificationBuilder(CREATED).id(3L).build())
+        );
+
+        victim.dispatch();
+
+        verify(notificationRepository, times(2)).findDueForUpdate(any(), anyInt(), any());
+        verify(mailSender, times(2)).send((MimeMessage[]) any());
+        assertEquals(3, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void testDispatchBatchWithNothingDue() {
+        given(notificationRepository.findDueForUpdate(any(), anyInt(), any())).willReturn(List.of());
+
+        assertEquals(0, victim.dispatchBatch());
+
+        verify(mailSender, never()).send((MimeMessage[]) any());
+    }
+
+    @Test
+    void testBackoff() {
+        assertEquals(Duration.ofSeconds(30), victim.backoff(0));
+        assertEquals(Duration.ofSeconds(60), victim.backoff(1));
+        assertEquals(Duration.ofSeconds(240), victim.backoff(3));
+        assertEquals(Duration.ofSeconds(3600), victim.backoff(10));
+        assertEquals(Duration.ofSeconds(3600), victim.backoff(Integer.MAX_VALUE));
+    }
+
+    private NotificationDispatcher newDispatcher(JavaMailSenderImpl mailSender) {
+        return new NotificationDispatcher(
+                notificationRepository,
+                new NotificationMailComposer(mailSender, newTemplateEngine(), "noreply@realmeet.com"),
+                mailSender,
+                transactionManager,
+                meterRegistry,
+                BATCH_SIZE,
+                10,
+                30,
+                3600
+        );
+    }
+
+    private static SpringTemplateEngine newTemplateEngine() {
+        var templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+
+        var templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.addDialect(new Java8TimeDialect());
+        return templateEngine;
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.api.model.CreateOccupancyReportDTO;
+import br.com.sw2you.realmeet.api.model.ReportFormatDTO;
+import br.com.sw2you.realmeet.api.model.ReportJobDTO;
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.entity.ReportJob;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.ReportJobRepository;
+import br.com.sw2you.realmeet.domain.repository.RoomRepository;
+import br.com.sw2you.realmeet.exception.ReportJobNotFoundException;
+import br.com.sw2you.realmeet.exception.ReportNotReadyException;
+import br.com.sw2you.realmeet.report.ReportExporter;
+import br.com.sw2you.realmeet.report.ReportTemplates;
+import br.com.sw2you.realmeet.service.OccupancyReportService;
+import br.com.sw2you.realmeet.validator.AllocationValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+import static br.com.sw2you.realmeet.util.DateUtils.now;
+import static br.com.sw2you.realmeet.utils.MapperUtils.reportMapper;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_END_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_SUBJECT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_REPORT_JOB_ID;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_ID;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_NAME;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationView;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newReportJobBuilder;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newRoomBuilder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class OccupancyReportServiceUnitTest extends BaseUnitTest {
+    private static final int CHUNK_BYTES = 64;
+
+    private OccupancyReportService victim;
+
+    @Mock
+    private AllocationRepository allocationRepository;
+
+    @Mock
+    private ReportJobRepository reportJobRepository;
+
+    @Mock
+    private AllocationValidator allocationValidator;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ExecutorService reportsExecutor;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setupEach() {
+        victim = new OccupancyReportService(
+                allocationRepository,
+                reportJobRepository,
+                allocationValidator,
+                reportMapper(),
+                new ReportTemplates(),
+                new ReportExporter(),
+                roomRepository,
+                transactionManager,
+                reportsExecutor,
+                directory.toString(),
+                10,
+                60,
+                CHUNK_BYTES
+        );
+    }
+
+    @Test
+    void testCreateOccupancyReport() throws Exception {
+        given(roomRepository.findAll()).willReturn(List.of(newRoomBuilder().id(DEFAULT_ROOM_ID).build()));
+        given(allocationRepository.streamAllByStartAtBetweenOrderByRoom(any(), any())).willReturn(
+                Stream.of(
+                        newAllocationView(1L, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT),
+                        newAllocationView(2L, DEFAULT_ALLOCATION_END_AT, DEFAULT_ALLOCATION_END_AT.plusHours(1))
+                )
+        );
+        saveInline();
+        runInline();
+
+        var job = victim.createOccupancyReport(newCreateOccupancyReportDTO());
+
+        assertEquals(ReportJobDTO.StatusEnum.PENDING, job.getStatus());
+        verify(reportJobRepository).updateStatus(eq(job.getId()), eq(ReportJob.Status.RUNNING), isNull());
+        verify(reportJobRepository).updateStatus(eq(job.getId()), eq(ReportJob.Status.DONE), any());
+        var chunks = ArgumentCaptor.forClass(byte[].class);
+        verify(reportJobRepository, atLeast(2)).insertContentChunk(eq(job.getId()), anyInt(), chunks.capture());
+        var content = new ByteArrayOutputStream();
+        chunks.getAllValues().forEach(content::writeBytes);
+        var csv = content.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.contains(DEFAULT_ROOM_NAME));
+        assertTrue(csv.contains(DEFAULT_ALLOCATION_SUBJECT));
+        assertTrue(csv.contains("2 allocations, 120 minutes booked"));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testCreateOccupancyReportWhenFillFails() {
+        given(allocationRepository.streamAllByStartAtBetweenOrderByRoom(any(), any()))
+                .willThrow(new IllegalStateException("Connection lost"));
+        saveInline();
+        runInline();
+
+        var job = victim.createOccupancyReport(newCreateOccupancyReportDTO());
+
+        verify(reportJobRepository).updateStatus(eq(job.getId()), eq(ReportJob.Status.FAILED), any());
+        verify(reportJobRepository, never()).insertContentChunk(any(), anyInt(), any());
+    }
+
+    @Test
+    void testCreateOccupancyReportWhenQueueIsFull() {
+        saveInline();
+        willThrow(new RejectedExecutionException()).given(reportsExecutor).execute(any());
+
+        assertThrows(RejectedExecutionException.class, () -> victim.createOccupancyReport(newCreateOccupancyReportDTO()));
+        verify(reportJobRepository).deleteById(any());
+    }
+
+    @Test
+    void testGetReportJob() {
+        given(reportJobRepository.findById(DEFAULT_REPORT_JOB_ID))
+                .willReturn(Optional.of(newReportJobBuilder(ReportJob.Status.RUNNING).build()));
+
+        var job = victim.getReportJob(DEFAULT_REPORT_JOB_ID);
+
+        assertEquals(ReportJobDTO.StatusEnum.RUNNING, job.getStatus());
+        assertEquals(ReportFormatDTO.CSV, job.getFormat());
+    }
+
+    @Test
+    void testGetReportJobNotFound() {
+        given(reportJobRepository.findById("unknown")).willReturn(Optional.empty());
+
+        assertThrows(ReportJobNotFoundException.class, () -> victim.getReportJob("unknown"));
+    }
+
+    @Test
+    void testGetReportContent() throws Exception {
+        given(reportJobRepository.findById(DEFAULT_REPORT_JOB_ID))
+                .willReturn(Optional.of(newReportJobBuilder(ReportJob.Status.DONE).completedAt(now()).build()));
+        given(reportJobRepository.findContentChunk(DEFAULT_REPORT_JOB_ID, 0))
+                .willReturn(Optional.of("first,".getBytes(StandardCharsets.UTF_8)));
+        given(reportJobRepository.findContentChunk(DEFAULT_REPORT_JOB_ID, 1))
+                .willReturn(Optional.of("second".getBytes(StandardCharsets.UTF_8)));
+        given(reportJobRepository.findContentChunk(DEFAULT_REPORT_JOB_ID, 2)).willReturn(Optional.empty());
+
+        var report = victim.getReportContent(DEFAULT_REPORT_JOB_ID);
+
+        assertEquals("first,second", new String(report.getContent().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(ReportFormatDTO.CSV, report.getFormat());
+        assertEquals("occupancy-" + DEFAULT_REPORT_JOB_ID + ".csv", report.getFileName());
+    }
+
+    @Test
+    void testGetReportContentWhenPurged() {
+        given(reportJobRepository.findById(DEFAULT_REPORT_JOB_ID))
+                .willReturn(Optional.of(newReportJobBuilder(ReportJob.Status.DONE).completedAt(now()).build()));
+        given(reportJobRepository.findContentChunk(DEFAULT_REPORT_JOB_ID, 0)).willReturn(Optional.empty());
+
+        assertThrows(ReportJobNotFoundException.class, () -> victim.getReportContent(DEFAULT_REPORT_JOB_ID));
+    }
+
+    @Test
+    void testGetReportContentWhenPending() {
+        given(reportJobRepository.findById(DEFAULT_REPORT_JOB_ID))
+                .willReturn(Optional.of(newReportJobBuilder(ReportJob.Status.PENDING).build()));
+
+        assertThrows(ReportNotReadyException.class, () -> victim.getReportContent(DEFAULT_REPORT_JOB_ID));
+        verify(reportJobRepository, never()).findContentChunk(any(), anyInt());
+    }
+
+    @Test
+    void testPurgeExpiredJobs() {
+        var before = now().minusMinutes(60);
+
+        victim.purgeExpiredJobs();
+
+        var expiredBefore = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(reportJobRepository).deleteAllExpired(expiredBefore.capture());
+        assertTrue(!expiredBefore.getValue().isBefore(before));
+        assertTrue(!expiredBefore.getValue().isAfter(now().minusMinutes(60)));
+    }
+
+    private void saveInline() {
+        given(reportJobRepository.save(any())).willAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private void runInline() {
+        willAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).given(reportsExecutor).execute(any());
+    }
+
+    private static CreateOccupancyReportDTO newCreateOccupancyReportDTO() {
+        return new CreateOccupancyReportDTO()
+                .startAt(DEFAULT_ALLOCATION_START_AT.minusDays(1))
+                .endAt(DEFAULT_ALLOCATION_START_AT.plusDays(1))
+                .format(ReportFormatDTO.CSV);
+    }
+}
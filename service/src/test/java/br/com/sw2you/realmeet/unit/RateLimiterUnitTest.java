@@ -0,0 +1,125 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static br.com.sw2you.realmeet.ratelimit.RateLimiter.REJECTED_METRIC;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_EMPLOYEE_EMAIL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterUnitTest extends BaseUnitTest {
+    private static final int CAPACITY = 3;
+    private static final int REFILL_PER_MINUTE = 60;
+    private static final long NANOS_PER_TOKEN = TimeUnit.SECONDS.toNanos(1);
+
+    private RateLimiter victim;
+    private AtomicLong clock;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setupEach() {
+        clock = new AtomicLong();
+        meterRegistry = new SimpleMeterRegistry();
+        victim = new RateLimiter("employee", CAPACITY, REFILL_PER_MINUTE, 100, clock::get, meterRegistry);
+    }
+
+    @Test
+    void testTryAcquireUpToCapacity() {
+        for (var i = 0; i < CAPACITY; i++) {
+            assertEquals(0, victim.tryAcquire(DEFAULT_EMPLOYEE_EMAIL));
+        }
+
+        assertEquals(NANOS_PER_TOKEN, victim.tryAcquire(DEFAULT_EMPLOYEE_EMAIL));
+        assertEquals(1.0, meterRegistry.counter(REJECTED_METRIC, "limit", "employee").count());
+    }
+
+    @Test
+    void testTryAcquireRefillsLazily() {
+        for (var i = 0; i < CAPACITY; i++) {
+            victim.tryAcquire(DEFAULT_EMPLOYEE_EMAIL);
+        }
+
+        clock.addAndGet(NANOS_PER_TOKEN / 2);
+        assertEquals(NANOS_PER_TOKEN / 2, victim.tryAcquire(DEFAULT_EMPLOYEE_EMAIL));
+
+        clock.addAndGet(NANOS_PER_TOKEN / 2);
+        assertEquals(0, victim.tryAcquire(DEFAULT_EMPLOYEE_EMAIL));
+        assertTrue(victim.tryAcquire(DEFAULT_EMPLOYEE_EMAIL) > 0);
+    }
+
+    @Test
+    void testTryAcquireNeverRefillsPastCapacity() {
+        victim.tryAcquire(DEFAULT_EMPLOYEE_EMAIL);
+        clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        for (var i = 0; i < CAPACITY; i++) {
+            assertEquals(0, victim.tryAcquire(DEFAULT_EMPLOYEE_EMAIL));
+        }
+        assertTrue(victim.tryAcquire(DEFAULT_EMPLOYEE_EMAIL) > 0);
+    }
+
+    @Test
+    void testTryAcquireKeepsKeysApart() {
+        for (var i = 0; i < CAPACITY; i++) {
+            victim.tryAcquire(DEFAULT_EMPLOYEE_EMAIL);
+        }
+
+        assertEquals(0, victim.tryAcquire("other" + DEFAULT_EMPLOYEE_EMAIL));
+    }
+
+    @Test
+    void testRelease() {
+        for (var i = 0; i < CAPACITY; i++) {
+            victim.tryAcquire(DEFAULT_EMPLOYEE_EMAIL);
+        }
+
+        victim.release(DEFAULT_EMPLOYEE_EMAIL);
+
+        assertEquals(0, victim.tryAcquire(DEFAULT_EMPLOYEE_EMAIL));
+    }
+
+    @Test
+    void testTryAcquireWhenConcurrent() throws Exception {
+        var threads = 8;
+        var executor = Executors.newFixedThreadPool(threads);
+        var start = new CountDownLatch(1);
+        var acquired = new AtomicInteger();
+
+        try {
+            for (var i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    awaitQuietly(start);
+                    for (var j = 0; j < 100; j++) {
+                        if (victim.tryAcquire(DEFAULT_EMPLOYEE_EMAIL) == 0) {
+                            acquired.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(CAPACITY, acquired.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.exception.RateLimitExceededException;
+import br.com.sw2you.realmeet.ratelimit.RateLimits;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_EMPLOYEE_EMAIL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitsUnitTest extends BaseUnitTest {
+    private static final String CALLER = "user:calendar-sync";
+    private static final int CALLER_CAPACITY = 3;
+    private static final int EMPLOYEE_CAPACITY = 1;
+
+    private RateLimits victim;
+    private AtomicInteger submitted;
+
+    @BeforeEach
+    void setupEach() {
+        submitted = new AtomicInteger();
+        victim = new RateLimits(new SimpleMeterRegistry(), 100, CALLER_CAPACITY, 1, EMPLOYEE_CAPACITY, 1);
+    }
+
+    @Test
+    void testWhenAllowedSubmits() throws Exception {
+        assertEquals(1, victim.whenAllowed(CALLER, DEFAULT_EMPLOYEE_EMAIL, this::submit).get());
+        assertEquals(1, submitted.get());
+    }
+
+    @Test
+    void testWhenAllowedWhenEmployeeLimitIsExceeded() {
+        victim.whenAllowed(CALLER, DEFAULT_EMPLOYEE_EMAIL, this::submit);
+
+        var exception = assertRejected(victim.whenAllowed(CALLER, DEFAULT_EMPLOYEE_EMAIL.toUpperCase(), this::submit));
+
+        assertEquals(60, exception.getRetryAfterSeconds());
+        assertEquals(1, submitted.get());
+    }
+
+    @Test
+    void testWhenAllowedWhenCallerLimitIsExceeded() {
+        for (var i = 0; i < CALLER_CAPACITY; i++) {
+            victim.whenAllowed(CALLER, this::submit);
+        }
+
+        assertRejected(victim.whenAllowed(CALLER, this::submit));
+        assertEquals(CALLER_CAPACITY, submitted.get());
+    }
+
+    @Test
+    void testWhenAllowedReleasesTokensOfRejectedRequest() throws Exception {
+        victim.whenAllowed("other" + CALLER, "other" + DEFAULT_EMPLOYEE_EMAIL, this::submit);
+
+        var employeeEmails = List.of(DEFAULT_EMPLOYEE_EMAIL, "other" + DEFAULT_EMPLOYEE_EMAIL);
+
+        assertRejected(victim.whenAllowed(CALLER, employeeEmails, this::submit));
+
+        assertEquals(2, victim.whenAllowed(CALLER, DEFAULT_EMPLOYEE_EMAIL, this::submit).get());
+        for (var i = 1; i < CALLER_CAPACITY; i++) {
+            victim.whenAllowed(CALLER, this::submit).get();
+        }
+        assertEquals(CALLER_CAPACITY + 1, submitted.get());
+    }
+
+    private CompletableFuture<Integer> submit() {
+        return CompletableFuture.completedFuture(submitted.incrementAndGet());
+    }
+
+    private static RateLimitExceededException assertRejected(CompletableFuture<?> future) {
+        var exception = assertThrows(ExecutionException.class, future::get);
+        assertTrue(exception.getCause() instanceof RateLimitExceededException);
+        return (RateLimitExceededException) exception.getCause();
+    }
+}
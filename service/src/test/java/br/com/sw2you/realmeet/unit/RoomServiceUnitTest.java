@@ -1,23 +1,53 @@
 package br.com.sw2you.realmeet.unit;
 
+import br.com.sw2you.realmeet.api.model.UpdateRoomDTO;
+import br.com.sw2you.realmeet.cache.EntityCacheLocks;
 import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.entity.Room;
+import br.com.sw2you.realmeet.domain.index.AllocationIndex;
+import br.com.sw2you.realmeet.domain.model.ChangeEvent;
+import br.com.sw2you.realmeet.domain.repository.AllocationRepository;
+import br.com.sw2you.realmeet.domain.repository.AllocationSeriesRepository;
 import br.com.sw2you.realmeet.domain.repository.RoomRepository;
+import br.com.sw2you.realmeet.event.ChangeEventDispatcher;
+import br.com.sw2you.realmeet.exception.InvalidRequestException;
+import br.com.sw2you.realmeet.exception.PreconditionFailedException;
 import br.com.sw2you.realmeet.exception.RoomNotFoundException;
 import br.com.sw2you.realmeet.service.RoomService;
 import br.com.sw2you.realmeet.validator.RoomValidator;
+import br.com.sw2you.realmeet.validator.ValidationError;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.ROOM_CREATED;
+import static br.com.sw2you.realmeet.domain.model.ChangeEvent.Type.ROOM_UPDATED;
+import static br.com.sw2you.realmeet.domain.repository.RoomRepository.ACTIVE_NAME_UNIQUE_KEY;
+import static br.com.sw2you.realmeet.util.ETagUtils.toETag;
 import static br.com.sw2you.realmeet.utils.MapperUtils.roomMapper;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_END_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
 import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_ID;
+import static br.com.sw2you.realmeet.utils.TestDataCreator.newAllocationSeriesBuilder;
 import static br.com.sw2you.realmeet.utils.TestDataCreator.newCreateRoomDTO;
 import static br.com.sw2you.realmeet.utils.TestDataCreator.newRoomBuilder;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.DUPLICATED;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_NAME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,28 +61,76 @@ class RoomServiceUnitTest extends BaseUnitTest {
     @Mock
     private RoomValidator roomValidator;
 
+    @Mock
+    private EntityCacheLocks entityCacheLocks;
+
+    @Mock
+    private AllocationIndex allocationIndex;
+
+    @Mock
+    private AllocationRepository allocationRepository;
+
+    @Mock
+    private AllocationSeriesRepository allocationSeriesRepository;
+
+    @Mock
+    private ChangeEventDispatcher changeEventDispatcher;
+
     @BeforeEach
     void setupEach() {
-        victim = new RoomService(roomRepository, roomValidator, roomMapper());
+        victim = new RoomService(
+                roomRepository,
+                roomValidator,
+                roomMapper(),
+                entityCacheLocks,
+                allocationIndex,
+                allocationRepository,
+                allocationSeriesRepository,
+                changeEventDispatcher
+        );
     }
 
     @Test
     void testGetRoomSuccess() {
         var room = newRoomBuilder().id(DEFAULT_ROOM_ID).build();
-        when(roomRepository.findByIdAndActive(DEFAULT_ROOM_ID, true)).thenReturn(Optional.of(room));
+        when(roomRepository.findActiveById(DEFAULT_ROOM_ID)).thenReturn(Optional.of(room));
 
-        var dto = victim.getRoom(DEFAULT_ROOM_ID);
+        var dto = victim.getRoom(DEFAULT_ROOM_ID, null).getBody();
 
         assertEquals(room.getId(), dto.getId());
         assertEquals(room.getName(), dto.getName());
         assertEquals(room.getSeats(), dto.getSeats());
     }
 
+    @Test
+    void testGetRoomWhenETagMatches() {
+        var room = newRoomBuilder().id(DEFAULT_ROOM_ID).version(1L).build();
+        when(roomRepository.findByIdAndActive(DEFAULT_ROOM_ID, true)).thenReturn(Optional.of(room));
+
+        var resource = victim.getRoom(DEFAULT_ROOM_ID, toETag(room.getVersion()));
+
+        assertFalse(resource.isModified());
+        assertNull(resource.getBody());
+        assertEquals(toETag(room.getVersion()), resource.getETag());
+        verify(roomRepository, never()).findActiveById(any());
+    }
+
+    @Test
+    void testGetRoomWhenETagDoesNotMatch() {
+        var room = newRoomBuilder().id(DEFAULT_ROOM_ID).version(1L).build();
+        when(roomRepository.findByIdAndActive(DEFAULT_ROOM_ID, true)).thenReturn(Optional.of(room));
+
+        var resource = victim.getRoom(DEFAULT_ROOM_ID, "\"stale\"");
+
+        assertTrue(resource.isModified());
+        assertEquals(room.getId(), resource.getBody().getId());
+    }
+
     @Test
     void testGetRoomNotFound() {
-        when(roomRepository.findByIdAndActive(DEFAULT_ROOM_ID, true)).thenReturn(Optional.empty());
+        when(roomRepository.findActiveById(DEFAULT_ROOM_ID)).thenReturn(Optional.empty());
 
-        assertThrows(RoomNotFoundException.class, () -> victim.getRoom(DEFAULT_ROOM_ID));
+        assertThrows(RoomNotFoundException.class, () -> victim.getRoom(DEFAULT_ROOM_ID, null));
     }
 
     @Test
@@ -63,6 +141,160 @@ class RoomServiceUnitTest extends BaseUnitTest {
         assertEquals(createRoomDTO.getName(), roomDTO.getName());
         assertEquals(createRoomDTO.getSeats(), roomDTO.getSeats());
 
-        verify(roomRepository).save(any());
+        verify(roomRepository).saveAndFlush(any());
+        var event = ArgumentCaptor.forClass(ChangeEvent.class);
+        verify(changeEventDispatcher).publish(event.capture());
+        assertEquals(ROOM_CREATED, event.getValue().getType());
+    }
+
+    @Test
+    void testCreateRoomWhenNameIsDuplicated() {
+        when(roomRepository.saveAndFlush(any())).thenThrow(activeNameViolation());
+
+        var exception = assertThrows(InvalidRequestException.class, () -> victim.createRoom(newCreateRoomDTO()));
+
+        assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(new ValidationError(ROOM_NAME, ROOM_NAME + DUPLICATED), exception.getValidationErrors().getError(0));
+        verify(changeEventDispatcher, never()).publish(any());
+    }
+
+    @Test
+    void testCreateRoomWhenOtherConstraintIsViolated() {
+        var violation = new DataIntegrityViolationException("", new ConstraintViolationException("", null, "other"));
+        when(roomRepository.saveAndFlush(any())).thenThrow(violation);
+
+        assertThrows(DataIntegrityViolationException.class, () -> victim.createRoom(newCreateRoomDTO()));
+    }
+
+    @Test
+    void testUpdateRoomLocksCachedRoomAndPublishesChange() {
+        var room = newRoomBuilder().id(DEFAULT_ROOM_ID).version(1L).build();
+        when(roomRepository.findByIdAndActive(DEFAULT_ROOM_ID, true)).thenReturn(Optional.of(room));
+        when(roomRepository.updateRoom(DEFAULT_ROOM_ID, "Room B", 6, null)).thenReturn(1);
+
+        victim.updateRoom(DEFAULT_ROOM_ID, new UpdateRoomDTO().name("Room B").seats(6), null);
+
+        var inOrder = inOrder(entityCacheLocks, roomRepository);
+        inOrder.verify(entityCacheLocks).lockUntilCompletion(Room.class, DEFAULT_ROOM_ID, room.getVersion());
+        inOrder.verify(roomRepository).updateRoom(DEFAULT_ROOM_ID, "Room B", 6, null);
+        var event = ArgumentCaptor.forClass(ChangeEvent.class);
+        verify(changeEventDispatcher).publish(event.capture());
+        assertEquals(ROOM_UPDATED, event.getValue().getType());
+        assertEquals(DEFAULT_ROOM_ID, event.getValue().getRoomId());
+    }
+
+    @Test
+    void testUpdateRoomWhenNameIsDuplicated() {
+        var room = newRoomBuilder().id(DEFAULT_ROOM_ID).build();
+        when(roomRepository.findByIdAndActive(DEFAULT_ROOM_ID, true)).thenReturn(Optional.of(room));
+        when(roomRepository.updateRoom(any(), any(), any(), any())).thenThrow(activeNameViolation());
+
+        var exception = assertThrows(
+                InvalidRequestException.class,
+                () -> victim.updateRoom(DEFAULT_ROOM_ID, new UpdateRoomDTO().name("Room B").seats(6), null)
+        );
+
+        assertEquals(new ValidationError(ROOM_NAME, ROOM_NAME + DUPLICATED), exception.getValidationErrors().getError(0));
+    }
+
+    @Test
+    void testUpdateRoomWhenIfMatchIsStale() {
+        var room = newRoomBuilder().id(DEFAULT_ROOM_ID).version(1L).build();
+        when(roomRepository.findByIdAndActive(DEFAULT_ROOM_ID, true)).thenReturn(Optional.of(room));
+
+        assertThrows(
+                PreconditionFailedException.class,
+                () -> victim.updateRoom(DEFAULT_ROOM_ID, new UpdateRoomDTO().name("Room B").seats(6), "\"stale\"")
+        );
+        verify(roomRepository, never()).updateRoom(any(), any(), any(), any());
+        verify(entityCacheLocks, never()).lockUntilCompletion(any(), any(), any());
+    }
+
+    @Test
+    void testDeleteRoomWhenVersionChangedConcurrently() {
+        var room = newRoomBuilder().id(DEFAULT_ROOM_ID).version(1L).build();
+        when(roomRepository.findByIdAndActive(DEFAULT_ROOM_ID, true)).thenReturn(Optional.of(room));
+        when(roomRepository.deactivate(DEFAULT_ROOM_ID, room.getVersion())).thenReturn(0);
+
+        assertThrows(
+                PreconditionFailedException.class,
+                () -> victim.deleteRoom(DEFAULT_ROOM_ID, toETag(room.getVersion()))
+        );
+    }
+
+    @Test
+    void testFindAvailableRooms() {
+        var freeRoom = newRoomBuilder().id(DEFAULT_ROOM_ID).build();
+        var busyRoom = newRoomBuilder().id(DEFAULT_ROOM_ID + 1).name("Room B").build();
+        when(roomRepository.findAllByActiveAndSeatsGreaterThanEqualOrderByName(true, 4))
+                .thenReturn(List.of(freeRoom, busyRoom));
+        when(allocationIndex.isAvailable(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT))
+                .thenReturn(true);
+        when(allocationRepository.findRoomIdsWithOverlap(List.of(DEFAULT_ROOM_ID), DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT))
+                .thenReturn(Set.of());
+
+        var rooms = victim.findAvailableRooms(DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT, 4);
+
+        assertEquals(1, rooms.size());
+        assertEquals(freeRoom.getId(), rooms.get(0).getId());
+    }
+
+    @Test
+    void testFindAvailableRoomsExcludesRoomsWithOccurrences() {
+        var freeRoom = newRoomBuilder().id(DEFAULT_ROOM_ID).build();
+        var seriesRoom = newRoomBuilder().id(DEFAULT_ROOM_ID + 1).name("Room B").build();
+        var startAt = DEFAULT_ALLOCATION_START_AT.minusWeeks(1).plusMinutes(30);
+        var series = newAllocationSeriesBuilder()
+                .roomId(seriesRoom.getId())
+                .startAt(startAt)
+                .endAt(startAt.plusHours(1))
+                .build();
+        when(roomRepository.findAllByActiveAndSeatsGreaterThanEqualOrderByName(true, 4))
+                .thenReturn(List.of(freeRoom, seriesRoom));
+        when(allocationSeriesRepository.findAllOverlapping(DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT))
+                .thenReturn(List.of(series));
+        when(allocationIndex.isAvailable(DEFAULT_ROOM_ID, DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT))
+                .thenReturn(true);
+        when(allocationRepository.findRoomIdsWithOverlap(List.of(DEFAULT_ROOM_ID), DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT))
+                .thenReturn(Set.of());
+
+        var rooms = victim.findAvailableRooms(DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT, 4);
+
+        assertEquals(1, rooms.size());
+        assertEquals(freeRoom.getId(), rooms.get(0).getId());
+    }
+
+    @Test
+    void testFindAvailableRoomsExcludesRoomsBookedElsewhere() {
+        var freeRoom = newRoomBuilder().id(DEFAULT_ROOM_ID).build();
+        var bookedRoom = newRoomBuilder().id(DEFAULT_ROOM_ID + 1).name("Room B").build();
+        when(roomRepository.findAllByActiveAndSeatsGreaterThanEqualOrderByName(true, 4))
+                .thenReturn(List.of(freeRoom, bookedRoom));
+        when(allocationIndex.isAvailable(any(), any(), any())).thenReturn(true);
+        when(allocationRepository.findRoomIdsWithOverlap(List.of(DEFAULT_ROOM_ID, DEFAULT_ROOM_ID + 1), DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT))
+                .thenReturn(Set.of(DEFAULT_ROOM_ID + 1));
+
+        var rooms = victim.findAvailableRooms(DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT, 4);
+
+        assertEquals(1, rooms.size());
+        assertEquals(freeRoom.getId(), rooms.get(0).getId());
+    }
+
+    @Test
+    void testFindAvailableRoomsSkipsQueryWithoutCandidates() {
+        var busyRoom = newRoomBuilder().id(DEFAULT_ROOM_ID).build();
+        when(roomRepository.findAllByActiveAndSeatsGreaterThanEqualOrderByName(true, 4)).thenReturn(List.of(busyRoom));
+
+        var rooms = victim.findAvailableRooms(DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT, 4);
+
+        assertTrue(rooms.isEmpty());
+        verify(allocationRepository, never()).findRoomIdsWithOverlap(any(), any(), any());
+    }
+
+    private static DataIntegrityViolationException activeNameViolation() {
+        return new DataIntegrityViolationException(
+                "",
+                new ConstraintViolationException("", null, "room." + ACTIVE_NAME_UNIQUE_KEY)
+        );
     }
 }
@@ -2,25 +2,25 @@ package br.com.sw2you.realmeet.unit;
 
 import br.com.sw2you.realmeet.api.model.CreateRoomDTO;
 import br.com.sw2you.realmeet.core.BaseUnitTest;
-import br.com.sw2you.realmeet.domain.repository.RoomRepository;
 import br.com.sw2you.realmeet.exception.InvalidRequestException;
 import br.com.sw2you.realmeet.validator.RoomValidator;
 import br.com.sw2you.realmeet.validator.ValidationError;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mock;
 
-import java.util.Optional;
-
-import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_NAME;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_END_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
 import static br.com.sw2you.realmeet.utils.TestDataCreator.newCreateRoomDTO;
-import static br.com.sw2you.realmeet.utils.TestDataCreator.newRoomBuilder;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.BELOW_MIN_VALUE;
-import static br.com.sw2you.realmeet.validator.ValidatorConstants.DUPLICATED;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.EXCEEDS_DURATION;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.EXCEEDS_MAX_LENGTH;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.EXCEEDS_MAX_VALUE;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.INCONSISTENT;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.MISSING;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_AVAILABILITY_END;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_AVAILABILITY_MIN_SEATS;
+import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_AVAILABILITY_START;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_NAME;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_NAME_MAX_LENGTH;
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_SEATS;
@@ -28,19 +28,14 @@ import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_SEATS_MAX
 import static br.com.sw2you.realmeet.validator.ValidatorConstants.ROOM_SEATS_MIN_VALUE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.when;
 
 class RoomValidatorUnitTest extends BaseUnitTest {
 
     private RoomValidator victim;
 
-    @Mock
-    private RoomRepository roomRepository;
-
     @BeforeEach
     void setupEach() {
-        victim = new RoomValidator(roomRepository);
+        victim = new RoomValidator();
     }
 
     @Test
@@ -87,14 +82,22 @@ class RoomValidatorUnitTest extends BaseUnitTest {
     }
 
     @Test
-    void testValidateWhenRoomNameIsDuplicated() {
-        given(roomRepository.findByNameAndActive(DEFAULT_ROOM_NAME, true))
-                .willReturn(Optional.of(newRoomBuilder().build()));
-
-//        when(roomRepository.findByNameAndActive(DEFAULT_ROOM_NAME, true)).thenReturn(Optional.of(Room.newBuilder().build()));
+    void testValidateAvailabilityFiltersWhenValid() {
+        victim.validateAvailabilityFilters(DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_END_AT, null);
+    }
 
-        var exception = assertThrows(InvalidRequestException.class, () -> victim.validate(newCreateRoomDTO()));
+    @Test
+    void testValidateAvailabilityFiltersWhenInconsistent() {
+        var exception = assertThrows(InvalidRequestException.class, () -> victim.validateAvailabilityFilters(DEFAULT_ALLOCATION_END_AT, DEFAULT_ALLOCATION_START_AT, null));
         assertEquals(1, exception.getValidationErrors().getNumberOfErrors());
-        assertEquals(new ValidationError(ROOM_NAME, ROOM_NAME + DUPLICATED), exception.getValidationErrors().getError(0));
+        assertEquals(new ValidationError(ROOM_AVAILABILITY_START, ROOM_AVAILABILITY_START + INCONSISTENT), exception.getValidationErrors().getError(0));
+    }
+
+    @Test
+    void testValidateAvailabilityFiltersWhenWindowIsTooLong() {
+        var exception = assertThrows(InvalidRequestException.class, () -> victim.validateAvailabilityFilters(DEFAULT_ALLOCATION_START_AT, DEFAULT_ALLOCATION_START_AT.plusDays(8), 0));
+        assertEquals(2, exception.getValidationErrors().getNumberOfErrors());
+        assertEquals(new ValidationError(ROOM_AVAILABILITY_END, ROOM_AVAILABILITY_END + EXCEEDS_DURATION), exception.getValidationErrors().getError(0));
+        assertEquals(new ValidationError(ROOM_AVAILABILITY_MIN_SEATS, ROOM_AVAILABILITY_MIN_SEATS + BELOW_MIN_VALUE), exception.getValidationErrors().getError(1));
     }
 }
@@ -0,0 +1,62 @@
+package br.com.sw2you.realmeet.unit;
+
+import br.com.sw2you.realmeet.core.BaseUnitTest;
+import br.com.sw2you.realmeet.domain.index.SlotBitmap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotBitmapUnitTest extends BaseUnitTest {
+    private static final int SLOTS_PER_DAY = 96;
+
+    private SlotBitmap victim;
+
+    @BeforeEach
+    void setupEach() {
+        victim = new SlotBitmap(SLOTS_PER_DAY);
+    }
+
+    @Test
+    void testIntersectsAcrossWords() {
+        victim.set(60, 70);
+
+        assertTrue(victim.intersects(69, 80));
+        assertTrue(victim.intersects(0, 61));
+        assertFalse(victim.intersects(70, 96));
+        assertFalse(victim.intersects(0, 60));
+    }
+
+    @Test
+    void testIntersectsAcrossDays() {
+        victim.set(SLOTS_PER_DAY - 2, SLOTS_PER_DAY + 2);
+
+        assertEquals(2, victim.size());
+        assertTrue(victim.intersects(SLOTS_PER_DAY + 1, SLOTS_PER_DAY + 10));
+        assertFalse(victim.intersects(SLOTS_PER_DAY + 2, 3 * SLOTS_PER_DAY));
+        assertFalse(victim.intersects(0, SLOTS_PER_DAY - 2));
+    }
+
+    @Test
+    void testClear() {
+        victim.set(10, 20);
+        victim.clear(10, 15);
+
+        assertFalse(victim.intersects(10, 15));
+        assertTrue(victim.intersects(15, 16));
+    }
+
+    @Test
+    void testEvictDaysBefore() {
+        victim.set(0, 1);
+        victim.set(SLOTS_PER_DAY, SLOTS_PER_DAY + 1);
+
+        victim.evictDaysBefore(SLOTS_PER_DAY + 10);
+
+        assertEquals(1, victim.size());
+        assertFalse(victim.intersects(0, 1));
+        assertTrue(victim.intersects(SLOTS_PER_DAY, SLOTS_PER_DAY + 1));
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.sw2you.realmeet.utils;
 
 import br.com.sw2you.realmeet.mapper.AllocationMapper;
+import br.com.sw2you.realmeet.mapper.ReportMapper;
 import br.com.sw2you.realmeet.mapper.RoomMapper;
 import org.mapstruct.factory.Mappers;
 
@@ -15,4 +16,8 @@ public final class MapperUtils {
     public static AllocationMapper allocationMapper() {
         return Mappers.getMapper(AllocationMapper.class);
     }
+
+    public static ReportMapper reportMapper() {
+        return Mappers.getMapper(ReportMapper.class);
+    }
 }
@@ -15,6 +15,12 @@ public final class TestConstants {
     public static final String DEFAULT_EMPLOYEE_EMAIL = "john@email.com";
     public static final OffsetDateTime DEFAULT_ALLOCATION_START_AT = now().plusDays(1);
     public static final OffsetDateTime DEFAULT_ALLOCATION_END_AT = DEFAULT_ALLOCATION_START_AT.plusHours(1);
+    public static final long DEFAULT_ALLOCATION_SERIES_ID = 1L;
+    public static final int DEFAULT_ALLOCATION_SERIES_OCCURRENCES = 4;
+    public static final OffsetDateTime DEFAULT_ALLOCATION_SERIES_UNTIL =
+            DEFAULT_ALLOCATION_START_AT.plusWeeks(DEFAULT_ALLOCATION_SERIES_OCCURRENCES - 1).plusDays(1);
+    public static final String DEFAULT_IDEMPOTENCY_KEY = "3f2b8c1e-5d4a-4e7b-9c6f-0a1b2c3d4e5f";
+    public static final String DEFAULT_REPORT_JOB_ID = "8d6e1f0a-7b2c-4c3d-a5e4-9f8b7c6d5e4a";
 
     private TestConstants() {}
 }
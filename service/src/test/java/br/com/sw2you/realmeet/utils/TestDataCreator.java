@@ -1,17 +1,36 @@
 package br.com.sw2you.realmeet.utils;
 
 import br.com.sw2you.realmeet.api.model.CreateAllocationDTO;
+import br.com.sw2you.realmeet.api.model.CreateAllocationSeriesDTO;
 import br.com.sw2you.realmeet.api.model.CreateRoomDTO;
+import br.com.sw2you.realmeet.api.model.RecurrenceDTO;
+import br.com.sw2you.realmeet.api.model.RecurrenceFrequencyDTO;
+import br.com.sw2you.realmeet.api.model.ReportFormatDTO;
 import br.com.sw2you.realmeet.api.model.UpdateAllocationDTO;
 import br.com.sw2you.realmeet.domain.entity.Allocation;
+import br.com.sw2you.realmeet.domain.entity.AllocationSeries;
+import br.com.sw2you.realmeet.domain.entity.ArchivedAllocation;
+import br.com.sw2you.realmeet.domain.entity.Notification;
+import br.com.sw2you.realmeet.domain.entity.ReportJob;
 import br.com.sw2you.realmeet.domain.entity.Room;
+import br.com.sw2you.realmeet.domain.model.AllocationView;
 import br.com.sw2you.realmeet.domain.model.Employee;
+import br.com.sw2you.realmeet.domain.model.NotificationEvent;
+import br.com.sw2you.realmeet.domain.model.Recurrence;
+import br.com.sw2you.realmeet.domain.model.RecurrenceFrequency;
 
+import java.time.OffsetDateTime;
+
+import static br.com.sw2you.realmeet.util.DateUtils.now;
 import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_END_AT;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_ID;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_SERIES_ID;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_SERIES_UNTIL;
 import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_START_AT;
 import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ALLOCATION_SUBJECT;
 import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_EMPLOYEE_EMAIL;
 import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_EMPLOYEE_NAME;
+import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_REPORT_JOB_ID;
 import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_ID;
 import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_NAME;
 import static br.com.sw2you.realmeet.utils.TestConstants.DEFAULT_ROOM_SEATS;
@@ -38,6 +57,84 @@ public final class TestDataCreator {
                 .endAt(DEFAULT_ALLOCATION_END_AT);
     }
 
+    public static AllocationView newAllocationView(Long id, OffsetDateTime startAt, OffsetDateTime endAt) {
+        return new AllocationView(
+                id,
+                DEFAULT_ROOM_ID,
+                DEFAULT_EMPLOYEE_NAME,
+                DEFAULT_EMPLOYEE_EMAIL,
+                DEFAULT_ALLOCATION_SUBJECT,
+                startAt,
+                endAt
+        );
+    }
+
+    public static ArchivedAllocation.Builder newArchivedAllocationBuilder() {
+        return ArchivedAllocation.newBuilder()
+                .id(DEFAULT_ALLOCATION_ID)
+                .roomId(DEFAULT_ROOM_ID)
+                .subject(DEFAULT_ALLOCATION_SUBJECT)
+                .employee(
+                        Employee.newBuilder()
+                                .name(DEFAULT_EMPLOYEE_NAME)
+                                .email(DEFAULT_EMPLOYEE_EMAIL)
+                                .build()
+                )
+                .startAt(DEFAULT_ALLOCATION_START_AT)
+                .endAt(DEFAULT_ALLOCATION_END_AT)
+                .archivedAt(now());
+    }
+
+    // Weekly, with DEFAULT_ALLOCATION_SERIES_OCCURRENCES occurrences
+    public static AllocationSeries.Builder newAllocationSeriesBuilder() {
+        return AllocationSeries.newBuilder()
+                .id(DEFAULT_ALLOCATION_SERIES_ID)
+                .roomId(DEFAULT_ROOM_ID)
+                .subject(DEFAULT_ALLOCATION_SUBJECT)
+                .employee(
+                        Employee.newBuilder()
+                                .name(DEFAULT_EMPLOYEE_NAME)
+                                .email(DEFAULT_EMPLOYEE_EMAIL)
+                                .build()
+                )
+                .startAt(DEFAULT_ALLOCATION_START_AT)
+                .endAt(DEFAULT_ALLOCATION_END_AT)
+                .recurrence(
+                        Recurrence.newBuilder()
+                                .frequency(RecurrenceFrequency.WEEKLY)
+                                .interval(1)
+                                .until(DEFAULT_ALLOCATION_SERIES_UNTIL)
+                                .build()
+                );
+    }
+
+    public static Notification.Builder newNotificationBuilder(NotificationEvent event) {
+        return Notification.newBuilder()
+                .event(event)
+                .allocationId(DEFAULT_ALLOCATION_ID)
+                .employee(
+                        Employee.newBuilder()
+                                .name(DEFAULT_EMPLOYEE_NAME)
+                                .email(DEFAULT_EMPLOYEE_EMAIL)
+                                .build()
+                )
+                .subject(DEFAULT_ALLOCATION_SUBJECT)
+                .roomName(DEFAULT_ROOM_NAME)
+                .startAt(DEFAULT_ALLOCATION_START_AT)
+                .endAt(DEFAULT_ALLOCATION_END_AT)
+                .attempts(0)
+                .nextAttemptAt(now())
+                .createdAt(now());
+    }
+
+    public static ReportJob.Builder newReportJobBuilder(ReportJob.Status status) {
+        return ReportJob.newBuilder()
+                .id(DEFAULT_REPORT_JOB_ID)
+                .format(ReportFormatDTO.CSV)
+                .status(status)
+                .createdAt(now());
+    }
+
     public static CreateRoomDTO newCreateRoomDTO() {
         return (CreateRoomDTO) new CreateRoomDTO()
                 .name(DEFAULT_ROOM_NAME)
@@ -54,6 +151,22 @@ public final class TestDataCreator {
                 .endAt(DEFAULT_ALLOCATION_END_AT);
     }
 
+    public static CreateAllocationSeriesDTO newCreateAllocationSeriesDTO() {
+        return new CreateAllocationSeriesDTO()
+                .subject(DEFAULT_ALLOCATION_SUBJECT)
+                .roomId(DEFAULT_ROOM_ID)
+                .employeeName(DEFAULT_EMPLOYEE_NAME)
+                .employeeEmail(DEFAULT_EMPLOYEE_EMAIL)
+                .startAt(DEFAULT_ALLOCATION_START_AT)
+                .endAt(DEFAULT_ALLOCATION_END_AT)
+                .recurrence(
+                        new RecurrenceDTO()
+                                .frequency(RecurrenceFrequencyDTO.WEEKLY)
+                                .interval(1)
+                                .until(DEFAULT_ALLOCATION_SERIES_UNTIL)
+                );
+    }
+
     public static UpdateAllocationDTO newUpdateAllocationDTO() {
         return new UpdateAllocationDTO()
                 .subject(DEFAULT_ALLOCATION_SUBJECT)